@@ -1,20 +1,29 @@
 package com.ufcg.psoft.commerce.controller.asset;
 
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
 import com.ufcg.psoft.commerce.dto.asset.*;
 
+import com.ufcg.psoft.commerce.enums.CandleResolutionEnum;
 import com.ufcg.psoft.commerce.service.asset.AssetService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
+@Validated
 @RequestMapping(
     value = "/assets",
     produces = MediaType.APPLICATION_JSON_VALUE
@@ -48,6 +57,33 @@ public class AssetController {
                 .body(assetService.updateQuotation(idAsset, assetQuotationUpdateDTO));
     }
 
+    @PatchMapping("/quotations")
+    public ResponseEntity<AssetQuotationBatchResponseDTO> updateQuotations(@RequestBody @Valid AssetQuotationBatchUpdateDTO assetQuotationBatchUpdateDTO) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(assetService.updateQuotations(assetQuotationBatchUpdateDTO));
+    }
+
+    @GetMapping("/{idAsset}/history")
+    public ResponseEntity<AssetQuotationHistoryResponseDTO> getQuotationHistory(@PathVariable("idAsset") UUID idAsset,
+                                                                                @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                                @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                                @RequestParam(value = "limit", required = false) @Min(1) @Max(10000) Integer limit) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(assetService.getQuotationHistory(idAsset, from, to, limit));
+    }
+
+    @GetMapping("/{idAsset}/candles")
+    public ResponseEntity<AssetCandlesResponseDTO> getCandles(@PathVariable("idAsset") UUID idAsset,
+                                                              @RequestParam(value = "resolution", defaultValue = "ONE_MINUTE") CandleResolutionEnum resolution,
+                                                              @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(assetService.getCandles(idAsset, resolution, from, to));
+    }
+
     @PatchMapping("/{idAsset}/activation")
     public ResponseEntity<AssetResponseDTO> setIsActive(@PathVariable("idAsset") UUID idAsset,
                                                         @RequestBody @Valid AssetActivationPatchRequestDTO statusDTO) {
@@ -57,8 +93,32 @@ public class AssetController {
                 .body(responseDTO);
     }
 
+    @GetMapping("/cache/metrics")
+    public ResponseEntity<AssetCacheMetricsDTO> getCacheMetrics(@RequestBody @Valid AdminAccessRequestDTO adminAccessRequestDTO) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(assetService.getCacheMetrics(adminAccessRequestDTO));
+    }
+
+    @GetMapping("/correlation")
+    public ResponseEntity<AssetCorrelationMatrixResponseDTO> getCorrelationMatrix(@RequestBody @Valid AdminAccessRequestDTO adminAccessRequestDTO) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(assetService.getCorrelationMatrix(adminAccessRequestDTO));
+    }
+
+    @GetMapping("/stream/metrics")
+    public ResponseEntity<AssetStreamMetricsDTO> getStreamMetrics(@RequestBody @Valid AdminAccessRequestDTO adminAccessRequestDTO) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(assetService.getStreamMetrics(adminAccessRequestDTO));
+    }
+
     @GetMapping("/available")
-    public ResponseEntity<List<AssetResponseDTO>> getAvailableAssets() {
+    public ResponseEntity<List<AssetResponseDTO>> getAvailableAssets(WebRequest request) {
+        if (request.checkNotModified(assetService.getAvailableAssetsETag())) {
+            return null;
+        }
         List<AssetResponseDTO> availableAssets = assetService.getAvailableAssets();
 
         return ResponseEntity
@@ -3,16 +3,28 @@ package com.ufcg.psoft.commerce.controller.client;
 import com.ufcg.psoft.commerce.dto.subscription.SubscriptionResponseDTO;
 import com.ufcg.psoft.commerce.dto.asset.AssetResponseDTO;
 import com.ufcg.psoft.commerce.dto.client.*;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxCounterResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxPageResponseDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WalletHoldingResponseDTO;
+import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
 import com.ufcg.psoft.commerce.service.client.ClientService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.validation.annotation.Validated;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -20,13 +32,17 @@ import java.util.UUID;
         value = "/clients",
         produces = MediaType.APPLICATION_JSON_VALUE
 )
+@Validated
 public class ClientController {
 
     @Autowired
     ClientService clientService;
 
     @GetMapping("/{clientId}")
-    public ResponseEntity<ClientResponseDTO> getClientById(@PathVariable("clientId") UUID clientId) {
+    public ResponseEntity<ClientResponseDTO> getClientById(@PathVariable("clientId") UUID clientId, WebRequest request) {
+        if (request.checkNotModified(clientService.getClientETag(clientId))) {
+            return null;
+        }
         ClientResponseDTO client = clientService.getClientById(clientId);
         return ResponseEntity
                 .status(HttpStatus.OK)
@@ -70,19 +86,46 @@ public class ClientController {
     }
 
     @GetMapping("/{clientId}/assets")
-    public ResponseEntity<List<AssetResponseDTO>> getActiveAssets(@PathVariable("clientId") UUID clientId,
-                                                                  @RequestBody @Valid ClientActiveAssetsRequestDTO requestDTO) {
-        List<AssetResponseDTO> activeAssets = clientService.redirectGetActiveAssets(clientId, requestDTO);
+    public ResponseEntity<byte[]> getActiveAssets(@PathVariable("clientId") UUID clientId,
+                                                  @RequestBody @Valid ClientActiveAssetsRequestDTO requestDTO) {
+        byte[] activeAssets = clientService.redirectGetActiveAssets(clientId, requestDTO);
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
                 .body(activeAssets);
     }
 
+    @GetMapping("/{clientId}/assets/search")
+    public ResponseEntity<List<AssetResponseDTO>> searchAssets(@PathVariable("clientId") UUID clientId,
+                                                               @RequestParam("q") @NotBlank @Size(max = 100) String query,
+                                                               @RequestParam(value = "assetType", required = false) AssetTypeEnum assetType,
+                                                               @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(100) int limit,
+                                                               @RequestBody @Valid ClientActiveAssetsRequestDTO requestDTO) {
+        List<AssetResponseDTO> assets = clientService.redirectSearchAssets(clientId, requestDTO, query, assetType, limit);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(assets);
+    }
+
+    @GetMapping(value = "/{clientId}/assets/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQuotations(@PathVariable("clientId") UUID clientId,
+                                       @RequestParam(value = "assetIds", required = false) @Size(max = 100) Set<UUID> assetIds,
+                                       @RequestBody @Valid ClientActiveAssetsRequestDTO requestDTO) {
+        return clientService.redirectStreamQuotations(clientId, requestDTO, assetIds == null ? Set.of() : assetIds);
+    }
+
     @GetMapping("/{clientId}/assets/{assetId}")
     public ResponseEntity<AssetResponseDTO> getAssetDetailsForClient(@PathVariable UUID clientId,
                                                                      @PathVariable UUID assetId,
-                                                                     @RequestBody @Valid ClientAssetAccessRequestDTO dto) {
-        AssetResponseDTO asset = clientService.redirectGetAssetDetails(clientId, assetId, dto);
+                                                                     @RequestBody @Valid ClientAssetAccessRequestDTO dto,
+                                                                     WebRequest request) {
+        PlanTypeEnum planType = clientService.validateAssetAccess(clientId, dto);
+        // tag read before the body, so a write racing with this request can only make the tag older than the body
+        String eTag = clientService.getAssetETag(clientId, assetId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        AssetResponseDTO asset = clientService.getAssetDetails(assetId, planType);
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(asset);
@@ -119,4 +162,26 @@ public class ClientController {
                 .status(HttpStatus.OK)
                 .body(walletHolding);
     }
+
+    @GetMapping("/{clientId}/notifications")
+    public ResponseEntity<NotificationInboxPageResponseDTO> getNotifications(
+            @PathVariable UUID clientId,
+            @RequestBody @Valid ClientNotificationInboxRequestDTO dto
+    ) {
+        NotificationInboxPageResponseDTO inbox = clientService.redirectGetNotifications(clientId, dto);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(inbox);
+    }
+
+    @PatchMapping("/{clientId}/notifications/read")
+    public ResponseEntity<NotificationInboxCounterResponseDTO> markNotificationsRead(
+            @PathVariable UUID clientId,
+            @RequestBody @Valid ClientNotificationReadRequestDTO dto
+    ) {
+        NotificationInboxCounterResponseDTO counter = clientService.redirectMarkNotificationsRead(clientId, dto);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(counter);
+    }
 }
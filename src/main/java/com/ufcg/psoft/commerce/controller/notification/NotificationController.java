@@ -0,0 +1,44 @@
+package com.ufcg.psoft.commerce.controller.notification;
+
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationOutboxReplayRequestDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationOutboxReplayResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationPipelineMetricsDTO;
+import com.ufcg.psoft.commerce.service.notification.NotificationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(
+        value = "/notifications",
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class NotificationController {
+
+    @Autowired
+    NotificationService notificationService;
+
+    @PostMapping("/pipeline/metrics")
+    public ResponseEntity<NotificationPipelineMetricsDTO> getPipelineMetrics(
+            @RequestBody @Valid AdminAccessRequestDTO adminAccessRequestDTO
+    ) {
+        NotificationPipelineMetricsDTO metrics = notificationService.getPipelineMetrics(adminAccessRequestDTO);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(metrics);
+    }
+
+    @PostMapping("/outbox/replay")
+    public ResponseEntity<NotificationOutboxReplayResponseDTO> replayOutbox(
+            @RequestBody @Valid NotificationOutboxReplayRequestDTO replayRequestDTO
+    ) {
+        NotificationOutboxReplayResponseDTO response = notificationService.replayOutbox(replayRequestDTO);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(response);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ufcg.psoft.commerce.controller.simulation;
+
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationReplayRequestDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationReportDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationRequestDTO;
+import com.ufcg.psoft.commerce.service.simulation.MarketFeedSimulatorService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping(
+        value = "/simulations",
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class SimulationController {
+
+    @Autowired
+    MarketFeedSimulatorService marketFeedSimulatorService;
+
+    @PostMapping("/generated")
+    public ResponseEntity<SimulationReportDTO> startGenerated(@RequestBody @Valid SimulationRequestDTO simulationRequestDTO) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(marketFeedSimulatorService.startGenerated(simulationRequestDTO));
+    }
+
+    @PostMapping("/replays")
+    public ResponseEntity<SimulationReportDTO> startReplay(@RequestBody @Valid SimulationReplayRequestDTO simulationReplayRequestDTO) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(marketFeedSimulatorService.startReplay(simulationReplayRequestDTO));
+    }
+
+    @PostMapping("/{runId}/report")
+    public ResponseEntity<SimulationReportDTO> getReport(@PathVariable("runId") UUID runId,
+                                                         @RequestBody @Valid AdminAccessRequestDTO adminAccessRequestDTO) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(marketFeedSimulatorService.getReport(runId, adminAccessRequestDTO));
+    }
+
+    @PostMapping("/{runId}/cancel")
+    public ResponseEntity<SimulationReportDTO> cancel(@PathVariable("runId") UUID runId,
+                                                      @RequestBody @Valid AdminAccessRequestDTO adminAccessRequestDTO) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(marketFeedSimulatorService.cancel(runId, adminAccessRequestDTO));
+    }
+}
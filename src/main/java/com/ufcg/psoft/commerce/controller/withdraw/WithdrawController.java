@@ -1,10 +1,15 @@
 package com.ufcg.psoft.commerce.controller.withdraw;
 
+import com.ufcg.psoft.commerce.dto.client.ClientTaxSummaryRequestDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientWithdrawAssetRequestDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientWithdrawHistoryRequestDTO;
+import com.ufcg.psoft.commerce.dto.wallet.TaxSummaryResponseDTO;
+import com.ufcg.psoft.commerce.dto.wallet.WithdrawBulkConfirmationRequestDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WithdrawConfirmationRequestDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WithdrawHistoryResponseDTO;
+import com.ufcg.psoft.commerce.dto.wallet.WithdrawQuoteResponseDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WithdrawResponseDTO;
+import com.ufcg.psoft.commerce.service.wallet.TaxLedgerService;
 import com.ufcg.psoft.commerce.service.wallet.WithdrawService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +31,9 @@ public class WithdrawController {
     @Autowired
     WithdrawService withdrawService;
 
+    @Autowired
+    TaxLedgerService taxLedgerService;
+
     @PostMapping("/{withdrawId}/confirmation")
     public ResponseEntity<WithdrawResponseDTO> confirmWithdraw(
             @PathVariable UUID withdrawId,
@@ -37,6 +45,28 @@ public class WithdrawController {
                 .body(updated);
     }
 
+    @PostMapping("/confirmation")
+    public ResponseEntity<List<WithdrawResponseDTO>> confirmWithdraws(
+            @RequestBody @Valid WithdrawBulkConfirmationRequestDTO withdrawBulkConfirmationRequestDTO) {
+
+        List<WithdrawResponseDTO> updated = withdrawService.confirmWithdraws(withdrawBulkConfirmationRequestDTO);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(updated);
+    }
+
+    @PostMapping("/{clientId}/wallet/withdraw/{assetId}/quote")
+    public ResponseEntity<WithdrawQuoteResponseDTO> quoteWithdraw(
+            @PathVariable UUID clientId,
+            @PathVariable UUID assetId,
+            @RequestBody @Valid ClientWithdrawAssetRequestDTO dto
+    ) {
+        WithdrawQuoteResponseDTO response = withdrawService.quoteClientWithdraw(clientId, assetId, dto);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(response);
+    }
+
     @PostMapping("/{clientId}/wallet/withdraw/{assetId}")
     public ResponseEntity<WithdrawResponseDTO> withdrawAsset(
             @PathVariable UUID clientId,
@@ -59,4 +89,15 @@ public class WithdrawController {
                 .status(HttpStatus.OK)
                 .body(withdrawHistory);
     }
-} 
+
+    @GetMapping("/{clientId}/wallet/tax-summary")
+    public ResponseEntity<TaxSummaryResponseDTO> getTaxSummary(
+            @PathVariable UUID clientId,
+            @RequestBody @Valid ClientTaxSummaryRequestDTO dto
+    ) {
+        TaxSummaryResponseDTO taxSummary = taxLedgerService.getTaxSummary(clientId, dto);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(taxSummary);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetCacheMetricsDTO {
+
+    @JsonProperty("capacity")
+    private int capacity;
+
+    @JsonProperty("snapshots")
+    private int snapshots;
+
+    @JsonProperty("responses")
+    private int responses;
+
+    @JsonProperty("listings")
+    private int listings;
+
+    @JsonProperty("hits")
+    private long hits;
+
+    @JsonProperty("misses")
+    private long misses;
+
+    @JsonProperty("hitRatio")
+    private double hitRatio;
+
+    @JsonProperty("evictions")
+    private long evictions;
+
+    @JsonProperty("invalidations")
+    private long invalidations;
+}
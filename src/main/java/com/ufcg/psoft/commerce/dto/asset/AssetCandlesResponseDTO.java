@@ -0,0 +1,23 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.commerce.enums.CandleResolutionEnum;
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssetCandlesResponseDTO {
+    @JsonProperty("assetId")
+    private UUID assetId;
+
+    @JsonProperty("resolution")
+    private CandleResolutionEnum resolution;
+
+    @JsonProperty("candles")
+    private List<CandleResponseDTO> candles;
+}
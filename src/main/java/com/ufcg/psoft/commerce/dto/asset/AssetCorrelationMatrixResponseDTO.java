@@ -0,0 +1,32 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssetCorrelationMatrixResponseDTO {
+    @JsonProperty("computedAt")
+    private LocalDateTime computedAt;
+
+    @JsonProperty("bucketMillis")
+    private long bucketMillis;
+
+    @JsonProperty("returns")
+    private int returns;
+
+    @JsonProperty("assetIds")
+    private List<UUID> assetIds;
+
+    @JsonProperty("assetNames")
+    private List<String> assetNames;
+
+    @JsonProperty("correlations")
+    private double[][] correlations;
+}
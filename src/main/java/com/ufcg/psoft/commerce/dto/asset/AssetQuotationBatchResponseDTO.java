@@ -0,0 +1,18 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssetQuotationBatchResponseDTO {
+    @JsonProperty("updated")
+    private List<AssetResponseDTO> updated;
+
+    @JsonProperty("rejected")
+    private List<AssetQuotationRejectionDTO> rejected;
+}
@@ -0,0 +1,29 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetQuotationBatchUpdateDTO {
+
+    @NotEmpty(message = "At least one quotation tick is required")
+    @Size(max = 1000, message = "A batch accepts at most 1000 quotation ticks")
+    private List<@Valid @NotNull AssetQuotationTickDTO> ticks;
+
+    @NotNull(message = "Admin email is required")
+    private String adminEmail;
+
+    @NotNull(message = "Admin access code is required")
+    private String adminAccessCode;
+}
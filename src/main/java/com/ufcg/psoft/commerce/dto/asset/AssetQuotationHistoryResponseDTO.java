@@ -0,0 +1,26 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssetQuotationHistoryResponseDTO {
+    @JsonProperty("assetId")
+    private UUID assetId;
+
+    @JsonProperty("from")
+    private LocalDateTime from;
+
+    @JsonProperty("to")
+    private LocalDateTime to;
+
+    @JsonProperty("points")
+    private List<QuotationPointResponseDTO> points;
+}
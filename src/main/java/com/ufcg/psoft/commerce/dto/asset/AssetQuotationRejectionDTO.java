@@ -0,0 +1,21 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssetQuotationRejectionDTO {
+    @JsonProperty("assetId")
+    private UUID assetId;
+
+    @JsonProperty("quotation")
+    private Double quotation;
+
+    @JsonProperty("reason")
+    private String reason;
+}
@@ -0,0 +1,24 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetQuotationTickDTO {
+
+    @NotNull(message = "Asset id cannot be null")
+    private UUID assetId;
+
+    @NotNull(message = "Quotation cannot be null")
+    @Positive(message = "Quotation must be a positive value")
+    private Double quotation;
+}
@@ -1,5 +1,6 @@
 package com.ufcg.psoft.commerce.dto.asset;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.ufcg.psoft.commerce.model.asset.AssetModel;
 import lombok.*;
@@ -7,7 +8,7 @@ import lombok.*;
 import java.util.UUID;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
@@ -33,6 +34,10 @@ public class AssetResponseDTO {
     @JsonProperty("quotaQuantity")
     private double quotaQuantity;
 
+    @JsonProperty("statistics")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private AssetStatisticsDTO statistics;
+
     public AssetResponseDTO(AssetModel assetModel) {
         this.id = assetModel.getId();
         this.name = assetModel.getName();
@@ -0,0 +1,29 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetStatisticsDTO {
+
+    @JsonProperty("returns")
+    private long returns;
+
+    @JsonProperty("meanReturn")
+    private double meanReturn;
+
+    @JsonProperty("returnVariance")
+    private double returnVariance;
+
+    @JsonProperty("volatility")
+    private double volatility;
+
+    @JsonProperty("maxDrawdown")
+    private double maxDrawdown;
+}
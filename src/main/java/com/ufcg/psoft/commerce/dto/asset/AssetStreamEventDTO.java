@@ -0,0 +1,31 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.commerce.enums.AssetStreamEventTypeEnum;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AssetStreamEventDTO {
+    @JsonProperty("type")
+    private AssetStreamEventTypeEnum type;
+
+    @JsonProperty("assetId")
+    private UUID assetId;
+
+    @JsonProperty("timestamp")
+    private LocalDateTime timestamp;
+
+    @JsonProperty("quotation")
+    private Double quotation;
+
+    @JsonProperty("isActive")
+    private Boolean isActive;
+}
@@ -0,0 +1,29 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetStreamMetricsDTO {
+
+    @JsonProperty("bufferCapacity")
+    private int bufferCapacity;
+
+    @JsonProperty("subscribers")
+    private int subscribers;
+
+    @JsonProperty("published")
+    private long published;
+
+    @JsonProperty("delivered")
+    private long delivered;
+
+    @JsonProperty("droppedSubscribers")
+    private long droppedSubscribers;
+}
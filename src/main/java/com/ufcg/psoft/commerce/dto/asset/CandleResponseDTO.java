@@ -0,0 +1,30 @@
+package com.ufcg.psoft.commerce.dto.asset;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CandleResponseDTO {
+    @JsonProperty("openTime")
+    private LocalDateTime openTime;
+
+    @JsonProperty("open")
+    private double open;
+
+    @JsonProperty("high")
+    private double high;
+
+    @JsonProperty("low")
+    private double low;
+
+    @JsonProperty("close")
+    private double close;
+
+    @JsonProperty("updates")
+    private int updates;
+}
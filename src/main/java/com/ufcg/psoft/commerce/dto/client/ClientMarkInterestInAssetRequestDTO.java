@@ -1,7 +1,9 @@
 package com.ufcg.psoft.commerce.dto.client;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,4 +24,16 @@ public class ClientMarkInterestInAssetRequestDTO {
     @JsonProperty("assetId")
     @NotNull(message = "The 'assetId' field cannot be null")
     private UUID assetId;
+
+    @JsonProperty("variationThreshold")
+    @DecimalMin(value = "0.01", message = "The 'variationThreshold' must be at least 0.01")
+    private Double variationThreshold;
+
+    @JsonProperty("lowerPriceBound")
+    @Positive(message = "The 'lowerPriceBound' must be positive")
+    private Double lowerPriceBound;
+
+    @JsonProperty("upperPriceBound")
+    @Positive(message = "The 'upperPriceBound' must be positive")
+    private Double upperPriceBound;
 }
\ No newline at end of file
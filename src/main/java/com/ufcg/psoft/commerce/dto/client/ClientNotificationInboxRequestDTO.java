@@ -0,0 +1,33 @@
+package com.ufcg.psoft.commerce.dto.client;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClientNotificationInboxRequestDTO {
+
+    @JsonProperty("accessCode")
+    @NotNull(message = "The 'accessCode' field cannot be null")
+    @NotBlank(message = "The 'accessCode' field cannot be blank")
+    private String accessCode;
+
+    @JsonProperty("beforeId")
+    @Positive(message = "The 'beforeId' field must be positive")
+    private Long beforeId;
+
+    @JsonProperty("limit")
+    @Min(value = 1, message = "The 'limit' field must be at least 1")
+    @Max(value = 100, message = "The 'limit' field must be at most 100")
+    private Integer limit;
+}
@@ -0,0 +1,27 @@
+package com.ufcg.psoft.commerce.dto.client;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClientNotificationReadRequestDTO {
+
+    @JsonProperty("accessCode")
+    @NotNull(message = "The 'accessCode' field cannot be null")
+    @NotBlank(message = "The 'accessCode' field cannot be blank")
+    private String accessCode;
+
+    @JsonProperty("upToId")
+    @NotNull(message = "The 'upToId' field cannot be null")
+    @Positive(message = "The 'upToId' field must be positive")
+    private Long upToId;
+}
@@ -9,6 +9,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 @Data
 @Builder
 @AllArgsConstructor
@@ -23,4 +25,8 @@ public class ClientWithdrawAssetRequestDTO {
     @JsonProperty("quantityToWithdraw")
     @Min(1)
     private double quantityToWithdraw;
+
+    // optional: a quote from the quote endpoint whose locked price and tax should be used
+    @JsonProperty("quoteId")
+    private UUID quoteId;
 }
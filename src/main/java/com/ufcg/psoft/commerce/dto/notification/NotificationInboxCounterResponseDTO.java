@@ -0,0 +1,23 @@
+package com.ufcg.psoft.commerce.dto.notification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationInboxCounterResponseDTO {
+
+    @JsonProperty("markedAsRead")
+    private int markedAsRead;
+
+    @JsonProperty("unreadCount")
+    private long unreadCount;
+
+    @JsonProperty("totalCount")
+    private long totalCount;
+}
@@ -0,0 +1,41 @@
+package com.ufcg.psoft.commerce.dto.notification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxEntryModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationInboxEntryResponseDTO {
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("category")
+    private NotificationCategoryEnum category;
+
+    @JsonProperty("message")
+    private String message;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("read")
+    private boolean read;
+
+    public NotificationInboxEntryResponseDTO(NotificationInboxEntryModel entry) {
+        this.id = entry.getId();
+        this.category = entry.getCategory();
+        this.message = entry.getMessage();
+        this.createdAt = entry.getCreatedAt();
+        this.read = entry.isRead();
+    }
+}
@@ -0,0 +1,28 @@
+package com.ufcg.psoft.commerce.dto.notification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationInboxPageResponseDTO {
+
+    @JsonProperty("entries")
+    private List<NotificationInboxEntryResponseDTO> entries;
+
+    @JsonProperty("unreadCount")
+    private long unreadCount;
+
+    @JsonProperty("totalCount")
+    private long totalCount;
+
+    @JsonProperty("nextBeforeId")
+    private Long nextBeforeId;
+}
@@ -0,0 +1,34 @@
+package com.ufcg.psoft.commerce.dto.notification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutboxReplayRequestDTO {
+
+    @JsonProperty("adminEmail")
+    @NotNull(message = "The 'adminEmail' cannot be null")
+    @NotBlank(message = "The 'adminEmail' cannot be blank")
+    private String adminEmail;
+
+    @JsonProperty("adminAccessCode")
+    @NotNull(message = "The 'adminAccessCode' cannot be null")
+    @NotBlank(message = "The 'adminAccessCode' cannot be blank")
+    private String adminAccessCode;
+
+    @JsonProperty("since")
+    @NotNull(message = "The 'since' cannot be null")
+    @PastOrPresent(message = "The 'since' cannot be in the future")
+    private LocalDateTime since;
+}
@@ -0,0 +1,25 @@
+package com.ufcg.psoft.commerce.dto.notification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutboxReplayResponseDTO {
+
+    @JsonProperty("since")
+    private LocalDateTime since;
+
+    @JsonProperty("replayed")
+    private int replayed;
+
+    @JsonProperty("pending")
+    private long pending;
+}
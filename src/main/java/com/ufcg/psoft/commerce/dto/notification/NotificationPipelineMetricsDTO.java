@@ -0,0 +1,48 @@
+package com.ufcg.psoft.commerce.dto.notification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.commerce.enums.WaitStrategyEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationPipelineMetricsDTO {
+
+    @JsonProperty("capacity")
+    private int capacity;
+
+    @JsonProperty("waitStrategy")
+    private WaitStrategyEnum waitStrategy;
+
+    @JsonProperty("queueDepth")
+    private long queueDepth;
+
+    @JsonProperty("published")
+    private long published;
+
+    @JsonProperty("delivered")
+    private long delivered;
+
+    @JsonProperty("dropped")
+    private long dropped;
+
+    @JsonProperty("failed")
+    private long failed;
+
+    @JsonProperty("batches")
+    private long batches;
+
+    @JsonProperty("inboxFailed")
+    private long inboxFailed;
+
+    @JsonProperty("averagePublishToDeliverMicros")
+    private double averagePublishToDeliverMicros;
+
+    @JsonProperty("maxPublishToDeliverMicros")
+    private double maxPublishToDeliverMicros;
+}
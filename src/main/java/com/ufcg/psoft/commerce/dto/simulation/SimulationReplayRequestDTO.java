@@ -0,0 +1,44 @@
+package com.ufcg.psoft.commerce.dto.simulation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.commerce.enums.SimulationIngestPathEnum;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationReplayRequestDTO {
+
+    @JsonProperty("adminEmail")
+    @NotBlank(message = "Admin email is required")
+    private String adminEmail;
+
+    @JsonProperty("adminAccessCode")
+    @NotBlank(message = "Admin access code is required")
+    private String adminAccessCode;
+
+    @JsonProperty("fileName")
+    @NotBlank(message = "The tick file name is required")
+    private String fileName;
+
+    @JsonProperty("speedUp")
+    @PositiveOrZero(message = "The speed-up must be positive, or zero to replay unpaced")
+    @Builder.Default
+    private double speedUp = 1;
+
+    @JsonProperty("ingestPath")
+    @NotNull(message = "The ingest path is required")
+    @Builder.Default
+    private SimulationIngestPathEnum ingestPath = SimulationIngestPathEnum.SINGLE;
+
+    @JsonProperty("batchSize")
+    @Positive(message = "The batch size must be positive")
+    @Max(value = 1000, message = "A batch accepts at most 1000 quotation ticks")
+    @Builder.Default
+    private int batchSize = 100;
+}
@@ -0,0 +1,76 @@
+package com.ufcg.psoft.commerce.dto.simulation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.commerce.enums.SimulationIngestPathEnum;
+import com.ufcg.psoft.commerce.enums.SimulationStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationReportDTO {
+
+    @JsonProperty("runId")
+    private UUID runId;
+
+    @JsonProperty("source")
+    private String source;
+
+    @JsonProperty("ingestPath")
+    private SimulationIngestPathEnum ingestPath;
+
+    @JsonProperty("status")
+    private SimulationStatusEnum status;
+
+    @JsonProperty("failureReason")
+    private String failureReason;
+
+    @JsonProperty("startedAt")
+    private LocalDateTime startedAt;
+
+    @JsonProperty("finishedAt")
+    private LocalDateTime finishedAt;
+
+    @JsonProperty("ticksSubmitted")
+    private long ticksSubmitted;
+
+    @JsonProperty("ticksAccepted")
+    private long ticksAccepted;
+
+    @JsonProperty("ticksRejected")
+    private long ticksRejected;
+
+    @JsonProperty("elapsedMillis")
+    private long elapsedMillis;
+
+    @JsonProperty("ticksPerSecond")
+    private double ticksPerSecond;
+
+    @JsonProperty("averageIngestMicros")
+    private double averageIngestMicros;
+
+    @JsonProperty("maxIngestMicros")
+    private double maxIngestMicros;
+
+    @JsonProperty("notificationsDelivered")
+    private long notificationsDelivered;
+
+    @JsonProperty("notificationsPending")
+    private long notificationsPending;
+
+    @JsonProperty("averageNotificationLatencyMillis")
+    private double averageNotificationLatencyMillis;
+
+    @JsonProperty("p99NotificationLatencyMillis")
+    private double p99NotificationLatencyMillis;
+
+    @JsonProperty("maxNotificationLatencyMillis")
+    private double maxNotificationLatencyMillis;
+}
@@ -0,0 +1,88 @@
+package com.ufcg.psoft.commerce.dto.simulation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.commerce.enums.SimulationIngestPathEnum;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationRequestDTO {
+
+    @JsonProperty("adminEmail")
+    @NotBlank(message = "Admin email is required")
+    private String adminEmail;
+
+    @JsonProperty("adminAccessCode")
+    @NotBlank(message = "Admin access code is required")
+    private String adminAccessCode;
+
+    @JsonProperty("assetIds")
+    @NotEmpty(message = "At least one asset is required")
+    @Size(max = 1000, message = "A simulation drives at most 1000 assets")
+    private List<@NotNull UUID> assetIds;
+
+    @JsonProperty("ticksPerAsset")
+    @Positive(message = "The number of ticks per asset must be positive")
+    @Max(value = 1_000_000, message = "A simulation generates at most 1000000 ticks per asset")
+    private int ticksPerAsset;
+
+    @JsonProperty("ticksPerSecond")
+    @PositiveOrZero(message = "The tick rate must be positive, or zero to run unpaced")
+    @Builder.Default
+    private double ticksPerSecond = 100;
+
+    @JsonProperty("volatility")
+    @Positive(message = "The volatility must be positive")
+    @Builder.Default
+    private double volatility = 0.02;
+
+    @JsonProperty("jumpProbability")
+    @DecimalMin(value = "0.0", message = "The jump probability must be between 0 and 1")
+    @DecimalMax(value = "1.0", message = "The jump probability must be between 0 and 1")
+    @Builder.Default
+    private double jumpProbability = 0.01;
+
+    @JsonProperty("jumpSize")
+    @PositiveOrZero(message = "The jump size must be positive or zero")
+    @Builder.Default
+    private double jumpSize = 0.1;
+
+    @JsonProperty("burstProbability")
+    @DecimalMin(value = "0.0", message = "The burst probability must be between 0 and 1")
+    @DecimalMax(value = "1.0", message = "The burst probability must be between 0 and 1")
+    @Builder.Default
+    private double burstProbability = 0.005;
+
+    @JsonProperty("burstLength")
+    @PositiveOrZero(message = "The burst length must be positive or zero")
+    @Builder.Default
+    private int burstLength = 200;
+
+    @JsonProperty("burstMultiplier")
+    @DecimalMin(value = "1.0", message = "The burst multiplier must be at least 1")
+    @Builder.Default
+    private double burstMultiplier = 20;
+
+    @JsonProperty("ingestPath")
+    @NotNull(message = "The ingest path is required")
+    @Builder.Default
+    private SimulationIngestPathEnum ingestPath = SimulationIngestPathEnum.SINGLE;
+
+    @JsonProperty("batchSize")
+    @Positive(message = "The batch size must be positive")
+    @Max(value = 1000, message = "A batch accepts at most 1000 quotation ticks")
+    @Builder.Default
+    private int batchSize = 100;
+
+    @JsonProperty("seed")
+    private Long seed;
+}
@@ -3,6 +3,7 @@ package com.ufcg.psoft.commerce.dto.subscription;
 import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -26,4 +27,16 @@ public class SubscriptionResponseDTO {
 
     @JsonProperty("subscription_type")
     private SubscriptionTypeEnum subscriptionType;
+
+    @JsonProperty("variation_threshold")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double variationThreshold;
+
+    @JsonProperty("lower_price_bound")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double lowerPriceBound;
+
+    @JsonProperty("upper_price_bound")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double upperPriceBound;
 }
@@ -1,5 +1,6 @@
 package com.ufcg.psoft.commerce.dto.wallet;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,4 +16,8 @@ public class PurchaseConfirmationByClientDTO {
     @NotBlank
     private String accessCode;
 
+    // optional: the quotation version the client saw, rejected when the purchase was priced at another one
+    @JsonProperty("quotationVersion")
+    private Long quotationVersion;
+
 }
@@ -46,6 +46,9 @@ public class PurchaseResponseDTO {
     @NotNull(message = "The 'date' field cannot be null")
     private LocalDate date;
 
+    @JsonProperty("quotationVersion")
+    private long quotationVersion;
+
     public PurchaseResponseDTO(PurchaseModel purchase) {
         this.id = purchase.getId();
         this.walletId = purchase.getWallet().getId();
@@ -53,6 +56,7 @@ public class PurchaseResponseDTO {
         this.quantity = purchase.getQuantity();
         this.purchaseState = purchase.getStateEnum();
         this.date = purchase.getDate();
+        this.quotationVersion = purchase.getQuotationVersion();
     }
 
     public PurchaseResponseDTO(PurchaseResponseAfterAddedInWalletDTO dto) {
@@ -0,0 +1,29 @@
+package com.ufcg.psoft.commerce.dto.wallet;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaxLedgerEntryResponseDTO {
+
+    @JsonProperty("assetType")
+    private String assetType;
+
+    @JsonProperty("realizedProfit")
+    private double realizedProfit;
+
+    @JsonProperty("taxPaid")
+    private double taxPaid;
+
+    @JsonProperty("grossProceeds")
+    private double grossProceeds;
+
+    @JsonProperty("withdraws")
+    private long withdraws;
+}
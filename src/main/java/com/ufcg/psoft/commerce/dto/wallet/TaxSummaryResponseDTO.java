@@ -0,0 +1,35 @@
+package com.ufcg.psoft.commerce.dto.wallet;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaxSummaryResponseDTO {
+
+    @JsonProperty("walletId")
+    private UUID walletId;
+
+    @JsonProperty("year")
+    private int year;
+
+    @JsonProperty("entries")
+    private List<TaxLedgerEntryResponseDTO> entries;
+
+    @JsonProperty("totalRealizedProfit")
+    private double totalRealizedProfit;
+
+    @JsonProperty("totalTaxPaid")
+    private double totalTaxPaid;
+
+    @JsonProperty("totalGrossProceeds")
+    private double totalGrossProceeds;
+}
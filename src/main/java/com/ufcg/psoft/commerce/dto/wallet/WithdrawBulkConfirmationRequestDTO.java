@@ -0,0 +1,41 @@
+package com.ufcg.psoft.commerce.dto.wallet;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WithdrawBulkConfirmationRequestDTO {
+
+    @JsonProperty("adminEmail")
+    @NotNull(message = "The 'adminEmail' cannot be null")
+    @NotBlank(message = "The 'adminEmail' cannot be blank")
+    private String adminEmail;
+
+    @JsonProperty("adminAccessCode")
+    @NotNull(message = "The 'adminAccessCode' cannot be null")
+    @NotBlank(message = "The 'adminAccessCode' cannot be blank")
+    private String adminAccessCode;
+
+    @JsonProperty("withdrawIds")
+    @NotEmpty(message = "The 'withdrawIds' cannot be empty")
+    @Size(max = 500, message = "The 'withdrawIds' cannot have more than 500 IDs")
+    private List<@NotNull(message = "The 'withdrawIds' cannot contain null IDs") UUID> withdrawIds;
+
+    // optional: per withdraw, the quotation version the confirmer saw
+    @JsonProperty("quotationVersions")
+    private Map<UUID, Long> quotationVersions;
+}
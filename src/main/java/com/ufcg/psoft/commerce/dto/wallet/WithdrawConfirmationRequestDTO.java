@@ -23,4 +23,8 @@ public class WithdrawConfirmationRequestDTO {
     @NotNull(message = "The 'adminAccessCode' cannot be null")
     @NotBlank(message = "The 'adminAccessCode' cannot be blank")
     private String adminAccessCode;
+
+    // optional: the quotation version the confirmer saw, rejected when the transaction was priced at another one
+    @JsonProperty("quotationVersion")
+    private Long quotationVersion;
 } 
@@ -0,0 +1,47 @@
+package com.ufcg.psoft.commerce.dto.wallet;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WithdrawQuoteResponseDTO {
+
+    @JsonProperty("quoteId")
+    private UUID quoteId;
+
+    @JsonProperty("walletId")
+    private UUID walletId;
+
+    @JsonProperty("assetId")
+    private UUID assetId;
+
+    @JsonProperty("quantityToWithdraw")
+    private double quantityToWithdraw;
+
+    @JsonProperty("sellingPrice")
+    private double sellingPrice;
+
+    @JsonProperty("quotationVersion")
+    private long quotationVersion;
+
+    @JsonProperty("realizedProfit")
+    private double realizedProfit;
+
+    @JsonProperty("tax")
+    private double tax;
+
+    @JsonProperty("valueToReceive")
+    private double valueToReceive;
+
+    @JsonProperty("expiresAt")
+    private LocalDateTime expiresAt;
+}
@@ -35,4 +35,10 @@ public class WithdrawResponseDTO {
     
     @JsonProperty("state")
     private WithdrawStateEnum state;
+
+    @JsonProperty("sellingPrice")
+    private double sellingPrice;
+
+    @JsonProperty("quotationVersion")
+    private long quotationVersion;
 }
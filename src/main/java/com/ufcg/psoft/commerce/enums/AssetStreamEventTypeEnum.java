@@ -0,0 +1,6 @@
+package com.ufcg.psoft.commerce.enums;
+
+public enum AssetStreamEventTypeEnum {
+    QUOTATION,
+    ACTIVATION
+}
@@ -0,0 +1,18 @@
+package com.ufcg.psoft.commerce.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum CandleResolutionEnum {
+    ONE_MINUTE(60_000L, 1440),
+    ONE_HOUR(3_600_000L, 720),
+    ONE_DAY(86_400_000L, 365);
+
+    private final long bucketMillis;
+    private final int capacity;
+
+    CandleResolutionEnum(long bucketMillis, int capacity) {
+        this.bucketMillis = bucketMillis;
+        this.capacity = capacity;
+    }
+}
@@ -0,0 +1,8 @@
+package com.ufcg.psoft.commerce.enums;
+
+public enum NotificationCategoryEnum {
+    AVAILABILITY,
+    PRICE_VARIATION,
+    PURCHASE,
+    WITHDRAW
+}
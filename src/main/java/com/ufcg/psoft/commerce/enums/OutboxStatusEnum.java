@@ -0,0 +1,7 @@
+package com.ufcg.psoft.commerce.enums;
+
+public enum OutboxStatusEnum {
+    PENDING,
+    DELIVERED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.ufcg.psoft.commerce.enums;
+
+public enum SimulationStatusEnum {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.ufcg.psoft.commerce.enums;
+
+public enum WaitStrategyEnum {
+    BLOCKING,
+    SLEEPING,
+    YIELDING,
+    BUSY_SPIN
+}
@@ -0,0 +1,8 @@
+package com.ufcg.psoft.commerce.exception.asset;
+
+public class InvalidQuotationHistoryRangeException extends RuntimeException {
+
+  public InvalidQuotationHistoryRangeException() {
+    super("The start of the quotation history range must not be after its end.");
+  }
+}
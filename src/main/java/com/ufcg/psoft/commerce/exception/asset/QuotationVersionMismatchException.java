@@ -0,0 +1,7 @@
+package com.ufcg.psoft.commerce.exception.asset;
+
+public class QuotationVersionMismatchException extends RuntimeException {
+    public QuotationVersionMismatchException(long expectedVersion, long quotedVersion) {
+        super("Quotation version " + expectedVersion + " does not match the version " + quotedVersion + " this transaction was priced at");
+    }
+}
@@ -3,12 +3,20 @@ package com.ufcg.psoft.commerce.exception.handler;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.ufcg.psoft.commerce.exception.asset.*;
 import com.ufcg.psoft.commerce.exception.notification.AlreadySubscribedException;
+import com.ufcg.psoft.commerce.exception.notification.InvalidPriceAlertException;
 import com.ufcg.psoft.commerce.exception.purchase.PurchaseNotFoundException;
+import com.ufcg.psoft.commerce.exception.simulation.InvalidSimulationException;
+import com.ufcg.psoft.commerce.exception.simulation.SimulationCapacityExceededException;
+import com.ufcg.psoft.commerce.exception.simulation.SimulationRunNotFoundException;
 import com.ufcg.psoft.commerce.exception.user.ClientBudgetIsInsufficientException;
 import com.ufcg.psoft.commerce.exception.user.ClientIdNotFoundException;
 import com.ufcg.psoft.commerce.exception.user.ClientIsNotPremiumException;
 import com.ufcg.psoft.commerce.exception.user.UnauthorizedUserAccessException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawAlreadyProcessedException;
 import com.ufcg.psoft.commerce.exception.withdraw.WithdrawNotFoundException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawQuoteLimitExceededException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawQuoteNotFoundException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawQuoteStaleException;
 import com.ufcg.psoft.commerce.exception.user.ClientHoldingIsInsufficientException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -106,6 +114,15 @@ public class ErrorHandlingControllerAdvice {
         );
     }
 
+    @ExceptionHandler(InvalidQuotationHistoryRangeException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public CustomErrorType handleInvalidQuotationHistoryRangeException(InvalidQuotationHistoryRangeException e) {
+        return defaultCustomErrorTypeConstruct(
+                e.getMessage()
+        );
+    }
+
     @ExceptionHandler(AssetNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ResponseBody
@@ -178,6 +195,15 @@ public class ErrorHandlingControllerAdvice {
         );
     }
 
+    @ExceptionHandler(QuotationVersionMismatchException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ResponseBody
+    public CustomErrorType handleQuotationVersionMismatchException(QuotationVersionMismatchException e) {
+        return defaultCustomErrorTypeConstruct(
+                e.getMessage()
+        );
+    }
+
     @ExceptionHandler(AlreadySubscribedException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     @ResponseBody
@@ -187,6 +213,15 @@ public class ErrorHandlingControllerAdvice {
         );
     }
 
+    @ExceptionHandler(InvalidPriceAlertException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public CustomErrorType handleInvalidPriceAlertException(InvalidPriceAlertException e) {
+        return defaultCustomErrorTypeConstruct(
+                e.getMessage()
+        );
+    }
+
     @ExceptionHandler(PurchaseNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ResponseBody
@@ -205,6 +240,42 @@ public class ErrorHandlingControllerAdvice {
         );
     }
 
+    @ExceptionHandler(WithdrawQuoteNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ResponseBody
+    public CustomErrorType handleWithdrawQuoteNotFoundException(WithdrawQuoteNotFoundException e) {
+        return defaultCustomErrorTypeConstruct(
+                e.getMessage()
+        );
+    }
+
+    @ExceptionHandler(WithdrawQuoteStaleException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ResponseBody
+    public CustomErrorType handleWithdrawQuoteStaleException(WithdrawQuoteStaleException e) {
+        return defaultCustomErrorTypeConstruct(
+                e.getMessage()
+        );
+    }
+
+    @ExceptionHandler(WithdrawQuoteLimitExceededException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ResponseBody
+    public CustomErrorType handleWithdrawQuoteLimitExceededException(WithdrawQuoteLimitExceededException e) {
+        return defaultCustomErrorTypeConstruct(
+                e.getMessage()
+        );
+    }
+
+    @ExceptionHandler(WithdrawAlreadyProcessedException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ResponseBody
+    public CustomErrorType handleWithdrawAlreadyProcessedException(WithdrawAlreadyProcessedException e) {
+        return defaultCustomErrorTypeConstruct(
+                e.getMessage()
+        );
+    }
+
     @ExceptionHandler(ClientHoldingIsInsufficientException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
@@ -214,6 +285,33 @@ public class ErrorHandlingControllerAdvice {
         );
     }
 
+    @ExceptionHandler(InvalidSimulationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public CustomErrorType handleInvalidSimulationException(InvalidSimulationException e) {
+        return defaultCustomErrorTypeConstruct(
+                e.getMessage()
+        );
+    }
+
+    @ExceptionHandler(SimulationCapacityExceededException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ResponseBody
+    public CustomErrorType handleSimulationCapacityExceededException(SimulationCapacityExceededException e) {
+        return defaultCustomErrorTypeConstruct(
+                e.getMessage()
+        );
+    }
+
+    @ExceptionHandler(SimulationRunNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ResponseBody
+    public CustomErrorType handleSimulationRunNotFoundException(SimulationRunNotFoundException e) {
+        return defaultCustomErrorTypeConstruct(
+                e.getMessage()
+        );
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
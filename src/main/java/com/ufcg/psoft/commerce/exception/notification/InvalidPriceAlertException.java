@@ -0,0 +1,7 @@
+package com.ufcg.psoft.commerce.exception.notification;
+
+public class InvalidPriceAlertException extends RuntimeException {
+    public InvalidPriceAlertException() {
+        super("The lower price bound must be less than the upper price bound");
+    }
+}
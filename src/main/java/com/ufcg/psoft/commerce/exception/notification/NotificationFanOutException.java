@@ -0,0 +1,12 @@
+package com.ufcg.psoft.commerce.exception.notification;
+
+import java.util.UUID;
+
+public class NotificationFanOutException extends RuntimeException {
+    public NotificationFanOutException(UUID assetId, int failedSubscribers) {
+        super(String.format(
+            "Failed to notify %d subscriber(s) of asset %s",
+            failedSubscribers, assetId
+        ));
+    }
+}
@@ -0,0 +1,8 @@
+package com.ufcg.psoft.commerce.exception.simulation;
+
+public class InvalidSimulationException extends RuntimeException {
+
+    public InvalidSimulationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ufcg.psoft.commerce.exception.simulation;
+
+public class SimulationCapacityExceededException extends RuntimeException {
+
+    public SimulationCapacityExceededException(int maxConcurrentRuns) {
+        super("At most " + maxConcurrentRuns + " simulation runs can be in progress at once");
+    }
+}
@@ -0,0 +1,10 @@
+package com.ufcg.psoft.commerce.exception.simulation;
+
+import java.util.UUID;
+
+public class SimulationRunNotFoundException extends RuntimeException {
+
+    public SimulationRunNotFoundException(UUID runId) {
+        super("Simulation run not found with ID " + runId);
+    }
+}
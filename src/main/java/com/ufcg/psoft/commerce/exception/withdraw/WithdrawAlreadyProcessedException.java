@@ -0,0 +1,9 @@
+package com.ufcg.psoft.commerce.exception.withdraw;
+
+import java.util.UUID;
+
+public class WithdrawAlreadyProcessedException extends RuntimeException {
+    public WithdrawAlreadyProcessedException(UUID withdrawId) {
+        super("Withdraw " + withdrawId + " is no longer awaiting confirmation");
+    }
+}
@@ -0,0 +1,7 @@
+package com.ufcg.psoft.commerce.exception.withdraw;
+
+public class WithdrawQuoteLimitExceededException extends RuntimeException {
+    public WithdrawQuoteLimitExceededException(int maxQuotes) {
+        super("A client can hold at most " + maxQuotes + " open withdraw quotes");
+    }
+}
@@ -0,0 +1,9 @@
+package com.ufcg.psoft.commerce.exception.withdraw;
+
+import java.util.UUID;
+
+public class WithdrawQuoteNotFoundException extends RuntimeException {
+    public WithdrawQuoteNotFoundException(UUID quoteId) {
+        super("Withdraw quote " + quoteId + " was not found, has expired or does not match this withdraw");
+    }
+}
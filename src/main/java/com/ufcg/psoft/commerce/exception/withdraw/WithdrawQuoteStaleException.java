@@ -0,0 +1,9 @@
+package com.ufcg.psoft.commerce.exception.withdraw;
+
+import java.util.UUID;
+
+public class WithdrawQuoteStaleException extends RuntimeException {
+    public WithdrawQuoteStaleException(UUID quoteId) {
+        super("Withdraw quote " + quoteId + " was priced against a cost basis that has since changed, request a new quote");
+    }
+}
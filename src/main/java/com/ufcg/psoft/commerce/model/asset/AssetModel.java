@@ -1,5 +1,6 @@
 package com.ufcg.psoft.commerce.model.asset;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.ufcg.psoft.commerce.dto.subscription.SubscriptionResponseDTO;
 import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
@@ -7,14 +8,23 @@ import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
 import com.ufcg.psoft.commerce.exception.asset.AssetIsAlreadyActive;
 import com.ufcg.psoft.commerce.exception.asset.AssetIsInactiveException;
 import com.ufcg.psoft.commerce.exception.asset.AssetIsNotStockNeitherCryptoException;
+import com.ufcg.psoft.commerce.exception.asset.InvalidAssetTypeException;
+import com.ufcg.psoft.commerce.exception.asset.InvalidQuotationVariationException;
 import com.ufcg.psoft.commerce.exception.notification.EventManagerNotSetException;
+import com.ufcg.psoft.commerce.model.observer.PriceAlertCriteria;
+import com.ufcg.psoft.commerce.service.asset.AssetCacheInvalidationListener;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationOverlayListener;
+import com.ufcg.psoft.commerce.service.asset.search.AssetSearchIndexListener;
+import com.ufcg.psoft.commerce.service.etag.EntityVersionListener;
 import com.ufcg.psoft.commerce.service.observer.EventManager;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.*;
 
 import java.util.UUID;
 
 @Entity(name = "asset")
+@EntityListeners({AssetCacheInvalidationListener.class, EntityVersionListener.class, AssetSearchIndexListener.class, QuotationOverlayListener.class})
 @Data
 @Getter
 @Builder
@@ -22,6 +32,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class AssetModel {
 
+    private static final double MIN_QUOTATION_VARIATION = 0.01;
+
     @JsonProperty("id")
     @Id
     @GeneratedValue
@@ -44,47 +56,109 @@ public class AssetModel {
     @Column(nullable = false)
     private boolean isActive;
 
+    // only the write-behind flush updates this column, so a stale copy saved with other changes cannot roll it back
     @JsonProperty("quotation")
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private double quotation;
 
+    // register version of the value in the quotation column, written alongside it by the same flush
+    @JsonProperty("quotation_version")
+    @Column(name = "quotation_version", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long quotationVersion;
+
     @JsonProperty("quota_quantity")
     @Column(nullable = false)
     private double quotaQuantity;
 
+    @JsonProperty("version")
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     @Transient
     @Setter
     private EventManager eventManager;
 
+    // ahead of the quotation column until the register's next write-behind flush
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Double liveQuotation;
+
+    @PreUpdate
+    void incrementVersion() {
+        this.version++;
+    }
+
     public SubscriptionResponseDTO subscribe(UUID clientId, SubscriptionTypeEnum type) {
+        return this.subscribe(clientId, type, PriceAlertCriteria.defaultCriteria());
+    }
+
+    public SubscriptionResponseDTO subscribe(UUID clientId, SubscriptionTypeEnum type, PriceAlertCriteria criteria) {
         if (eventManager == null) {
             throw new EventManagerNotSetException();
         }
 
         this.validateAsset(type);
 
-        return eventManager.subscribeToAssetEvent(this.id, clientId, type);
+        return eventManager.subscribeToAssetEvent(this.id, clientId, type, criteria);
     }
 
-    public void updateQuotation(double newQuotation) {
-        double oldQuotation = this.quotation;
-        this.quotation = newQuotation;
+    public double getQuotation() {
+        return this.liveQuotation == null ? this.quotation : this.liveQuotation;
+    }
 
-        double notificationThreshold = 0.10;
+    // the quotation column as loaded, without the live overlay
+    @JsonIgnore
+    public double getPersistedQuotation() {
+        return this.quotation;
+    }
+
+    public void setQuotation(double quotation) {
+        this.quotation = quotation;
+        this.liveQuotation = null;
+    }
 
-        double variation = Math.abs((newQuotation - oldQuotation) / oldQuotation);
+    public void applyLiveQuotation(double liveQuotation) {
+        this.liveQuotation = liveQuotation;
+    }
+
+    public void updateQuotation(double newQuotation) {
+        double oldQuotation = this.applyQuotationUpdate(newQuotation);
 
-        if (variation >= notificationThreshold && eventManager != null) {
-            eventManager.notifySubscribersByType(this.id, SubscriptionTypeEnum.PRICE_VARIATION);
+        if (eventManager != null) {
+            eventManager.notifyPriceVariation(this.id, oldQuotation, newQuotation);
         }
     }
 
+    /**
+     * Validates and applies a new live quotation without notifying, for callers that report the variation
+     * themselves. Returns the quotation it replaced.
+     */
+    public double applyQuotationUpdate(double newQuotation) {
+        double oldQuotation = this.getQuotation();
+        this.validateQuotationUpdate(oldQuotation, newQuotation);
+        this.applyLiveQuotation(newQuotation);
+        return oldQuotation;
+    }
+
+    public void validateQuotationUpdate(double currentQuotation, double newQuotation) {
+        String assetType = this.getAssetType().getClass().getSimpleName().toUpperCase();
+        if (!assetType.equals(AssetTypeEnum.STOCK.name()) && !assetType.equals(AssetTypeEnum.CRYPTO.name())) throw new InvalidAssetTypeException();
+
+        double variation = Math.abs((newQuotation - currentQuotation) / currentQuotation);
+        if (variation < MIN_QUOTATION_VARIATION) throw new InvalidQuotationVariationException();
+    }
+
     public void changeActiveStatus(boolean newStatus) {
         boolean wasInactive = !this.isActive;
         this.isActive = newStatus;
 
         if (wasInactive && this.isActive && eventManager != null) {
-            eventManager.notifySubscribersByType(this.id, SubscriptionTypeEnum.AVAILABILITY);
+            eventManager.notifyAvailability(this.id);
         }
     }
 
@@ -0,0 +1,25 @@
+package com.ufcg.psoft.commerce.model.observer;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "notification_inbox_counter")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationInboxCounterModel {
+
+    @Id
+    @Column(name = "client_id")
+    private UUID clientId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+}
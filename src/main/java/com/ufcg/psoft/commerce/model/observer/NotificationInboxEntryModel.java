@@ -0,0 +1,52 @@
+package com.ufcg.psoft.commerce.model.observer;
+
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "notification_inbox", indexes = {
+        @Index(name = "idx_notification_inbox_client_id", columnList = "client_id, id")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationInboxEntryModel {
+
+    public static final int MAX_MESSAGE_LENGTH = 512;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "client_id", nullable = false, updatable = false)
+    private UUID clientId;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false, updatable = false)
+    private NotificationCategoryEnum category;
+
+    @Column(nullable = false, updatable = false, length = MAX_MESSAGE_LENGTH)
+    private String message;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "is_read", nullable = false)
+    private boolean read;
+
+    public static class NotificationInboxEntryModelBuilder {
+
+        // notification contexts are free text, cut them to the column instead of failing the whole inbox batch
+        public NotificationInboxEntryModelBuilder message(String message) {
+            this.message = message != null && message.length() > MAX_MESSAGE_LENGTH
+                    ? message.substring(0, MAX_MESSAGE_LENGTH)
+                    : message;
+            return this;
+        }
+    }
+}
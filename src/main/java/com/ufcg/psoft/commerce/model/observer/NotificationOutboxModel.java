@@ -0,0 +1,85 @@
+package com.ufcg.psoft.commerce.model.observer;
+
+import com.ufcg.psoft.commerce.enums.OutboxStatusEnum;
+import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_status_id", columnList = "status, id"),
+        @Index(name = "idx_notification_outbox_simulation_run_id", columnList = "simulation_run_id, status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutboxModel {
+
+    // pooled sequence ids let Hibernate batch the inserts, which IDENTITY generation rules out
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "asset_id", nullable = false)
+    private UUID assetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SubscriptionTypeEnum subscriptionType;
+
+    @Column(name = "first_quotation")
+    private Double firstQuotation;
+
+    @Column(name = "last_quotation")
+    private Double lastQuotation;
+
+    @Column(name = "path_lowest_quotation")
+    private Double pathLowestQuotation;
+
+    @Column(name = "path_highest_quotation")
+    private Double pathHighestQuotation;
+
+    @Column(name = "window_lowest_quotation")
+    private Double windowLowestQuotation;
+
+    @Column(name = "window_highest_quotation")
+    private Double windowHighestQuotation;
+
+    @Column(name = "window_started_at")
+    private LocalDateTime windowStartedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatusEnum status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    // set when a market feed simulation enqueued the entry, so its report only measures its own notifications
+    @Column(name = "simulation_run_id")
+    private UUID simulationRunId;
+
+    public void markDelivered(LocalDateTime now) {
+        this.status = OutboxStatusEnum.DELIVERED;
+        this.deliveredAt = now;
+    }
+
+    public void markFailedAttempt(int maxAttempts) {
+        this.attempts++;
+        if (this.attempts >= maxAttempts) {
+            this.status = OutboxStatusEnum.FAILED;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ufcg.psoft.commerce.model.observer;
+
+import lombok.*;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAlertCriteria {
+
+    public static final double DEFAULT_VARIATION_THRESHOLD = 0.10;
+
+    private Double variationThreshold;
+
+    private Double lowerPriceBound;
+
+    private Double upperPriceBound;
+
+    public static PriceAlertCriteria defaultCriteria() {
+        return new PriceAlertCriteria(DEFAULT_VARIATION_THRESHOLD, null, null);
+    }
+
+    public boolean isEmpty() {
+        return variationThreshold == null && lowerPriceBound == null && upperPriceBound == null;
+    }
+
+    /**
+     * Same rule the threshold index applies: the variation reaches the threshold, or the quotations fell below
+     * the lower bound or rose above the upper bound.
+     */
+    public boolean isTriggeredBy(double variation, double lowestQuotation, double highestQuotation) {
+        PriceAlertCriteria effective = this.isEmpty() ? defaultCriteria() : this;
+        return (effective.variationThreshold != null && effective.variationThreshold <= variation)
+                || (effective.lowerPriceBound != null && lowestQuotation < effective.lowerPriceBound)
+                || (effective.upperPriceBound != null && highestQuotation > effective.upperPriceBound);
+    }
+}
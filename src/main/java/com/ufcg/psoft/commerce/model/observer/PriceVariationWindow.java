@@ -0,0 +1,91 @@
+package com.ufcg.psoft.commerce.model.observer;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+public class PriceVariationWindow {
+
+    private final UUID assetId;
+
+    private final double firstQuotation;
+
+    private double lastQuotation;
+
+    private double lowestQuotation;
+
+    private double highestQuotation;
+
+    private int mergedEvents;
+
+    private double windowLowest;
+
+    private double windowHighest;
+
+    // when the oldest quotation behind the window extremes was recorded; null when only this variation counts
+    private LocalDateTime windowStartedAt;
+
+    public PriceVariationWindow(UUID assetId, double firstQuotation, double lastQuotation) {
+        this.assetId = assetId;
+        this.firstQuotation = firstQuotation;
+        this.lastQuotation = lastQuotation;
+        this.lowestQuotation = Math.min(firstQuotation, lastQuotation);
+        this.highestQuotation = Math.max(firstQuotation, lastQuotation);
+        this.mergedEvents = 1;
+        this.windowLowest = this.lowestQuotation;
+        this.windowHighest = this.highestQuotation;
+    }
+
+    public void merge(double newQuotation) {
+        this.lastQuotation = newQuotation;
+        this.lowestQuotation = Math.min(this.lowestQuotation, newQuotation);
+        this.highestQuotation = Math.max(this.highestQuotation, newQuotation);
+        this.mergedEvents++;
+    }
+
+    /**
+     * Widens this variation's own path to extremes it passed through between the quotations merged into it.
+     */
+    public void includePath(Double lowest, Double highest) {
+        if (lowest != null) {
+            this.lowestQuotation = Math.min(this.lowestQuotation, lowest);
+        }
+        if (highest != null) {
+            this.highestQuotation = Math.max(this.highestQuotation, highest);
+        }
+    }
+
+    /**
+     * Lowest and highest quotation of the asset's sliding window as of {@code lastQuotation}; widened so
+     * it always covers this variation's own path.
+     */
+    public void trackWindow(Double windowLowest, Double windowHighest, LocalDateTime windowStartedAt) {
+        if (windowLowest == null || windowHighest == null) {
+            return;
+        }
+        this.windowLowest = Math.min(windowLowest, this.lowestQuotation);
+        this.windowHighest = Math.max(windowHighest, this.highestQuotation);
+        this.windowStartedAt = windowStartedAt;
+    }
+
+    /**
+     * Largest move of this variation's own quotations away from its first one, ignoring the window.
+     */
+    public double getPathVariation() {
+        return relativeMove(Math.max(highestQuotation - firstQuotation, firstQuotation - lowestQuotation), firstQuotation);
+    }
+
+    public double getMaxVariation() {
+        // a move built from several smaller steps inside the window still counts as one variation
+        double fromWindowLowest = relativeMove(lastQuotation - windowLowest, windowLowest);
+        double fromWindowHighest = relativeMove(windowHighest - lastQuotation, windowHighest);
+        return Math.max(this.getPathVariation(), Math.max(fromWindowLowest, fromWindowHighest));
+    }
+
+    // a move away from a non-positive quotation has no relative size, so it never triggers on its own
+    private static double relativeMove(double move, double base) {
+        return base > 0 ? move / base : 0;
+    }
+}
@@ -4,6 +4,7 @@ import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
@@ -28,5 +29,21 @@ public class SubscriptionModel {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private SubscriptionTypeEnum subscriptionType;
+
+    @Column(name = "variation_threshold")
+    private Double variationThreshold;
+
+    @Column(name = "lower_price_bound")
+    private Double lowerPriceBound;
+
+    @Column(name = "upper_price_bound")
+    private Double upperPriceBound;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public PriceAlertCriteria getPriceAlertCriteria() {
+        return new PriceAlertCriteria(variationThreshold, lowerPriceBound, upperPriceBound);
+    }
 }
 
@@ -4,7 +4,9 @@ import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
 import com.ufcg.psoft.commerce.exception.user.UnauthorizedUserAccessException;
 import com.ufcg.psoft.commerce.model.observer.ISubscriber;
 import com.ufcg.psoft.commerce.model.wallet.WalletModel;
+import com.ufcg.psoft.commerce.service.etag.EntityVersionListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +18,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @DiscriminatorValue("C")
+@EntityListeners(EntityVersionListener.class)
 public class ClientModel extends UserModel implements ISubscriber {
 
     public static final String ANSI_MAGENTA = "\u001B[35m";
@@ -39,6 +42,15 @@ public class ClientModel extends UserModel implements ISubscriber {
     @OneToOne(cascade = CascadeType.ALL)
     private WalletModel wallet;
 
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
+    @PreUpdate
+    void incrementVersion() {
+        this.version++;
+    }
+
     @Override
     public void validateAccess(String accessCode) {
         if (this.getAccessCode().matches(accessCode)) {
@@ -56,8 +56,9 @@ public class HoldingModel {
         this.quantity -= quantityToWithdraw;
     }
 
-    public void decreaseAccumulatedPriceAfterWithdraw(double quantityToWithdraw, double assetQuotation) {
-        this.accumulatedPrice -= quantityToWithdraw * assetQuotation;
+    // the withdrawn units leave at their average cost, so it must run before the quantity is decreased
+    public void decreaseAccumulatedPriceAfterWithdraw(double quantityToWithdraw) {
+        this.accumulatedPrice -= this.accumulatedPrice / this.quantity * quantityToWithdraw;
     }
 
 }
@@ -3,6 +3,7 @@ package com.ufcg.psoft.commerce.model.wallet;
 import com.ufcg.psoft.commerce.enums.PurchaseStateEnum;
 import com.ufcg.psoft.commerce.model.user.UserModel;
 import com.ufcg.psoft.commerce.model.wallet.states.purchase.*;
+import com.ufcg.psoft.commerce.service.observer.EventManager;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -38,6 +39,9 @@ public class PurchaseModel extends TransactionModel {
     @Transient
     private PurchaseState state;
 
+    @Transient
+    private EventManager eventManager;
+
     @Override
     @PostLoad
     public void loadState() {
@@ -0,0 +1,46 @@
+package com.ufcg.psoft.commerce.model.wallet;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Realized profit, tax and gross proceeds of one wallet for one year and asset type, accumulated as withdraws
+ * reach IN_ACCOUNT so tax statements never rescan the withdraw history.
+ */
+@Entity
+@Table(name = "tax_ledger", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_tax_ledger_wallet_year_type", columnNames = {"wallet_id", "tax_year", "asset_type"})
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaxLedgerEntryModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "wallet_id", nullable = false, updatable = false)
+    private UUID walletId;
+
+    @Column(name = "tax_year", nullable = false, updatable = false)
+    private int taxYear;
+
+    @Column(name = "asset_type", nullable = false, updatable = false)
+    private String assetType;
+
+    @Column(name = "realized_profit", nullable = false)
+    private double realizedProfit;
+
+    @Column(name = "tax_paid", nullable = false)
+    private double taxPaid;
+
+    @Column(name = "gross_proceeds", nullable = false)
+    private double grossProceeds;
+
+    @Column(name = "withdraws", nullable = false)
+    private long withdraws;
+}
@@ -1,9 +1,11 @@
 package com.ufcg.psoft.commerce.model.wallet;
 
+import com.ufcg.psoft.commerce.exception.asset.QuotationVersionMismatchException;
 import com.ufcg.psoft.commerce.model.asset.AssetModel;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -35,6 +37,27 @@ public abstract class TransactionModel {
     @Column(name = "date", nullable = false)
     private LocalDate date;
 
+    // register version of the quotation this transaction was priced at
+    @Column(name = "quotationVersion", nullable = false)
+    @ColumnDefault("0")
+    private long quotationVersion;
+
+    /**
+     * Confirms against the quotation the caller saw: the expected version must be the one this transaction was
+     * priced at and the asset must not have been quoted again since. Skipped when no version is expected.
+     */
+    public void validateQuotationVersion(Long expectedVersion, long currentVersion) {
+        if (expectedVersion == null) {
+            return;
+        }
+        if (expectedVersion != this.quotationVersion) {
+            throw new QuotationVersionMismatchException(expectedVersion, this.quotationVersion);
+        }
+        if (currentVersion != this.quotationVersion) {
+            throw new QuotationVersionMismatchException(currentVersion, this.quotationVersion);
+        }
+    }
+
     @PostLoad
     public abstract void loadState();
 }
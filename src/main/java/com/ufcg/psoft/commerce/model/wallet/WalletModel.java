@@ -1,6 +1,8 @@
 package com.ufcg.psoft.commerce.model.wallet;
 
+import com.ufcg.psoft.commerce.service.etag.EntityVersionListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.*;
 
 import java.util.Map;
@@ -12,6 +14,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(EntityVersionListener.class)
 public class WalletModel {
 
     @Id
@@ -25,6 +28,15 @@ public class WalletModel {
     @MapKeyJoinColumn(name = "asset_id")
     private Map<UUID, HoldingModel> holdings;
 
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
+    @PreUpdate
+    void incrementVersion() {
+        this.version++;
+    }
+
     public void decreaseBudgetAfterPurchase(double purchaseValue) {
         this.budget -= purchaseValue;
     }
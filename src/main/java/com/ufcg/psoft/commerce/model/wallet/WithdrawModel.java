@@ -1,11 +1,13 @@
 package com.ufcg.psoft.commerce.model.wallet;
 
 import com.ufcg.psoft.commerce.enums.WithdrawStateEnum;
+import com.ufcg.psoft.commerce.exception.user.ClientHoldingIsInsufficientException;
 import com.ufcg.psoft.commerce.model.wallet.states.withdraw.WithdrawConfirmedState;
 import com.ufcg.psoft.commerce.model.wallet.states.withdraw.WithdrawInAccountState;
 import com.ufcg.psoft.commerce.model.wallet.states.withdraw.WithdrawRequestedState;
 import com.ufcg.psoft.commerce.model.wallet.states.withdraw.WithdrawState;
 import com.ufcg.psoft.commerce.model.user.UserModel;
+import com.ufcg.psoft.commerce.service.observer.EventManager;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -37,6 +39,11 @@ public class WithdrawModel extends TransactionModel {
     @Column(name = "withdrawValue", nullable = false)
     private double withdrawValue;
 
+    // selling value minus the holding's average cost, negative on a loss; feeds the tax ledger.
+    // null on withdraws requested before it was recorded, those get it computed when they settle
+    @Column(name = "realizedProfit")
+    private Double realizedProfit;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "state", nullable = false)
     private WithdrawStateEnum stateEnum;
@@ -44,6 +51,12 @@ public class WithdrawModel extends TransactionModel {
     @Transient
     private WithdrawState state;
 
+    @Transient
+    private EventManager eventManager;
+
+    @Transient
+    private HoldingModel holding;
+
     @Override
     @PostLoad
     public void loadState() {
@@ -59,6 +72,24 @@ public class WithdrawModel extends TransactionModel {
         this.state.modify(user);
     }
 
+    /**
+     * Holding of the withdrawn asset in the wallet; resolved once and shared by the state transitions and the
+     * wallet settlement.
+     */
+    public HoldingModel resolveHolding() {
+        if (this.holding == null) {
+            this.holding = this.getWallet().getHoldings()
+                    .values()
+                    .stream()
+                    .filter(h -> h.getAsset().equals(this.getAsset()))
+                    .findFirst()
+                    .orElseThrow(() -> new ClientHoldingIsInsufficientException(
+                            "Client does not own asset " + this.getAsset().getName()
+                    ));
+        }
+        return this.holding;
+    }
+
     public void setState(WithdrawState newState, WithdrawStateEnum type) {
         this.state = newState;
         this.stateEnum = type;
@@ -1,5 +1,6 @@
 package com.ufcg.psoft.commerce.model.wallet.states.purchase;
 
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
 import com.ufcg.psoft.commerce.enums.PurchaseStateEnum;
 import com.ufcg.psoft.commerce.exception.asset.AssetIsInactiveException;
 import com.ufcg.psoft.commerce.exception.asset.AssetQuantityAvailableIsInsufficientException;
@@ -7,6 +8,7 @@ import com.ufcg.psoft.commerce.exception.user.UnauthorizedUserAccessException;
 import com.ufcg.psoft.commerce.model.asset.AssetModel;
 import com.ufcg.psoft.commerce.model.user.UserModel;
 import com.ufcg.psoft.commerce.model.wallet.PurchaseModel;
+import com.ufcg.psoft.commerce.service.observer.EventManager;
 import jakarta.persistence.Column;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
@@ -72,6 +74,14 @@ public class PurchaseRequestedState implements PurchaseState {
                            assetName, quantity, String.format("%.2f", totalValue));
             }
             LOGGER.info("Purchase Notification:\n{}", notificationMessage);
+
+            EventManager eventManager = purchase.getEventManager();
+            if (eventManager != null) {
+                eventManager.notifyWalletOwner(purchase.getWallet().getId(), NotificationCategoryEnum.PURCHASE, String.format(
+                        "Your purchase of %.2f units of %s is available for confirmation (total value $ %.2f)",
+                        quantity, assetName, totalValue
+                ));
+            }
             
         } catch (Exception e) {
             if (LOGGER.isErrorEnabled()) {
@@ -1,12 +1,13 @@
 package com.ufcg.psoft.commerce.model.wallet.states.withdraw;
 
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
 import com.ufcg.psoft.commerce.enums.WithdrawStateEnum;
-import com.ufcg.psoft.commerce.exception.user.ClientHoldingIsInsufficientException;
 import com.ufcg.psoft.commerce.exception.user.UnauthorizedUserAccessException;
 import com.ufcg.psoft.commerce.model.asset.AssetModel;
 import com.ufcg.psoft.commerce.model.user.UserModel;
 import com.ufcg.psoft.commerce.model.wallet.HoldingModel;
 import com.ufcg.psoft.commerce.model.wallet.WithdrawModel;
+import com.ufcg.psoft.commerce.service.observer.EventManager;
 import jakarta.persistence.Column;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
@@ -27,7 +28,7 @@ public class WithdrawRequestedState implements WithdrawState {
         }
 
         AssetModel asset = this.withdraw.getAsset();
-        HoldingModel holding = findHolding(this.withdraw.getWallet(), asset);
+        HoldingModel holding = this.withdraw.resolveHolding();
 
         // Validar se o cliente possui quantidade suficiente do ativo
         holding.validateQuantityToWithdraw(withdraw.getQuantity());
@@ -37,17 +38,6 @@ public class WithdrawRequestedState implements WithdrawState {
         notifyClientAboutWithdrawConfirmation(asset);
     }
 
-    private HoldingModel findHolding(com.ufcg.psoft.commerce.model.wallet.WalletModel wallet, AssetModel asset) {
-        return wallet.getHoldings()
-                .values()
-                .stream()
-                .filter(h -> h.getAsset().equals(asset))
-                .findFirst()
-                .orElseThrow(() -> new ClientHoldingIsInsufficientException(
-                        "Client does not own asset " + asset.getName()
-                ));
-    }
-
     private void notifyClientAboutWithdrawConfirmation(AssetModel asset) {
         try {
             final String cyan = "\u001B[36m";
@@ -71,6 +61,14 @@ public class WithdrawRequestedState implements WithdrawState {
             }
             LOGGER.info("Withdraw Notification:\n{}", notificationMessage);
 
+            EventManager eventManager = withdraw.getEventManager();
+            if (eventManager != null) {
+                eventManager.notifyWalletOwner(withdraw.getWallet().getId(), NotificationCategoryEnum.WITHDRAW, String.format(
+                        "Your withdraw request of %.2f units of %s was confirmed by the administrator",
+                        withdraw.getQuantity(), asset.getName()
+                ));
+            }
+
         } catch (Exception e) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error("Error generating withdraw confirmation notification: {}", e.getMessage());
@@ -3,13 +3,33 @@ package com.ufcg.psoft.commerce.repository.asset;
 import com.ufcg.psoft.commerce.model.asset.AssetModel;
 import com.ufcg.psoft.commerce.model.asset.AssetType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AssetRepository extends JpaRepository<AssetModel, UUID> {
     List<AssetModel> findByIsActiveTrue();
+    List<AssetModel> findByIsActiveTrueAndAssetTypeName(String assetTypeName);
     List<AssetModel> findByAssetType(AssetType assetType);
+    List<AssetModel> findByAssetTypeNameIn(Collection<String> assetTypeNames);
+
+    // the quotation columns are not updatable through the entity, only the write-behind flush writes them
+    @Modifying
+    @Query("""
+           UPDATE asset a
+              SET a.quotation = :quotation,
+                  a.quotationVersion = :quotationVersion
+            WHERE a.id = :assetId
+           """)
+    int updateQuotation(@Param("assetId") UUID assetId, @Param("quotation") double quotation,
+                        @Param("quotationVersion") long quotationVersion);
+
+    @Query("SELECT COALESCE(MAX(a.quotationVersion), 0) FROM asset a")
+    long findMaxQuotationVersion();
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ClientRepository extends JpaRepository<ClientModel, UUID> {
@@ -14,4 +15,6 @@ public interface ClientRepository extends JpaRepository<ClientModel, UUID> {
             nativeQuery = true
     )
     List<UUID> findClientIdsByInterestedAvailabilityAssetId(@Param("assetId") UUID assetId);
+
+    Optional<ClientModel> findByWalletId(UUID walletId);
 }
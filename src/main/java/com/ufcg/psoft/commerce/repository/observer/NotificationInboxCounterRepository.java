@@ -0,0 +1,39 @@
+package com.ufcg.psoft.commerce.repository.observer;
+
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxCounterModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface NotificationInboxCounterRepository extends JpaRepository<NotificationInboxCounterModel, UUID> {
+
+    @Modifying
+    @Query("""
+           UPDATE NotificationInboxCounterModel c
+              SET c.unreadCount = c.unreadCount + :appended,
+                  c.totalCount = c.totalCount + :appended
+            WHERE c.clientId = :clientId
+           """)
+    int incrementAppended(@Param("clientId") UUID clientId, @Param("appended") long appended);
+
+    // a plain insert, so a row another transaction created first fails on the key instead of being merged over
+    @Modifying
+    @Query(
+            value = "INSERT INTO notification_inbox_counter (client_id, unread_count, total_count) VALUES (:clientId, 0, 0)",
+            nativeQuery = true
+    )
+    int insertEmpty(@Param("clientId") UUID clientId);
+
+    @Modifying
+    @Query("""
+           UPDATE NotificationInboxCounterModel c
+              SET c.unreadCount = c.unreadCount - :read
+            WHERE c.clientId = :clientId
+           """)
+    int decrementUnread(@Param("clientId") UUID clientId, @Param("read") long read);
+}
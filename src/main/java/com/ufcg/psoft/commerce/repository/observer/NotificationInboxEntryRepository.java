@@ -0,0 +1,30 @@
+package com.ufcg.psoft.commerce.repository.observer;
+
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxEntryModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NotificationInboxEntryRepository extends JpaRepository<NotificationInboxEntryModel, Long> {
+
+    List<NotificationInboxEntryModel> findByClientIdOrderByIdDesc(UUID clientId, Pageable pageable);
+
+    List<NotificationInboxEntryModel> findByClientIdAndIdLessThanOrderByIdDesc(UUID clientId, Long beforeId, Pageable pageable);
+
+    @Modifying
+    @Query("""
+           UPDATE NotificationInboxEntryModel e
+              SET e.read = true
+            WHERE e.clientId = :clientId
+              AND e.read = false
+              AND e.id <= :upToId
+           """)
+    int markReadUpTo(@Param("clientId") UUID clientId, @Param("upToId") Long upToId);
+}
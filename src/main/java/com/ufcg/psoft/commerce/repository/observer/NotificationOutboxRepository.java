@@ -0,0 +1,45 @@
+package com.ufcg.psoft.commerce.repository.observer;
+
+import com.ufcg.psoft.commerce.enums.OutboxStatusEnum;
+import com.ufcg.psoft.commerce.model.observer.NotificationOutboxModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxModel, Long> {
+
+    List<NotificationOutboxModel> findByStatusOrderByIdAsc(OutboxStatusEnum status, Pageable pageable);
+
+    long countByStatus(OutboxStatusEnum status);
+
+    List<NotificationOutboxModel> findByStatusAndSimulationRunId(OutboxStatusEnum status, UUID simulationRunId);
+
+    long countByStatusAndSimulationRunId(OutboxStatusEnum status, UUID simulationRunId);
+
+    // delivered entries have no subscriptions left to notify, so only failed ones can be replayed
+    @Modifying
+    @Query("""
+           UPDATE NotificationOutboxModel o
+              SET o.status = com.ufcg.psoft.commerce.enums.OutboxStatusEnum.PENDING,
+                  o.attempts = 0
+            WHERE o.createdAt >= :since
+              AND o.status = com.ufcg.psoft.commerce.enums.OutboxStatusEnum.FAILED
+           """)
+    int replayFailedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("""
+           DELETE FROM NotificationOutboxModel o
+            WHERE o.status = com.ufcg.psoft.commerce.enums.OutboxStatusEnum.DELIVERED
+              AND o.deliveredAt < :cutoff
+           """)
+    int deleteDeliveredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,33 @@
+package com.ufcg.psoft.commerce.repository.wallet;
+
+import com.ufcg.psoft.commerce.model.wallet.TaxLedgerEntryModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TaxLedgerRepository extends JpaRepository<TaxLedgerEntryModel, UUID> {
+
+    List<TaxLedgerEntryModel> findByWalletIdAndTaxYear(UUID walletId, int taxYear);
+
+    @Modifying
+    @Query("""
+           UPDATE TaxLedgerEntryModel t
+              SET t.realizedProfit = t.realizedProfit + :realizedProfit,
+                  t.taxPaid = t.taxPaid + :taxPaid,
+                  t.grossProceeds = t.grossProceeds + :grossProceeds,
+                  t.withdraws = t.withdraws + 1
+            WHERE t.walletId = :walletId
+              AND t.taxYear = :taxYear
+              AND t.assetType = :assetType
+           """)
+    int accumulate(@Param("walletId") UUID walletId,
+                   @Param("taxYear") int taxYear,
+                   @Param("assetType") String assetType,
+                   @Param("realizedProfit") double realizedProfit,
+                   @Param("taxPaid") double taxPaid,
+                   @Param("grossProceeds") double grossProceeds);
+}
@@ -1,17 +1,38 @@
 package com.ufcg.psoft.commerce.repository.wallet;
 
 import com.ufcg.psoft.commerce.model.wallet.WithdrawModel;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface WithdrawRepository extends JpaRepository<WithdrawModel, UUID> {
     List<WithdrawModel> findByWalletId(UUID walletId);
 
+    // row locks so two confirmations of the same withdraw serialize and the second one sees it processed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+           SELECT w
+             FROM WithdrawModel w
+            WHERE w.id = :withdrawId
+           """)
+    Optional<WithdrawModel> findByIdForUpdate(@Param("withdrawId") UUID withdrawId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+           SELECT w
+             FROM WithdrawModel w
+            WHERE w.id IN :withdrawIds
+           """)
+    List<WithdrawModel> findAllByIdForUpdate(@Param("withdrawIds") Collection<UUID> withdrawIds);
+
     @Query("""
            SELECT w
              FROM WithdrawModel w
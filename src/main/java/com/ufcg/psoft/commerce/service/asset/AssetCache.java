@@ -0,0 +1,99 @@
+package com.ufcg.psoft.commerce.service.asset;
+
+import com.ufcg.psoft.commerce.dto.asset.AssetCacheMetricsDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetResponseDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetStatisticsDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetTypeResponseDTO;
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for asset reads. Holds detached {@link AssetModel} snapshots, per-asset response DTOs
+ * and the active asset listings; entries are invalidated by {@link AssetCacheInvalidationListener}. The
+ * cached objects are mutable, so every read hands out its own copy.
+ */
+@Component
+public class AssetCache {
+
+    private static final String AVAILABLE_KEY = "*";
+
+    private final BoundedConcurrentCache<UUID, AssetModel> snapshots;
+    private final BoundedConcurrentCache<UUID, AssetResponseDTO> responses;
+    private final BoundedConcurrentCache<String, List<AssetResponseDTO>> listings;
+
+    public AssetCache(@Value("${asset.cache.capacity:1024}") int capacity) {
+        this.snapshots = new BoundedConcurrentCache<>(capacity);
+        this.responses = new BoundedConcurrentCache<>(capacity);
+        this.listings = new BoundedConcurrentCache<>(capacity);
+    }
+
+    public AssetModel getSnapshot(UUID assetId, Function<UUID, AssetModel> loader) {
+        return copy(snapshots.get(assetId, loader));
+    }
+
+    public AssetResponseDTO getResponse(UUID assetId, Function<UUID, AssetResponseDTO> loader) {
+        return copy(responses.get(assetId, loader));
+    }
+
+    public List<AssetResponseDTO> getAvailable(Supplier<List<AssetResponseDTO>> loader) {
+        return copy(listings.get(AVAILABLE_KEY, key -> loader.get()));
+    }
+
+    public void evict(UUID assetId) {
+        snapshots.invalidate(assetId);
+        responses.invalidate(assetId);
+        listings.invalidateAll();
+    }
+
+    public AssetCacheMetricsDTO getMetrics() {
+        long hits = snapshots.hits() + responses.hits() + listings.hits();
+        long misses = snapshots.misses() + responses.misses() + listings.misses();
+        long lookups = hits + misses;
+
+        return AssetCacheMetricsDTO.builder()
+                .capacity(snapshots.capacity())
+                .snapshots(snapshots.size())
+                .responses(responses.size())
+                .listings(listings.size())
+                .hits(hits)
+                .misses(misses)
+                .hitRatio(lookups == 0 ? 0 : (double) hits / lookups)
+                .evictions(snapshots.evictions() + responses.evictions() + listings.evictions())
+                .invalidations(snapshots.invalidations() + responses.invalidations() + listings.invalidations())
+                .build();
+    }
+
+    private static AssetModel copy(AssetModel snapshot) {
+        return AssetModel.builder()
+                .id(snapshot.getId())
+                .name(snapshot.getName())
+                .assetType(snapshot.getAssetType())
+                .description(snapshot.getDescription())
+                .isActive(snapshot.isActive())
+                .quotation(snapshot.getQuotation())
+                .quotationVersion(snapshot.getQuotationVersion())
+                .quotaQuantity(snapshot.getQuotaQuantity())
+                .version(snapshot.getVersion())
+                .build();
+    }
+
+    private static AssetResponseDTO copy(AssetResponseDTO response) {
+        AssetTypeResponseDTO assetType = response.getAssetType();
+        AssetStatisticsDTO statistics = response.getStatistics();
+        return response.toBuilder()
+                .assetType(assetType == null ? null : new AssetTypeResponseDTO(assetType.getId(), assetType.getName()))
+                .statistics(statistics == null ? null : new AssetStatisticsDTO(statistics.getReturns(), statistics.getMeanReturn(),
+                        statistics.getReturnVariance(), statistics.getVolatility(), statistics.getMaxDrawdown()))
+                .build();
+    }
+
+    private static List<AssetResponseDTO> copy(List<AssetResponseDTO> listing) {
+        return listing.stream().map(response -> copy(response)).toList();
+    }
+}
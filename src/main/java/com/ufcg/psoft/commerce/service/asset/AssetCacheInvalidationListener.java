@@ -0,0 +1,41 @@
+package com.ufcg.psoft.commerce.service.asset;
+
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.util.TransactionCallbacks;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidates the asset read caches whenever an asset row is written, immediately and again after the
+ * surrounding transaction commits, so a read racing with the commit cannot keep a stale entry alive.
+ */
+@Component
+public class AssetCacheInvalidationListener {
+
+    // lazy: Hibernate creates this listener while the entity manager factory that the repositories need is still being built
+    @Lazy
+    @Autowired
+    private AssetCache assetCache;
+
+    @Lazy
+    @Autowired
+    private AssetCatalog assetCatalog;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onAssetWritten(AssetModel assetModel) {
+        Runnable invalidation = () -> {
+            assetCache.evict(assetModel.getId());
+            assetCatalog.invalidate();
+        };
+
+        invalidation.run();
+        // outside a transaction the write is already visible and this is just a cheap second eviction
+        TransactionCallbacks.afterCommit(invalidation);
+    }
+}
@@ -0,0 +1,100 @@
+package com.ufcg.psoft.commerce.service.asset;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.commerce.dto.asset.AssetResponseDTO;
+import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import com.ufcg.psoft.commerce.exception.asset.AssetTypeNotFoundException;
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
+import com.ufcg.psoft.commerce.repository.asset.AssetTypeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog of active assets per plan, kept as immutable snapshots already serialized to JSON. Any asset
+ * write bumps the revision; the next read of a plan whose snapshot is older rebuilds it with a single query
+ * and publishes a new copy of the snapshot map, so readers never block on each other. A rebuild that an
+ * invalidation overtook still answers its own caller but is not published, since its query may have run
+ * before the invalidating write committed.
+ */
+@Component
+public class AssetCatalog {
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetTypeRepository assetTypeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicLong revision = new AtomicLong();
+
+    private volatile Map<PlanTypeEnum, CatalogSnapshot> snapshots = new EnumMap<>(PlanTypeEnum.class);
+
+    public byte[] getCatalog(PlanTypeEnum planType) {
+        CatalogSnapshot snapshot = snapshots.get(planType);
+        if (snapshot == null || snapshot.revision() != revision.get()) {
+            snapshot = this.rebuild(planType);
+        }
+        return snapshot.json();
+    }
+
+    public void invalidate() {
+        revision.incrementAndGet();
+    }
+
+    private synchronized CatalogSnapshot rebuild(PlanTypeEnum planType) {
+        // read before querying, so a write committed during the rebuild leaves this snapshot stale
+        long currentRevision = revision.get();
+
+        CatalogSnapshot existing = snapshots.get(planType);
+        if (existing != null && existing.revision() == currentRevision) {
+            return existing;
+        }
+
+        List<AssetModel> assets = planType == PlanTypeEnum.PREMIUM
+                ? assetRepository.findByIsActiveTrue()
+                : this.findActiveTreasuryBounds();
+
+        List<AssetResponseDTO> responses = assets.stream().map(AssetResponseDTO::new).toList();
+        CatalogSnapshot snapshot = new CatalogSnapshot(currentRevision, this.serialize(responses));
+        if (revision.get() != currentRevision) {
+            return snapshot;
+        }
+
+        Map<PlanTypeEnum, CatalogSnapshot> updated = new EnumMap<>(PlanTypeEnum.class);
+        updated.putAll(snapshots);
+        updated.put(planType, snapshot);
+        snapshots = updated;
+
+        return snapshot;
+    }
+
+    private List<AssetModel> findActiveTreasuryBounds() {
+        String assetType = AssetTypeEnum.TREASURY_BOUNDS.name();
+        if (assetTypeRepository.findByName(assetType).isEmpty()) {
+            throw new AssetTypeNotFoundException(assetType);
+        }
+        return assetRepository.findByIsActiveTrueAndAssetTypeName(assetType);
+    }
+
+    private byte[] serialize(List<AssetResponseDTO> responses) {
+        try {
+            return objectMapper.writeValueAsBytes(responses);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the asset catalog", e);
+        }
+    }
+
+    private record CatalogSnapshot(long revision, byte[] json) {
+    }
+}
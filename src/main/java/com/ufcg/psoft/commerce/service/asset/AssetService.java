@@ -2,14 +2,20 @@ package com.ufcg.psoft.commerce.service.asset;
 
 import com.ufcg.psoft.commerce.dto.subscription.SubscriptionResponseDTO;
 import com.ufcg.psoft.commerce.dto.asset.*;
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientMarkInterestInAssetRequestDTO;
 import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
+import com.ufcg.psoft.commerce.enums.CandleResolutionEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
 import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
 import com.ufcg.psoft.commerce.model.asset.AssetModel;
 import com.ufcg.psoft.commerce.model.asset.AssetType;
 import jakarta.validation.Valid;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface AssetService {
@@ -19,16 +25,36 @@ public interface AssetService {
 
     List<AssetResponseDTO> getAvailableAssets();
 
-    List<AssetResponseDTO> getActiveAssetsByAssetType(AssetType assetType);
+    List<AssetResponseDTO> searchAssets(String query, AssetTypeEnum assetType, PlanTypeEnum planType, int limit);
+
+    String getAvailableAssetsETag();
 
     AssetResponseDTO getAssetById(UUID idAsset);
 
+    AssetStatisticsDTO getStatistics(UUID idAsset);
+
+    byte[] getCatalog(PlanTypeEnum planType);
+
     AssetResponseDTO updateQuotation(UUID idAsset, AssetQuotationUpdateDTO assetQuotationUpdateDTO);
 
+    AssetQuotationBatchResponseDTO updateQuotations(AssetQuotationBatchUpdateDTO assetQuotationBatchUpdateDTO);
+
+    AssetQuotationHistoryResponseDTO getQuotationHistory(UUID idAsset, LocalDateTime from, LocalDateTime to, Integer limit);
+
+    AssetCandlesResponseDTO getCandles(UUID idAsset, CandleResolutionEnum resolution, LocalDateTime from, LocalDateTime to);
+
     AssetResponseDTO setIsActive(UUID idAsset, @Valid AssetActivationPatchRequestDTO assetPatchRequestDTO);
 
     SubscriptionResponseDTO subscribeToAsset(UUID clientId, ClientMarkInterestInAssetRequestDTO clientMarkInterestInAssetRequestDTO, SubscriptionTypeEnum subscriptionType);
 
+    SseEmitter streamQuotations(Set<UUID> assetIds, PlanTypeEnum planType);
+
+    AssetStreamMetricsDTO getStreamMetrics(AdminAccessRequestDTO adminAccessRequestDTO);
+
+    AssetCacheMetricsDTO getCacheMetrics(AdminAccessRequestDTO adminAccessRequestDTO);
+
+    AssetCorrelationMatrixResponseDTO getCorrelationMatrix(AdminAccessRequestDTO adminAccessRequestDTO);
+
     AssetType fetchAssetType(AssetTypeEnum assetTypeEnum);
 
     AssetModel fetchAsset(UUID assetId);
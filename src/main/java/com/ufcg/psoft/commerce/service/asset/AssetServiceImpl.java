@@ -3,30 +3,52 @@ package com.ufcg.psoft.commerce.service.asset;
 import com.ufcg.psoft.commerce.dto.subscription.SubscriptionResponseDTO;
 import com.ufcg.psoft.commerce.dto.asset.*;
 
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientMarkInterestInAssetRequestDTO;
 import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
 import com.ufcg.psoft.commerce.exception.asset.*;
 import com.ufcg.psoft.commerce.model.asset.AssetModel;
 import com.ufcg.psoft.commerce.model.asset.AssetType;
+import com.ufcg.psoft.commerce.model.observer.PriceAlertCriteria;
+import com.ufcg.psoft.commerce.model.observer.PriceVariationWindow;
 import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
+import com.ufcg.psoft.commerce.enums.CandleResolutionEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
 import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
 
 import com.ufcg.psoft.commerce.repository.asset.AssetTypeRepository;
 import com.ufcg.psoft.commerce.service.admin.AdminService;
+import com.ufcg.psoft.commerce.service.asset.correlation.AssetCorrelationJob;
+import com.ufcg.psoft.commerce.service.asset.correlation.CorrelationMatrix;
+import com.ufcg.psoft.commerce.service.asset.history.CandleAggregator;
+import com.ufcg.psoft.commerce.service.asset.history.QuotationHistoryStore;
+import com.ufcg.psoft.commerce.service.asset.history.ReturnStatistics;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationRegister;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationStamp;
+import com.ufcg.psoft.commerce.service.asset.search.AssetSearchIndex;
+import com.ufcg.psoft.commerce.service.asset.stream.QuotationStreamBroadcaster;
+import com.ufcg.psoft.commerce.service.etag.ETagRegistry;
 import com.ufcg.psoft.commerce.service.observer.EventManager;
+import com.ufcg.psoft.commerce.util.TransactionCallbacks;
 import jakarta.validation.Valid;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
-import java.util.UUID;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class AssetServiceImpl implements AssetService {
 
-    private static final double MIN_QUOTATION_VARIATION = 0.01;
+    private static final int DEFAULT_HISTORY_LIMIT = 1000;
+    private static final long DEFAULT_HISTORY_WINDOW_HOURS = 24;
 
     @Autowired
     AssetRepository assetRepository;
@@ -43,6 +65,39 @@ public class AssetServiceImpl implements AssetService {
     @Autowired
     AdminService adminService;
 
+    @Autowired
+    QuotationHistoryStore quotationHistoryStore;
+
+    @Autowired
+    CandleAggregator candleAggregator;
+
+    @Autowired
+    QuotationStreamBroadcaster quotationStreamBroadcaster;
+
+    @Autowired
+    List<QuotationUpdateListener> quotationUpdateListeners;
+
+    @Autowired
+    AssetCache assetCache;
+
+    @Autowired
+    AssetCatalog assetCatalog;
+
+    @Autowired
+    ETagRegistry eTagRegistry;
+
+    @Autowired
+    AssetSearchIndex assetSearchIndex;
+
+    @Autowired
+    QuotationRegister quotationRegister;
+
+    @Autowired
+    ReturnStatistics returnStatistics;
+
+    @Autowired
+    AssetCorrelationJob assetCorrelationJob;
+
     @Override
     public AssetResponseDTO create(AssetPostRequestDTO assetPostRequestDTO) {
         this.adminService.validateAdmin(assetPostRequestDTO.getAdminEmail(), assetPostRequestDTO.getAdminAccessCode());
@@ -51,6 +106,7 @@ public class AssetServiceImpl implements AssetService {
         AssetType assetType = getAssetType(assetPostRequestDTO.getAssetType());
         assetModel.setAssetType(assetType);
         assetRepository.save(assetModel);
+        this.publishQuotation(assetModel.getId(), System.currentTimeMillis(), assetModel.getQuotation());
         return modelMapper.map(assetModel, AssetResponseDTO.class);
     }
 
@@ -65,52 +121,195 @@ public class AssetServiceImpl implements AssetService {
         } catch (DataIntegrityViolationException ex) {
             throw new AssetReferencedInPurchaseException();
         }
+        TransactionCallbacks.afterCommit(() -> quotationUpdateListeners.forEach(listener -> listener.onAssetDeleted(idAsset)));
     }
 
     @Override
     public AssetResponseDTO getAssetById(UUID idAsset) {
-        AssetModel assetModel = this.getAsset(idAsset);
-        return modelMapper.map(assetModel, AssetResponseDTO.class);
+        return assetCache.getResponse(idAsset, id -> modelMapper.map(this.getAssetSnapshot(id), AssetResponseDTO.class));
+    }
+
+    @Override
+    public AssetStatisticsDTO getStatistics(UUID idAsset) {
+        ReturnStatistics.Summary summary = returnStatistics.summary(idAsset);
+        if (summary == null) {
+            return null;
+        }
+        return AssetStatisticsDTO.builder()
+                .returns(summary.returns())
+                .meanReturn(summary.meanReturn())
+                .returnVariance(summary.variance())
+                .volatility(summary.volatility())
+                .maxDrawdown(summary.maxDrawdown())
+                .build();
+    }
+
+    @Override
+    public List<AssetResponseDTO> searchAssets(String query, AssetTypeEnum assetType, PlanTypeEnum planType, int limit) {
+        List<AssetResponseDTO> results = new ArrayList<>();
+        for (UUID assetId : assetSearchIndex.search(query, assetType, planType, limit)) {
+            try {
+                results.add(this.getAssetById(assetId));
+            } catch (AssetNotFoundException e) {
+                // deleted by a transaction that has not reached the index yet
+            }
+        }
+        return results;
     }
 
     @Override
     public List<AssetResponseDTO> getAvailableAssets() {
-        return assetRepository.findByIsActiveTrue().stream()
+        return assetCache.getAvailable(() -> assetRepository.findByIsActiveTrue().stream()
                 .map(asset -> modelMapper.map(asset, AssetResponseDTO.class))
-                .toList();
+                .toList());
     }
 
     @Override
-    public List<AssetResponseDTO> getActiveAssetsByAssetType(AssetType assetType) {
-        return assetRepository.findByAssetType(assetType)
-                .stream()
-                .filter(AssetModel::isActive)
-                .map(asset -> modelMapper.map(asset, AssetResponseDTO.class))
-                .toList();
+    public String getAvailableAssetsETag() {
+        return eTagRegistry.getAssetCollectionTag();
     }
 
     @Override
+    public byte[] getCatalog(PlanTypeEnum planType) {
+        return assetCatalog.getCatalog(planType);
+    }
+
+    @Override
+    @Transactional
     public AssetResponseDTO updateQuotation(UUID idAsset, AssetQuotationUpdateDTO assetQuotationUpdateDTO) {
-        AssetModel assetModel = this.getAsset(idAsset);
+        AssetModel assetModel = this.getAssetSnapshot(idAsset);
 
         adminService.validateAdmin(assetQuotationUpdateDTO.getAdminEmail(), assetQuotationUpdateDTO.getAdminAccessCode());
 
-        String assetType = assetModel.getAssetType().getClass().getSimpleName().toUpperCase();
-        if (!assetType.equals(AssetTypeEnum.STOCK.name()) && !assetType.equals(AssetTypeEnum.CRYPTO.name())) throw new InvalidAssetTypeException();
-
-        double currentQuotation = assetModel.getQuotation();
         double newQuotation = assetQuotationUpdateDTO.getQuotation();
+        double previousQuotation = quotationRegister.current(idAsset, assetModel.getQuotation(), assetModel.getQuotationVersion()).quotation();
+        // the snapshot is shared with other readers, so it is only validated here and never updated in place
+        assetModel.validateQuotationUpdate(previousQuotation, newQuotation);
+        this.writeQuotation(assetModel, newQuotation);
 
-        double variation = Math.abs((newQuotation - currentQuotation) / currentQuotation);
-        if (variation < MIN_QUOTATION_VARIATION) throw new InvalidQuotationVariationException();
+        assetEventManager.notifyPriceVariation(idAsset, previousQuotation, newQuotation);
+        this.publishQuotation(idAsset, System.currentTimeMillis(), newQuotation);
 
-        assetModel.updateQuotation(newQuotation);
-        assetRepository.save(assetModel);
+        AssetResponseDTO response = modelMapper.map(assetModel, AssetResponseDTO.class);
+        response.setQuotation(newQuotation);
+        return response;
+    }
 
-        return modelMapper.map(assetModel, AssetResponseDTO.class);
+    @Override
+    @Transactional
+    public AssetQuotationBatchResponseDTO updateQuotations(AssetQuotationBatchUpdateDTO assetQuotationBatchUpdateDTO) {
+        adminService.validateAdmin(assetQuotationBatchUpdateDTO.getAdminEmail(), assetQuotationBatchUpdateDTO.getAdminAccessCode());
+
+        List<AssetQuotationTickDTO> ticks = assetQuotationBatchUpdateDTO.getTicks();
+        Set<UUID> assetIds = ticks.stream().map(AssetQuotationTickDTO::getAssetId).collect(Collectors.toSet());
+
+        Map<UUID, AssetModel> assetsById = new HashMap<>();
+        assetRepository.findAllById(assetIds).forEach(asset -> assetsById.put(asset.getId(), asset));
+
+        long receivedAt = System.currentTimeMillis();
+        Map<UUID, PriceVariationWindow> windows = new LinkedHashMap<>();
+        List<AssetQuotationRejectionDTO> rejected = new ArrayList<>();
+
+        for (AssetQuotationTickDTO tick : ticks) {
+            AssetModel assetModel = assetsById.get(tick.getAssetId());
+            if (assetModel == null) {
+                rejected.add(this.reject(tick, "Asset not found with ID " + tick.getAssetId()));
+                continue;
+            }
+
+            // an earlier tick of this batch is not in the register until commit, the entity carries it instead
+            PriceVariationWindow window = windows.get(assetModel.getId());
+            if (window == null) {
+                assetModel.applyLiveQuotation(quotationRegister.current(assetModel.getId(), assetModel.getQuotation(), assetModel.getQuotationVersion()).quotation());
+            }
+
+            // same invariants as a single update; the variation is reported once per asset with the merged window
+            double previousQuotation;
+            try {
+                previousQuotation = assetModel.applyQuotationUpdate(tick.getQuotation());
+            } catch (InvalidAssetTypeException | InvalidQuotationVariationException e) {
+                rejected.add(this.reject(tick, e.getMessage()));
+                continue;
+            }
+
+            this.writeQuotation(assetModel, tick.getQuotation());
+            this.publishQuotation(assetModel.getId(), receivedAt, tick.getQuotation());
+
+            if (window == null) {
+                windows.put(assetModel.getId(), new PriceVariationWindow(assetModel.getId(), previousQuotation, tick.getQuotation()));
+            } else {
+                window.merge(tick.getQuotation());
+            }
+        }
+
+        List<AssetModel> updatedAssets = windows.keySet().stream().map(assetsById::get).toList();
+        if (!updatedAssets.isEmpty()) {
+            assetEventManager.notifyPriceVariations(windows.values());
+        }
+
+        return AssetQuotationBatchResponseDTO.builder()
+                .updated(updatedAssets.stream().map(AssetResponseDTO::new).toList())
+                .rejected(rejected)
+                .build();
+    }
+
+    @Override
+    public AssetQuotationHistoryResponseDTO getQuotationHistory(UUID idAsset, LocalDateTime from, LocalDateTime to, Integer limit) {
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        LocalDateTime start = from == null ? end.minusHours(DEFAULT_HISTORY_WINDOW_HOURS) : from;
+        if (start.isAfter(end)) throw new InvalidQuotationHistoryRangeException();
+
+        int maxPoints = limit == null ? DEFAULT_HISTORY_LIMIT : limit;
+        ZoneId zone = ZoneId.systemDefault();
+        this.getAssetSnapshot(idAsset);
+
+        List<QuotationPointResponseDTO> points = quotationHistoryStore
+                .range(idAsset, start.atZone(zone).toInstant().toEpochMilli(), end.atZone(zone).toInstant().toEpochMilli(), maxPoints)
+                .stream()
+                .map(point -> new QuotationPointResponseDTO(
+                        LocalDateTime.ofInstant(Instant.ofEpochMilli(point.timestamp()), zone),
+                        point.quotation()))
+                .toList();
+
+        return AssetQuotationHistoryResponseDTO.builder()
+                .assetId(idAsset)
+                .from(start)
+                .to(end)
+                .points(points)
+                .build();
+    }
+
+    @Override
+    public AssetCandlesResponseDTO getCandles(UUID idAsset, CandleResolutionEnum resolution, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        LocalDateTime start = from == null ? end.minusHours(DEFAULT_HISTORY_WINDOW_HOURS) : from;
+        if (start.isAfter(end)) throw new InvalidQuotationHistoryRangeException();
+
+        ZoneId zone = ZoneId.systemDefault();
+        this.getAssetSnapshot(idAsset);
+
+        List<CandleResponseDTO> candles = candleAggregator
+                .candles(idAsset, resolution, start.atZone(zone).toInstant().toEpochMilli(), end.atZone(zone).toInstant().toEpochMilli())
+                .stream()
+                .map(candle -> CandleResponseDTO.builder()
+                        .openTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(candle.openTime()), zone))
+                        .open(candle.open())
+                        .high(candle.high())
+                        .low(candle.low())
+                        .close(candle.close())
+                        .updates(candle.updates())
+                        .build())
+                .toList();
+
+        return AssetCandlesResponseDTO.builder()
+                .assetId(idAsset)
+                .resolution(resolution)
+                .candles(candles)
+                .build();
     }
 
     @Override
+    @Transactional
     public AssetResponseDTO setIsActive(UUID idAsset, @Valid AssetActivationPatchRequestDTO assetPatchRequestDTO) {
         AssetModel assetModel = this.getAsset(idAsset);
 
@@ -119,13 +318,61 @@ public class AssetServiceImpl implements AssetService {
         assetModel.changeActiveStatus(assetPatchRequestDTO.getIsActive());
 
         assetRepository.save(assetModel);
+        this.publishActivation(idAsset, System.currentTimeMillis(), assetModel.isActive());
         return new AssetResponseDTO(assetModel);
     }
 
     @Override
     public SubscriptionResponseDTO subscribeToAsset(UUID clientId, ClientMarkInterestInAssetRequestDTO clientMarkInterestInAssetRequestDTO, SubscriptionTypeEnum subscriptionType) {
-        AssetModel asset = getAsset(clientMarkInterestInAssetRequestDTO.getAssetId());
-        return asset.subscribe(clientId, subscriptionType);
+        AssetModel asset = this.getAssetSnapshot(clientMarkInterestInAssetRequestDTO.getAssetId());
+
+        PriceAlertCriteria criteria = PriceAlertCriteria.builder()
+                .variationThreshold(clientMarkInterestInAssetRequestDTO.getVariationThreshold())
+                .lowerPriceBound(clientMarkInterestInAssetRequestDTO.getLowerPriceBound())
+                .upperPriceBound(clientMarkInterestInAssetRequestDTO.getUpperPriceBound())
+                .build();
+
+        return asset.subscribe(clientId, subscriptionType, criteria);
+    }
+
+    @Override
+    public SseEmitter streamQuotations(Set<UUID> assetIds, PlanTypeEnum planType) {
+        return quotationStreamBroadcaster.subscribe(assetIds, planType);
+    }
+
+    @Override
+    public AssetStreamMetricsDTO getStreamMetrics(AdminAccessRequestDTO adminAccessRequestDTO) {
+        adminService.validateAdmin(adminAccessRequestDTO.getAdminEmail(), adminAccessRequestDTO.getAdminAccessCode());
+
+        return quotationStreamBroadcaster.getMetrics();
+    }
+
+    @Override
+    public AssetCacheMetricsDTO getCacheMetrics(AdminAccessRequestDTO adminAccessRequestDTO) {
+        adminService.validateAdmin(adminAccessRequestDTO.getAdminEmail(), adminAccessRequestDTO.getAdminAccessCode());
+
+        return assetCache.getMetrics();
+    }
+
+    @Override
+    public AssetCorrelationMatrixResponseDTO getCorrelationMatrix(AdminAccessRequestDTO adminAccessRequestDTO) {
+        adminService.validateAdmin(adminAccessRequestDTO.getAdminEmail(), adminAccessRequestDTO.getAdminAccessCode());
+
+        CorrelationMatrix matrix = assetCorrelationJob.getLatest();
+        int size = matrix.assetIds().size();
+        double[][] correlations = new double[size][];
+        for (int i = 0; i < size; i++) {
+            correlations[i] = Arrays.copyOfRange(matrix.values(), i * size, (i + 1) * size);
+        }
+
+        return AssetCorrelationMatrixResponseDTO.builder()
+                .computedAt(matrix.computedAt())
+                .bucketMillis(matrix.bucketMillis())
+                .returns(matrix.returns())
+                .assetIds(matrix.assetIds())
+                .assetNames(matrix.assetNames())
+                .correlations(correlations)
+                .build();
     }
 
     @Override
@@ -138,12 +385,69 @@ public class AssetServiceImpl implements AssetService {
         return getAssetType(assetTypeEnum);
     }
 
+    // listeners keep history, candles and streams outside the database, so they only see committed changes
+    private void publishQuotation(UUID assetId, long timestamp, double quotation) {
+        TransactionCallbacks.afterCommit(() -> quotationUpdateListeners.forEach(listener -> listener.onQuotationUpdate(assetId, timestamp, quotation)));
+    }
+
+    private void publishActivation(UUID assetId, long timestamp, boolean active) {
+        TransactionCallbacks.afterCommit(() -> quotationUpdateListeners.forEach(listener -> listener.onActivationChange(assetId, timestamp, active)));
+    }
+
+    /**
+     * Publishes an already validated quotation to the register and the read caches once the transaction commits,
+     * so a rolled back update is never served nor flushed. The quotation column is only updated by the
+     * write-behind flush.
+     */
+    private void writeQuotation(AssetModel assetModel, double newQuotation) {
+        UUID assetId = assetModel.getId();
+        double persistedQuotation = assetModel.getPersistedQuotation();
+        long persistedVersion = assetModel.getQuotationVersion();
+        TransactionCallbacks.afterCommit(() -> {
+            QuotationStamp written = quotationRegister.write(assetId, persistedQuotation, persistedVersion, newQuotation);
+            assetCache.evict(assetId);
+            assetCatalog.invalidate();
+            eTagRegistry.recordQuotation(assetId, written.version());
+            eTagRegistry.advanceAssetCollection();
+        });
+    }
+
+
+    private AssetQuotationRejectionDTO reject(AssetQuotationTickDTO tick, String reason) {
+        return AssetQuotationRejectionDTO.builder()
+                .assetId(tick.getAssetId())
+                .quotation(tick.getQuotation())
+                .reason(reason)
+                .build();
+    }
+
     private AssetType getAssetType(AssetTypeEnum assetTypeEnum) {
         String assetType = assetTypeEnum.name();
         return assetTypeRepository.findByName(assetType)
                 .orElseThrow(() -> new AssetTypeNotFoundException(assetType));
     }
 
+    private AssetModel getAssetSnapshot(UUID assetId) {
+        AssetModel snapshot = assetCache.getSnapshot(assetId, id -> {
+            AssetModel assetModel = assetRepository.findById(id)
+                    .orElseThrow(() -> new AssetNotFoundException("Asset not found with ID " + id));
+            eTagRegistry.recordAsset(assetModel.getId(), assetModel.getVersion());
+            return AssetModel.builder()
+                    .id(assetModel.getId())
+                    .name(assetModel.getName())
+                    .assetType(assetModel.getAssetType())
+                    .description(assetModel.getDescription())
+                    .isActive(assetModel.isActive())
+                    .quotation(assetModel.getQuotation())
+                    .quotationVersion(assetModel.getQuotationVersion())
+                    .quotaQuantity(assetModel.getQuotaQuantity())
+                    .version(assetModel.getVersion())
+                    .build();
+        });
+        snapshot.setEventManager(assetEventManager);
+        return snapshot;
+    }
+
     private AssetModel getAsset(UUID assetId) {
         AssetModel assetModel = assetRepository.findById(assetId)
                 .orElseThrow(() -> new AssetNotFoundException("Asset not found with ID " +  assetId));
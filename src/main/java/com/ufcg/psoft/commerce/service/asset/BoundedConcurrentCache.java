@@ -0,0 +1,142 @@
+package com.ufcg.psoft.commerce.service.asset;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded concurrent map with CLOCK (second chance) eviction. Hits only flip a reference bit, so reads
+ * never take a lock; when the cache grows past its capacity, entries read since the last sweep are given
+ * another round and the first unreferenced entry is evicted.
+ * <p>
+ * Inserts, invalidations and evictions are serialised so every cached key holds exactly one clock slot. A
+ * load remembers the generation of its key before reading and is dropped if the key was invalidated in the
+ * meantime, so a value read before a write committed cannot outlive that write's invalidation.
+ */
+class BoundedConcurrentCache<K, V> {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final int capacity;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Queue<K> clock = new ArrayDeque<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Object writeLock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    BoundedConcurrentCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    V get(K key, Function<K, V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            entry.referenced = true;
+            hits.increment();
+            return entry.value;
+        }
+
+        misses.increment();
+        long generation = generations.get(stripe(key));
+        V value = loader.apply(key);
+        this.put(key, value, generation);
+        return value;
+    }
+
+    void invalidate(K key) {
+        synchronized (writeLock) {
+            generations.incrementAndGet(stripe(key));
+            if (entries.remove(key) != null) {
+                clock.remove(key);
+                invalidations.increment();
+            }
+        }
+    }
+
+    void invalidateAll() {
+        synchronized (writeLock) {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations.incrementAndGet(i);
+            }
+            invalidations.add(entries.size());
+            entries.clear();
+            clock.clear();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    long invalidations() {
+        return invalidations.sum();
+    }
+
+    private void put(K key, V value, long loadedAtGeneration) {
+        synchronized (writeLock) {
+            // invalidated while the value was being loaded, so it may predate the write that invalidated it
+            if (generations.get(stripe(key)) != loadedAtGeneration) {
+                return;
+            }
+            if (entries.put(key, new Entry<>(value)) == null) {
+                clock.offer(key);
+                this.evictIfNeeded();
+            }
+        }
+    }
+
+    private void evictIfNeeded() {
+        while (entries.size() > capacity) {
+            K candidate = clock.poll();
+            if (candidate == null) {
+                return;
+            }
+
+            Entry<V> entry = entries.get(candidate);
+            if (entry.referenced) {
+                entry.referenced = false;
+                clock.offer(candidate);
+            } else {
+                entries.remove(candidate);
+                evictions.increment();
+            }
+        }
+    }
+
+    private static int stripe(Object key) {
+        return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private volatile boolean referenced;
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+}
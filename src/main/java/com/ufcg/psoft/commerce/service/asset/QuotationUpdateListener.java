@@ -0,0 +1,14 @@
+package com.ufcg.psoft.commerce.service.asset;
+
+import java.util.UUID;
+
+public interface QuotationUpdateListener {
+
+    void onQuotationUpdate(UUID assetId, long timestamp, double quotation);
+
+    default void onActivationChange(UUID assetId, long timestamp, boolean active) {
+    }
+
+    default void onAssetDeleted(UUID assetId) {
+    }
+}
@@ -0,0 +1,249 @@
+package com.ufcg.psoft.commerce.service.asset.correlation;
+
+import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
+import com.ufcg.psoft.commerce.service.asset.QuotationUpdateListener;
+import com.ufcg.psoft.commerce.service.asset.history.QuotationHistoryStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class AssetCorrelationJob implements QuotationUpdateListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssetCorrelationJob.class);
+
+    private static final List<String> CORRELATED_TYPES = List.of(AssetTypeEnum.STOCK.name(), AssetTypeEnum.CRYPTO.name());
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private QuotationHistoryStore quotationHistoryStore;
+
+    @Value("${asset.correlation.bucket-ms:60000}")
+    private long bucketMillis;
+
+    @Value("${asset.correlation.lookback-buckets:240}")
+    private int lookbackBuckets;
+
+    @Value("${asset.correlation.tile-size:32}")
+    private int tileSize;
+
+    @Value("${asset.correlation.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    // runs the recomputation off the shared scheduler so a large matrix never delays the other scheduled jobs
+    private ExecutorService refresher;
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile CorrelationMatrix latest;
+
+    @PostConstruct
+    public void start() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false);
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "asset-correlation-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.latest = CorrelationMatrix.empty(bucketMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.refresher.shutdownNow();
+        this.pool.shutdown();
+    }
+
+    @Override
+    public void onQuotationUpdate(UUID assetId, long timestamp, double quotation) {
+        stale.set(true);
+    }
+
+    public CorrelationMatrix getLatest() {
+        return latest;
+    }
+
+    /**
+     * Hands a refresh to the job's own thread and returns right away; skipped while the previous one still runs.
+     */
+    @Scheduled(fixedDelayString = "${asset.correlation.refresh-interval-ms:60000}")
+    public void requestRefresh() {
+        if (!stale.get() || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                this.refresh();
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    /**
+     * Recomputes the matrix when a tick arrived since the last run; otherwise the cached one stays.
+     */
+    public boolean refresh() {
+        if (!stale.getAndSet(false)) {
+            return false;
+        }
+        try {
+            this.latest = this.compute(System.currentTimeMillis());
+            return true;
+        } catch (RuntimeException e) {
+            stale.set(true);
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Error computing the asset correlation matrix: {}", e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Samples every STOCK and CRYPTO asset into {@code lookbackBuckets} returns ending at the bucket of
+     * {@code now}, normalises each series to zero mean and unit length, and fills the upper triangle of the
+     * matrix in square tiles on a work-stealing pool. Each correlation is then a single dot product.
+     */
+    CorrelationMatrix compute(long now) {
+        List<AssetModel> assets = new ArrayList<>(assetRepository.findByAssetTypeNameIn(CORRELATED_TYPES));
+        assets.sort(Comparator.comparing(AssetModel::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        long from = (now / bucketMillis - lookbackBuckets) * bucketMillis;
+        double[] closes = new double[lookbackBuckets + 1];
+
+        List<UUID> assetIds = new ArrayList<>();
+        List<String> assetNames = new ArrayList<>();
+        List<double[]> series = new ArrayList<>();
+        for (AssetModel asset : assets) {
+            if (!quotationHistoryStore.sampleCloses(asset.getId(), from, bucketMillis, closes)) {
+                continue;
+            }
+            double[] normalised = normalisedReturns(closes);
+            if (normalised != null) {
+                assetIds.add(asset.getId());
+                assetNames.add(asset.getName());
+                series.add(normalised);
+            }
+        }
+
+        int size = series.size();
+        double[][] rows = series.toArray(new double[0][]);
+        double[] values = new double[size * size];
+        int tiles = (size + tileSize - 1) / tileSize;
+        if (tiles > 0) {
+            pool.invoke(new TileTask(rows, values, tiles, 0, tiles * (tiles + 1) / 2));
+        }
+
+        return new CorrelationMatrix(LocalDateTime.now(), bucketMillis, lookbackBuckets, List.copyOf(assetIds), List.copyOf(assetNames), values);
+    }
+
+    // null when the asset never moved or hit a zero close, since its correlation with anything is undefined
+    private static double[] normalisedReturns(double[] closes) {
+        double[] returns = new double[closes.length - 1];
+        double mean = 0;
+        for (int i = 0; i < returns.length; i++) {
+            if (closes[i] == 0) {
+                return null;
+            }
+            returns[i] = (closes[i + 1] - closes[i]) / closes[i];
+            mean += returns[i];
+        }
+        mean /= returns.length;
+
+        double squares = 0;
+        for (int i = 0; i < returns.length; i++) {
+            returns[i] -= mean;
+            squares += returns[i] * returns[i];
+        }
+        if (squares == 0) {
+            return null;
+        }
+
+        double norm = Math.sqrt(squares);
+        for (int i = 0; i < returns.length; i++) {
+            returns[i] /= norm;
+        }
+        return returns;
+    }
+
+    private final class TileTask extends RecursiveAction {
+
+        private final transient double[][] rows;
+        private final double[] values;
+        private final int tiles;
+        private final int firstTile;
+        private final int endTile;
+
+        private TileTask(double[][] rows, double[] values, int tiles, int firstTile, int endTile) {
+            this.rows = rows;
+            this.values = values;
+            this.tiles = tiles;
+            this.firstTile = firstTile;
+            this.endTile = endTile;
+        }
+
+        @Override
+        protected void compute() {
+            if (endTile - firstTile == 1) {
+                this.computeTile(firstTile);
+                return;
+            }
+
+            int middle = (firstTile + endTile) >>> 1;
+            invokeAll(new TileTask(rows, values, tiles, firstTile, middle), new TileTask(rows, values, tiles, middle, endTile));
+        }
+
+        // tiles are numbered row by row over the upper triangle: (0,0), (0,1) ... (0,n-1), (1,1) ...
+        private void computeTile(int tile) {
+            int tileRow = 0;
+            int remaining = tile;
+            while (remaining >= tiles - tileRow) {
+                remaining -= tiles - tileRow;
+                tileRow++;
+            }
+            int tileColumn = tileRow + remaining;
+
+            int size = rows.length;
+            int rowEnd = Math.min(size, (tileRow + 1) * tileSize);
+            int columnEnd = Math.min(size, (tileColumn + 1) * tileSize);
+            for (int i = tileRow * tileSize; i < rowEnd; i++) {
+                double[] left = rows[i];
+                for (int j = Math.max(i, tileColumn * tileSize); j < columnEnd; j++) {
+                    double[] right = rows[j];
+                    double dot = 0;
+                    for (int k = 0; k < left.length; k++) {
+                        dot += left[k] * right[k];
+                    }
+                    double correlation = i == j ? 1.0 : Math.max(-1.0, Math.min(1.0, dot));
+                    values[i * size + j] = correlation;
+                    values[j * size + i] = correlation;
+                }
+            }
+        }
+    }
+}
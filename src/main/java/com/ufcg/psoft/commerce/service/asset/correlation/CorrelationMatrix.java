@@ -0,0 +1,21 @@
+package com.ufcg.psoft.commerce.service.asset.correlation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pearson correlation of bucketed returns between every pair of assets, stored row-major in one array.
+ * Assets without history or without any price movement in the lookback are left out.
+ */
+public record CorrelationMatrix(LocalDateTime computedAt, long bucketMillis, int returns,
+                                List<UUID> assetIds, List<String> assetNames, double[] values) {
+
+    public static CorrelationMatrix empty(long bucketMillis) {
+        return new CorrelationMatrix(null, bucketMillis, 0, List.of(), List.of(), new double[0]);
+    }
+
+    public double get(int row, int column) {
+        return values[row * assetIds.size() + column];
+    }
+}
@@ -0,0 +1,148 @@
+package com.ufcg.psoft.commerce.service.asset.history;
+
+import com.ufcg.psoft.commerce.enums.CandleResolutionEnum;
+import com.ufcg.psoft.commerce.service.asset.QuotationUpdateListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming OHLC aggregation. Every quotation update is folded into the current bucket of each resolution,
+ * and buckets live in fixed-size rings indexed by bucket number, so both updates and bucket lookups are
+ * constant time and the oldest buckets are overwritten as time moves on. The rings only live in memory, so the
+ * first use of an asset after a restart rebuilds them from its persisted quotation history.
+ */
+@Component
+public class CandleAggregator implements QuotationUpdateListener {
+
+    private static final long REBUILD_WINDOW_MILLIS = Arrays.stream(CandleResolutionEnum.values())
+            .mapToLong(resolution -> resolution.getBucketMillis() * resolution.getCapacity())
+            .max()
+            .orElse(0);
+
+    @Autowired
+    private QuotationHistoryStore quotationHistoryStore;
+
+    private final Map<UUID, Map<CandleResolutionEnum, CandleRing>> candlesByAsset = new ConcurrentHashMap<>();
+
+    @Override
+    public void onQuotationUpdate(UUID assetId, long timestamp, double quotation) {
+        // the history may already hold this update, so the rebuild stops right before it
+        this.rings(assetId, timestamp).values().forEach(ring -> ring.update(timestamp, quotation));
+    }
+
+    @Override
+    public void onAssetDeleted(UUID assetId) {
+        candlesByAsset.remove(assetId);
+    }
+
+    public List<Candle> candles(UUID assetId, CandleResolutionEnum resolution, long from, long to) {
+        return this.rings(assetId, System.currentTimeMillis() + 1).get(resolution).range(from, to);
+    }
+
+    private Map<CandleResolutionEnum, CandleRing> rings(UUID assetId, long rebuildUntil) {
+        return candlesByAsset.computeIfAbsent(assetId, id -> this.rebuild(id, rebuildUntil));
+    }
+
+    private Map<CandleResolutionEnum, CandleRing> rebuild(UUID assetId, long until) {
+        Map<CandleResolutionEnum, CandleRing> created = new EnumMap<>(CandleResolutionEnum.class);
+        for (CandleResolutionEnum resolution : CandleResolutionEnum.values()) {
+            created.put(resolution, new CandleRing(resolution));
+        }
+
+        quotationHistoryStore.forEach(assetId, Math.max(0, until - REBUILD_WINDOW_MILLIS), until - 1,
+                (timestamp, quotation) -> created.values().forEach(ring -> ring.update(timestamp, quotation)));
+        return created;
+    }
+
+    public record Candle(long openTime, double open, double high, double low, double close, int updates) {
+    }
+
+    private static final class CandleRing {
+
+        private final long bucketMillis;
+        private final int capacity;
+
+        private final long[] buckets;
+        private final long[] openTime;
+        private final long[] closeTime;
+        private final double[] open;
+        private final double[] high;
+        private final double[] low;
+        private final double[] close;
+        private final int[] updates;
+
+        private long latestBucket = -1;
+
+        CandleRing(CandleResolutionEnum resolution) {
+            this.bucketMillis = resolution.getBucketMillis();
+            this.capacity = resolution.getCapacity();
+            this.buckets = new long[capacity];
+            this.openTime = new long[capacity];
+            this.closeTime = new long[capacity];
+            this.open = new double[capacity];
+            this.high = new double[capacity];
+            this.low = new double[capacity];
+            this.close = new double[capacity];
+            this.updates = new int[capacity];
+            Arrays.fill(buckets, -1);
+        }
+
+        synchronized void update(long timestamp, double quotation) {
+            long bucket = timestamp / bucketMillis;
+            if (latestBucket >= 0 && bucket <= latestBucket - capacity) {
+                return;
+            }
+
+            int slot = (int) (bucket % capacity);
+            if (buckets[slot] == bucket) {
+                high[slot] = Math.max(high[slot], quotation);
+                low[slot] = Math.min(low[slot], quotation);
+                // updates can arrive out of order, open and close follow the timestamps rather than the arrival
+                if (timestamp < openTime[slot]) {
+                    openTime[slot] = timestamp;
+                    open[slot] = quotation;
+                }
+                if (timestamp >= closeTime[slot]) {
+                    closeTime[slot] = timestamp;
+                    close[slot] = quotation;
+                }
+                updates[slot]++;
+            } else if (buckets[slot] < bucket) {
+                buckets[slot] = bucket;
+                openTime[slot] = timestamp;
+                closeTime[slot] = timestamp;
+                open[slot] = quotation;
+                high[slot] = quotation;
+                low[slot] = quotation;
+                close[slot] = quotation;
+                updates[slot] = 1;
+            }
+            latestBucket = Math.max(latestBucket, bucket);
+        }
+
+        synchronized List<Candle> range(long from, long to) {
+            List<Candle> candles = new ArrayList<>();
+            if (latestBucket < 0) {
+                return candles;
+            }
+
+            long first = Math.max(from / bucketMillis, latestBucket - capacity + 1);
+            long last = Math.min(to / bucketMillis, latestBucket);
+            for (long bucket = first; bucket <= last; bucket++) {
+                int slot = (int) (bucket % capacity);
+                if (buckets[slot] == bucket) {
+                    candles.add(new Candle(bucket * bucketMillis, open[slot], high[slot], low[slot], close[slot], updates[slot]));
+                }
+            }
+            return candles;
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.ufcg.psoft.commerce.service.asset.history;
+
+import com.ufcg.psoft.commerce.service.asset.QuotationUpdateListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only quotation history kept outside the database. Each asset owns a directory of memory-mapped
+ * segment files; appends go to the newest segment and roll over to a new file when it is full. Range reads
+ * binary search the segments that overlap the requested interval, and compaction drops the oldest sealed
+ * segments once an asset exceeds its retention. An asset's directory is only created by its first append, and
+ * deleting the asset unmaps and removes its segments.
+ */
+@Component
+public class QuotationHistoryStore implements QuotationUpdateListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuotationHistoryStore.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    @Value("${asset.history.directory:${java.io.tmpdir}/commerce-quotation-history}")
+    private String directory;
+
+    @Value("${asset.history.segment-entries:65536}")
+    private int segmentEntries;
+
+    @Value("${asset.history.retention-segments:32}")
+    private int retentionSegments;
+
+    private final Map<UUID, AssetHistory> historyByAsset = new ConcurrentHashMap<>();
+
+    @Override
+    public void onQuotationUpdate(UUID assetId, long timestamp, double quotation) {
+        this.append(assetId, timestamp, quotation);
+    }
+
+    public void append(UUID assetId, long timestamp, double quotation) {
+        try {
+            this.getHistory(assetId).append(timestamp, quotation);
+        } catch (IOException | UncheckedIOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Error appending quotation history for asset {}: {}", assetId, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onAssetDeleted(UUID assetId) {
+        AssetHistory history = historyByAsset.remove(assetId);
+        try {
+            if (history != null) {
+                history.delete();
+            } else {
+                AssetHistory.deleteDirectory(Paths.get(directory, assetId.toString()));
+            }
+        } catch (IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Error deleting quotation history for asset {}: {}", assetId, e.getMessage());
+            }
+        }
+    }
+
+    public List<QuotationPoint> range(UUID assetId, long from, long to, int limit) {
+        List<QuotationPoint> points = new ArrayList<>();
+        AssetHistory history = this.findHistory(assetId);
+        if (history != null) {
+            history.scan(from, to, limit, (timestamp, price) -> points.add(new QuotationPoint(timestamp, price)));
+        }
+        return points;
+    }
+
+    /**
+     * Streams every quotation between {@code from} and {@code to} to the visitor in timestamp order, without
+     * collecting them first.
+     */
+    public void forEach(UUID assetId, long from, long to, QuotationVisitor visitor) {
+        AssetHistory history = this.findHistory(assetId);
+        if (history != null) {
+            history.scan(from, to, Integer.MAX_VALUE, visitor::visit);
+        }
+    }
+
+    /**
+     * Fills {@code closes} with the last quotation of each {@code bucketMillis} bucket from {@code from} on.
+     * Buckets without ticks carry the previous close. Buckets before the first tick take the last quotation
+     * before {@code from}, or the first tick's quotation when the history starts inside the range. Returns
+     * false, leaving {@code closes} untouched, when there is no quotation at or before the end of the range.
+     */
+    public boolean sampleCloses(UUID assetId, long from, long bucketMillis, double[] closes) {
+        AssetHistory history = this.findHistory(assetId);
+        if (history == null) {
+            return false;
+        }
+
+        double[] sampled = new double[closes.length];
+        Arrays.fill(sampled, Double.NaN);
+        long to = from + bucketMillis * closes.length - 1;
+        history.scan(from, to, Integer.MAX_VALUE,
+                (timestamp, price) -> sampled[(int) ((timestamp - from) / bucketMillis)] = price);
+
+        int first = 0;
+        while (first < sampled.length && Double.isNaN(sampled[first])) {
+            first++;
+        }
+        double previousClose = history.priceBefore(from);
+        if (first == sampled.length && Double.isNaN(previousClose)) {
+            return false;
+        }
+
+        if (first == sampled.length) {
+            Arrays.fill(sampled, previousClose);
+        } else {
+            Arrays.fill(sampled, 0, first, Double.isNaN(previousClose) ? sampled[first] : previousClose);
+        }
+        for (int i = first + 1; i < sampled.length; i++) {
+            if (Double.isNaN(sampled[i])) {
+                sampled[i] = sampled[i - 1];
+            }
+        }
+        System.arraycopy(sampled, 0, closes, 0, closes.length);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${asset.history.compaction-interval-ms:60000}")
+    public void compact() {
+        historyByAsset.forEach((assetId, history) -> {
+            try {
+                int removed = history.compact(retentionSegments);
+                if (removed > 0 && LOGGER.isInfoEnabled()) {
+                    LOGGER.info("Compacted {} quotation history segments for asset {}", removed, assetId);
+                }
+            } catch (IOException e) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("Error compacting quotation history for asset {}: {}", assetId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    public void flush() {
+        historyByAsset.values().forEach(AssetHistory::flush);
+    }
+
+    @PreDestroy
+    public void close() {
+        historyByAsset.values().forEach(AssetHistory::close);
+        historyByAsset.clear();
+    }
+
+    private AssetHistory getHistory(UUID assetId) {
+        return historyByAsset.computeIfAbsent(assetId, id -> {
+            try {
+                return AssetHistory.load(Paths.get(directory, id.toString()), segmentEntries);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // reads never create anything: an asset without a directory has no history yet
+    private AssetHistory findHistory(UUID assetId) {
+        AssetHistory history = historyByAsset.get(assetId);
+        if (history != null || !Files.isDirectory(Paths.get(directory, assetId.toString()))) {
+            return history;
+        }
+        return this.getHistory(assetId);
+    }
+
+    public record QuotationPoint(long timestamp, double quotation) {
+    }
+
+    @FunctionalInterface
+    public interface QuotationVisitor {
+        void visit(long timestamp, double quotation);
+    }
+
+    private static final class AssetHistory {
+
+        private final Path directory;
+        private final int segmentEntries;
+        private final List<QuotationSegment> segments;
+
+        // scans hold the read lock so a segment is never unmapped under them
+        private final ReadWriteLock unmapLock = new ReentrantReadWriteLock();
+        private boolean closed;
+
+        private AssetHistory(Path directory, int segmentEntries, List<QuotationSegment> segments) {
+            this.directory = directory;
+            this.segmentEntries = segmentEntries;
+            this.segments = new CopyOnWriteArrayList<>(segments);
+        }
+
+        static AssetHistory load(Path directory, int segmentEntries) throws IOException {
+            List<QuotationSegment> segments = new ArrayList<>();
+            if (!Files.isDirectory(directory)) {
+                return new AssetHistory(directory, segmentEntries, segments);
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                List<Path> segmentFiles = files
+                        .filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .sorted()
+                        .toList();
+                for (Path file : segmentFiles) {
+                    segments.add(QuotationSegment.open(file, parseSequence(file), segmentEntries));
+                }
+            }
+            return new AssetHistory(directory, segmentEntries, segments);
+        }
+
+        synchronized void append(long timestamp, double quotation) throws IOException {
+            if (closed) {
+                return;
+            }
+            QuotationSegment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            long effectiveTimestamp = timestamp;
+
+            if (active != null && !active.isEmpty()) {
+                // keeps every segment sorted so range reads can binary search
+                effectiveTimestamp = Math.max(timestamp, active.lastTimestamp());
+            }
+
+            if (active == null || active.isFull()) {
+                if (active != null) {
+                    active.flush();
+                }
+                long sequence = active == null ? 0 : active.getSequence() + 1;
+                if (active == null) {
+                    Files.createDirectories(directory);
+                }
+                active = QuotationSegment.open(directory.resolve(segmentName(sequence)), sequence, segmentEntries);
+                segments.add(active);
+            }
+
+            active.append(effectiveTimestamp, quotation);
+        }
+
+        void scan(long from, long to, int limit, QuotationSegment.PointVisitor visitor) {
+            unmapLock.readLock().lock();
+            try {
+                int remaining = limit;
+                for (QuotationSegment segment : segments) {
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    if (segment.isEmpty() || segment.lastTimestamp() < from) {
+                        continue;
+                    }
+                    if (segment.firstTimestamp() > to) {
+                        break;
+                    }
+                    remaining -= segment.scan(from, to, remaining, visitor);
+                }
+            } finally {
+                unmapLock.readLock().unlock();
+            }
+        }
+
+        // NaN when nothing was recorded before the timestamp
+        double priceBefore(long timestamp) {
+            unmapLock.readLock().lock();
+            try {
+                for (int i = segments.size() - 1; i >= 0; i--) {
+                    QuotationSegment segment = segments.get(i);
+                    if (!segment.isEmpty() && segment.firstTimestamp() < timestamp) {
+                        return segment.priceBefore(timestamp);
+                    }
+                }
+                return Double.NaN;
+            } finally {
+                unmapLock.readLock().unlock();
+            }
+        }
+
+        synchronized int compact(int retentionSegments) throws IOException {
+            unmapLock.writeLock().lock();
+            try {
+                int removed = 0;
+                while (segments.size() > retentionSegments + 1) {
+                    QuotationSegment oldest = segments.remove(0);
+                    oldest.delete();
+                    removed++;
+                }
+                return removed;
+            } finally {
+                unmapLock.writeLock().unlock();
+            }
+        }
+
+        synchronized void flush() {
+            segments.forEach(QuotationSegment::flush);
+        }
+
+        synchronized void close() {
+            unmapLock.writeLock().lock();
+            try {
+                closed = true;
+                segments.forEach(QuotationSegment::close);
+                segments.clear();
+            } finally {
+                unmapLock.writeLock().unlock();
+            }
+        }
+
+        synchronized void delete() throws IOException {
+            unmapLock.writeLock().lock();
+            try {
+                closed = true;
+                for (QuotationSegment segment : segments) {
+                    segment.delete();
+                }
+                segments.clear();
+                deleteDirectory(directory);
+            } finally {
+                unmapLock.writeLock().unlock();
+            }
+        }
+
+        static void deleteDirectory(Path directory) throws IOException {
+            if (!Files.isDirectory(directory)) {
+                return;
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+
+        private static String segmentName(long sequence) {
+            return String.format("%019d%s", sequence, SEGMENT_SUFFIX);
+        }
+
+        private static long parseSequence(Path file) {
+            String name = file.getFileName().toString();
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        }
+    }
+}
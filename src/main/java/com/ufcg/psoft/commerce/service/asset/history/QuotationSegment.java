@@ -0,0 +1,181 @@
+package com.ufcg.psoft.commerce.service.asset.history;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed-size memory-mapped file holding (epoch millis, price) pairs in append order. The first eight bytes
+ * store the number of written entries so a segment can be reopened after a restart; entries follow as
+ * sixteen-byte records. Readers only see entries below the published count. A closed segment releases its
+ * mapping right away instead of waiting for the buffer to be garbage collected; callers must make sure no
+ * reader still uses it.
+ */
+class QuotationSegment {
+
+    static final int HEADER_BYTES = Long.BYTES;
+    static final int ENTRY_BYTES = Long.BYTES + Double.BYTES;
+
+    private static final MethodHandle UNMAP = lookupUnmap();
+
+    private final Path path;
+    private final long sequence;
+    private final int capacity;
+    private final MappedByteBuffer buffer;
+
+    private volatile int count;
+
+    private QuotationSegment(Path path, long sequence, int capacity, MappedByteBuffer buffer, int count) {
+        this.path = path;
+        this.sequence = sequence;
+        this.capacity = capacity;
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    static QuotationSegment open(Path path, long sequence, int capacity) throws IOException {
+        boolean existing = Files.exists(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int fileCapacity = existing ? (int) ((channel.size() - HEADER_BYTES) / ENTRY_BYTES) : capacity;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) fileCapacity * ENTRY_BYTES);
+            int count = existing ? (int) Math.min(buffer.getLong(0), fileCapacity) : 0;
+            return new QuotationSegment(path, sequence, fileCapacity, buffer, count);
+        }
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    void append(long timestamp, double price) {
+        int index = count;
+        int offset = HEADER_BYTES + index * ENTRY_BYTES;
+        buffer.putLong(offset, timestamp);
+        buffer.putDouble(offset + Long.BYTES, price);
+        buffer.putLong(0, index + 1L);
+        count = index + 1;
+    }
+
+    long firstTimestamp() {
+        return timestampAt(0);
+    }
+
+    long lastTimestamp() {
+        return timestampAt(count - 1);
+    }
+
+    double lastPrice() {
+        return priceAt(count - 1);
+    }
+
+    /**
+     * Visits entries with {@code from <= timestamp <= to}, stopping after {@code limit} entries.
+     * Returns how many entries were visited.
+     */
+    int scan(long from, long to, int limit, PointVisitor visitor) {
+        int size = count;
+        int visited = 0;
+        for (int i = lowerBound(from, size); i < size && visited < limit; i++) {
+            long timestamp = timestampAt(i);
+            if (timestamp > to) {
+                break;
+            }
+            visitor.visit(timestamp, priceAt(i));
+            visited++;
+        }
+        return visited;
+    }
+
+    /**
+     * Price of the last entry strictly before {@code timestamp}; callers check that the first entry is.
+     */
+    double priceBefore(long timestamp) {
+        return priceAt(lowerBound(timestamp, count) - 1);
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    void close() {
+        buffer.force();
+        unmap();
+    }
+
+    void delete() throws IOException {
+        unmap();
+        Files.deleteIfExists(path);
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    private void unmap() {
+        if (UNMAP == null) {
+            return;
+        }
+        try {
+            UNMAP.invokeExact((ByteBuffer) buffer);
+        } catch (Throwable e) {
+            // left for the garbage collector to unmap
+        }
+    }
+
+    // Unsafe.invokeCleaner is the only way to release a mapping before the buffer is collected on Java 17
+    private static MethodHandle lookupUnmap() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private int lowerBound(long timestamp, int size) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long timestampAt(int index) {
+        return buffer.getLong(HEADER_BYTES + index * ENTRY_BYTES);
+    }
+
+    private double priceAt(int index) {
+        return buffer.getDouble(HEADER_BYTES + index * ENTRY_BYTES + Long.BYTES);
+    }
+
+    @FunctionalInterface
+    interface PointVisitor {
+        void visit(long timestamp, double price);
+    }
+}
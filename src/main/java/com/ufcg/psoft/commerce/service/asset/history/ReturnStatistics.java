@@ -0,0 +1,114 @@
+package com.ufcg.psoft.commerce.service.asset.history;
+
+import com.ufcg.psoft.commerce.service.asset.QuotationUpdateListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Running return statistics of every asset, folded in from each quotation update. Mean and variance of the
+ * tick-to-tick return use Welford's algorithm and drawdown is measured against the running peak, so an
+ * update and a read are both constant time however long the history grows. Each asset owns one slot in a
+ * set of parallel primitive arrays; the first quotation seen after startup only seeds its slot. Updates
+ * arrive through the same after-commit listener dispatch as the quotation history, so a rolled back
+ * quotation never reaches the running figures.
+ */
+@Component
+public class ReturnStatistics implements QuotationUpdateListener {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int allocated;
+
+    private long[] returns = new long[INITIAL_CAPACITY];
+    private double[] lastQuotation = new double[INITIAL_CAPACITY];
+    private double[] meanReturn = new double[INITIAL_CAPACITY];
+    private double[] squaredDeviations = new double[INITIAL_CAPACITY];
+    private double[] peakQuotation = new double[INITIAL_CAPACITY];
+    private double[] maxDrawdown = new double[INITIAL_CAPACITY];
+
+    @Override
+    public synchronized void onQuotationUpdate(UUID assetId, long timestamp, double quotation) {
+        // a return needs a positive base, a zero price would poison the running figures with infinities
+        if (!(quotation > 0)) {
+            return;
+        }
+
+        Integer slot = slots.get(assetId);
+        if (slot == null) {
+            slot = this.allocate(assetId);
+            lastQuotation[slot] = quotation;
+            peakQuotation[slot] = quotation;
+            return;
+        }
+
+        double periodReturn = (quotation - lastQuotation[slot]) / lastQuotation[slot];
+        long count = ++returns[slot];
+        double delta = periodReturn - meanReturn[slot];
+        meanReturn[slot] += delta / count;
+        squaredDeviations[slot] += delta * (periodReturn - meanReturn[slot]);
+
+        peakQuotation[slot] = Math.max(peakQuotation[slot], quotation);
+        maxDrawdown[slot] = Math.max(maxDrawdown[slot], (peakQuotation[slot] - quotation) / peakQuotation[slot]);
+        lastQuotation[slot] = quotation;
+    }
+
+    /**
+     * Statistics of the asset, or null until it has moved at least once since startup.
+     */
+    public synchronized Summary summary(UUID assetId) {
+        Integer slot = slots.get(assetId);
+        if (slot == null || returns[slot] == 0) {
+            return null;
+        }
+
+        long count = returns[slot];
+        double variance = count < 2 ? 0 : squaredDeviations[slot] / (count - 1);
+        return new Summary(count, meanReturn[slot], variance, Math.sqrt(variance), maxDrawdown[slot]);
+    }
+
+    public synchronized void remove(UUID assetId) {
+        Integer slot = slots.remove(assetId);
+        if (slot != null) {
+            returns[slot] = 0;
+            meanReturn[slot] = 0;
+            squaredDeviations[slot] = 0;
+            maxDrawdown[slot] = 0;
+            freeSlots.push(slot);
+        }
+    }
+
+    public record Summary(long returns, double meanReturn, double variance, double volatility, double maxDrawdown) {
+    }
+
+    private int allocate(UUID assetId) {
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            if (allocated == returns.length) {
+                this.grow();
+            }
+            slot = allocated++;
+        }
+        slots.put(assetId, slot);
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = returns.length << 1;
+        returns = Arrays.copyOf(returns, capacity);
+        lastQuotation = Arrays.copyOf(lastQuotation, capacity);
+        meanReturn = Arrays.copyOf(meanReturn, capacity);
+        squaredDeviations = Arrays.copyOf(squaredDeviations, capacity);
+        peakQuotation = Arrays.copyOf(peakQuotation, capacity);
+        maxDrawdown = Arrays.copyOf(maxDrawdown, capacity);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ufcg.psoft.commerce.service.asset.quotation;
+
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.service.asset.history.ReturnStatistics;
+import com.ufcg.psoft.commerce.util.TransactionCallbacks;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Gives every loaded asset the live quotation from the register, whichever query or association loaded it,
+ * and drops the register entry, variation window and return statistics once a deletion commits.
+ */
+@Component
+public class QuotationOverlayListener {
+
+    // lazy: Hibernate creates this listener while the entity manager factory that the repositories need is still being built
+    @Lazy
+    @Autowired
+    private QuotationRegister quotationRegister;
+
+    @Lazy
+    @Autowired
+    private QuotationWindowTracker quotationWindowTracker;
+
+    @Lazy
+    @Autowired
+    private ReturnStatistics returnStatistics;
+
+    @PostLoad
+    public void onAssetLoaded(AssetModel assetModel) {
+        quotationRegister.overlay(assetModel);
+    }
+
+    @PostRemove
+    public void onAssetRemoved(AssetModel assetModel) {
+        UUID assetId = assetModel.getId();
+        TransactionCallbacks.afterCommit(() -> this.forget(assetId));
+    }
+
+    private void forget(UUID assetId) {
+        quotationRegister.remove(assetId);
+        quotationWindowTracker.remove(assetId);
+        returnStatistics.remove(assetId);
+    }
+}
@@ -0,0 +1,207 @@
+package com.ufcg.psoft.commerce.service.asset.quotation;
+
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Authoritative live quotation of every asset written since startup. Each asset holds an immutable stamp
+ * behind an atomic reference: reads are a single volatile load and writes a compare-and-set, so neither
+ * ever blocks. Written assets are marked dirty and persisted later by {@link QuotationWriteBehind}; until
+ * then the register is ahead of the quotation column and overlays it on every loaded asset.
+ * <p>
+ * Superseded stamps stay linked behind the current one while an open {@link QuotationSnapshot} may still
+ * need them, so a snapshot reads every asset as of the same version without blocking writers.
+ * <p>
+ * An asset read before it was written since startup is seeded with its persisted quotation under the
+ * persisted version. The clock starts past the largest persisted version, so a later write supersedes it.
+ */
+@Component
+public class QuotationRegister {
+
+    private static final int SNAPSHOT_SPINS = 16;
+
+    private static final long MIN_SNAPSHOT_BACKOFF_NANOS = 1_000;
+
+    private static final long MAX_SNAPSHOT_BACKOFF_NANOS = 1_000_000;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AtomicLong pinSequence = new AtomicLong();
+
+    private final Map<UUID, AtomicReference<QuotationVersion>> cells = new ConcurrentHashMap<>();
+
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentSkipListSet<Pin> pins = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Pin::version).thenComparingLong(Pin::sequence));
+
+    public QuotationStamp read(UUID assetId) {
+        AtomicReference<QuotationVersion> cell = cells.get(assetId);
+        return cell == null ? null : cell.get().stamp;
+    }
+
+    /**
+     * Current stamp of the asset, seeding the register with the persisted quotation on its first write.
+     */
+    public QuotationStamp current(UUID assetId, double persistedQuotation, long persistedVersion) {
+        return this.cell(assetId, persistedQuotation, persistedVersion).get().stamp;
+    }
+
+    /**
+     * Replaces the asset's quotation if it still holds {@code expected}. Returns the new stamp, or null when
+     * another writer got there first and the caller must re-read and re-validate.
+     */
+    public QuotationStamp compareAndSet(UUID assetId, QuotationStamp expected, double quotation) {
+        AtomicReference<QuotationVersion> cell = cells.get(assetId);
+        if (cell == null) {
+            return null;
+        }
+        QuotationVersion head = cell.get();
+        if (head.stamp != expected) {
+            return null;
+        }
+
+        QuotationVersion written = new QuotationVersion(
+                new QuotationStamp(quotation, clock.incrementAndGet(), System.currentTimeMillis()), head);
+        if (!cell.compareAndSet(head, written)) {
+            return null;
+        }
+        this.prune(written);
+        dirty.add(assetId);
+        return written.stamp;
+    }
+
+    /**
+     * Makes {@code quotation} the asset's current value whatever it replaces, for writers that validated it
+     * before their transaction committed. The last committed writer wins.
+     */
+    public QuotationStamp write(UUID assetId, double persistedQuotation, long persistedVersion, double quotation) {
+        QuotationStamp written;
+        do {
+            written = this.compareAndSet(assetId, this.current(assetId, persistedQuotation, persistedVersion), quotation);
+        } while (written == null);
+        return written;
+    }
+
+    /**
+     * Moves the clock forward to at least {@code version}, never back.
+     */
+    public void advanceClock(long version) {
+        clock.accumulateAndGet(version, Math::max);
+    }
+
+    /**
+     * Pins the current version until the snapshot is closed.
+     */
+    public QuotationSnapshot openSnapshot() {
+        long backoffNanos = MIN_SNAPSHOT_BACKOFF_NANOS;
+        for (int attempt = 1; ; attempt++) {
+            Pin pin = new Pin(clock.get(), pinSequence.incrementAndGet());
+            pins.add(pin);
+            // a writer that drew a version between the clock read and the pin may already have pruned what we need
+            if (clock.get() == pin.version()) {
+                return new QuotationSnapshot(this, pin);
+            }
+            pins.remove(pin);
+
+            // under a burst of writes, stop competing with the writers for the clock and let them drain
+            if (attempt < SNAPSHOT_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(backoffNanos);
+                backoffNanos = Math.min(backoffNanos * 2, MAX_SNAPSHOT_BACKOFF_NANOS);
+            }
+        }
+    }
+
+    void release(Pin pin) {
+        pins.remove(pin);
+    }
+
+    QuotationStamp readAt(UUID assetId, long version, double persistedQuotation, long persistedVersion) {
+        if (assetId == null) {
+            return new QuotationStamp(persistedQuotation, persistedVersion, 0);
+        }
+
+        // an unwritten asset still holds its persisted quotation, seeded under the version it was persisted with
+        QuotationVersion node = this.cell(assetId, persistedQuotation, persistedVersion).get();
+        while (node.stamp.version() > version && node.previous != null) {
+            node = node.previous;
+        }
+        return node.stamp;
+    }
+
+    public void overlay(AssetModel assetModel) {
+        QuotationStamp stamp = this.read(assetModel.getId());
+        if (stamp != null) {
+            assetModel.applyLiveQuotation(stamp.quotation());
+        }
+    }
+
+    public void remove(UUID assetId) {
+        cells.remove(assetId);
+        dirty.remove(assetId);
+    }
+
+    public List<UUID> drainDirty(int max) {
+        List<UUID> drained = new ArrayList<>();
+        Iterator<UUID> iterator = dirty.iterator();
+        while (drained.size() < max && iterator.hasNext()) {
+            UUID assetId = iterator.next();
+            if (dirty.remove(assetId)) {
+                drained.add(assetId);
+            }
+        }
+        return drained;
+    }
+
+    public void markDirty(Collection<UUID> assetIds) {
+        assetIds.stream().filter(cells::containsKey).forEach(dirty::add);
+    }
+
+    public int getPendingFlushes() {
+        return dirty.size();
+    }
+
+    public int getOpenSnapshots() {
+        return pins.size();
+    }
+
+    private AtomicReference<QuotationVersion> cell(UUID assetId, double persistedQuotation, long persistedVersion) {
+        return cells.computeIfAbsent(assetId, id -> new AtomicReference<>(
+                new QuotationVersion(new QuotationStamp(persistedQuotation, persistedVersion, 0), null)));
+    }
+
+    // keeps the newest stamp the oldest open snapshot can see and unlinks everything older
+    private void prune(QuotationVersion head) {
+        long oldestPinned = pins.isEmpty() ? Long.MAX_VALUE : pins.first().version();
+
+        QuotationVersion node = head;
+        while (node != null && node.stamp.version() > oldestPinned) {
+            node = node.previous;
+        }
+        if (node != null) {
+            node.previous = null;
+        }
+    }
+
+    record Pin(long version, long sequence) {
+    }
+
+    private static final class QuotationVersion {
+        private final QuotationStamp stamp;
+        private volatile QuotationVersion previous;
+
+        private QuotationVersion(QuotationStamp stamp, QuotationVersion previous) {
+            this.stamp = stamp;
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ufcg.psoft.commerce.service.asset.quotation;
+
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Consistent view of every quotation as of one register version. Each asset is resolved once and then
+ * remembered, so repeated reads within the snapshot always agree. Meant for a single request thread and
+ * must be closed so the register can drop the stamps it was holding on to.
+ */
+public class QuotationSnapshot implements AutoCloseable {
+
+    private final QuotationRegister quotationRegister;
+
+    private final QuotationRegister.Pin pin;
+
+    private final Map<UUID, QuotationStamp> reads = new HashMap<>();
+
+    QuotationSnapshot(QuotationRegister quotationRegister, QuotationRegister.Pin pin) {
+        this.quotationRegister = quotationRegister;
+        this.pin = pin;
+    }
+
+    public long getVersion() {
+        return pin.version();
+    }
+
+    public QuotationStamp read(AssetModel assetModel) {
+        return reads.computeIfAbsent(assetModel.getId(),
+                id -> quotationRegister.readAt(id, pin.version(), assetModel.getQuotation(), assetModel.getQuotationVersion()));
+    }
+
+    public double getQuotation(AssetModel assetModel) {
+        return this.read(assetModel).quotation();
+    }
+
+    @Override
+    public void close() {
+        quotationRegister.release(pin);
+    }
+}
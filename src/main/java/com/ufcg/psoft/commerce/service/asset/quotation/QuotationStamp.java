@@ -0,0 +1,9 @@
+package com.ufcg.psoft.commerce.service.asset.quotation;
+
+/**
+ * One value of an asset's quotation. Versions come from a single clock shared by every asset, so a higher
+ * version was always written later. The write-behind persists each version with its quotation, so a value
+ * seeded from the database keeps the version it was written under; zero marks a quotation the register never wrote.
+ */
+public record QuotationStamp(double quotation, long version, long timestamp) {
+}
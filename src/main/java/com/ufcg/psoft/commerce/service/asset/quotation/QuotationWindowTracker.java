@@ -0,0 +1,69 @@
+package com.ufcg.psoft.commerce.service.asset.quotation;
+
+import com.ufcg.psoft.commerce.model.observer.PriceVariationWindow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-asset sliding window over recent quotations, so variation alerts compare the latest quotation with
+ * the lowest and highest seen in the window instead of only the quotation right before it.
+ */
+@Component
+public class QuotationWindowTracker {
+
+    @Value("${asset.variation.window-ms:300000}")
+    private long windowMillis;
+
+    private final Map<UUID, SlidingWindowExtremes> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Stamps the extremes the window holds at {@code timestamp} onto the variation without recording it, so
+     * an update that is later rolled back leaves the window untouched. The variation widens them with its
+     * own path.
+     */
+    public void stamp(PriceVariationWindow variation, long timestamp) {
+        SlidingWindowExtremes extremes = windows.get(variation.getAssetId());
+        if (extremes == null) {
+            return;
+        }
+
+        synchronized (extremes) {
+            long since = timestamp - windowMillis;
+            SlidingWindowExtremes.Extreme lowest = extremes.lowestSince(since);
+            SlidingWindowExtremes.Extreme highest = extremes.highestSince(since);
+            if (lowest == null || highest == null) {
+                return;
+            }
+            long startedAt = Math.min(lowest.timestamp(), highest.timestamp());
+            variation.trackWindow(lowest.quotation(), highest.quotation(),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(startedAt), ZoneId.systemDefault()));
+        }
+    }
+
+    /**
+     * Records every quotation the variation passed through at {@code timestamp}; called once the update
+     * committed.
+     */
+    public void track(PriceVariationWindow variation, long timestamp) {
+        SlidingWindowExtremes extremes = windows.computeIfAbsent(variation.getAssetId(),
+                id -> new SlidingWindowExtremes(windowMillis));
+
+        synchronized (extremes) {
+            extremes.record(timestamp, variation.getFirstQuotation());
+            extremes.record(timestamp, variation.getLowestQuotation());
+            extremes.record(timestamp, variation.getHighestQuotation());
+            extremes.record(timestamp, variation.getLastQuotation());
+        }
+    }
+
+    public void remove(UUID assetId) {
+        windows.remove(assetId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ufcg.psoft.commerce.service.asset.quotation;
+
+import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
+import com.ufcg.psoft.commerce.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class QuotationWriteBehind {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuotationWriteBehind.class);
+
+    @Autowired
+    private QuotationRegister quotationRegister;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Value("${asset.quotation.flush-batch-size:500}")
+    private int batchSize;
+
+    // versions persisted before a restart must stay older than anything the register hands out from now on
+    @PostConstruct
+    public void start() {
+        quotationRegister.advanceClock(assetRepository.findMaxQuotationVersion());
+    }
+
+    /**
+     * Persists the latest quotation of up to one batch of dirty assets in a single transaction. Only the
+     * newest value of each asset is written, however many ticks it received since the last flush, together
+     * with its register version and nothing else, so it never overwrites other changes made to the asset meanwhile. If the
+     * transaction rolls back the assets are marked dirty again and retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${asset.quotation.flush-interval-ms:500}")
+    @Transactional
+    public int flush() {
+        List<UUID> assetIds = quotationRegister.drainDirty(batchSize);
+        if (assetIds.isEmpty()) {
+            return 0;
+        }
+
+        TransactionCallbacks.afterRollback(() -> quotationRegister.markDirty(assetIds));
+
+        int flushed = 0;
+        for (UUID assetId : assetIds) {
+            QuotationStamp stamp = quotationRegister.read(assetId);
+            if (stamp != null) {
+                flushed += assetRepository.updateQuotation(assetId, stamp.quotation(), stamp.version());
+            }
+        }
+        return flushed;
+    }
+
+    @PreDestroy
+    public void flushPending() {
+        try {
+            while (quotationRegister.getPendingFlushes() > 0 && this.flush() > 0) {
+                // keep draining until every dirty asset is persisted
+            }
+        } catch (RuntimeException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Error flushing {} pending quotations on shutdown: {}", quotationRegister.getPendingFlushes(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ufcg.psoft.commerce.service.asset.quotation;
+
+/**
+ * Lowest and highest quotation recorded within a trailing time window. Each extreme is a monotonic deque
+ * kept in primitive ring buffers: a new quotation pops every dominated entry off the back and expired
+ * entries fall off the front, so a record is amortized O(1) and the extremes are read from the front.
+ * Not thread-safe; a timestamp older than the latest recorded one is treated as the latest.
+ */
+public class SlidingWindowExtremes {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final long windowMillis;
+
+    private final MonotonicDeque lows = new MonotonicDeque(true);
+
+    private final MonotonicDeque highs = new MonotonicDeque(false);
+
+    private long latestTimestamp = Long.MIN_VALUE;
+
+    public SlidingWindowExtremes(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void record(long timestamp, double quotation) {
+        latestTimestamp = Math.max(latestTimestamp, timestamp);
+        long expiredBefore = latestTimestamp - windowMillis;
+        lows.evictBefore(expiredBefore);
+        highs.evictBefore(expiredBefore);
+        lows.push(latestTimestamp, quotation);
+        highs.push(latestTimestamp, quotation);
+    }
+
+    public double getLowest() {
+        return lows.front();
+    }
+
+    public double getHighest() {
+        return highs.front();
+    }
+
+    public boolean isEmpty() {
+        return lows.size == 0;
+    }
+
+    /**
+     * Lowest quotation recorded at or after {@code since}, or null when there is none. Unlike
+     * {@link #record}, reading never evicts anything.
+     */
+    public Extreme lowestSince(long since) {
+        return lows.frontSince(since);
+    }
+
+    public Extreme highestSince(long since) {
+        return highs.frontSince(since);
+    }
+
+    public record Extreme(long timestamp, double quotation) {
+    }
+
+    private static final class MonotonicDeque {
+        private final boolean ascending;
+        private long[] timestamps = new long[INITIAL_CAPACITY];
+        private double[] quotations = new double[INITIAL_CAPACITY];
+        private int head;
+        private int size;
+
+        private MonotonicDeque(boolean ascending) {
+            this.ascending = ascending;
+        }
+
+        private void push(long timestamp, double quotation) {
+            while (size > 0 && dominates(quotation, quotations[index(size - 1)])) {
+                size--;
+            }
+            if (size == timestamps.length) {
+                grow();
+            }
+            int tail = index(size);
+            timestamps[tail] = timestamp;
+            quotations[tail] = quotation;
+            size++;
+        }
+
+        private void evictBefore(long timestamp) {
+            while (size > 0 && timestamps[head] < timestamp) {
+                head = (head + 1) & (timestamps.length - 1);
+                size--;
+            }
+        }
+
+        // entries are kept in time order, so the first one not expired is the extreme of what is left
+        private Extreme frontSince(long since) {
+            for (int i = 0; i < size; i++) {
+                int position = index(i);
+                if (timestamps[position] >= since) {
+                    return new Extreme(timestamps[position], quotations[position]);
+                }
+            }
+            return null;
+        }
+
+        private double front() {
+            if (size == 0) {
+                throw new IllegalStateException("No quotation recorded within the window");
+            }
+            return quotations[head];
+        }
+
+        // a newer quotation at least as extreme makes the older one unreachable as the window's extreme
+        private boolean dominates(double newer, double older) {
+            return ascending ? newer <= older : newer >= older;
+        }
+
+        private int index(int offset) {
+            return (head + offset) & (timestamps.length - 1);
+        }
+
+        private void grow() {
+            long[] grownTimestamps = new long[timestamps.length << 1];
+            double[] grownQuotations = new double[quotations.length << 1];
+            for (int i = 0; i < size; i++) {
+                grownTimestamps[i] = timestamps[index(i)];
+                grownQuotations[i] = quotations[index(i)];
+            }
+            timestamps = grownTimestamps;
+            quotations = grownQuotations;
+            head = 0;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.ufcg.psoft.commerce.service.asset.search;
+
+import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory full-text index over asset names and descriptions. Tokens are lower-cased and stripped of accents;
+ * an inverted index maps each token to the assets containing it and a trie over the tokens expands every query
+ * term as a prefix. All query terms must match. Results are ranked by how many terms match the asset name, then
+ * by name, and filtered by asset type and by what the client's plan is allowed to see.
+ */
+@Component
+public class AssetSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private final Map<String, Set<UUID>> postings = new HashMap<>();
+    private final TrieNode root = new TrieNode();
+
+    // the lock is taken before reading, so a write committed meanwhile is indexed after the rebuild instead of
+    // being wiped by it
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            List<IndexedAsset> assets = assetRepository.findAll().stream().map(IndexedAsset::of).toList();
+            documents.clear();
+            postings.clear();
+            root.children.clear();
+            assets.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(IndexedAsset asset) {
+        lock.writeLock().lock();
+        try {
+            Document existing = documents.get(asset.id());
+            if (existing != null && existing.asset().equals(asset)) {
+                return;
+            }
+            if (existing != null) {
+                this.delete(existing);
+            }
+            this.add(asset);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID assetId) {
+        lock.writeLock().lock();
+        try {
+            Document existing = documents.get(assetId);
+            if (existing != null) {
+                this.delete(existing);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<UUID> search(String query, AssetTypeEnum assetType, PlanTypeEnum planType, int limit) {
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<UUID> candidates = null;
+            for (String term : terms) {
+                Set<UUID> matches = this.matchPrefix(term);
+                if (candidates == null) {
+                    candidates = matches;
+                } else {
+                    candidates.retainAll(matches);
+                }
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return candidates.stream()
+                    .map(documents::get)
+                    .filter(document -> document.isVisible(assetType, planType))
+                    .sorted(Comparator.comparingInt((Document document) -> document.nameScore(terms)).reversed()
+                            .thenComparing(document -> document.asset().name()))
+                    .limit(limit)
+                    .map(document -> document.asset().id())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(IndexedAsset asset) {
+        Set<String> nameTokens = tokenize(asset.name());
+        Set<String> tokens = new HashSet<>(nameTokens);
+        tokens.addAll(tokenize(asset.description()));
+
+        documents.put(asset.id(), new Document(asset, nameTokens, tokens));
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> {
+                root.insert(key);
+                return new HashSet<>();
+            }).add(asset.id());
+        }
+    }
+
+    private void delete(Document document) {
+        documents.remove(document.asset().id());
+        for (String token : document.tokens()) {
+            Set<UUID> ids = postings.get(token);
+            ids.remove(document.asset().id());
+            if (ids.isEmpty()) {
+                postings.remove(token);
+                root.delete(token, 0);
+            }
+        }
+    }
+
+    private Set<UUID> matchPrefix(String prefix) {
+        Set<UUID> matches = new HashSet<>();
+        TrieNode node = root.find(prefix);
+        if (node != null) {
+            node.collect(token -> matches.addAll(postings.get(token)));
+        }
+        return matches;
+    }
+
+    private static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record Document(IndexedAsset asset, Set<String> nameTokens, Set<String> tokens) {
+
+        private boolean isVisible(AssetTypeEnum assetType, PlanTypeEnum planType) {
+            if (!asset.active()) {
+                return false;
+            }
+            if (assetType != null && !assetType.name().equals(asset.assetTypeName())) {
+                return false;
+            }
+            return planType == PlanTypeEnum.PREMIUM || AssetTypeEnum.TREASURY_BOUNDS.name().equals(asset.assetTypeName());
+        }
+
+        private int nameScore(Set<String> terms) {
+            int score = 0;
+            for (String term : terms) {
+                for (String token : nameTokens) {
+                    if (token.startsWith(term)) {
+                        score += token.equals(term) ? 2 : 1;
+                        break;
+                    }
+                }
+            }
+            return score;
+        }
+    }
+
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private String token;
+
+        private void insert(String value) {
+            TrieNode node = this;
+            for (int i = 0; i < value.length(); i++) {
+                node = node.children.computeIfAbsent(value.charAt(i), key -> new TrieNode());
+            }
+            node.token = value;
+        }
+
+        private TrieNode find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        private boolean delete(String value, int depth) {
+            if (depth == value.length()) {
+                token = null;
+            } else {
+                TrieNode child = children.get(value.charAt(depth));
+                if (child != null && child.delete(value, depth + 1)) {
+                    children.remove(value.charAt(depth));
+                }
+            }
+            return token == null && children.isEmpty();
+        }
+
+        private void collect(Consumer<String> consumer) {
+            if (token != null) {
+                consumer.accept(token);
+            }
+            children.values().forEach(child -> child.collect(consumer));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ufcg.psoft.commerce.service.asset.search;
+
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.util.TransactionCallbacks;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Keeps the asset search index in step with the asset table. The searchable fields are captured during the
+ * callback and applied once the transaction commits, so rolled back writes never reach the index.
+ */
+@Component
+public class AssetSearchIndexListener {
+
+    // lazy: Hibernate creates this listener while the entity manager factory that the repositories need is still being built
+    @Lazy
+    @Autowired
+    private AssetSearchIndex assetSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onAssetWritten(AssetModel assetModel) {
+        IndexedAsset indexedAsset = IndexedAsset.of(assetModel);
+        TransactionCallbacks.afterCommit(() -> assetSearchIndex.index(indexedAsset));
+    }
+
+    @PostRemove
+    public void onAssetRemoved(AssetModel assetModel) {
+        UUID assetId = assetModel.getId();
+        TransactionCallbacks.afterCommit(() -> assetSearchIndex.remove(assetId));
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.ufcg.psoft.commerce.service.asset.search;
+
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+
+import java.util.UUID;
+
+/**
+ * The searchable fields of an asset, captured while its entity is still attached so the index can be updated
+ * after the transaction commits.
+ */
+public record IndexedAsset(UUID id, String name, String description, String assetTypeName, boolean active) {
+
+    public static IndexedAsset of(AssetModel assetModel) {
+        return new IndexedAsset(
+                assetModel.getId(),
+                assetModel.getName(),
+                assetModel.getDescription(),
+                assetModel.getAssetType() == null ? null : assetModel.getAssetType().getName(),
+                assetModel.isActive()
+        );
+    }
+}
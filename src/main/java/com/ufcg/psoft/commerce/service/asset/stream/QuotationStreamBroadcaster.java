@@ -0,0 +1,343 @@
+package com.ufcg.psoft.commerce.service.asset.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.commerce.dto.asset.AssetStreamEventDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetStreamMetricsDTO;
+import com.ufcg.psoft.commerce.enums.AssetStreamEventTypeEnum;
+import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
+import com.ufcg.psoft.commerce.service.asset.QuotationUpdateListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pushes quotation and activation changes to server-sent event subscribers. Each change is serialized once into a
+ * shared ring buffer; a single dispatcher walks every subscriber's cursor over it, applies the subscriber's asset
+ * filter and hands the matching events to a small sender pool. A subscriber still writing its previous batch when
+ * the buffer laps its cursor is too slow to keep up and is disconnected, so it can reconnect instead of lagging.
+ * Like the catalog, subscribers without a premium plan only see treasury bound assets.
+ */
+@Component
+public class QuotationStreamBroadcaster implements QuotationUpdateListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuotationStreamBroadcaster.class);
+
+    private static final long DISPATCH_PARK_NANOS = 50_000_000L;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 1_000L;
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Value("${asset.stream.buffer-capacity:4096}")
+    private int bufferCapacity;
+
+    @Value("${asset.stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${asset.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    private StreamEvent[] buffer;
+    private int mask;
+
+    private final Object publishLock = new Object();
+    private final AtomicLong publishSequence = new AtomicLong();
+
+    private final Set<StreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // an asset never changes type, so each one is looked up once
+    private final Map<UUID, String> assetTypeNames = new ConcurrentHashMap<>();
+
+    private final LongAdder deliveredCount = new LongAdder();
+    private final LongAdder droppedSubscriberCount = new LongAdder();
+
+    private ExecutorService senders;
+    private volatile boolean running;
+    private Thread dispatcherThread;
+
+    @PostConstruct
+    public void start() {
+        int size = 1;
+        while (size < bufferCapacity) {
+            size <<= 1;
+        }
+        this.buffer = new StreamEvent[size];
+        this.mask = size - 1;
+
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "quotation-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.running = true;
+        this.dispatcherThread = new Thread(this::dispatchLoop, "quotation-stream-dispatcher");
+        this.dispatcherThread.setDaemon(true);
+        this.dispatcherThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        this.running = false;
+        LockSupport.unpark(dispatcherThread);
+        this.dispatcherThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Set<UUID> assetIds, PlanTypeEnum planType) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        this.register(emitter, assetIds, planType);
+        return emitter;
+    }
+
+    public void register(SseEmitter emitter, Set<UUID> assetIds, PlanTypeEnum planType) {
+        Set<String> visibleTypes = planType == PlanTypeEnum.PREMIUM ? Set.of() : Set.of(AssetTypeEnum.TREASURY_BOUNDS.name());
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, Set.copyOf(assetIds), visibleTypes, publishSequence.get());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void onQuotationUpdate(UUID assetId, long timestamp, double quotation) {
+        this.publish(AssetStreamEventDTO.builder()
+                .type(AssetStreamEventTypeEnum.QUOTATION)
+                .assetId(assetId)
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()))
+                .quotation(quotation)
+                .build());
+    }
+
+    @Override
+    public void onActivationChange(UUID assetId, long timestamp, boolean active) {
+        this.publish(AssetStreamEventDTO.builder()
+                .type(AssetStreamEventTypeEnum.ACTIVATION)
+                .assetId(assetId)
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()))
+                .isActive(active)
+                .build());
+    }
+
+    @Override
+    public void onAssetDeleted(UUID assetId) {
+        assetTypeNames.remove(assetId);
+    }
+
+    @Scheduled(fixedDelayString = "${asset.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (StreamSubscriber subscriber : subscribers) {
+            if (subscriber.sending.compareAndSet(false, true)) {
+                senders.execute(() -> this.sendHeartbeat(subscriber));
+            }
+        }
+    }
+
+    public AssetStreamMetricsDTO getMetrics() {
+        return AssetStreamMetricsDTO.builder()
+                .bufferCapacity(buffer.length)
+                .subscribers(subscribers.size())
+                .published(publishSequence.get())
+                .delivered(deliveredCount.sum())
+                .droppedSubscribers(droppedSubscriberCount.sum())
+                .build();
+    }
+
+    private void publish(AssetStreamEventDTO event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Error serializing quotation stream event for asset {}: {}", event.getAssetId(), e.getMessage());
+            }
+            return;
+        }
+
+        String assetTypeName = this.getAssetTypeName(event.getAssetId());
+        synchronized (publishLock) {
+            long sequence = publishSequence.get();
+            buffer[(int) (sequence & mask)] = new StreamEvent(sequence, event.getAssetId(), assetTypeName, event.getType(), data);
+            publishSequence.set(sequence + 1);
+        }
+        LockSupport.unpark(dispatcherThread);
+    }
+
+    private String getAssetTypeName(UUID assetId) {
+        String cached = assetTypeNames.get(assetId);
+        if (cached != null) {
+            return cached;
+        }
+        // an asset deleted before its event is published has no type
+        return assetRepository.findById(assetId)
+                .map(asset -> {
+                    String assetTypeName = asset.getAssetType().getName();
+                    assetTypeNames.put(assetId, assetTypeName);
+                    return assetTypeName;
+                })
+                .orElse(null);
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            // the dispatcher is the only thread that delivers, so one bad pass must not end it
+            try {
+                this.dispatch();
+            } catch (RuntimeException e) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("Error dispatching quotation stream events: {}", e.getMessage(), e);
+                }
+            }
+            LockSupport.parkNanos(DISPATCH_PARK_NANOS);
+        }
+    }
+
+    private void dispatch() {
+        long head = publishSequence.get();
+
+        for (StreamSubscriber subscriber : subscribers) {
+            if (head - subscriber.cursor > buffer.length) {
+                this.drop(subscriber, head);
+                continue;
+            }
+            if (subscriber.cursor == head || !subscriber.sending.compareAndSet(false, true)) {
+                continue;
+            }
+
+            List<StreamEvent> batch = new ArrayList<>();
+            for (long sequence = subscriber.cursor; sequence < head; sequence++) {
+                StreamEvent event = buffer[(int) (sequence & mask)];
+                if (event.sequence() != sequence) {
+                    batch = null;
+                    break;
+                }
+                if (subscriber.accepts(event)) {
+                    batch.add(event);
+                }
+            }
+
+            if (batch == null) {
+                subscriber.sending.set(false);
+                this.drop(subscriber, head);
+            } else if (batch.isEmpty()) {
+                subscriber.cursor = head;
+                subscriber.sending.set(false);
+            } else {
+                subscriber.cursor = head;
+                List<StreamEvent> events = batch;
+                senders.execute(() -> this.send(subscriber, events));
+            }
+        }
+    }
+
+    private void send(StreamSubscriber subscriber, List<StreamEvent> events) {
+        try {
+            for (StreamEvent event : events) {
+                if (subscriber.dropped) {
+                    break;
+                }
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.sequence()))
+                        .name(event.type().name())
+                        .data(event.data()));
+                deliveredCount.increment();
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+        } finally {
+            this.release(subscriber);
+        }
+    }
+
+    private void sendHeartbeat(StreamSubscriber subscriber) {
+        try {
+            subscriber.emitter.send(SseEmitter.event().comment(HEARTBEAT_COMMENT));
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+        } finally {
+            this.release(subscriber);
+        }
+    }
+
+    private void release(StreamSubscriber subscriber) {
+        subscriber.sending.set(false);
+        if (subscriber.dropped && subscriber.sending.compareAndSet(false, true)) {
+            subscriber.emitter.complete();
+        }
+        LockSupport.unpark(dispatcherThread);
+    }
+
+    private void drop(StreamSubscriber subscriber, long head) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        droppedSubscriberCount.increment();
+        if (LOGGER.isWarnEnabled()) {
+            LOGGER.warn("Dropping slow quotation stream subscriber, {} events behind", head - subscriber.cursor);
+        }
+
+        // an emitter is only completed by whoever holds the sending flag, so a blocked write never stalls the dispatcher
+        subscriber.dropped = true;
+        if (subscriber.sending.compareAndSet(false, true)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private record StreamEvent(long sequence, UUID assetId, String assetTypeName, AssetStreamEventTypeEnum type, String data) {
+    }
+
+    private static final class StreamSubscriber {
+        private final SseEmitter emitter;
+        private final Set<UUID> assetIds;
+        private final Set<String> assetTypeNames;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean dropped;
+        private long cursor;
+
+        private StreamSubscriber(SseEmitter emitter, Set<UUID> assetIds, Set<String> assetTypeNames, long cursor) {
+            this.emitter = emitter;
+            this.assetIds = assetIds;
+            this.assetTypeNames = assetTypeNames;
+            this.cursor = cursor;
+        }
+
+        private boolean accepts(StreamEvent event) {
+            // an event without a type is only shown to subscribers that are not restricted by type
+            return (assetIds.isEmpty() || assetIds.contains(event.assetId()))
+                    && (assetTypeNames.isEmpty() || (event.assetTypeName() != null && assetTypeNames.contains(event.assetTypeName())));
+        }
+    }
+}
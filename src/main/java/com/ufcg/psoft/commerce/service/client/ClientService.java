@@ -7,10 +7,16 @@ import com.ufcg.psoft.commerce.dto.client.ClientDeleteRequestDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientPatchFullNameRequestDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientPostRequestDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxCounterResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxPageResponseDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WalletHoldingResponseDTO;
+import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
 import com.ufcg.psoft.commerce.model.user.ClientModel;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface ClientService {
@@ -21,13 +27,23 @@ public interface ClientService {
 
     ClientResponseDTO getClientById(UUID id);
 
+    String getClientETag(UUID id);
+
+    String getAssetETag(UUID clientId, UUID assetId);
+
     List<ClientResponseDTO> getClients();
 
     ClientResponseDTO patchFullName(UUID id, ClientPatchFullNameRequestDTO clientPatchFullNameRequestDTO);
 
-    AssetResponseDTO redirectGetAssetDetails(UUID clientId, UUID assetId, ClientAssetAccessRequestDTO clientAssetAccessRequestDTO);
+    PlanTypeEnum validateAssetAccess(UUID clientId, ClientAssetAccessRequestDTO clientAssetAccessRequestDTO);
+
+    AssetResponseDTO getAssetDetails(UUID assetId, PlanTypeEnum planType);
+
+    byte[] redirectGetActiveAssets(UUID clientId, ClientActiveAssetsRequestDTO requestDTO);
 
-    List<AssetResponseDTO> redirectGetActiveAssets(UUID clientId, ClientActiveAssetsRequestDTO requestDTO);
+    List<AssetResponseDTO> redirectSearchAssets(UUID clientId, ClientActiveAssetsRequestDTO requestDTO, String query, AssetTypeEnum assetType, int limit);
+
+    SseEmitter redirectStreamQuotations(UUID clientId, ClientActiveAssetsRequestDTO requestDTO, Set<UUID> assetIds);
 
     SubscriptionResponseDTO redirectMarkAvailabilityOfInterestInAsset(UUID clientId, ClientMarkInterestInAssetRequestDTO clientMarkInterestInAssetRequestDTO);
 
@@ -36,4 +52,8 @@ public interface ClientService {
     ClientModel validateClientAccess(UUID clientId, String accessCode);
 
     WalletHoldingResponseDTO getClientWalletHolding(UUID clientId, ClientWalletRequestDTO clientWalletRequestDTO);
+
+    NotificationInboxPageResponseDTO redirectGetNotifications(UUID clientId, ClientNotificationInboxRequestDTO clientNotificationInboxRequestDTO);
+
+    NotificationInboxCounterResponseDTO redirectMarkNotificationsRead(UUID clientId, ClientNotificationReadRequestDTO clientNotificationReadRequestDTO);
 }
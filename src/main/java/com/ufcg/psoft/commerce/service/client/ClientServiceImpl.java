@@ -5,21 +5,28 @@ import com.ufcg.psoft.commerce.enums.*;
 import com.ufcg.psoft.commerce.dto.subscription.SubscriptionResponseDTO;
 import com.ufcg.psoft.commerce.dto.client.*;
 import com.ufcg.psoft.commerce.dto.asset.AssetResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxCounterResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxPageResponseDTO;
 import com.ufcg.psoft.commerce.model.asset.AssetModel;
 import com.ufcg.psoft.commerce.model.user.*;
-import com.ufcg.psoft.commerce.model.asset.AssetType;
 import com.ufcg.psoft.commerce.model.wallet.HoldingModel;
 import com.ufcg.psoft.commerce.model.wallet.WalletModel;
 import com.ufcg.psoft.commerce.exception.user.ClientIdNotFoundException;
 import com.ufcg.psoft.commerce.repository.client.ClientRepository;
 import com.ufcg.psoft.commerce.service.mapper.DTOMapperService;
 import com.ufcg.psoft.commerce.service.asset.AssetService;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationRegister;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationSnapshot;
+import com.ufcg.psoft.commerce.service.etag.ETagRegistry;
+import com.ufcg.psoft.commerce.service.notification.NotificationInboxService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -37,6 +44,15 @@ public class ClientServiceImpl implements ClientService {
     @Autowired
     DTOMapperService dtoMapperService;
 
+    @Autowired
+    NotificationInboxService notificationInboxService;
+
+    @Autowired
+    ETagRegistry eTagRegistry;
+
+    @Autowired
+    QuotationRegister quotationRegister;
+
     @Override
     public ClientResponseDTO create(ClientPostRequestDTO clientPostRequestDTO) {
         AddressModel addressModel = modelMapper.map(clientPostRequestDTO.getAddress(), AddressModel.class);
@@ -71,9 +87,22 @@ public class ClientServiceImpl implements ClientService {
         ClientModel client = clientRepository.findById(id)
                 .orElseThrow(() -> new ClientIdNotFoundException(id));
 
+        WalletModel wallet = client.getWallet();
+        eTagRegistry.recordClient(client.getId(), client.getVersion(), wallet.getId(), client.getPlanType());
+        eTagRegistry.recordWallet(wallet.getId(), wallet.getVersion());
         return dtoMapperService.toClientResponseDTO(client);
     }
 
+    @Override
+    public String getClientETag(UUID id) {
+        return eTagRegistry.getClientTag(id);
+    }
+
+    @Override
+    public String getAssetETag(UUID clientId, UUID assetId) {
+        return eTagRegistry.getClientAssetTag(clientId, assetId);
+    }
+
     @Override
     public List<ClientResponseDTO> getClients() {
         List<ClientModel> clients = clientRepository.findAll();
@@ -93,23 +122,44 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
-    public AssetResponseDTO redirectGetAssetDetails(UUID clientId, UUID assetId, ClientAssetAccessRequestDTO clientAssetAccessRequestDTO) {
-        this.validateClientAccess(clientId, clientAssetAccessRequestDTO.getAccessCode());
+    public PlanTypeEnum validateAssetAccess(UUID clientId, ClientAssetAccessRequestDTO clientAssetAccessRequestDTO) {
+        ClientModel client = this.validateClientAccess(clientId, clientAssetAccessRequestDTO.getAccessCode());
+        eTagRegistry.recordClient(client.getId(), client.getVersion(),
+                client.getWallet() == null ? null : client.getWallet().getId(), client.getPlanType());
+        return client.getPlanType();
+    }
 
-        return assetService.getAssetById(assetId);
+    @Override
+    public AssetResponseDTO getAssetDetails(UUID assetId, PlanTypeEnum planType) {
+        AssetResponseDTO asset = assetService.getAssetById(assetId);
+        if (planType != PlanTypeEnum.PREMIUM) {
+            return asset;
+        }
+        // the cached response is shared, so premium statistics go on a copy
+        return asset.toBuilder()
+                .statistics(assetService.getStatistics(assetId))
+                .build();
     }
 
     @Override
-    public List<AssetResponseDTO> redirectGetActiveAssets(UUID clientId, ClientActiveAssetsRequestDTO clientActiveAssetsRequestDTO) {
+    public byte[] redirectGetActiveAssets(UUID clientId, ClientActiveAssetsRequestDTO clientActiveAssetsRequestDTO) {
         ClientModel client = this.validateClientAccess(clientId, clientActiveAssetsRequestDTO.getAccessCode());
-        PlanTypeEnum planType = client.getPlanType();
 
-        if (planType == PlanTypeEnum.PREMIUM) {
-            return assetService.getAvailableAssets();
-        }
+        return assetService.getCatalog(client.getPlanType());
+    }
 
-        AssetType assetType = assetService.fetchAssetType(AssetTypeEnum.TREASURY_BOUNDS);
-        return assetService.getActiveAssetsByAssetType(assetType);
+    @Override
+    public List<AssetResponseDTO> redirectSearchAssets(UUID clientId, ClientActiveAssetsRequestDTO clientActiveAssetsRequestDTO, String query, AssetTypeEnum assetType, int limit) {
+        ClientModel client = this.validateClientAccess(clientId, clientActiveAssetsRequestDTO.getAccessCode());
+
+        return assetService.searchAssets(query, assetType, client.getPlanType(), limit);
+    }
+
+    @Override
+    public SseEmitter redirectStreamQuotations(UUID clientId, ClientActiveAssetsRequestDTO clientActiveAssetsRequestDTO, Set<UUID> assetIds) {
+        ClientModel client = this.validateClientAccess(clientId, clientActiveAssetsRequestDTO.getAccessCode());
+
+        return assetService.streamQuotations(assetIds, client.getPlanType());
     }
 
     @Override
@@ -149,30 +199,47 @@ public class ClientServiceImpl implements ClientService {
         return dtoMapperService.toWalletHoldingResponseDTO(walletModel, holdings, totalCurrent, totalInvested, totalPerformance);
     }
 
+    @Override
+    public NotificationInboxPageResponseDTO redirectGetNotifications(UUID clientId, ClientNotificationInboxRequestDTO clientNotificationInboxRequestDTO) {
+        this.validateClientAccess(clientId, clientNotificationInboxRequestDTO.getAccessCode());
+
+        return notificationInboxService.getInbox(clientId, clientNotificationInboxRequestDTO.getBeforeId(), clientNotificationInboxRequestDTO.getLimit());
+    }
+
+    @Override
+    public NotificationInboxCounterResponseDTO redirectMarkNotificationsRead(UUID clientId, ClientNotificationReadRequestDTO clientNotificationReadRequestDTO) {
+        this.validateClientAccess(clientId, clientNotificationReadRequestDTO.getAccessCode());
+
+        return notificationInboxService.markRead(clientId, clientNotificationReadRequestDTO.getUpToId());
+    }
+
     private List<HoldingResponseDTO> buildHoldings(WalletModel walletModel) {
         if (walletModel.getHoldings() == null) {
             return List.of();
         }
-        return walletModel.getHoldings()
-                .values()
-                .stream()
-                .map(this::mapHoldingToDTO)
-                .toList();
+        // every holding is priced against the same quotation snapshot
+        try (QuotationSnapshot snapshot = quotationRegister.openSnapshot()) {
+            return walletModel.getHoldings()
+                    .values()
+                    .stream()
+                    .map(holding -> mapHoldingToDTO(holding, snapshot))
+                    .toList();
+        }
     }
 
-    private HoldingResponseDTO mapHoldingToDTO(HoldingModel holding) {
+    private HoldingResponseDTO mapHoldingToDTO(HoldingModel holding, QuotationSnapshot snapshot) {
         AssetModel asset = holding.getAsset();
 
         double quantity         = holding.getQuantity();
         double acquisitionTotal = holding.getAccumulatedPrice();
-        double currentPrice     = asset.getQuotation();
+        double currentPrice     = snapshot.getQuotation(asset);
         double currentTotal     = quantity * currentPrice;
 
         double performance      = currentTotal - acquisitionTotal;
 
         double acquisitionPrice = quantity == 0 ? 0 : (holding.getAccumulatedPrice()/quantity);
 
-        return dtoMapperService.toHoldingResponseDTO(holding, asset, acquisitionPrice, acquisitionTotal, currentTotal, performance);
+        return dtoMapperService.toHoldingResponseDTO(holding, asset, currentPrice, acquisitionPrice, acquisitionTotal, currentTotal, performance);
     }
 
     private double calculateTotalInvested(List<HoldingResponseDTO> holdings) {
@@ -0,0 +1,113 @@
+package com.ufcg.psoft.commerce.service.etag;
+
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Last committed version of every asset, client and wallet seen by this instance, so conditional reads can be
+ * answered from memory. An entity that was never loaded nor written here has no tag and is served without one.
+ */
+@Component
+public class ETagRegistry {
+
+    // the collection revision only lives in memory, so tags from a previous run must never match
+    private final long epoch = System.currentTimeMillis();
+
+    private final AtomicLong assetCollectionRevision = new AtomicLong();
+
+    private final Map<UUID, Long> assetVersions = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Long> quotationVersions = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Long> clientVersions = new ConcurrentHashMap<>();
+
+    private final Map<UUID, UUID> clientWallets = new ConcurrentHashMap<>();
+
+    private final Map<UUID, PlanTypeEnum> clientPlans = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Long> walletVersions = new ConcurrentHashMap<>();
+
+    public void recordAsset(UUID assetId, long version) {
+        assetVersions.merge(assetId, version, Math::max);
+    }
+
+    // live quotations change ahead of the persisted version, so they are tagged separately
+    public void recordQuotation(UUID assetId, long quotationVersion) {
+        quotationVersions.merge(assetId, quotationVersion, Math::max);
+    }
+
+    public void recordClient(UUID clientId, long version, UUID walletId, PlanTypeEnum planType) {
+        Long recorded = clientVersions.merge(clientId, version, Math::max);
+        if (walletId != null) {
+            clientWallets.put(clientId, walletId);
+        }
+        // a stale read must not bring back the plan of an older version
+        if (planType != null && recorded == version) {
+            clientPlans.put(clientId, planType);
+        }
+    }
+
+    public void recordWallet(UUID walletId, long version) {
+        if (walletId != null) {
+            walletVersions.merge(walletId, version, Math::max);
+        }
+    }
+
+    public void removeAsset(UUID assetId) {
+        assetVersions.remove(assetId);
+        quotationVersions.remove(assetId);
+    }
+
+    public void removeClient(UUID clientId) {
+        clientVersions.remove(clientId);
+        clientWallets.remove(clientId);
+        clientPlans.remove(clientId);
+    }
+
+    public void removeWallet(UUID walletId) {
+        walletVersions.remove(walletId);
+    }
+
+    public void advanceAssetCollection() {
+        assetCollectionRevision.incrementAndGet();
+    }
+
+    public String getAssetCollectionTag() {
+        return "\"assets-" + epoch + "-" + assetCollectionRevision.get() + "\"";
+    }
+
+    public String getAssetTag(UUID assetId) {
+        Long version = assetVersions.get(assetId);
+        if (version == null) {
+            return null;
+        }
+        Long quotationVersion = quotationVersions.get(assetId);
+        String suffix = quotationVersion == null ? "" : "-q" + quotationVersion;
+        return "\"asset-" + assetId + "-" + version + suffix + "\"";
+    }
+
+    // premium clients get extra figures in the asset details, so the plan is part of the representation
+    public String getClientAssetTag(UUID clientId, UUID assetId) {
+        String assetTag = this.getAssetTag(assetId);
+        PlanTypeEnum planType = clientPlans.get(clientId);
+        if (assetTag == null || planType == null) {
+            return null;
+        }
+        return assetTag.substring(0, assetTag.length() - 1) + "-" + planType.name().toLowerCase() + "\"";
+    }
+
+    public String getClientTag(UUID clientId) {
+        Long clientVersion = clientVersions.get(clientId);
+        UUID walletId = clientWallets.get(clientId);
+        Long walletVersion = walletId == null ? null : walletVersions.get(walletId);
+        if (clientVersion == null || walletVersion == null) {
+            return null;
+        }
+        return "\"client-" + clientId + "-" + clientVersion + "-" + walletVersion + "\"";
+    }
+}
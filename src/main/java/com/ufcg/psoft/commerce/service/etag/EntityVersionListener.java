@@ -0,0 +1,56 @@
+package com.ufcg.psoft.commerce.service.etag;
+
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.model.user.ClientModel;
+import com.ufcg.psoft.commerce.model.wallet.WalletModel;
+import com.ufcg.psoft.commerce.util.TransactionCallbacks;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes entity versions to the {@link ETagRegistry} once the write is committed, so a conditional read can
+ * never be told "not modified" about a version that was rolled back.
+ */
+@Component
+public class EntityVersionListener {
+
+    // lazy: Hibernate creates this listener while the entity manager factory is still being built
+    @Lazy
+    @Autowired
+    private ETagRegistry eTagRegistry;
+
+    @PostPersist
+    @PostUpdate
+    public void onWritten(Object entity) {
+        TransactionCallbacks.afterCommit(() -> {
+            if (entity instanceof AssetModel asset) {
+                eTagRegistry.recordAsset(asset.getId(), asset.getVersion());
+                eTagRegistry.advanceAssetCollection();
+            } else if (entity instanceof ClientModel client) {
+                eTagRegistry.recordClient(client.getId(), client.getVersion(),
+                        client.getWallet() == null ? null : client.getWallet().getId(), client.getPlanType());
+            } else if (entity instanceof WalletModel wallet) {
+                eTagRegistry.recordWallet(wallet.getId(), wallet.getVersion());
+            }
+        });
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        TransactionCallbacks.afterCommit(() -> {
+            if (entity instanceof AssetModel asset) {
+                eTagRegistry.removeAsset(asset.getId());
+                eTagRegistry.advanceAssetCollection();
+            } else if (entity instanceof ClientModel client) {
+                eTagRegistry.removeClient(client.getId());
+            } else if (entity instanceof WalletModel wallet) {
+                eTagRegistry.removeWallet(wallet.getId());
+            }
+        });
+    }
+
+}
@@ -61,6 +61,7 @@ public class DTOMapperService {
     }
 
     public HoldingResponseDTO toHoldingResponseDTO(HoldingModel holdingModel, AssetModel assetModel,
+                                                   double currentPrice,
                                                    double acquisitionPrice,
                                                    double acquisitionTotal,
                                                    double currentTotal,
@@ -72,7 +73,7 @@ public class DTOMapperService {
                 .assetType(new AssetTypeResponseDTO(assetModel.getAssetType().getId(), assetModel.getAssetType().getName()))
                 .quantity(holdingModel.getQuantity())
                 .acquisitionPrice(acquisitionPrice)
-                .currentPrice(assetModel.getQuotation())
+                .currentPrice(currentPrice)
                 .performance(performance)
                 .acquisitionTotal(acquisitionTotal)
                 .currentTotal(currentTotal)
@@ -88,6 +89,8 @@ public class DTOMapperService {
                 .valueReceived(withdrawModel.getWithdrawValue())
                 .newWalletBudget(withdrawModel.getWallet().getBudget())
                 .state(withdrawModel.getStateEnum())
+                .sellingPrice(withdrawModel.getSellingPrice())
+                .quotationVersion(withdrawModel.getQuotationVersion())
                 .build();
     }
 
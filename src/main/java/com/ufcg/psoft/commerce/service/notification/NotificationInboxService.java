@@ -0,0 +1,17 @@
+package com.ufcg.psoft.commerce.service.notification;
+
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxCounterResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxPageResponseDTO;
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxEntryModel;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface NotificationInboxService {
+
+    void appendAll(List<NotificationInboxEntryModel> entries);
+
+    NotificationInboxPageResponseDTO getInbox(UUID clientId, Long beforeId, Integer limit);
+
+    NotificationInboxCounterResponseDTO markRead(UUID clientId, Long upToId);
+}
@@ -0,0 +1,117 @@
+package com.ufcg.psoft.commerce.service.notification;
+
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxCounterResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxEntryResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxPageResponseDTO;
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxCounterModel;
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxEntryModel;
+import com.ufcg.psoft.commerce.repository.observer.NotificationInboxCounterRepository;
+import com.ufcg.psoft.commerce.repository.observer.NotificationInboxEntryRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class NotificationInboxServiceImpl implements NotificationInboxService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    @Autowired
+    NotificationInboxEntryRepository notificationInboxEntryRepository;
+
+    @Autowired
+    NotificationInboxCounterRepository notificationInboxCounterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    public void start() {
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public void appendAll(List<NotificationInboxEntryModel> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        notificationInboxEntryRepository.saveAll(entries);
+
+        Map<UUID, Long> appendedByClient = entries.stream()
+                .collect(Collectors.groupingBy(NotificationInboxEntryModel::getClientId, Collectors.counting()));
+
+        appendedByClient.forEach((clientId, appended) -> {
+            if (notificationInboxCounterRepository.incrementAppended(clientId, appended) == 0) {
+                this.openCounter(clientId);
+                notificationInboxCounterRepository.incrementAppended(clientId, appended);
+            }
+        });
+    }
+
+    // opened empty and committed on its own, so two first notifications racing on the same client both end up counted
+    private void openCounter(UUID clientId) {
+        try {
+            requiresNew.executeWithoutResult(status -> notificationInboxCounterRepository.insertEmpty(clientId));
+        } catch (DataIntegrityViolationException e) {
+            // another notification opened it first
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationInboxPageResponseDTO getInbox(UUID clientId, Long beforeId, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        PageRequest page = PageRequest.of(0, pageSize);
+
+        List<NotificationInboxEntryModel> entries = beforeId == null
+                ? notificationInboxEntryRepository.findByClientIdOrderByIdDesc(clientId, page)
+                : notificationInboxEntryRepository.findByClientIdAndIdLessThanOrderByIdDesc(clientId, beforeId, page);
+
+        NotificationInboxCounterModel counter = this.getCounter(clientId);
+        Long nextBeforeId = entries.size() == pageSize ? entries.get(entries.size() - 1).getId() : null;
+
+        return NotificationInboxPageResponseDTO.builder()
+                .entries(entries.stream().map(NotificationInboxEntryResponseDTO::new).toList())
+                .unreadCount(counter.getUnreadCount())
+                .totalCount(counter.getTotalCount())
+                .nextBeforeId(nextBeforeId)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public NotificationInboxCounterResponseDTO markRead(UUID clientId, Long upToId) {
+        int markedAsRead = notificationInboxEntryRepository.markReadUpTo(clientId, upToId);
+        if (markedAsRead > 0) {
+            notificationInboxCounterRepository.decrementUnread(clientId, markedAsRead);
+        }
+
+        NotificationInboxCounterModel counter = this.getCounter(clientId);
+        return NotificationInboxCounterResponseDTO.builder()
+                .markedAsRead(markedAsRead)
+                .unreadCount(counter.getUnreadCount())
+                .totalCount(counter.getTotalCount())
+                .build();
+    }
+
+    private NotificationInboxCounterModel getCounter(UUID clientId) {
+        return notificationInboxCounterRepository.findById(clientId)
+                .orElseGet(() -> new NotificationInboxCounterModel(clientId, 0, 0));
+    }
+}
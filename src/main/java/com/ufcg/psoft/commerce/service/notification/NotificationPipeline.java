@@ -0,0 +1,21 @@
+package com.ufcg.psoft.commerce.service.notification;
+
+import com.ufcg.psoft.commerce.dto.notification.NotificationPipelineMetricsDTO;
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
+import com.ufcg.psoft.commerce.model.observer.ISubscriber;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface NotificationPipeline {
+
+    boolean publish(ISubscriber subscriber, NotificationCategoryEnum category, String context);
+
+    /**
+     * Publishes like {@link #publish}, but the returned future only completes with true once the subscriber was
+     * notified and, for clients, the inbox entry was written. It completes with false when the notification is
+     * dropped or fails, so the caller can keep whatever it needs to retry.
+     */
+    CompletableFuture<Boolean> publishAcknowledged(ISubscriber subscriber, NotificationCategoryEnum category, String context);
+
+    NotificationPipelineMetricsDTO getMetrics();
+}
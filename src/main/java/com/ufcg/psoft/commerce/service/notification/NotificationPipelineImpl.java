@@ -0,0 +1,305 @@
+package com.ufcg.psoft.commerce.service.notification;
+
+import com.ufcg.psoft.commerce.dto.notification.NotificationPipelineMetricsDTO;
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
+import com.ufcg.psoft.commerce.enums.WaitStrategyEnum;
+import com.ufcg.psoft.commerce.model.observer.ISubscriber;
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxEntryModel;
+import com.ufcg.psoft.commerce.model.user.ClientModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class NotificationPipelineImpl implements NotificationPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationPipelineImpl.class);
+
+    private static final long SLEEP_NANOS = 100_000L;
+    private static final long BLOCKING_TIMEOUT_MILLIS = 100L;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 1_000L;
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    @Autowired
+    private NotificationInboxService notificationInboxService;
+
+    @Value("${notification.pipeline.capacity:1024}")
+    private int capacity;
+
+    @Value("${notification.pipeline.batch-size:64}")
+    private int batchSize;
+
+    @Value("${notification.pipeline.wait-strategy:BLOCKING}")
+    private WaitStrategyEnum waitStrategy;
+
+    private NotificationSlot[] slots;
+    private int mask;
+
+    private final AtomicLong claimSequence = new AtomicLong();
+    private final AtomicLong consumeSequence = new AtomicLong();
+
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder deliveredCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder inboxFailedCount = new LongAdder();
+    private final LongAdder latencySamples = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    private final ReentrantLock consumerLock = new ReentrantLock();
+    private final Condition eventsAvailable = consumerLock.newCondition();
+
+    private final List<NotificationInboxEntryModel> inboxBatch = new ArrayList<>();
+
+    private final List<CompletableFuture<Boolean>> inboxAcknowledgements = new ArrayList<>();
+
+    private volatile boolean running;
+    private Thread consumerThread;
+
+    @PostConstruct
+    public void start() {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+
+        this.slots = new NotificationSlot[size];
+        for (int i = 0; i < size; i++) {
+            this.slots[i] = new NotificationSlot();
+        }
+        this.mask = size - 1;
+
+        this.running = true;
+        this.consumerThread = new Thread(this::consumeLoop, "notification-pipeline-consumer");
+        this.consumerThread.setDaemon(true);
+        this.consumerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        this.running = false;
+        this.signalConsumer();
+        this.consumerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+
+    @Override
+    public boolean publish(ISubscriber subscriber, NotificationCategoryEnum category, String context) {
+        return this.claim(subscriber, category, context, null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> publishAcknowledged(ISubscriber subscriber, NotificationCategoryEnum category, String context) {
+        CompletableFuture<Boolean> acknowledgement = new CompletableFuture<>();
+        if (!this.claim(subscriber, category, context, acknowledgement)) {
+            acknowledgement.complete(false);
+        }
+        return acknowledgement;
+    }
+
+    private boolean claim(ISubscriber subscriber, NotificationCategoryEnum category, String context,
+                          CompletableFuture<Boolean> acknowledgement) {
+        long sequence;
+        do {
+            sequence = claimSequence.get();
+            if (sequence - consumeSequence.get() >= slots.length) {
+                droppedCount.increment();
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Notification pipeline is full ({} slots), dropping notification", slots.length);
+                }
+                return false;
+            }
+        } while (!claimSequence.compareAndSet(sequence, sequence + 1));
+
+        NotificationSlot slot = slots[(int) (sequence & mask)];
+        slot.subscriber = subscriber;
+        slot.category = category;
+        slot.context = context;
+        slot.acknowledgement = acknowledgement;
+        slot.publishedAtNanos = System.nanoTime();
+        slot.sequence = sequence;
+
+        publishedCount.increment();
+
+        if (waitStrategy == WaitStrategyEnum.BLOCKING) {
+            this.signalConsumer();
+        }
+        return true;
+    }
+
+    @Override
+    public NotificationPipelineMetricsDTO getMetrics() {
+        long samples = latencySamples.sum();
+        double averageLatency = samples == 0 ? 0 : totalLatencyNanos.sum() / (double) samples / NANOS_PER_MICRO;
+
+        return NotificationPipelineMetricsDTO.builder()
+                .capacity(slots.length)
+                .waitStrategy(waitStrategy)
+                .queueDepth(claimSequence.get() - consumeSequence.get())
+                .published(publishedCount.sum())
+                .delivered(deliveredCount.sum())
+                .dropped(droppedCount.sum())
+                .failed(failedCount.sum())
+                .batches(batchCount.sum())
+                .inboxFailed(inboxFailedCount.sum())
+                .averagePublishToDeliverMicros(averageLatency)
+                .maxPublishToDeliverMicros(maxLatencyNanos.get() / NANOS_PER_MICRO)
+                .build();
+    }
+
+    private void consumeLoop() {
+        while (running || hasPendingEvents()) {
+            int consumed = this.consumeBatch();
+            if (consumed == 0 && running) {
+                this.awaitEvents();
+            } else if (consumed == 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private int consumeBatch() {
+        long next = consumeSequence.get();
+        int consumed = 0;
+
+        while (consumed < batchSize) {
+            long expected = next + consumed;
+            NotificationSlot slot = slots[(int) (expected & mask)];
+            if (slot.sequence != expected) {
+                break;
+            }
+            this.deliver(slot);
+            consumed++;
+        }
+
+        if (consumed > 0) {
+            this.flushInbox();
+            consumeSequence.set(next + consumed);
+            batchCount.increment();
+        }
+        return consumed;
+    }
+
+    private void deliver(NotificationSlot slot) {
+        CompletableFuture<Boolean> acknowledgement = slot.acknowledgement;
+        try {
+            slot.subscriber.notify(slot.context);
+            deliveredCount.increment();
+
+            if (slot.subscriber instanceof ClientModel client) {
+                inboxBatch.add(NotificationInboxEntryModel.builder()
+                        .clientId(client.getId())
+                        .category(slot.category)
+                        .message(slot.context)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+                // acknowledged once the inbox write of this batch succeeds
+                if (acknowledgement != null) {
+                    inboxAcknowledgements.add(acknowledgement);
+                }
+            } else if (acknowledgement != null) {
+                acknowledgement.complete(true);
+            }
+        } catch (RuntimeException e) {
+            failedCount.increment();
+            if (acknowledgement != null) {
+                acknowledgement.complete(false);
+            }
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Error delivering notification: {}", e.getMessage());
+            }
+        } finally {
+            long latency = System.nanoTime() - slot.publishedAtNanos;
+            latencySamples.increment();
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+
+            slot.subscriber = null;
+            slot.category = null;
+            slot.context = null;
+            slot.acknowledgement = null;
+        }
+    }
+
+    private void flushInbox() {
+        if (inboxBatch.isEmpty()) {
+            return;
+        }
+
+        boolean written = false;
+        try {
+            notificationInboxService.appendAll(List.copyOf(inboxBatch));
+            written = true;
+        } catch (RuntimeException e) {
+            inboxFailedCount.add(inboxBatch.size());
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Error writing {} notifications to the inbox: {}", inboxBatch.size(), e.getMessage());
+            }
+        } finally {
+            boolean acknowledged = written;
+            inboxAcknowledgements.forEach(acknowledgement -> acknowledgement.complete(acknowledged));
+            inboxAcknowledgements.clear();
+            inboxBatch.clear();
+        }
+    }
+
+    private void awaitEvents() {
+        switch (waitStrategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELDING -> Thread.yield();
+            case SLEEPING -> LockSupport.parkNanos(SLEEP_NANOS);
+            case BLOCKING -> this.awaitSignal();
+        }
+    }
+
+    private void awaitSignal() {
+        consumerLock.lock();
+        try {
+            if (running && !hasPendingEvents()) {
+                eventsAvailable.await(BLOCKING_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+
+    private void signalConsumer() {
+        consumerLock.lock();
+        try {
+            eventsAvailable.signalAll();
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+
+    private boolean hasPendingEvents() {
+        return claimSequence.get() > consumeSequence.get();
+    }
+
+    private static final class NotificationSlot {
+        private volatile long sequence = -1;
+        private ISubscriber subscriber;
+        private NotificationCategoryEnum category;
+        private String context;
+        private CompletableFuture<Boolean> acknowledgement;
+        private long publishedAtNanos;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ufcg.psoft.commerce.service.notification;
+
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationOutboxReplayRequestDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationOutboxReplayResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationPipelineMetricsDTO;
+
+public interface NotificationService {
+
+    NotificationPipelineMetricsDTO getPipelineMetrics(AdminAccessRequestDTO adminAccessRequestDTO);
+
+    NotificationOutboxReplayResponseDTO replayOutbox(NotificationOutboxReplayRequestDTO replayRequestDTO);
+}
@@ -0,0 +1,46 @@
+package com.ufcg.psoft.commerce.service.notification;
+
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationOutboxReplayRequestDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationOutboxReplayResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationPipelineMetricsDTO;
+import com.ufcg.psoft.commerce.enums.OutboxStatusEnum;
+import com.ufcg.psoft.commerce.repository.observer.NotificationOutboxRepository;
+import com.ufcg.psoft.commerce.service.admin.AdminService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class NotificationServiceImpl implements NotificationService {
+
+    @Autowired
+    AdminService adminService;
+
+    @Autowired
+    NotificationPipeline notificationPipeline;
+
+    @Autowired
+    NotificationOutboxRepository notificationOutboxRepository;
+
+    @Override
+    public NotificationPipelineMetricsDTO getPipelineMetrics(AdminAccessRequestDTO adminAccessRequestDTO) {
+        adminService.validateAdmin(adminAccessRequestDTO.getAdminEmail(), adminAccessRequestDTO.getAdminAccessCode());
+
+        return notificationPipeline.getMetrics();
+    }
+
+    @Override
+    @Transactional
+    public NotificationOutboxReplayResponseDTO replayOutbox(NotificationOutboxReplayRequestDTO replayRequestDTO) {
+        adminService.validateAdmin(replayRequestDTO.getAdminEmail(), replayRequestDTO.getAdminAccessCode());
+
+        int replayed = notificationOutboxRepository.replayFailedSince(replayRequestDTO.getSince());
+
+        return NotificationOutboxReplayResponseDTO.builder()
+                .since(replayRequestDTO.getSince())
+                .replayed(replayed)
+                .pending(notificationOutboxRepository.countByStatus(OutboxStatusEnum.PENDING))
+                .build();
+    }
+}
@@ -1,13 +1,29 @@
 package com.ufcg.psoft.commerce.service.observer;
 
 import com.ufcg.psoft.commerce.dto.subscription.SubscriptionResponseDTO;
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
 import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
+import com.ufcg.psoft.commerce.model.observer.PriceAlertCriteria;
+import com.ufcg.psoft.commerce.model.observer.PriceVariationWindow;
 
+import java.util.Collection;
 import java.util.UUID;
 
 public interface EventManager {
 
     SubscriptionResponseDTO subscribeToAssetEvent(UUID assetId, UUID idSubscriber, SubscriptionTypeEnum subscriptionType);
 
+    SubscriptionResponseDTO subscribeToAssetEvent(UUID assetId, UUID idSubscriber, SubscriptionTypeEnum subscriptionType, PriceAlertCriteria criteria);
+
     void notifySubscribersByType(UUID assetId, SubscriptionTypeEnum subscriptionType);
+
+    void notifyPriceVariation(UUID assetId, double oldQuotation, double newQuotation);
+
+    void notifyPriceVariations(Collection<PriceVariationWindow> windows);
+
+    void notifyAvailability(UUID assetId);
+
+    void deliverPriceVariation(PriceVariationWindow window);
+
+    void notifyWalletOwner(UUID walletId, NotificationCategoryEnum category, String context);
 }
@@ -1,33 +1,76 @@
 package com.ufcg.psoft.commerce.service.observer;
 
 import com.ufcg.psoft.commerce.dto.subscription.SubscriptionResponseDTO;
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
+import com.ufcg.psoft.commerce.enums.OutboxStatusEnum;
 import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
 import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
 import com.ufcg.psoft.commerce.exception.notification.AlreadySubscribedException;
+import com.ufcg.psoft.commerce.exception.notification.InvalidPriceAlertException;
+import com.ufcg.psoft.commerce.exception.notification.NotificationFanOutException;
 import com.ufcg.psoft.commerce.exception.user.ClientIdNotFoundException;
 import com.ufcg.psoft.commerce.exception.user.ClientIsNotPremiumException;
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxEntryModel;
+import com.ufcg.psoft.commerce.model.observer.NotificationOutboxModel;
+import com.ufcg.psoft.commerce.model.observer.PriceAlertCriteria;
+import com.ufcg.psoft.commerce.model.observer.PriceVariationWindow;
 import com.ufcg.psoft.commerce.model.observer.SubscriptionModel;
-import com.ufcg.psoft.commerce.model.observer.ISubscriber;
 import com.ufcg.psoft.commerce.model.user.ClientModel;
+import com.ufcg.psoft.commerce.repository.observer.NotificationOutboxRepository;
 import com.ufcg.psoft.commerce.repository.observer.SubscriptionRepository;
 import com.ufcg.psoft.commerce.repository.client.ClientRepository;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationWindowTracker;
+import com.ufcg.psoft.commerce.service.notification.NotificationInboxService;
+import com.ufcg.psoft.commerce.service.notification.NotificationPipeline;
+import com.ufcg.psoft.commerce.service.simulation.SimulationRunContext;
+import com.ufcg.psoft.commerce.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class EventManagerImpl implements EventManager {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventManagerImpl.class);
+
     @Autowired
     private SubscriptionRepository subscriptionRepository;
 
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    private NotificationPipeline notificationPipeline;
+
+    @Autowired
+    private NotificationInboxService notificationInboxService;
+
+    @Autowired
+    private SubscriptionFanOutEngine subscriptionFanOutEngine;
+
+    @Autowired
+    private PriceThresholdIndex priceThresholdIndex;
+
+    @Autowired
+    private QuotationWindowTracker quotationWindowTracker;
+
     @Override
     public SubscriptionResponseDTO subscribeToAssetEvent(UUID assetId, UUID subscriberId, SubscriptionTypeEnum subscriptionType) {
+        return this.subscribeToAssetEvent(assetId, subscriberId, subscriptionType, PriceAlertCriteria.defaultCriteria());
+    }
+
+    @Override
+    public SubscriptionResponseDTO subscribeToAssetEvent(UUID assetId, UUID subscriberId, SubscriptionTypeEnum subscriptionType, PriceAlertCriteria criteria) {
         this.validateClient(subscriberId, subscriptionType);
         this.ensureNotAlreadySubscribed(assetId, subscriberId, subscriptionType);
 
@@ -35,36 +78,200 @@ public class EventManagerImpl implements EventManager {
         subscription.setAssetId(assetId);
         subscription.setSubscriberId(subscriberId);
         subscription.setSubscriptionType(subscriptionType);
+        subscription.setCreatedAt(LocalDateTime.now());
+
+        if (subscriptionType == SubscriptionTypeEnum.PRICE_VARIATION) {
+            PriceAlertCriteria effectiveCriteria = this.validatePriceAlertCriteria(criteria);
+            subscription.setVariationThreshold(effectiveCriteria.getVariationThreshold());
+            subscription.setLowerPriceBound(effectiveCriteria.getLowerPriceBound());
+            subscription.setUpperPriceBound(effectiveCriteria.getUpperPriceBound());
+        }
 
         subscriptionRepository.save(subscription);
 
+        if (subscriptionType == SubscriptionTypeEnum.PRICE_VARIATION) {
+            TransactionCallbacks.afterCommit(() -> priceThresholdIndex.register(subscription));
+        }
+
         return SubscriptionResponseDTO.builder()
                 .message("subscription registered successfully")
                 .assetId(assetId)
                 .clientId(subscriberId)
                 .subscriptionType(subscriptionType)
+                .variationThreshold(subscription.getVariationThreshold())
+                .lowerPriceBound(subscription.getLowerPriceBound())
+                .upperPriceBound(subscription.getUpperPriceBound())
                 .build();
     }
 
     @Override
     public void notifySubscribersByType(UUID assetId, SubscriptionTypeEnum subscriptionType) {
-        List<SubscriptionModel> subscriptions = getSubscriptionsByType(assetId, subscriptionType);
-
         String contextMessage = String.format(
                 "You are receiving a '%s' type notification regarding the asset with ID: %s",
                 formatSubscriptionType(subscriptionType),
                 assetId
         );
 
-        subscriptions.forEach(subscription -> {
-            UUID clientId = subscription.getSubscriberId();
+        this.notifySubscribers(assetId, subscriptionType, contextMessage);
+    }
+
+    @Override
+    public void notifyPriceVariation(UUID assetId, double oldQuotation, double newQuotation) {
+        PriceVariationWindow window = new PriceVariationWindow(assetId, oldQuotation, newQuotation);
+        long timestamp = System.currentTimeMillis();
+        quotationWindowTracker.stamp(window, timestamp);
+
+        // the stamped window carries every earlier step, so a variation no subscription reacts to can be dropped
+        if (!priceThresholdIndex.match(window).isEmpty()) {
+            notificationOutboxRepository.save(this.toOutboxEntry(window, LocalDateTime.now()));
+        }
+        TransactionCallbacks.afterCommit(() -> quotationWindowTracker.track(window, timestamp));
+    }
+
+    @Override
+    public void notifyPriceVariations(Collection<PriceVariationWindow> windows) {
+        long timestamp = System.currentTimeMillis();
+        windows.forEach(window -> quotationWindowTracker.stamp(window, timestamp));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutboxModel> outboxEntries = windows.stream()
+                .filter(window -> !priceThresholdIndex.match(window).isEmpty())
+                .map(window -> this.toOutboxEntry(window, now))
+                .toList();
 
-            ISubscriber subscriber = getValidSubscriber(clientId);
-            subscriber.notify(contextMessage);
-            this.subscriptionRepository.deleteById(subscription.getId());
+        if (!outboxEntries.isEmpty()) {
+            notificationOutboxRepository.saveAll(outboxEntries);
+        }
+        List<PriceVariationWindow> tracked = List.copyOf(windows);
+        TransactionCallbacks.afterCommit(() -> tracked.forEach(window -> quotationWindowTracker.track(window, timestamp)));
+    }
+
+    @Override
+    public void notifyAvailability(UUID assetId) {
+        this.enqueue(assetId, SubscriptionTypeEnum.AVAILABILITY, null, null);
+    }
+
+    @Override
+    public void notifyWalletOwner(UUID walletId, NotificationCategoryEnum category, String context) {
+        clientRepository.findByWalletId(walletId).ifPresent(client -> {
+            if (notificationPipeline.publish(client, category, context)) {
+                return;
+            }
+
+            // there is no subscription to retry from, so a dropped confirmation goes straight to the inbox
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Notification pipeline dropped a {} notification for wallet {}, writing it to the inbox directly", category, walletId);
+            }
+            notificationInboxService.appendAll(List.of(NotificationInboxEntryModel.builder()
+                    .clientId(client.getId())
+                    .category(category)
+                    .message(context)
+                    .createdAt(LocalDateTime.now())
+                    .build()));
         });
     }
 
+    @Override
+    public void deliverPriceVariation(PriceVariationWindow window) {
+        String contextMessage = String.format(
+                "You are receiving a '%s' type notification regarding the asset with ID: %s (quotation moved from %.2f to %.2f)",
+                formatSubscriptionType(SubscriptionTypeEnum.PRICE_VARIATION),
+                window.getAssetId(),
+                window.getFirstQuotation(),
+                window.getLastQuotation()
+        );
+
+        Set<UUID> triggeredIds = priceThresholdIndex.match(window);
+        if (triggeredIds.isEmpty()) {
+            return;
+        }
+
+        List<SubscriptionModel> triggered = subscriptionRepository.findAllById(triggeredIds);
+        if (triggered.size() < triggeredIds.size()) {
+            triggered.forEach(subscription -> triggeredIds.remove(subscription.getId()));
+            priceThresholdIndex.unregister(window.getAssetId(), triggeredIds);
+        }
+
+        List<SubscriptionModel> eligible = triggered.stream()
+                .filter(subscription -> this.isTriggeredSinceCreation(subscription, window))
+                .toList();
+
+        FanOutResult result = this.fanOut(window.getAssetId(), eligible, NotificationCategoryEnum.PRICE_VARIATION, contextMessage);
+
+        // the fan-out deletes what it delivered, so those subscriptions leave the index once the deletion commits
+        List<UUID> completedIds = result.getCompletedSubscriptionIds();
+        if (!completedIds.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> priceThresholdIndex.unregister(window.getAssetId(), completedIds));
+        }
+    }
+
+    private void notifySubscribers(UUID assetId, SubscriptionTypeEnum subscriptionType, String contextMessage) {
+        this.fanOut(assetId, getSubscriptionsByType(assetId, subscriptionType), toCategory(subscriptionType), contextMessage);
+    }
+
+    private FanOutResult fanOut(UUID assetId, List<SubscriptionModel> subscriptions, NotificationCategoryEnum category, String contextMessage) {
+        FanOutResult result = subscriptionFanOutEngine.fanOut(subscriptions, category, contextMessage);
+        if (result.getFailed() > 0) {
+            throw new NotificationFanOutException(assetId, result.getFailed());
+        }
+        return result;
+    }
+
+    private void enqueue(UUID assetId, SubscriptionTypeEnum subscriptionType, Double firstQuotation, Double lastQuotation) {
+        NotificationOutboxModel outboxEntry = NotificationOutboxModel.builder()
+                .assetId(assetId)
+                .subscriptionType(subscriptionType)
+                .firstQuotation(firstQuotation)
+                .lastQuotation(lastQuotation)
+                .status(OutboxStatusEnum.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        notificationOutboxRepository.save(outboxEntry);
+    }
+
+    // a window reaching back before the subscription existed is clamped to the variation's own quotations
+    private boolean isTriggeredSinceCreation(SubscriptionModel subscription, PriceVariationWindow window) {
+        LocalDateTime createdAt = subscription.getCreatedAt();
+        LocalDateTime windowStartedAt = window.getWindowStartedAt();
+        if (createdAt == null || windowStartedAt == null || !createdAt.isAfter(windowStartedAt)) {
+            return true;
+        }
+        return subscription.getPriceAlertCriteria()
+                .isTriggeredBy(window.getPathVariation(), window.getLowestQuotation(), window.getHighestQuotation());
+    }
+
+
+    private NotificationOutboxModel toOutboxEntry(PriceVariationWindow window, LocalDateTime now) {
+        return NotificationOutboxModel.builder()
+                .assetId(window.getAssetId())
+                .subscriptionType(SubscriptionTypeEnum.PRICE_VARIATION)
+                .firstQuotation(window.getFirstQuotation())
+                .lastQuotation(window.getLastQuotation())
+                .pathLowestQuotation(window.getLowestQuotation())
+                .pathHighestQuotation(window.getHighestQuotation())
+                .windowLowestQuotation(window.getWindowLowest())
+                .windowHighestQuotation(window.getWindowHighest())
+                .windowStartedAt(window.getWindowStartedAt())
+                .status(OutboxStatusEnum.PENDING)
+                .createdAt(now)
+                .simulationRunId(SimulationRunContext.current())
+                .build();
+    }
+
+    private PriceAlertCriteria validatePriceAlertCriteria(PriceAlertCriteria criteria) {
+        if (criteria == null || criteria.isEmpty()) {
+            return PriceAlertCriteria.defaultCriteria();
+        }
+
+        Double lowerPriceBound = criteria.getLowerPriceBound();
+        Double upperPriceBound = criteria.getUpperPriceBound();
+        if (lowerPriceBound != null && upperPriceBound != null && lowerPriceBound >= upperPriceBound) {
+            throw new InvalidPriceAlertException();
+        }
+        return criteria;
+    }
+
     private String formatSubscriptionType(SubscriptionTypeEnum type) {
         return switch (type) {
             case AVAILABILITY -> "availability";
@@ -72,14 +279,15 @@ public class EventManagerImpl implements EventManager {
         };
     }
 
-    private List<SubscriptionModel> getSubscriptionsByType(UUID assetId, SubscriptionTypeEnum subscriptionType) {
-        return subscriptionRepository.findByAssetIdAndSubscriptionType(assetId, subscriptionType);
+    private NotificationCategoryEnum toCategory(SubscriptionTypeEnum type) {
+        return switch (type) {
+            case AVAILABILITY -> NotificationCategoryEnum.AVAILABILITY;
+            case PRICE_VARIATION -> NotificationCategoryEnum.PRICE_VARIATION;
+        };
     }
 
-    private ISubscriber getValidSubscriber(UUID clientId) {
-        return clientRepository.findById(clientId)
-                .map(ISubscriber.class::cast)
-                .orElseThrow(() -> new ClientIdNotFoundException(clientId));
+    private List<SubscriptionModel> getSubscriptionsByType(UUID assetId, SubscriptionTypeEnum subscriptionType) {
+        return subscriptionRepository.findByAssetIdAndSubscriptionType(assetId, subscriptionType);
     }
 
     private void validateClientExists(UUID clientId) {
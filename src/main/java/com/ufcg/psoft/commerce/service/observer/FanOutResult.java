@@ -0,0 +1,35 @@
+package com.ufcg.psoft.commerce.service.observer;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+public class FanOutResult {
+
+    private static final FanOutResult EMPTY = new FanOutResult(0, 0, 0, 0, List.of());
+
+    private final int delivered;
+
+    private final int failed;
+
+    private final int orphaned;
+
+    private final int shards;
+
+    // delivered and orphaned subscriptions, removed by the engine once every shard is done
+    private final List<UUID> completedSubscriptionIds;
+
+    public FanOutResult(int delivered, int failed, int orphaned, int shards, List<UUID> completedSubscriptionIds) {
+        this.delivered = delivered;
+        this.failed = failed;
+        this.orphaned = orphaned;
+        this.shards = shards;
+        this.completedSubscriptionIds = completedSubscriptionIds;
+    }
+
+    public static FanOutResult empty() {
+        return EMPTY;
+    }
+}
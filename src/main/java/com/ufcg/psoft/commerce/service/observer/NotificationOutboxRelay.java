@@ -0,0 +1,175 @@
+package com.ufcg.psoft.commerce.service.observer;
+
+import com.ufcg.psoft.commerce.enums.OutboxStatusEnum;
+import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
+import com.ufcg.psoft.commerce.exception.notification.NotificationFanOutException;
+import com.ufcg.psoft.commerce.model.observer.NotificationOutboxModel;
+import com.ufcg.psoft.commerce.model.observer.PriceVariationWindow;
+import com.ufcg.psoft.commerce.repository.observer.NotificationOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class NotificationOutboxRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationOutboxRelay.class);
+
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    private EventManager eventManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${notification.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notification.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    @Value("${notification.price-variation.coalescing-window-ms:2000}")
+    private long coalescingWindowMillis;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    public void start() {
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Drains pending outbox entries in id order. Price variations of the same asset found in one batch
+     * are merged into a single notification carrying the first and last quotation, once the oldest of them
+     * has waited for the coalescing window so a burst spread over several runs still goes out once.
+     * <p>
+     * Every entry, or merged group, is delivered in its own transaction, so one that keeps failing cannot roll
+     * back the rest of the batch. Entries are only marked delivered once the pipeline acknowledged every
+     * subscriber; the subscriptions it did acknowledge are removed in the same transaction, so a retry only
+     * reaches the remaining ones and a crash in between delivers them again.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.relay-interval-ms:2000}")
+    public int relay() {
+        List<NotificationOutboxModel> batch = notificationOutboxRepository
+                .findByStatusOrderByIdAsc(OutboxStatusEnum.PENDING, PageRequest.of(0, batchSize));
+
+        Map<UUID, List<NotificationOutboxModel>> priceVariationsByAsset = new LinkedHashMap<>();
+        int delivered = 0;
+
+        for (NotificationOutboxModel entry : batch) {
+            if (entry.getSubscriptionType() == SubscriptionTypeEnum.PRICE_VARIATION) {
+                priceVariationsByAsset.computeIfAbsent(entry.getAssetId(), id -> new ArrayList<>()).add(entry);
+            } else {
+                delivered += this.dispatch(List.of(entry),
+                        () -> eventManager.notifySubscribersByType(entry.getAssetId(), entry.getSubscriptionType()));
+            }
+        }
+
+        LocalDateTime coalescedBefore = LocalDateTime.now().minus(coalescingWindowMillis, ChronoUnit.MILLIS);
+        for (List<NotificationOutboxModel> entries : priceVariationsByAsset.values()) {
+            if (entries.get(0).getCreatedAt().isAfter(coalescedBefore)) {
+                continue;
+            }
+            PriceVariationWindow window = this.mergePriceVariations(entries);
+            delivered += this.dispatch(entries, () -> eventManager.deliverPriceVariation(window));
+        }
+
+        return delivered;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.compaction-interval-ms:60000}")
+    @Transactional
+    public int compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        return notificationOutboxRepository.deleteDeliveredBefore(cutoff);
+    }
+
+    private PriceVariationWindow mergePriceVariations(List<NotificationOutboxModel> entries) {
+        NotificationOutboxModel first = entries.get(0);
+        PriceVariationWindow window = new PriceVariationWindow(
+                first.getAssetId(), first.getFirstQuotation(), first.getLastQuotation());
+
+        entries.stream()
+                .skip(1)
+                .forEach(entry -> window.merge(entry.getLastQuotation()));
+        // a batched row only keeps its first and last quotation, its path extremes travel in their own columns
+        entries.forEach(entry -> window.includePath(entry.getPathLowestQuotation(), entry.getPathHighestQuotation()));
+
+        NotificationOutboxModel last = entries.get(entries.size() - 1);
+        window.trackWindow(last.getWindowLowestQuotation(), last.getWindowHighestQuotation(), last.getWindowStartedAt());
+        return window;
+    }
+
+    private int dispatch(List<NotificationOutboxModel> entries, Runnable fanOut) {
+        try {
+            Boolean delivered = requiresNew.execute(status -> {
+                boolean complete = this.fanOut(entries, fanOut);
+                notificationOutboxRepository.saveAll(entries);
+                return complete;
+            });
+            return Boolean.TRUE.equals(delivered) ? entries.size() : 0;
+        } catch (RuntimeException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Error relaying outbox entries for asset {}: {}", entries.get(0).getAssetId(), e.getMessage());
+            }
+            this.recordFailedAttempt(entries);
+            return 0;
+        }
+    }
+
+    // a subscriber the pipeline did not acknowledge keeps the entry pending, but the acknowledged ones stay removed
+    private boolean fanOut(List<NotificationOutboxModel> entries, Runnable fanOut) {
+        try {
+            fanOut.run();
+        } catch (NotificationFanOutException e) {
+            entries.forEach(entry -> entry.markFailedAttempt(maxAttempts));
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Outbox entries for asset {} not fully delivered: {}", entries.get(0).getAssetId(), e.getMessage());
+            }
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        entries.forEach(entry -> entry.markDelivered(now));
+        return true;
+    }
+
+    // the delivery transaction rolled back, so the attempt is counted from a fresh copy in a transaction of its own
+    private void recordFailedAttempt(List<NotificationOutboxModel> entries) {
+        List<Long> ids = entries.stream().map(NotificationOutboxModel::getId).toList();
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                List<NotificationOutboxModel> current = notificationOutboxRepository.findAllById(ids);
+                current.forEach(entry -> entry.markFailedAttempt(maxAttempts));
+                notificationOutboxRepository.saveAll(current);
+            });
+        } catch (RuntimeException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Error recording failed attempt of outbox entries {}: {}", ids, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.ufcg.psoft.commerce.service.observer;
+
+import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
+import com.ufcg.psoft.commerce.model.observer.PriceAlertCriteria;
+import com.ufcg.psoft.commerce.model.observer.PriceVariationWindow;
+import com.ufcg.psoft.commerce.model.observer.SubscriptionModel;
+import com.ufcg.psoft.commerce.repository.observer.SubscriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-asset sorted index of price variation subscriptions. Variation thresholds and price bounds are kept
+ * in navigable maps so a quotation change only visits the subscriptions it actually triggers. An asset is
+ * loaded from the repository the first time it is queried and kept up to date by the event manager.
+ */
+@Component
+public class PriceThresholdIndex {
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    private final Map<UUID, AssetThresholds> thresholdsByAsset = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a committed subscription to its asset if the asset is loaded. Waits for a load of the same asset
+     * in flight, which may have read the subscriptions before this one committed.
+     */
+    public void register(SubscriptionModel subscription) {
+        thresholdsByAsset.computeIfPresent(subscription.getAssetId(), (assetId, thresholds) -> {
+            thresholds.add(subscription.getId(), subscription.getPriceAlertCriteria());
+            return thresholds;
+        });
+    }
+
+    public void unregister(UUID assetId, Collection<UUID> subscriptionIds) {
+        AssetThresholds thresholds = thresholdsByAsset.get(assetId);
+        if (thresholds != null) {
+            subscriptionIds.forEach(thresholds::remove);
+        }
+    }
+
+    public Set<UUID> match(PriceVariationWindow window) {
+        return thresholdsByAsset
+                .computeIfAbsent(window.getAssetId(), this::load)
+                .match(window.getMaxVariation(), window.getLowestQuotation(), window.getHighestQuotation());
+    }
+
+    private AssetThresholds load(UUID assetId) {
+        AssetThresholds thresholds = new AssetThresholds();
+        subscriptionRepository.findByAssetIdAndSubscriptionType(assetId, SubscriptionTypeEnum.PRICE_VARIATION)
+                .forEach(subscription -> thresholds.add(subscription.getId(), subscription.getPriceAlertCriteria()));
+        return thresholds;
+    }
+
+    private static final class AssetThresholds {
+
+        private final NavigableMap<Double, Set<UUID>> byVariation = new TreeMap<>();
+        private final NavigableMap<Double, Set<UUID>> byLowerBound = new TreeMap<>();
+        private final NavigableMap<Double, Set<UUID>> byUpperBound = new TreeMap<>();
+        private final Map<UUID, PriceAlertCriteria> criteriaById = new HashMap<>();
+
+        private synchronized void add(UUID subscriptionId, PriceAlertCriteria criteria) {
+            this.remove(subscriptionId);
+
+            PriceAlertCriteria effective = criteria.isEmpty() ? PriceAlertCriteria.defaultCriteria() : criteria;
+            criteriaById.put(subscriptionId, effective);
+            put(byVariation, effective.getVariationThreshold(), subscriptionId);
+            put(byLowerBound, effective.getLowerPriceBound(), subscriptionId);
+            put(byUpperBound, effective.getUpperPriceBound(), subscriptionId);
+        }
+
+        private synchronized void remove(UUID subscriptionId) {
+            PriceAlertCriteria criteria = criteriaById.remove(subscriptionId);
+            if (criteria == null) {
+                return;
+            }
+            discard(byVariation, criteria.getVariationThreshold(), subscriptionId);
+            discard(byLowerBound, criteria.getLowerPriceBound(), subscriptionId);
+            discard(byUpperBound, criteria.getUpperPriceBound(), subscriptionId);
+        }
+
+        private synchronized Set<UUID> match(double variation, double lowestQuotation, double highestQuotation) {
+            Set<UUID> triggered = new HashSet<>();
+            byVariation.headMap(variation, true).values().forEach(triggered::addAll);
+            byLowerBound.tailMap(lowestQuotation, false).values().forEach(triggered::addAll);
+            byUpperBound.headMap(highestQuotation, false).values().forEach(triggered::addAll);
+            return triggered;
+        }
+
+        private static void put(NavigableMap<Double, Set<UUID>> index, Double key, UUID subscriptionId) {
+            if (key != null) {
+                index.computeIfAbsent(key, k -> new HashSet<>()).add(subscriptionId);
+            }
+        }
+
+        private static void discard(NavigableMap<Double, Set<UUID>> index, Double key, UUID subscriptionId) {
+            if (key == null) {
+                return;
+            }
+            Set<UUID> ids = index.get(key);
+            if (ids != null && ids.remove(subscriptionId) && ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
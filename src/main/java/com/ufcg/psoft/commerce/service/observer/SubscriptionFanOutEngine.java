@@ -0,0 +1,208 @@
+package com.ufcg.psoft.commerce.service.observer;
+
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
+import com.ufcg.psoft.commerce.model.observer.SubscriptionModel;
+import com.ufcg.psoft.commerce.model.user.ClientModel;
+import com.ufcg.psoft.commerce.repository.client.ClientRepository;
+import com.ufcg.psoft.commerce.repository.observer.SubscriptionRepository;
+import com.ufcg.psoft.commerce.service.notification.NotificationPipeline;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class SubscriptionFanOutEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubscriptionFanOutEngine.class);
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private NotificationPipeline notificationPipeline;
+
+    @Value("${notification.fan-out.parallelism:0}")
+    private int parallelism;
+
+    @Value("${notification.fan-out.shard-size:256}")
+    private int shardSize;
+
+    @Value("${notification.fan-out.acknowledgement-timeout-ms:5000}")
+    private long acknowledgementTimeoutMillis;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void start() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false);
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Notifies every subscription of one event. Clients are loaded once and the delivered subscriptions
+     * removed once, both on the calling thread so they join the caller's transaction whatever the list size.
+     * In between the list is split into shards of at most {@code shardSize} entries which publish on a
+     * work-stealing pool without touching the database, and the calling thread waits for the pipeline to
+     * acknowledge each notification. Only acknowledged subscriptions are removed; a dropped, failed or
+     * unacknowledged one is kept for a retry and reported as failed. Subscriptions of clients that no longer
+     * exist are dropped as orphaned: they can never be delivered, and failing the event for them would retry
+     * it for every other subscriber until it gives up.
+     */
+    public FanOutResult fanOut(List<SubscriptionModel> subscriptions, NotificationCategoryEnum category, String contextMessage) {
+        if (subscriptions.isEmpty()) {
+            return FanOutResult.empty();
+        }
+
+        List<UUID> clientIds = subscriptions.stream()
+                .map(SubscriptionModel::getSubscriberId)
+                .distinct()
+                .toList();
+        Map<UUID, ClientModel> clients = clientRepository.findAllById(clientIds).stream()
+                .collect(Collectors.toMap(ClientModel::getId, Function.identity()));
+
+        PublishedShards published = subscriptions.size() <= shardSize
+                ? this.publishShard(subscriptions, clients, category, contextMessage)
+                : pool.invoke(new FanOutTask(subscriptions, clients, category, contextMessage));
+
+        FanOutResult result = this.awaitAcknowledgements(published);
+        if (!result.getCompletedSubscriptionIds().isEmpty()) {
+            subscriptionRepository.deleteAllByIdInBatch(result.getCompletedSubscriptionIds());
+        }
+        return result;
+    }
+
+    private PublishedShards publishShard(List<SubscriptionModel> shard, Map<UUID, ClientModel> clients,
+                                         NotificationCategoryEnum category, String contextMessage) {
+        List<UUID> orphanedSubscriptionIds = new ArrayList<>();
+        List<PendingAcknowledgement> pending = new ArrayList<>(shard.size());
+
+        for (SubscriptionModel subscription : shard) {
+            ClientModel client = clients.get(subscription.getSubscriberId());
+            if (client == null) {
+                orphanedSubscriptionIds.add(subscription.getId());
+                continue;
+            }
+            pending.add(new PendingAcknowledgement(subscription.getId(), this.publish(client, category, contextMessage)));
+        }
+
+        return new PublishedShards(1, orphanedSubscriptionIds, pending);
+    }
+
+    private FanOutResult awaitAcknowledgements(PublishedShards published) {
+        List<UUID> completedSubscriptionIds = new ArrayList<>(published.orphanedSubscriptionIds());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acknowledgementTimeoutMillis);
+        int delivered = 0;
+        int failed = 0;
+
+        for (PendingAcknowledgement pending : published.pending()) {
+            if (this.await(pending.acknowledgement(), deadline)) {
+                delivered++;
+                completedSubscriptionIds.add(pending.subscriptionId());
+            } else {
+                failed++;
+            }
+        }
+
+        return new FanOutResult(delivered, failed, published.orphanedSubscriptionIds().size(), published.shards(), completedSubscriptionIds);
+    }
+
+    private boolean await(CompletableFuture<Boolean> acknowledgement, long deadline) {
+        try {
+            return acknowledgement.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    private CompletableFuture<Boolean> publish(ClientModel client, NotificationCategoryEnum category, String contextMessage) {
+        try {
+            return notificationPipeline.publishAcknowledged(client, category, contextMessage);
+        } catch (RuntimeException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Error notifying client {}: {}", client.getId(), e.getMessage());
+            }
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    private record PendingAcknowledgement(UUID subscriptionId, CompletableFuture<Boolean> acknowledgement) {
+    }
+
+    private record PublishedShards(int shards, List<UUID> orphanedSubscriptionIds, List<PendingAcknowledgement> pending) {
+
+        private PublishedShards combine(PublishedShards other) {
+            List<UUID> orphaned = new ArrayList<>(this.orphanedSubscriptionIds);
+            orphaned.addAll(other.orphanedSubscriptionIds);
+            List<PendingAcknowledgement> combined = new ArrayList<>(this.pending);
+            combined.addAll(other.pending);
+            return new PublishedShards(this.shards + other.shards, orphaned, combined);
+        }
+    }
+
+    private final class FanOutTask extends RecursiveTask<PublishedShards> {
+
+        private final transient List<SubscriptionModel> subscriptions;
+        private final transient Map<UUID, ClientModel> clients;
+        private final NotificationCategoryEnum category;
+        private final String contextMessage;
+
+        private FanOutTask(List<SubscriptionModel> subscriptions, Map<UUID, ClientModel> clients,
+                           NotificationCategoryEnum category, String contextMessage) {
+            this.subscriptions = subscriptions;
+            this.clients = clients;
+            this.category = category;
+            this.contextMessage = contextMessage;
+        }
+
+        @Override
+        protected PublishedShards compute() {
+            if (subscriptions.size() <= shardSize) {
+                try {
+                    return publishShard(subscriptions, clients, category, contextMessage);
+                } catch (RuntimeException e) {
+                    if (LOGGER.isErrorEnabled()) {
+                        LOGGER.error("Error processing fan-out shard of {} subscriptions: {}", subscriptions.size(), e.getMessage());
+                    }
+                    List<PendingAcknowledgement> failed = subscriptions.stream()
+                            .map(subscription -> new PendingAcknowledgement(subscription.getId(), CompletableFuture.completedFuture(false)))
+                            .toList();
+                    return new PublishedShards(1, List.of(), failed);
+                }
+            }
+
+            int middle = subscriptions.size() / 2;
+            FanOutTask left = new FanOutTask(subscriptions.subList(0, middle), clients, category, contextMessage);
+            FanOutTask right = new FanOutTask(subscriptions.subList(middle, subscriptions.size()), clients, category, contextMessage);
+            left.fork();
+            return right.compute().combine(left.join());
+        }
+    }
+}
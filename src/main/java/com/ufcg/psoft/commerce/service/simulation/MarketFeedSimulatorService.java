@@ -0,0 +1,19 @@
+package com.ufcg.psoft.commerce.service.simulation;
+
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationReplayRequestDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationReportDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationRequestDTO;
+
+import java.util.UUID;
+
+public interface MarketFeedSimulatorService {
+
+    SimulationReportDTO startGenerated(SimulationRequestDTO simulationRequestDTO);
+
+    SimulationReportDTO startReplay(SimulationReplayRequestDTO simulationReplayRequestDTO);
+
+    SimulationReportDTO getReport(UUID runId, AdminAccessRequestDTO adminAccessRequestDTO);
+
+    SimulationReportDTO cancel(UUID runId, AdminAccessRequestDTO adminAccessRequestDTO);
+}
@@ -0,0 +1,299 @@
+package com.ufcg.psoft.commerce.service.simulation;
+
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetQuotationBatchResponseDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetQuotationBatchUpdateDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetQuotationTickDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetQuotationUpdateDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationReplayRequestDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationReportDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationRequestDTO;
+import com.ufcg.psoft.commerce.enums.OutboxStatusEnum;
+import com.ufcg.psoft.commerce.enums.SimulationIngestPathEnum;
+import com.ufcg.psoft.commerce.enums.SimulationStatusEnum;
+import com.ufcg.psoft.commerce.exception.asset.AssetNotFoundException;
+import com.ufcg.psoft.commerce.exception.asset.InvalidAssetTypeException;
+import com.ufcg.psoft.commerce.exception.asset.InvalidQuotationVariationException;
+import com.ufcg.psoft.commerce.exception.simulation.InvalidSimulationException;
+import com.ufcg.psoft.commerce.exception.simulation.SimulationCapacityExceededException;
+import com.ufcg.psoft.commerce.exception.simulation.SimulationRunNotFoundException;
+import com.ufcg.psoft.commerce.model.observer.NotificationOutboxModel;
+import com.ufcg.psoft.commerce.model.user.AdminModel;
+import com.ufcg.psoft.commerce.repository.observer.NotificationOutboxRepository;
+import com.ufcg.psoft.commerce.service.admin.AdminService;
+import com.ufcg.psoft.commerce.service.asset.AssetService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Local stand-in for the production market feed. Runs either generate ticks or replay a recorded tick file,
+ * pace them on their schedule and push them through the single or bulk quotation ingest path, so ingest
+ * throughput and the latency until the resulting notifications are relayed can be measured in-process.
+ */
+@Service
+public class MarketFeedSimulatorServiceImpl implements MarketFeedSimulatorService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MarketFeedSimulatorServiceImpl.class);
+
+    private static final double P99 = 0.99;
+
+    @Autowired
+    AssetService assetService;
+
+    @Autowired
+    AdminService adminService;
+
+    @Autowired
+    NotificationOutboxRepository notificationOutboxRepository;
+
+    @Value("${asset.simulation.replay-directory:${java.io.tmpdir}/commerce-tick-replays}")
+    private String replayDirectory;
+
+    @Value("${asset.simulation.max-concurrent-runs:2}")
+    private int maxConcurrentRuns;
+
+    @Value("${asset.simulation.retained-runs:16}")
+    private int retainedRuns;
+
+    private final Map<UUID, SimulationRun> runs = new ConcurrentHashMap<>();
+
+    private ExecutorService runners;
+
+    @PostConstruct
+    public void start() {
+        this.runners = Executors.newFixedThreadPool(maxConcurrentRuns, runnable -> {
+            Thread thread = new Thread(runnable, "market-feed-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        runs.values().forEach(SimulationRun::cancel);
+        runners.shutdownNow();
+    }
+
+    @Override
+    public SimulationReportDTO startGenerated(SimulationRequestDTO simulationRequestDTO) {
+        adminService.validateAdmin(simulationRequestDTO.getAdminEmail(), simulationRequestDTO.getAdminAccessCode());
+
+        Map<UUID, Double> initialQuotations = new LinkedHashMap<>();
+        for (UUID assetId : simulationRequestDTO.getAssetIds()) {
+            double quotation = assetService.getAssetById(assetId).getQuotation();
+            if (quotation <= 0) {
+                throw new InvalidSimulationException("Asset " + assetId + " has no quotation to simulate from");
+            }
+            initialQuotations.put(assetId, quotation);
+        }
+
+        Random random = simulationRequestDTO.getSeed() == null ? new Random() : new Random(simulationRequestDTO.getSeed());
+        TickGenerator generator = new TickGenerator(
+                random,
+                initialQuotations,
+                (long) simulationRequestDTO.getTicksPerAsset() * initialQuotations.size(),
+                simulationRequestDTO.getTicksPerSecond(),
+                simulationRequestDTO.getVolatility(),
+                simulationRequestDTO.getJumpProbability(),
+                simulationRequestDTO.getJumpSize(),
+                simulationRequestDTO.getBurstProbability(),
+                simulationRequestDTO.getBurstLength(),
+                simulationRequestDTO.getBurstMultiplier()
+        );
+
+        SimulationRun run = new SimulationRun(
+                "generated",
+                simulationRequestDTO.getIngestPath(),
+                simulationRequestDTO.getBatchSize()
+        );
+        return this.submit(run, () -> generator);
+    }
+
+    @Override
+    public SimulationReportDTO startReplay(SimulationReplayRequestDTO simulationReplayRequestDTO) {
+        adminService.validateAdmin(simulationReplayRequestDTO.getAdminEmail(), simulationReplayRequestDTO.getAdminAccessCode());
+
+        Path file = this.resolveReplayFile(simulationReplayRequestDTO.getFileName());
+        SimulationRun run = new SimulationRun(
+                "replay:" + file.getFileName(),
+                simulationReplayRequestDTO.getIngestPath(),
+                simulationReplayRequestDTO.getBatchSize()
+        );
+        return this.submit(run, () -> new TickFileReader(file, simulationReplayRequestDTO.getSpeedUp()));
+    }
+
+    @Override
+    public SimulationReportDTO getReport(UUID runId, AdminAccessRequestDTO adminAccessRequestDTO) {
+        adminService.validateAdmin(adminAccessRequestDTO.getAdminEmail(), adminAccessRequestDTO.getAdminAccessCode());
+
+        return this.toReport(this.getRun(runId));
+    }
+
+    @Override
+    public SimulationReportDTO cancel(UUID runId, AdminAccessRequestDTO adminAccessRequestDTO) {
+        adminService.validateAdmin(adminAccessRequestDTO.getAdminEmail(), adminAccessRequestDTO.getAdminAccessCode());
+
+        SimulationRun run = this.getRun(runId);
+        run.cancel();
+        return this.toReport(run);
+    }
+
+    // runs are only admitted while a runner is free, so nothing waits in the pool queue and unfinished runs stay bounded
+    private synchronized SimulationReportDTO submit(SimulationRun run, TickSourceFactory sourceFactory) {
+        long inProgress = runs.values().stream().filter(candidate -> !candidate.isFinished()).count();
+        if (inProgress >= maxConcurrentRuns) {
+            throw new SimulationCapacityExceededException(maxConcurrentRuns);
+        }
+
+        this.evictFinishedRuns();
+        runs.put(run.getId(), run);
+        runners.execute(() -> this.execute(run, sourceFactory));
+        return run.toReport();
+    }
+
+    private void execute(SimulationRun run, TickSourceFactory sourceFactory) {
+        run.start();
+        SimulationRunContext.enter(run.getId());
+        List<AssetQuotationTickDTO> batch = new ArrayList<>();
+        try (TickSource source = sourceFactory.open()) {
+            while (source.hasNext() && !run.isCancelled()) {
+                ScheduledTick tick = source.next();
+                long wait = run.getStartNanos() + tick.offsetNanos() - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                if (run.getIngestPath() == SimulationIngestPathEnum.SINGLE) {
+                    this.ingest(run, tick);
+                } else {
+                    batch.add(new AssetQuotationTickDTO(tick.assetId(), tick.quotation()));
+                    if (batch.size() >= run.getBatchSize()) {
+                        this.ingest(run, batch);
+                        batch.clear();
+                    }
+                }
+            }
+
+            if (!batch.isEmpty() && !run.isCancelled()) {
+                this.ingest(run, batch);
+            }
+            run.finish(run.isCancelled() ? SimulationStatusEnum.CANCELLED : SimulationStatusEnum.COMPLETED, null);
+        } catch (IOException | RuntimeException e) {
+            run.finish(SimulationStatusEnum.FAILED, e.getMessage());
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Market feed simulation {} failed: {}", run.getId(), e.getMessage());
+            }
+        } finally {
+            SimulationRunContext.exit();
+        }
+    }
+
+    private void ingest(SimulationRun run, ScheduledTick tick) {
+        AdminModel admin = adminService.getAdmin();
+        AssetQuotationUpdateDTO update = AssetQuotationUpdateDTO.builder()
+                .quotation(tick.quotation())
+                .adminEmail(admin.getEmail().getEmail())
+                .adminAccessCode(admin.getAccessCode().getAccessCode())
+                .build();
+
+        long begin = System.nanoTime();
+        try {
+            assetService.updateQuotation(tick.assetId(), update);
+            run.recordIngest(1, 1, System.nanoTime() - begin);
+        } catch (InvalidQuotationVariationException | InvalidAssetTypeException | AssetNotFoundException e) {
+            run.recordIngest(1, 0, System.nanoTime() - begin);
+        }
+    }
+
+    private void ingest(SimulationRun run, List<AssetQuotationTickDTO> batch) {
+        AdminModel admin = adminService.getAdmin();
+        AssetQuotationBatchUpdateDTO update = AssetQuotationBatchUpdateDTO.builder()
+                .ticks(List.copyOf(batch))
+                .adminEmail(admin.getEmail().getEmail())
+                .adminAccessCode(admin.getAccessCode().getAccessCode())
+                .build();
+
+        long begin = System.nanoTime();
+        AssetQuotationBatchResponseDTO response = assetService.updateQuotations(update);
+        run.recordIngest(batch.size(), batch.size() - response.getRejected().size(), System.nanoTime() - begin);
+    }
+
+    private SimulationReportDTO toReport(SimulationRun run) {
+        SimulationReportDTO report = run.toReport();
+        if (run.getStartedAt() == null) {
+            return report;
+        }
+
+        // only the entries the run's own ticks enqueued, real traffic relayed meanwhile would skew the latency
+        long[] latencies = notificationOutboxRepository
+                .findByStatusAndSimulationRunId(OutboxStatusEnum.DELIVERED, run.getId())
+                .stream()
+                .mapToLong(this::relayLatencyMillis)
+                .sorted()
+                .toArray();
+
+        report.setNotificationsDelivered(latencies.length);
+        report.setNotificationsPending(notificationOutboxRepository
+                .countByStatusAndSimulationRunId(OutboxStatusEnum.PENDING, run.getId()));
+        if (latencies.length > 0) {
+            report.setAverageNotificationLatencyMillis(Arrays.stream(latencies).average().orElse(0));
+            report.setP99NotificationLatencyMillis(latencies[(int) Math.ceil(P99 * latencies.length) - 1]);
+            report.setMaxNotificationLatencyMillis(latencies[latencies.length - 1]);
+        }
+        return report;
+    }
+
+    private long relayLatencyMillis(NotificationOutboxModel entry) {
+        return Duration.between(entry.getCreatedAt(), entry.getDeliveredAt()).toMillis();
+    }
+
+    private Path resolveReplayFile(String fileName) {
+        Path directory = Paths.get(replayDirectory).toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            throw new InvalidSimulationException("Replay file '" + fileName + "' was not found in the replay directory");
+        }
+        return file;
+    }
+
+    private SimulationRun getRun(UUID runId) {
+        SimulationRun run = runs.get(runId);
+        if (run == null) {
+            throw new SimulationRunNotFoundException(runId);
+        }
+        return run;
+    }
+
+    private void evictFinishedRuns() {
+        if (runs.size() < retainedRuns) {
+            return;
+        }
+        runs.values().stream()
+                .filter(SimulationRun::isFinished)
+                .sorted(Comparator.comparing(SimulationRun::getFinishedAt))
+                .limit(runs.size() - retainedRuns + 1L)
+                .forEach(run -> runs.remove(run.getId()));
+    }
+
+    @FunctionalInterface
+    private interface TickSourceFactory {
+        TickSource open() throws IOException;
+    }
+}
@@ -0,0 +1,9 @@
+package com.ufcg.psoft.commerce.service.simulation;
+
+import java.util.UUID;
+
+/**
+ * A quotation tick and the moment, relative to the start of its run, at which it should be ingested.
+ */
+public record ScheduledTick(long offsetNanos, UUID assetId, double quotation) {
+}
@@ -0,0 +1,95 @@
+package com.ufcg.psoft.commerce.service.simulation;
+
+import com.ufcg.psoft.commerce.dto.simulation.SimulationReportDTO;
+import com.ufcg.psoft.commerce.enums.SimulationIngestPathEnum;
+import com.ufcg.psoft.commerce.enums.SimulationStatusEnum;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Getter
+class SimulationRun {
+
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final UUID id = UUID.randomUUID();
+    private final String source;
+    private final SimulationIngestPathEnum ingestPath;
+    private final int batchSize;
+
+    private volatile SimulationStatusEnum status = SimulationStatusEnum.PENDING;
+    private volatile String failureReason;
+    private volatile boolean cancelled;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startNanos;
+    private volatile long finishNanos;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder ingestCalls = new LongAdder();
+    private final LongAdder ingestNanos = new LongAdder();
+    private final AtomicLong maxIngestNanos = new AtomicLong();
+
+    SimulationRun(String source, SimulationIngestPathEnum ingestPath, int batchSize) {
+        this.source = source;
+        this.ingestPath = ingestPath;
+        this.batchSize = batchSize;
+    }
+
+    void start() {
+        this.startedAt = LocalDateTime.now();
+        this.startNanos = System.nanoTime();
+        this.status = SimulationStatusEnum.RUNNING;
+    }
+
+    void finish(SimulationStatusEnum finalStatus, String reason) {
+        this.finishNanos = System.nanoTime();
+        this.finishedAt = LocalDateTime.now();
+        this.failureReason = reason;
+        this.status = finalStatus;
+    }
+
+    void cancel() {
+        this.cancelled = true;
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    void recordIngest(int ticks, int acceptedTicks, long elapsedNanos) {
+        submitted.add(ticks);
+        accepted.add(acceptedTicks);
+        ingestCalls.increment();
+        ingestNanos.add(elapsedNanos);
+        maxIngestNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    SimulationReportDTO toReport() {
+        long calls = ingestCalls.sum();
+        long submittedTicks = submitted.sum();
+        long elapsedNanos = startedAt == null ? 0 : (isFinished() ? finishNanos : System.nanoTime()) - startNanos;
+
+        return SimulationReportDTO.builder()
+                .runId(id)
+                .source(source)
+                .ingestPath(ingestPath)
+                .status(status)
+                .failureReason(failureReason)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .ticksSubmitted(submittedTicks)
+                .ticksAccepted(accepted.sum())
+                .ticksRejected(submittedTicks - accepted.sum())
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .ticksPerSecond(elapsedNanos == 0 ? 0 : submittedTicks / (elapsedNanos / NANOS_PER_SECOND))
+                .averageIngestMicros(calls == 0 ? 0 : ingestNanos.sum() / (double) calls / NANOS_PER_MICRO)
+                .maxIngestMicros(maxIngestNanos.get() / NANOS_PER_MICRO)
+                .build();
+    }
+}
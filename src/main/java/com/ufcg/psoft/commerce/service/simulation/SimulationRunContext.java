@@ -0,0 +1,27 @@
+package com.ufcg.psoft.commerce.service.simulation;
+
+import java.util.UUID;
+
+/**
+ * Simulation run whose ticks the current thread is ingesting, so the outbox entries they enqueue can be told
+ * apart from the ones real traffic enqueues at the same time.
+ */
+public final class SimulationRunContext {
+
+    private static final ThreadLocal<UUID> CURRENT_RUN = new ThreadLocal<>();
+
+    private SimulationRunContext() {
+    }
+
+    public static UUID current() {
+        return CURRENT_RUN.get();
+    }
+
+    static void enter(UUID runId) {
+        CURRENT_RUN.set(runId);
+    }
+
+    static void exit() {
+        CURRENT_RUN.remove();
+    }
+}
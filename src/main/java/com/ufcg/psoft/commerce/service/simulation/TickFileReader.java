@@ -0,0 +1,97 @@
+package com.ufcg.psoft.commerce.service.simulation;
+
+import com.ufcg.psoft.commerce.exception.simulation.InvalidSimulationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Streams a recorded tick file, one {@code timestampMillis,assetId,quotation} line per tick. Blank lines, lines
+ * starting with {@code #} and a leading {@code timestamp} header are skipped. Recorded gaps are divided by the
+ * speed-up; a speed-up of zero replays every tick back to back.
+ */
+public class TickFileReader implements TickSource {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final BufferedReader reader;
+    private final double speedUp;
+
+    private ScheduledTick nextTick;
+    private long firstTimestamp = -1;
+    private long lineNumber;
+
+    public TickFileReader(Path file, double speedUp) throws IOException {
+        this.reader = Files.newBufferedReader(file);
+        this.speedUp = speedUp;
+        this.advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextTick != null;
+    }
+
+    @Override
+    public ScheduledTick next() {
+        if (nextTick == null) {
+            throw new NoSuchElementException();
+        }
+        ScheduledTick tick = nextTick;
+        this.advance();
+        return tick;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void advance() {
+        nextTick = null;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#") || (lineNumber == 1 && line.startsWith("timestamp"))) {
+                    continue;
+                }
+                nextTick = this.parse(line);
+                return;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ScheduledTick parse(String line) {
+        String[] fields = line.split(",");
+        if (fields.length != 3) {
+            throw new InvalidSimulationException("Malformed tick at line " + lineNumber + " of the replay file");
+        }
+
+        try {
+            long timestamp = Long.parseLong(fields[0].strip());
+            UUID assetId = UUID.fromString(fields[1].strip());
+            double quotation = Double.parseDouble(fields[2].strip());
+
+            if (firstTimestamp < 0) {
+                firstTimestamp = timestamp;
+            }
+            long offsetNanos = speedUp == 0 ? 0 : (long) ((timestamp - firstTimestamp) * NANOS_PER_MILLI / speedUp);
+            return new ScheduledTick(offsetNanos, assetId, quotation);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSimulationException("Malformed tick at line " + lineNumber + " of the replay file");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.ufcg.psoft.commerce.service.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Synthetic market feed. Each tick moves a randomly chosen asset along a geometric random walk, occasionally
+ * adding a jump of fixed size in either direction. Arrivals follow a Poisson process at the configured rate,
+ * and bursts temporarily multiply that rate for a number of ticks.
+ */
+public class TickGenerator implements TickSource {
+
+    private static final double MIN_QUOTATION = 0.01;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final Random random;
+    private final List<UUID> assetIds;
+    private final double[] quotations;
+    private final long totalTicks;
+    private final double ticksPerSecond;
+    private final double volatility;
+    private final double jumpProbability;
+    private final double jumpSize;
+    private final double burstProbability;
+    private final int burstLength;
+    private final double burstMultiplier;
+
+    private long generated;
+    private long offsetNanos;
+    private int burstRemaining;
+
+    public TickGenerator(Random random, Map<UUID, Double> initialQuotations, long totalTicks, double ticksPerSecond,
+                         double volatility, double jumpProbability, double jumpSize,
+                         double burstProbability, int burstLength, double burstMultiplier) {
+        this.random = random;
+        this.assetIds = new ArrayList<>(initialQuotations.keySet());
+        this.quotations = initialQuotations.values().stream().mapToDouble(Double::doubleValue).toArray();
+        this.totalTicks = totalTicks;
+        this.ticksPerSecond = ticksPerSecond;
+        this.volatility = volatility;
+        this.jumpProbability = jumpProbability;
+        this.jumpSize = jumpSize;
+        this.burstProbability = burstProbability;
+        this.burstLength = burstLength;
+        this.burstMultiplier = burstMultiplier;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return generated < totalTicks;
+    }
+
+    @Override
+    public ScheduledTick next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        int index = random.nextInt(assetIds.size());
+        double shock = volatility * random.nextGaussian();
+        if (random.nextDouble() < jumpProbability) {
+            shock += random.nextBoolean() ? jumpSize : -jumpSize;
+        }
+        quotations[index] = Math.max(MIN_QUOTATION, quotations[index] * Math.exp(shock));
+
+        offsetNanos += this.nextIntervalNanos();
+        generated++;
+        return new ScheduledTick(offsetNanos, assetIds.get(index), Math.round(quotations[index] * 100) / 100.0);
+    }
+
+    private long nextIntervalNanos() {
+        if (ticksPerSecond <= 0) {
+            return 0;
+        }
+
+        if (burstRemaining == 0 && random.nextDouble() < burstProbability) {
+            burstRemaining = burstLength;
+        }
+        double rate = ticksPerSecond;
+        if (burstRemaining > 0) {
+            rate *= burstMultiplier;
+            burstRemaining--;
+        }
+        return (long) (-Math.log(1 - random.nextDouble()) / rate * NANOS_PER_SECOND);
+    }
+}
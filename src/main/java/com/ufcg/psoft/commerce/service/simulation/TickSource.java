@@ -0,0 +1,11 @@
+package com.ufcg.psoft.commerce.service.simulation;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+public interface TickSource extends Iterator<ScheduledTick>, Closeable {
+
+    @Override
+    default void close() {
+    }
+}
@@ -15,10 +15,14 @@ import com.ufcg.psoft.commerce.model.wallet.WalletModel;
 import com.ufcg.psoft.commerce.repository.wallet.PurchaseRepository;
 import com.ufcg.psoft.commerce.service.admin.AdminService;
 import com.ufcg.psoft.commerce.service.asset.AssetService;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationRegister;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationStamp;
 import com.ufcg.psoft.commerce.service.client.ClientService;
 import com.ufcg.psoft.commerce.service.mapper.DTOMapperService;
+import com.ufcg.psoft.commerce.service.observer.EventManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Comparator;
@@ -46,6 +50,12 @@ public class PurchaseServiceImpl implements PurchaseService {
     @Autowired
     private DTOMapperService dtoMapperService;
 
+    @Autowired
+    private EventManager eventManager;
+
+    @Autowired
+    private QuotationRegister quotationRegister;
+
     @Override
     public List<PurchaseResponseDTO> getPurchaseHistory(UUID clientId, ClientPurchaseHistoryRequestDTO dto) {
         ClientModel client = clientService.validateClientAccess(clientId, dto.getAccessCode());
@@ -67,7 +77,8 @@ public class PurchaseServiceImpl implements PurchaseService {
         AssetModel asset = assetService.fetchAsset(assetId);
         asset.validateAssetIsActive();
 
-        double purchasePrice = asset.getQuotation() * dto.getAssetQuantity();
+        QuotationStamp quote = quotationRegister.current(asset.getId(), asset.getQuotation(), asset.getQuotationVersion());
+        double purchasePrice = quote.quotation() * dto.getAssetQuantity();
 
         this.validateBudget(client.getWallet(), purchasePrice);
 
@@ -77,6 +88,7 @@ public class PurchaseServiceImpl implements PurchaseService {
                 .quantity(dto.getAssetQuantity())
                 .date(LocalDate.now())
                 .acquisitionPrice(purchasePrice)
+                .quotationVersion(quote.version())
                 .build();
 
         purchaseRepository.save(purchaseModel);
@@ -92,6 +104,8 @@ public class PurchaseServiceImpl implements PurchaseService {
         AdminModel admin = this.adminService.getAdmin();
 
         admin.validateAccess(purchaseConfirmationRequestDTO.getAdminEmail(), purchaseConfirmationRequestDTO.getAdminAccessCode());
+        purchase.validateQuotationVersion(purchaseConfirmationRequestDTO.getQuotationVersion(), this.currentQuotationVersion(purchase));
+        purchase.setEventManager(eventManager);
         purchase.modify(admin);
 
         this.purchaseRepository.save(purchase);
@@ -99,22 +113,31 @@ public class PurchaseServiceImpl implements PurchaseService {
         return new PurchaseResponseDTO(purchase);
     }
 
+    /**
+     * Settles the purchase as one unit of work: the PURCHASED and IN_WALLET transitions, the budget debit and the
+     * holding upsert only touch managed entities and are written by the single flush at commit.
+     */
     @Override
+    @Transactional
     public PurchaseResponseDTO confirmPurchase(UUID purchaseId, UUID clientId, PurchaseConfirmationByClientDTO dto) {
         ClientModel clientModel = clientService.validateClientAccess(clientId, dto.getAccessCode());
 
         PurchaseModel purchase = purchaseRepository.findById(purchaseId)
                 .orElseThrow(() -> new PurchaseNotFoundException(purchaseId));
 
+        purchase.validateQuotationVersion(dto.getQuotationVersion(), this.currentQuotationVersion(purchase));
         purchase.modify(null);
 
-        this.purchaseRepository.save(purchase);
-
         clientModel.getWallet().decreaseBudgetAfterPurchase(purchase.getAcquisitionPrice() * purchase.getQuantity());
 
         return walletService.addPurchase(purchase);
     }
 
+    private long currentQuotationVersion(PurchaseModel purchase) {
+        AssetModel asset = purchase.getAsset();
+        return quotationRegister.current(asset.getId(), asset.getQuotation(), asset.getQuotationVersion()).version();
+    }
+
     private void validateBudget(WalletModel wallet, double purchasePrice) {
         if (wallet.getBudget() < purchasePrice) {
             throw new ClientBudgetIsInsufficientException(
@@ -0,0 +1,14 @@
+package com.ufcg.psoft.commerce.service.wallet;
+
+import com.ufcg.psoft.commerce.dto.client.ClientTaxSummaryRequestDTO;
+import com.ufcg.psoft.commerce.dto.wallet.TaxSummaryResponseDTO;
+import com.ufcg.psoft.commerce.model.wallet.WithdrawModel;
+
+import java.util.UUID;
+
+public interface TaxLedgerService {
+
+    void recordWithdraw(WithdrawModel withdraw);
+
+    TaxSummaryResponseDTO getTaxSummary(UUID clientId, ClientTaxSummaryRequestDTO dto);
+}
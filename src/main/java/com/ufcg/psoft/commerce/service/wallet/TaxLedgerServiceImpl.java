@@ -0,0 +1,106 @@
+package com.ufcg.psoft.commerce.service.wallet;
+
+import com.ufcg.psoft.commerce.dto.client.ClientTaxSummaryRequestDTO;
+import com.ufcg.psoft.commerce.dto.wallet.TaxLedgerEntryResponseDTO;
+import com.ufcg.psoft.commerce.dto.wallet.TaxSummaryResponseDTO;
+import com.ufcg.psoft.commerce.model.user.ClientModel;
+import com.ufcg.psoft.commerce.model.wallet.TaxLedgerEntryModel;
+import com.ufcg.psoft.commerce.model.wallet.WithdrawModel;
+import com.ufcg.psoft.commerce.repository.wallet.TaxLedgerRepository;
+import com.ufcg.psoft.commerce.service.client.ClientService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class TaxLedgerServiceImpl implements TaxLedgerService {
+
+    @Autowired
+    private TaxLedgerRepository taxLedgerRepository;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    public void start() {
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Adds an IN_ACCOUNT withdraw to its wallet's ledger, inside the confirming transaction. The tax year is the
+     * one the withdraw was requested in, which is when its selling price was fixed.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordWithdraw(WithdrawModel withdraw) {
+        UUID walletId = withdraw.getWallet().getId();
+        int taxYear = withdraw.getDate() == null ? LocalDate.now().getYear() : withdraw.getDate().getYear();
+        String assetType = withdraw.getAsset().getAssetType().getName();
+        double grossProceeds = withdraw.getSellingPrice() * withdraw.getQuantity();
+
+        if (taxLedgerRepository.accumulate(walletId, taxYear, assetType, withdraw.getRealizedProfit(), withdraw.getTax(), grossProceeds) == 0) {
+            this.openEntry(walletId, taxYear, assetType);
+            taxLedgerRepository.accumulate(walletId, taxYear, assetType, withdraw.getRealizedProfit(), withdraw.getTax(), grossProceeds);
+        }
+    }
+
+    // opened empty and committed on its own, so two first withdraws racing on the same row both end up accumulating
+    // into it instead of one of them failing its confirmation on the unique key
+    private void openEntry(UUID walletId, int taxYear, String assetType) {
+        try {
+            requiresNew.executeWithoutResult(status -> taxLedgerRepository.saveAndFlush(TaxLedgerEntryModel.builder()
+                    .walletId(walletId)
+                    .taxYear(taxYear)
+                    .assetType(assetType)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // another confirmation opened it first
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaxSummaryResponseDTO getTaxSummary(UUID clientId, ClientTaxSummaryRequestDTO dto) {
+        ClientModel client = clientService.validateClientAccess(clientId, dto.getAccessCode());
+        UUID walletId = client.getWallet().getId();
+        int year = dto.getYear() == null ? LocalDate.now().getYear() : dto.getYear();
+
+        List<TaxLedgerEntryResponseDTO> entries = taxLedgerRepository.findByWalletIdAndTaxYear(walletId, year)
+                .stream()
+                .sorted(Comparator.comparing(TaxLedgerEntryModel::getAssetType))
+                .map(entry -> TaxLedgerEntryResponseDTO.builder()
+                        .assetType(entry.getAssetType())
+                        .realizedProfit(entry.getRealizedProfit())
+                        .taxPaid(entry.getTaxPaid())
+                        .grossProceeds(entry.getGrossProceeds())
+                        .withdraws(entry.getWithdraws())
+                        .build())
+                .toList();
+
+        return TaxSummaryResponseDTO.builder()
+                .walletId(walletId)
+                .year(year)
+                .entries(entries)
+                .totalRealizedProfit(entries.stream().mapToDouble(TaxLedgerEntryResponseDTO::getRealizedProfit).sum())
+                .totalTaxPaid(entries.stream().mapToDouble(TaxLedgerEntryResponseDTO::getTaxPaid).sum())
+                .totalGrossProceeds(entries.stream().mapToDouble(TaxLedgerEntryResponseDTO::getGrossProceeds).sum())
+                .build();
+    }
+}
@@ -12,5 +12,5 @@ public interface WalletService {
     HoldingModel findHoldingByAsset(WalletModel wallet, AssetModel asset);
     PurchaseResponseDTO addPurchase(PurchaseModel purchase);
     PurchaseResponseAfterAddedInWalletDTO addedInWallet(PurchaseModel purchase, HoldingModel holdingModel);
-    void processWithdrawInWallet(HoldingModel holding, WalletModel wallet, AssetModel asset, double quantityToWithdraw, double withdrawValue);
+    void processWithdrawInWallet(HoldingModel holding, WalletModel wallet, double quantityToWithdraw, double withdrawValue);
 }
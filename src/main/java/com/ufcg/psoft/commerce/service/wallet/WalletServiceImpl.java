@@ -7,21 +7,16 @@ import com.ufcg.psoft.commerce.model.wallet.HoldingModel;
 import com.ufcg.psoft.commerce.model.wallet.PurchaseModel;
 import com.ufcg.psoft.commerce.model.wallet.WalletModel;
 import com.ufcg.psoft.commerce.repository.wallet.HoldingRepository;
-import com.ufcg.psoft.commerce.repository.wallet.PurchaseRepository;
-import com.ufcg.psoft.commerce.repository.wallet.WalletRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class WalletServiceImpl implements WalletService {
 
-    private static final double EMPTY_HOLDING = 0.0;
-
-    @Autowired
-    WalletRepository walletRepository;
-
-    @Autowired
-    PurchaseRepository purchaseRepository;
+    // quantities are doubles, so a holding withdrawn in several parts rarely lands on exactly zero
+    private static final double EMPTY_HOLDING_TOLERANCE = 1e-9;
 
     @Autowired
     HoldingRepository holdingRepository;
@@ -41,18 +36,17 @@ public class WalletServiceImpl implements WalletService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.MANDATORY)
     public PurchaseResponseDTO addPurchase(PurchaseModel purchase) {
         HoldingModel holdingModel = this.findHoldingByAsset(purchase.getWallet(), purchase.getAsset());
         PurchaseResponseAfterAddedInWalletDTO dto = this.addedInWallet(purchase, holdingModel);
         purchase.getWallet().getHoldings().put(dto.getHolding().getId(), dto.getHolding());
-        this.walletRepository.save(purchase.getWallet());
         return new PurchaseResponseDTO(dto);
     }
 
     @Override
     public PurchaseResponseAfterAddedInWalletDTO addedInWallet(PurchaseModel purchase, HoldingModel holdingModel) {
         purchase.modify(null);
-        this.purchaseRepository.save(purchase);
 
         if (holdingModel == null) {
             HoldingModel newHoldingModel = HoldingModel.builder()
@@ -61,6 +55,7 @@ public class WalletServiceImpl implements WalletService {
                     .quantity(purchase.getQuantity())
                     .accumulatedPrice(purchase.getQuantity() * purchase.getAcquisitionPrice())
                     .build();
+            // persist only assigns the id used as the holdings key; the insert waits for the settlement flush
             this.holdingRepository.save(newHoldingModel);
             return new PurchaseResponseAfterAddedInWalletDTO(purchase, newHoldingModel);
         } else {
@@ -71,19 +66,16 @@ public class WalletServiceImpl implements WalletService {
     }
 
     @Override
-    public void processWithdrawInWallet(HoldingModel holding, WalletModel wallet, AssetModel asset, double quantityToWithdraw, double withdrawValue) {
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void processWithdrawInWallet(HoldingModel holding, WalletModel wallet, double quantityToWithdraw, double withdrawValue) {
+        holding.decreaseAccumulatedPriceAfterWithdraw(quantityToWithdraw);
         holding.decreaseQuantityAfterWithdraw(quantityToWithdraw);
-        holding.decreaseAccumulatedPriceAfterWithdraw(quantityToWithdraw, asset.getQuotation());
 
         wallet.increaseBudgetAfterWithdraw(withdrawValue);
 
-        if (holding.getQuantity() == EMPTY_HOLDING) {
+        if (holding.getQuantity() <= EMPTY_HOLDING_TOLERANCE) {
             wallet.getHoldings().remove(holding.getId());
             holdingRepository.delete(holding);
-        } else {
-            holdingRepository.save(holding);
         }
-
-        walletRepository.save(wallet);
     }
 }
@@ -0,0 +1,22 @@
+package com.ufcg.psoft.commerce.service.wallet;
+
+import java.util.UUID;
+
+/**
+ * Tax and net value of a withdraw priced against one quotation version and the holding's average cost at that
+ * moment, before anything is persisted.
+ */
+public record WithdrawQuote(UUID id, UUID walletId, UUID assetId, double quantity,
+                            double sellingPrice, long quotationVersion, double averageCost, double realizedProfit,
+                            double tax, double withdrawValue) {
+
+    static final double TOLERANCE = 1e-9;
+
+    public boolean matches(UUID walletId, UUID assetId, double quantity) {
+        return this.walletId.equals(walletId) && this.assetId.equals(assetId) && Math.abs(this.quantity - quantity) <= TOLERANCE;
+    }
+
+    public boolean isPricedAt(double averageCost) {
+        return Math.abs(this.averageCost - averageCost) <= TOLERANCE;
+    }
+}
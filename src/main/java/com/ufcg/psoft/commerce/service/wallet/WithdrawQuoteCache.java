@@ -0,0 +1,98 @@
+package com.ufcg.psoft.commerce.service.wallet;
+
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawQuoteLimitExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Withdraw quotes handed out to clients, kept in memory until they are used or expire. A quote is taken at most
+ * once, so the same locked price never backs two withdraws, and only by the withdraw it was priced for. Each
+ * client's wallet holds a bounded number of open quotes.
+ */
+@Component
+public class WithdrawQuoteCache {
+
+    private final Map<UUID, Entry> quotes = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Set<UUID>> quoteIdsByWallet = new ConcurrentHashMap<>();
+
+    @Value("${withdraw.quote.ttl-ms:30000}")
+    private long ttlMillis;
+
+    @Value("${withdraw.quote.max-per-client:20}")
+    private int maxQuotesPerClient;
+
+    /**
+     * Stores the quote and returns the epoch millis at which it stops being honoured.
+     */
+    public long put(WithdrawQuote quote) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        // the wallet's id set is only touched inside compute, which serialises quotes of the same wallet
+        quoteIdsByWallet.compute(quote.walletId(), (walletId, quoteIds) -> {
+            Set<UUID> open = quoteIds == null ? new HashSet<>() : quoteIds;
+            open.removeIf(quoteId -> !this.isOpen(quoteId, now));
+            if (open.size() >= maxQuotesPerClient) {
+                throw new WithdrawQuoteLimitExceededException(maxQuotesPerClient);
+            }
+            open.add(quote.id());
+            quotes.put(quote.id(), new Entry(quote, expiresAt));
+            return open;
+        });
+        return expiresAt;
+    }
+
+    /**
+     * Returns the quote without consuming it if it is still open and was priced for this wallet, asset and
+     * quantity. A quote that does not match is left in place for the withdraw it was handed out for.
+     */
+    public WithdrawQuote peek(UUID quoteId, UUID walletId, UUID assetId, double quantity) {
+        Entry entry = quotes.get(quoteId);
+        if (entry == null || entry.expiresAt() < System.currentTimeMillis()
+                || !entry.quote().matches(walletId, assetId, quantity)) {
+            return null;
+        }
+        return entry.quote();
+    }
+
+    /**
+     * Consumes a quote returned by {@link #peek}. Returns false if it expired or was taken in the meantime.
+     */
+    public boolean take(WithdrawQuote quote) {
+        Entry entry = quotes.get(quote.id());
+        if (entry == null || entry.quote() != quote || entry.expiresAt() < System.currentTimeMillis()) {
+            return false;
+        }
+        // a concurrent take of the same quote loses here
+        return quotes.remove(quote.id(), entry);
+    }
+
+    @Scheduled(fixedDelayString = "${withdraw.quote.eviction-interval-ms:10000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        quotes.values().removeIf(entry -> entry.expiresAt() < now);
+        quoteIdsByWallet.keySet().forEach(walletId -> quoteIdsByWallet.computeIfPresent(walletId, (id, quoteIds) -> {
+            quoteIds.removeIf(quoteId -> !this.isOpen(quoteId, now));
+            return quoteIds.isEmpty() ? null : quoteIds;
+        }));
+    }
+
+    public int size() {
+        return quotes.size();
+    }
+
+    private boolean isOpen(UUID quoteId, long now) {
+        Entry entry = quotes.get(quoteId);
+        return entry != null && entry.expiresAt() >= now;
+    }
+
+    private record Entry(WithdrawQuote quote, long expiresAt) {
+    }
+}
@@ -2,12 +2,17 @@ package com.ufcg.psoft.commerce.service.wallet;
 
 import com.ufcg.psoft.commerce.dto.client.ClientWithdrawAssetRequestDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientWithdrawHistoryRequestDTO;
+import com.ufcg.psoft.commerce.dto.wallet.WithdrawBulkConfirmationRequestDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WithdrawConfirmationRequestDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WithdrawResponseDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WithdrawHistoryResponseDTO;
+import com.ufcg.psoft.commerce.dto.wallet.WithdrawQuoteResponseDTO;
 import com.ufcg.psoft.commerce.enums.WithdrawStateEnum;
 import com.ufcg.psoft.commerce.exception.user.ClientHoldingIsInsufficientException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawAlreadyProcessedException;
 import com.ufcg.psoft.commerce.exception.withdraw.WithdrawNotFoundException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawQuoteNotFoundException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawQuoteStaleException;
 import com.ufcg.psoft.commerce.model.asset.AssetModel;
 import com.ufcg.psoft.commerce.model.user.AdminModel;
 import com.ufcg.psoft.commerce.model.user.ClientModel;
@@ -17,13 +22,26 @@ import com.ufcg.psoft.commerce.model.wallet.WithdrawModel;
 import com.ufcg.psoft.commerce.repository.wallet.WithdrawRepository;
 import com.ufcg.psoft.commerce.service.admin.AdminService;
 import com.ufcg.psoft.commerce.service.asset.AssetService;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationRegister;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationStamp;
 import com.ufcg.psoft.commerce.service.client.ClientService;
 import com.ufcg.psoft.commerce.service.mapper.DTOMapperService;
+import com.ufcg.psoft.commerce.service.observer.EventManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -49,53 +67,99 @@ public class WithdrawServiceImpl implements WithdrawService {
     @Autowired
     private DTOMapperService dtoMapperService;
 
-    @Override
-    public WithdrawResponseDTO withdrawAsset(WalletModel wallet, AssetModel asset, double quantityToWithdraw) {
-        HoldingModel holding = findHolding(wallet, asset);
-        holding.validateQuantityToWithdraw(quantityToWithdraw);
-
-        double tax = calculateWithdrawTax(holding, asset, quantityToWithdraw);
+    @Autowired
+    private EventManager eventManager;
 
-        double withdrawValue = calculateWithdrawValue(asset, quantityToWithdraw, tax);
+    @Autowired
+    private QuotationRegister quotationRegister;
 
-        WithdrawModel withdrawModel = WithdrawModel.builder()
-                .asset(asset)
-                .wallet(wallet)
-                .quantity(quantityToWithdraw)
-                .date(LocalDate.now())
-                .sellingPrice(asset.getQuotation())
-                .tax(tax)
-                .withdrawValue(withdrawValue)
-                .stateEnum(WithdrawStateEnum.REQUESTED)
-                .build();
+    @Autowired
+    private WithdrawQuoteCache withdrawQuoteCache;
 
-        withdrawRepository.save(withdrawModel);
+    @Autowired
+    private TaxLedgerService taxLedgerService;
 
-        return dtoMapperService.toWithdrawResponseDTO(withdrawModel);
+    @Override
+    public WithdrawResponseDTO withdrawAsset(WalletModel wallet, AssetModel asset, double quantityToWithdraw) {
+        return this.requestWithdraw(wallet, asset, this.priceWithdraw(wallet, asset, quantityToWithdraw));
     }
 
+    /**
+     * Confirms the withdraw as one unit of work: both transitions, the holding decrease and the budget credit
+     * only touch managed entities and are written as one batched flush at commit.
+     */
     @Override
+    @Transactional
     public WithdrawResponseDTO confirmWithdraw(UUID withdrawId, WithdrawConfirmationRequestDTO withdrawConfirmationRequestDTO) {
-        WithdrawModel withdraw = withdrawRepository.findById(withdrawId)
+        WithdrawModel withdraw = withdrawRepository.findByIdForUpdate(withdrawId)
                 .orElseThrow(() -> new WithdrawNotFoundException(withdrawId));
+        if (withdraw.getStateEnum() != WithdrawStateEnum.REQUESTED) {
+            throw new WithdrawAlreadyProcessedException(withdrawId);
+        }
 
         AdminModel admin = adminService.getAdmin();
         admin.validateAccess(withdrawConfirmationRequestDTO.getAdminEmail(), withdrawConfirmationRequestDTO.getAdminAccessCode());
+        withdraw.validateQuotationVersion(withdrawConfirmationRequestDTO.getQuotationVersion(), this.currentQuotationVersion(withdraw));
+        withdraw.setEventManager(eventManager);
 
         // First modification: REQUESTED -> CONFIRMED
         withdraw.modify(admin);
-        withdrawRepository.save(withdraw);
 
         // Second modification: CONFIRMED -> IN_ACCOUNT (auto)
         withdraw.modify(admin);
-        withdrawRepository.save(withdraw);
 
-        HoldingModel holding = findHolding(withdraw.getWallet(), withdraw.getAsset());
-        walletService.processWithdrawInWallet(holding, withdraw.getWallet(), withdraw.getAsset(), withdraw.getQuantity(), withdraw.getWithdrawValue());
+        this.settle(withdraw);
 
         return dtoMapperService.toWithdrawResponseDTO(withdraw);
     }
 
+    /**
+     * Confirms many withdraws in one unit of work. Withdraws are grouped by wallet so each wallet's holdings are
+     * resolved once and the summed quantities per holding are validated before any transition is applied.
+     */
+    @Override
+    @Transactional
+    public List<WithdrawResponseDTO> confirmWithdraws(WithdrawBulkConfirmationRequestDTO withdrawBulkConfirmationRequestDTO) {
+        AdminModel admin = adminService.getAdmin();
+        admin.validateAccess(withdrawBulkConfirmationRequestDTO.getAdminEmail(), withdrawBulkConfirmationRequestDTO.getAdminAccessCode());
+
+        Set<UUID> withdrawIds = new LinkedHashSet<>(withdrawBulkConfirmationRequestDTO.getWithdrawIds());
+        Map<UUID, Long> quotationVersions = withdrawBulkConfirmationRequestDTO.getQuotationVersions() == null
+                ? Map.of()
+                : withdrawBulkConfirmationRequestDTO.getQuotationVersions();
+        Map<UUID, WithdrawModel> withdrawsById = new HashMap<>();
+        for (WithdrawModel withdraw : withdrawRepository.findAllByIdForUpdate(withdrawIds)) {
+            withdrawsById.put(withdraw.getId(), withdraw);
+        }
+
+        Map<UUID, List<WithdrawModel>> withdrawsByWallet = new LinkedHashMap<>();
+        for (UUID withdrawId : withdrawIds) {
+            WithdrawModel withdraw = withdrawsById.get(withdrawId);
+            if (withdraw == null) {
+                throw new WithdrawNotFoundException(withdrawId);
+            }
+            if (withdraw.getStateEnum() != WithdrawStateEnum.REQUESTED) {
+                throw new WithdrawAlreadyProcessedException(withdrawId);
+            }
+            withdraw.validateQuotationVersion(quotationVersions.get(withdrawId), this.currentQuotationVersion(withdraw));
+            withdrawsByWallet.computeIfAbsent(withdraw.getWallet().getId(), id -> new ArrayList<>()).add(withdraw);
+        }
+
+        withdrawsByWallet.values().forEach(this::resolveWalletHoldings);
+
+        List<WithdrawResponseDTO> confirmed = new ArrayList<>(withdrawIds.size());
+        for (List<WithdrawModel> walletWithdraws : withdrawsByWallet.values()) {
+            for (WithdrawModel withdraw : walletWithdraws) {
+                withdraw.setEventManager(eventManager);
+                withdraw.modify(admin);
+                withdraw.modify(admin);
+                this.settle(withdraw);
+                confirmed.add(dtoMapperService.toWithdrawResponseDTO(withdraw));
+            }
+        }
+        return confirmed;
+    }
+
     @Override
     public List<WithdrawHistoryResponseDTO> getWithdrawHistory(UUID walletId, ClientWithdrawHistoryRequestDTO dto) {
         return withdrawRepository.findByWalletId(walletId)
@@ -108,14 +172,63 @@ public class WithdrawServiceImpl implements WithdrawService {
                 .toList();
     }
 
+    /**
+     * Requests a withdraw, at a quote handed out earlier when one is given. The quote is only consumed once the
+     * withdraw is created, so a request rejected by the holding checks leaves it usable.
+     */
     @Override
+    @Transactional
     public WithdrawResponseDTO withdrawClientAsset(UUID clientId, UUID assetId, ClientWithdrawAssetRequestDTO dto) {
         ClientModel client = clientService.validateClientAccess(clientId, dto.getAccessCode());
 
         WalletModel wallet = client.getWallet();
         AssetModel asset = assetService.fetchAsset(assetId);
 
-        return this.withdrawAsset(wallet, asset, dto.getQuantityToWithdraw());
+        if (dto.getQuoteId() == null) {
+            return this.withdrawAsset(wallet, asset, dto.getQuantityToWithdraw());
+        }
+
+        WithdrawQuote quote = withdrawQuoteCache.peek(dto.getQuoteId(), wallet.getId(), asset.getId(), dto.getQuantityToWithdraw());
+        if (quote == null) {
+            throw new WithdrawQuoteNotFoundException(dto.getQuoteId());
+        }
+        // the holding may have shrunk, or a confirmed purchase moved its cost basis, since the quote was handed out
+        HoldingModel holding = findHolding(wallet, asset);
+        holding.validateQuantityToWithdraw(quote.quantity());
+        if (!quote.isPricedAt(averageCost(holding))) {
+            throw new WithdrawQuoteStaleException(quote.id());
+        }
+
+        WithdrawResponseDTO withdraw = this.requestWithdraw(wallet, asset, quote);
+        // a concurrent withdraw that used the same quote first rolls this one back
+        if (!withdrawQuoteCache.take(quote)) {
+            throw new WithdrawQuoteNotFoundException(quote.id());
+        }
+        return withdraw;
+    }
+
+    @Override
+    public WithdrawQuoteResponseDTO quoteClientWithdraw(UUID clientId, UUID assetId, ClientWithdrawAssetRequestDTO dto) {
+        ClientModel client = clientService.validateClientAccess(clientId, dto.getAccessCode());
+
+        WalletModel wallet = client.getWallet();
+        AssetModel asset = assetService.fetchAsset(assetId);
+
+        WithdrawQuote quote = this.priceWithdraw(wallet, asset, dto.getQuantityToWithdraw());
+        long expiresAt = withdrawQuoteCache.put(quote);
+
+        return WithdrawQuoteResponseDTO.builder()
+                .quoteId(quote.id())
+                .walletId(quote.walletId())
+                .assetId(quote.assetId())
+                .quantityToWithdraw(quote.quantity())
+                .sellingPrice(quote.sellingPrice())
+                .quotationVersion(quote.quotationVersion())
+                .realizedProfit(quote.realizedProfit())
+                .tax(quote.tax())
+                .valueToReceive(quote.withdrawValue())
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()))
+                .build();
     }
 
     @Override
@@ -125,6 +238,48 @@ public class WithdrawServiceImpl implements WithdrawService {
         return this.getWithdrawHistory(client.getWallet().getId(), dto);
     }
 
+    private WithdrawQuote priceWithdraw(WalletModel wallet, AssetModel asset, double quantityToWithdraw) {
+        HoldingModel holding = findHolding(wallet, asset);
+        holding.validateQuantityToWithdraw(quantityToWithdraw);
+
+        // tax, value and selling price must all come from the same quote
+        QuotationStamp stamp = quotationRegister.current(asset.getId(), asset.getQuotation(), asset.getQuotationVersion());
+
+        double averageCost = averageCost(holding);
+        double realizedProfit = calculateRealizedProfit(averageCost, stamp.quotation(), quantityToWithdraw);
+
+        double tax = calculateWithdrawTax(asset, realizedProfit);
+
+        double withdrawValue = calculateWithdrawValue(stamp.quotation(), quantityToWithdraw, tax);
+
+        return new WithdrawQuote(UUID.randomUUID(), wallet.getId(), asset.getId(), quantityToWithdraw,
+                stamp.quotation(), stamp.version(), averageCost, realizedProfit, tax, withdrawValue);
+    }
+
+    private long currentQuotationVersion(WithdrawModel withdraw) {
+        AssetModel asset = withdraw.getAsset();
+        return quotationRegister.current(asset.getId(), asset.getQuotation(), asset.getQuotationVersion()).version();
+    }
+
+    private WithdrawResponseDTO requestWithdraw(WalletModel wallet, AssetModel asset, WithdrawQuote quote) {
+        WithdrawModel withdrawModel = WithdrawModel.builder()
+                .asset(asset)
+                .wallet(wallet)
+                .quantity(quote.quantity())
+                .date(LocalDate.now())
+                .sellingPrice(quote.sellingPrice())
+                .quotationVersion(quote.quotationVersion())
+                .realizedProfit(quote.realizedProfit())
+                .tax(quote.tax())
+                .withdrawValue(quote.withdrawValue())
+                .stateEnum(WithdrawStateEnum.REQUESTED)
+                .build();
+
+        withdrawRepository.save(withdrawModel);
+
+        return dtoMapperService.toWithdrawResponseDTO(withdrawModel);
+    }
+
     private HoldingModel findHolding(WalletModel wallet, AssetModel asset) {
         return wallet.getHoldings()
                 .values()
@@ -136,21 +291,59 @@ public class WithdrawServiceImpl implements WithdrawService {
                 ));
     }
 
-    private double calculateWithdrawTax(HoldingModel holding, AssetModel asset, double quantityToWithdraw) {
-        double avgCost = holding.getAccumulatedPrice() / holding.getQuantity();
+    private void settle(WithdrawModel withdraw) {
+        // read before the withdraw leaves the holding, while its cost basis still includes the sold quantity
+        if (withdraw.getRealizedProfit() == null) {
+            withdraw.setRealizedProfit(calculateRealizedProfit(averageCost(withdraw.resolveHolding()), withdraw.getSellingPrice(), withdraw.getQuantity()));
+        }
+        walletService.processWithdrawInWallet(withdraw.resolveHolding(), withdraw.getWallet(), withdraw.getQuantity(), withdraw.getWithdrawValue());
+        if (withdraw.getStateEnum() == WithdrawStateEnum.IN_ACCOUNT) {
+            taxLedgerService.recordWithdraw(withdraw);
+        }
+    }
+
+    private void resolveWalletHoldings(List<WithdrawModel> walletWithdraws) {
+        WalletModel wallet = walletWithdraws.get(0).getWallet();
+        Map<UUID, HoldingModel> holdingsByAsset = new HashMap<>();
+        for (HoldingModel holding : wallet.getHoldings().values()) {
+            holdingsByAsset.putIfAbsent(holding.getAsset().getId(), holding);
+        }
+
+        Map<UUID, Double> requestedByAsset = new HashMap<>();
+        for (WithdrawModel withdraw : walletWithdraws) {
+            HoldingModel holding = holdingsByAsset.get(withdraw.getAsset().getId());
+            if (holding == null) {
+                throw new ClientHoldingIsInsufficientException(
+                        "Client does not own asset " + withdraw.getAsset().getName()
+                );
+            }
+            withdraw.setHolding(holding);
+            requestedByAsset.merge(withdraw.getAsset().getId(), withdraw.getQuantity(), Double::sum);
+        }
+
+        requestedByAsset.forEach((assetId, quantity) -> holdingsByAsset.get(assetId).validateQuantityToWithdraw(quantity));
+    }
+
+    private double averageCost(HoldingModel holding) {
+        return holding.getAccumulatedPrice() / holding.getQuantity();
+    }
+
+    private double calculateRealizedProfit(double avgCost, double quotation, double quantityToWithdraw) {
         double costBasis = avgCost * quantityToWithdraw;
 
-        double gross = asset.getQuotation() * quantityToWithdraw;
-        double profit = gross - costBasis;
+        double gross = quotation * quantityToWithdraw;
+        return gross - costBasis;
+    }
 
+    private double calculateWithdrawTax(AssetModel asset, double realizedProfit) {
         // If negative profit, tax will be zero.
-        double taxableProfit = Math.max(MIN_TAXABLE_PROFIT, profit);
+        double taxableProfit = Math.max(MIN_TAXABLE_PROFIT, realizedProfit);
 
         return asset.getAssetType().taxCalculate(taxableProfit);
     }
 
-    private double calculateWithdrawValue(AssetModel asset, double quantityToWithdraw, double tax) {
-        double gross = asset.getQuotation() * quantityToWithdraw;
+    private double calculateWithdrawValue(double quotation, double quantityToWithdraw, double tax) {
+        double gross = quotation * quantityToWithdraw;
         return gross - tax;
     }
 }
@@ -2,9 +2,12 @@ package com.ufcg.psoft.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ufcg.psoft.commerce.CommerceApplication;
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
 import com.ufcg.psoft.commerce.dto.asset.AssetActivationPatchRequestDTO;
 import com.ufcg.psoft.commerce.dto.asset.AssetDeleteRequestDTO;
 import com.ufcg.psoft.commerce.dto.asset.AssetPostRequestDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetQuotationBatchUpdateDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetQuotationTickDTO;
 import com.ufcg.psoft.commerce.dto.asset.AssetQuotationUpdateDTO;
 import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
 import com.ufcg.psoft.commerce.model.asset.AssetModel;
@@ -18,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -25,6 +29,8 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -504,6 +510,49 @@ class AssetControllerTests {
                 .andExpect(jsonPath("$.message").value("Asset not found with ID " + nonExistentId));
     }
 
+    @Test
+    @DisplayName("Successfully update a batch of quotations reporting rejected ticks")
+    void testUpdateQuotations_Batch() throws Exception {
+        AssetModel cryptoAsset = assetRepository.save(createDefaultAsset(cryptoType));
+        UUID nonExistentId = UUID.randomUUID();
+
+        AssetQuotationBatchUpdateDTO dto = AssetQuotationBatchUpdateDTO.builder()
+                .ticks(List.of(
+                        new AssetQuotationTickDTO(assetId, 110.0),
+                        new AssetQuotationTickDTO(cryptoAsset.getId(), 150.0),
+                        new AssetQuotationTickDTO(nonExistentId, 10.0)
+                ))
+                .adminEmail("admin@example.com")
+                .adminAccessCode("123456")
+                .build();
+
+        mockMvc.perform(patch(ASSET_CRUD_URL + QUOTATION_ENDPOINT + "s")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated.length()").value(2))
+                .andExpect(jsonPath("$.rejected.length()").value(1))
+                .andExpect(jsonPath("$.rejected[0].assetId").value(nonExistentId.toString()));
+
+        assertEquals(110.0, assetRepository.findById(assetId).orElseThrow().getQuotation());
+        assertEquals(150.0, assetRepository.findById(cryptoAsset.getId()).orElseThrow().getQuotation());
+    }
+
+    @Test
+    @DisplayName("Fails if the quotation batch is empty")
+    void testUpdateQuotations_EmptyBatch() throws Exception {
+        AssetQuotationBatchUpdateDTO dto = AssetQuotationBatchUpdateDTO.builder()
+                .ticks(List.of())
+                .adminEmail("admin@example.com")
+                .adminAccessCode("123456")
+                .build();
+
+        mockMvc.perform(patch(ASSET_CRUD_URL + QUOTATION_ENDPOINT + "s")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Fails if quotation is null")
     void testUpdateQuotation_NullQuotation() throws Exception {
@@ -811,4 +860,46 @@ class AssetControllerTests {
                 .andExpect(jsonPath("$[0].name").value("Tesla Stock"))
                 .andExpect(jsonPath("$[0].isActive").value(true));
     }
+
+    @Test
+    @DisplayName("Should answer 304 for the available assets until an asset is written")
+    void testGetAvailableAssets_IfNoneMatch() throws Exception {
+        String eTag = mockMvc.perform(get(ASSET_BASE_URL + AVAILABLE_ENDPOINT))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(ASSET_BASE_URL + AVAILABLE_ENDPOINT)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        AssetModel activeAsset = createDefaultAsset(stockType);
+        activeAsset.setActive(true);
+        assetRepository.save(activeAsset);
+
+        mockMvc.perform(get(ASSET_BASE_URL + AVAILABLE_ENDPOINT)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    @DisplayName("Should serve the correlation matrix to a valid admin")
+    void testGetCorrelationMatrix_Admin() throws Exception {
+        mockMvc.perform(get(ASSET_CRUD_URL + "/correlation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AdminAccessRequestDTO("admin@example.com", "123456"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assetIds").isArray())
+                .andExpect(jsonPath("$.correlations").isArray());
+    }
+
+    @Test
+    @DisplayName("Should reject correlation matrix requests with invalid admin credentials")
+    void testGetCorrelationMatrix_Unauthorized() throws Exception {
+        mockMvc.perform(get(ASSET_CRUD_URL + "/correlation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AdminAccessRequestDTO("admin@example.com", "000000"))))
+                .andExpect(status().isUnauthorized());
+    }
 }
@@ -2,20 +2,25 @@ package com.ufcg.psoft.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ufcg.psoft.commerce.dto.asset.AssetDeleteRequestDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxCounterResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxPageResponseDTO;
 import com.ufcg.psoft.commerce.dto.wallet.HoldingResponseDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WalletHoldingResponseDTO;
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
 import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
 import com.ufcg.psoft.commerce.dto.client.*;
 import com.ufcg.psoft.commerce.enums.PurchaseStateEnum;
 import com.ufcg.psoft.commerce.exception.user.ClientIdNotFoundException;
 import com.ufcg.psoft.commerce.model.asset.*;
 import com.ufcg.psoft.commerce.model.asset.types.TreasuryBounds;
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxEntryModel;
 import com.ufcg.psoft.commerce.model.user.*;
 import com.ufcg.psoft.commerce.model.wallet.*;
 import com.ufcg.psoft.commerce.repository.asset.*;
 import com.ufcg.psoft.commerce.repository.client.*;
 import com.ufcg.psoft.commerce.repository.wallet.PurchaseRepository;
 import com.ufcg.psoft.commerce.repository.wallet.WalletRepository;
+import com.ufcg.psoft.commerce.service.notification.NotificationInboxService;
 import com.ufcg.psoft.commerce.service.observer.EventManagerImpl;
 
 import jakarta.transaction.Transactional;
@@ -26,15 +31,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import com.ufcg.psoft.commerce.CommerceApplication;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -68,6 +77,9 @@ class ClientControllerTests {
     @Autowired
     private EventManagerImpl eventManager;
 
+    @Autowired
+    private NotificationInboxService notificationInboxService;
+
     private static final String CLIENT_BASE_URL = "/clients";
     private static final String ASSETS_ENDPOINT = "/assets";
     private static final String WALLET_HOLDING = "/wallet-holding";
@@ -75,6 +87,7 @@ class ClientControllerTests {
     private static final String INTEREST = "/interest";
     private static final String PRICE_VARIATION = "/price-variation";
     private static final String AVAILABILITY = "/availability";
+    private static final String NOTIFICATIONS = "/notifications";
 
     private AssetType stockType;
     private UUID clientId;
@@ -174,6 +187,30 @@ class ClientControllerTests {
                 .andExpect(jsonPath("$.email").value("joao@email.com"));
     }
 
+    @Test
+    @DisplayName("Should answer 304 for an unchanged client and 200 after a write")
+    void testGetClientById_IfNoneMatch() throws Exception {
+        String eTag = mockMvc.perform(get(CLIENT_BASE_URL + "/" + clientId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(CLIENT_BASE_URL + "/" + clientId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(patch(CLIENT_BASE_URL + "/" + clientId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ClientPatchFullNameRequestDTO("João Carlos", "123456"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(CLIENT_BASE_URL + "/" + clientId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullName").value("João Carlos"));
+    }
+
     @Test
     @DisplayName("Should delete client successfully")
     void testDeleteClient_Success() throws Exception {
@@ -312,6 +349,53 @@ class ClientControllerTests {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("Should find active assets by a prefix of their name or description")
+    void testSearchAssets_ByPrefix() throws Exception {
+        AssetModel asset = AssetModel.builder()
+                .name("Petrobras PN")
+                .isActive(true)
+                .assetType(stockType)
+                .description("Ações preferenciais")
+                .quotation(30.0)
+                .quotaQuantity(1000.0)
+                .build();
+        assetRepository.save(asset);
+        createAndSaveAsset(stockType);
+
+        ClientActiveAssetsRequestDTO requestDTO = new ClientActiveAssetsRequestDTO();
+        requestDTO.setAccessCode("123456");
+
+        mockMvc.perform(MockMvcRequestBuilders.get(CLIENT_BASE_URL + "/" + clientId + ASSETS_ENDPOINT + "/search")
+                        .param("q", "petro acoes")
+                        .param("assetType", "STOCK")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(asset.getId().toString()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(CLIENT_BASE_URL + "/" + clientId + ASSETS_ENDPOINT + "/search")
+                        .param("q", "default")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request when the search query is blank")
+    void testSearchAssets_BlankQuery() throws Exception {
+        ClientActiveAssetsRequestDTO requestDTO = new ClientActiveAssetsRequestDTO();
+        requestDTO.setAccessCode("123456");
+
+        mockMvc.perform(MockMvcRequestBuilders.get(CLIENT_BASE_URL + "/" + clientId + ASSETS_ENDPOINT + "/search")
+                        .param("q", " ")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should return the active assets available")
     void testGetActiveAssetsForPremiumClient_Successful() throws Exception {
@@ -352,6 +436,28 @@ class ClientControllerTests {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("Should rebuild the plan catalog after an asset changes")
+    void testGetActiveAssets_CatalogReflectsAssetChanges() throws Exception {
+        ClientActiveAssetsRequestDTO requestDTO = new ClientActiveAssetsRequestDTO();
+        requestDTO.setAccessCode("123456");
+
+        mockMvc.perform(MockMvcRequestBuilders.get(CLIENT_BASE_URL + "/" + clientId + ASSETS_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk());
+
+        AssetModel asset = createAndSaveAsset(stockType);
+        asset.setActive(true);
+        assetRepository.save(asset);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(CLIENT_BASE_URL + "/" + clientId + ASSETS_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(hasItem(asset.getId().toString())));
+    }
+
     @Test
     @DisplayName("Should return asset details for client successfully")
     void testGetAssetDetailsForClient_Success() throws Exception {
@@ -421,6 +527,56 @@ class ClientControllerTests {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @DisplayName("Should answer 304 for unchanged asset details only after checking the access code")
+    void testGetAssetDetailsForClient_IfNoneMatch() throws Exception {
+        AssetModel asset = createAndSaveAsset(stockType);
+
+        WalletModel wallet = WalletModel.builder()
+                .budget(5000)
+                .holdings(new HashMap<>())
+                .build();
+
+        ClientModel client = createClient(
+                UUID.randomUUID(),
+                "Lucas Pereira",
+                new EmailModel("lucas@email.com"),
+                new AccessCodeModel("123456"),
+                new AddressModel("Street", "456", "Bairro", "Cidade", "Estado", "Brasil", "11111-111"),
+                PlanTypeEnum.NORMAL,
+                wallet
+        );
+
+        client = clientRepository.save(client);
+        String url = CLIENT_BASE_URL + "/" + client.getId() + ASSETS_ENDPOINT + "/" + asset.getId();
+        String validAccess = objectMapper.writeValueAsString(ClientAssetAccessRequestDTO.builder().accessCode("123456").build());
+
+        // the first read loads the asset, so only the next one can be tagged
+        mockMvc.perform(MockMvcRequestBuilders.get(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validAccess))
+                .andExpect(status().isOk());
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validAccess))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(url)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validAccess))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(url)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ClientAssetAccessRequestDTO.builder().accessCode("wrong-code").build())))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @DisplayName("Should return 404 when clientId is invalid")
     void testGetAssetDetailsForClient_ClientNotFound() throws Exception {
@@ -933,4 +1089,94 @@ class ClientControllerTests {
                         .content(jsonWithoutAccessCode))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    private void appendInboxEntries(int count) {
+        List<NotificationInboxEntryModel> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add(NotificationInboxEntryModel.builder()
+                    .clientId(clientId)
+                    .category(NotificationCategoryEnum.AVAILABILITY)
+                    .message("notification " + i)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        notificationInboxService.appendAll(entries);
+    }
+
+    @Test
+    @DisplayName("Should page the notification inbox newest first using the last seen id")
+    void testGetNotifications_KeysetPagination() throws Exception {
+        appendInboxEntries(3);
+
+        ClientNotificationInboxRequestDTO firstPageRequest = ClientNotificationInboxRequestDTO.builder()
+                .accessCode("123456")
+                .limit(2)
+                .build();
+
+        String firstPageJson = mockMvc.perform(get(CLIENT_BASE_URL + "/" + clientId + NOTIFICATIONS)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(firstPageRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        NotificationInboxPageResponseDTO firstPage = objectMapper.readValue(firstPageJson, NotificationInboxPageResponseDTO.class);
+        assertEquals(2, firstPage.getEntries().size());
+        assertEquals("notification 2", firstPage.getEntries().get(0).getMessage());
+        assertEquals(3, firstPage.getUnreadCount());
+        assertEquals(firstPage.getEntries().get(1).getId(), firstPage.getNextBeforeId());
+
+        ClientNotificationInboxRequestDTO secondPageRequest = ClientNotificationInboxRequestDTO.builder()
+                .accessCode("123456")
+                .beforeId(firstPage.getNextBeforeId())
+                .limit(2)
+                .build();
+
+        String secondPageJson = mockMvc.perform(get(CLIENT_BASE_URL + "/" + clientId + NOTIFICATIONS)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(secondPageRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        NotificationInboxPageResponseDTO secondPage = objectMapper.readValue(secondPageJson, NotificationInboxPageResponseDTO.class);
+        assertEquals(1, secondPage.getEntries().size());
+        assertEquals("notification 0", secondPage.getEntries().get(0).getMessage());
+        assertNull(secondPage.getNextBeforeId());
+    }
+
+    @Test
+    @DisplayName("Should mark inbox entries as read and update the unread counter")
+    void testMarkNotificationsRead_UpdatesUnreadCounter() throws Exception {
+        appendInboxEntries(3);
+        NotificationInboxPageResponseDTO inbox = notificationInboxService.getInbox(clientId, null, 10);
+        Long secondNewestId = inbox.getEntries().get(1).getId();
+
+        ClientNotificationReadRequestDTO dto = ClientNotificationReadRequestDTO.builder()
+                .accessCode("123456")
+                .upToId(secondNewestId)
+                .build();
+
+        String responseJson = mockMvc.perform(patch(CLIENT_BASE_URL + "/" + clientId + NOTIFICATIONS + "/read")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        NotificationInboxCounterResponseDTO counter = objectMapper.readValue(responseJson, NotificationInboxCounterResponseDTO.class);
+        assertEquals(2, counter.getMarkedAsRead());
+        assertEquals(1, counter.getUnreadCount());
+        assertEquals(3, counter.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Should return 401 Unauthorized when reading the inbox with an invalid access code")
+    void testGetNotifications_InvalidAccessCode() throws Exception {
+        ClientNotificationInboxRequestDTO dto = ClientNotificationInboxRequestDTO.builder()
+                .accessCode("654321")
+                .build();
+
+        mockMvc.perform(get(CLIENT_BASE_URL + "/" + clientId + NOTIFICATIONS)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isUnauthorized());
+    }
+}
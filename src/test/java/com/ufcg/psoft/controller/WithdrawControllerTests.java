@@ -1,8 +1,10 @@
 package com.ufcg.psoft.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.commerce.dto.client.ClientTaxSummaryRequestDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientWithdrawAssetRequestDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientWithdrawHistoryRequestDTO;
+import com.ufcg.psoft.commerce.dto.wallet.WithdrawBulkConfirmationRequestDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WithdrawConfirmationRequestDTO;
 import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
 import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
@@ -38,6 +40,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -275,6 +278,124 @@ class WithdrawControllerTests {
                 .andExpect(status().isBadRequest()); // Should fail due to insufficient holdings
     }
 
+    private UUID saveRequestedWithdraw(double quantity) {
+        WithdrawModel withdraw = WithdrawModel.builder()
+                .id(UUID.randomUUID())
+                .asset(assetRepository.findById(assetId).orElseThrow())
+                .wallet(walletRepository.findById(walletId).orElseThrow())
+                .quantity(quantity)
+                .date(LocalDate.now())
+                .sellingPrice(100.0)
+                .tax(10.0)
+                .withdrawValue(950.0)
+                .stateEnum(WithdrawStateEnum.REQUESTED)
+                .build();
+        return withdrawRepository.save(withdraw).getId();
+    }
+
+    @Test
+    @DisplayName("Should confirm several withdraws of the same wallet in one call")
+    void testConfirmWithdraws_Success() throws Exception {
+        UUID secondWithdrawId = saveRequestedWithdraw(10.0);
+        WithdrawBulkConfirmationRequestDTO dto = WithdrawBulkConfirmationRequestDTO.builder()
+                .adminEmail("admin@example.com")
+                .adminAccessCode("123456")
+                .withdrawIds(List.of(withdrawId, secondWithdrawId))
+                .build();
+
+        mockMvc.perform(post(WITHDRAW_BASE_URL + "/confirmation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].withdrawId").value(withdrawId.toString()))
+                .andExpect(jsonPath("$[0].state").value("IN_ACCOUNT"))
+                .andExpect(jsonPath("$[0].newWalletBudget").value(1950.0))
+                .andExpect(jsonPath("$[1].withdrawId").value(secondWithdrawId.toString()))
+                .andExpect(jsonPath("$[1].state").value("IN_ACCOUNT"))
+                .andExpect(jsonPath("$[1].newWalletBudget").value(2900.0));
+
+        assert withdrawRepository.findById(secondWithdrawId).orElseThrow().getStateEnum() == WithdrawStateEnum.IN_ACCOUNT;
+    }
+
+    @Test
+    @DisplayName("Should fail bulk confirmation if the summed quantities exceed the holding")
+    void testConfirmWithdraws_SummedQuantityExceedsHolding() throws Exception {
+        UUID secondWithdrawId = saveRequestedWithdraw(15.0);
+        WithdrawBulkConfirmationRequestDTO dto = WithdrawBulkConfirmationRequestDTO.builder()
+                .adminEmail("admin@example.com")
+                .adminAccessCode("123456")
+                .withdrawIds(List.of(withdrawId, secondWithdrawId))
+                .build();
+
+        mockMvc.perform(post(WITHDRAW_BASE_URL + "/confirmation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should fail bulk confirmation without withdraw IDs")
+    void testConfirmWithdraws_EmptyIds() throws Exception {
+        WithdrawBulkConfirmationRequestDTO dto = WithdrawBulkConfirmationRequestDTO.builder()
+                .adminEmail("admin@example.com")
+                .adminAccessCode("123456")
+                .withdrawIds(List.of())
+                .build();
+
+        mockMvc.perform(post(WITHDRAW_BASE_URL + "/confirmation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should summarize realized profit and tax of confirmed withdraws")
+    void testGetTaxSummary_AfterConfirmation() throws Exception {
+        WithdrawConfirmationRequestDTO confirmation = WithdrawConfirmationRequestDTO.builder()
+                .adminEmail("admin@example.com")
+                .adminAccessCode("123456")
+                .build();
+        mockMvc.perform(post(WITHDRAW_BASE_URL + "/" + withdrawId + "/confirmation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(confirmation)))
+                .andExpect(status().isOk());
+
+        ClientTaxSummaryRequestDTO dto = ClientTaxSummaryRequestDTO.builder()
+                .accessCode("123456")
+                .build();
+
+        mockMvc.perform(MockMvcRequestBuilders.get(WITHDRAW_BASE_URL + "/" + clientId + "/wallet/tax-summary")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.walletId").value(walletId.toString()))
+                .andExpect(jsonPath("$.year").value(LocalDate.now().getYear()))
+                .andExpect(jsonPath("$.entries.length()").value(1))
+                .andExpect(jsonPath("$.entries[0].assetType").value("STOCK"))
+                .andExpect(jsonPath("$.entries[0].taxPaid").value(10.0))
+                .andExpect(jsonPath("$.entries[0].grossProceeds").value(1000.0))
+                .andExpect(jsonPath("$.entries[0].withdraws").value(1))
+                .andExpect(jsonPath("$.totalTaxPaid").value(10.0));
+    }
+
+    @Test
+    @DisplayName("Should return an empty tax summary for a year without withdraws")
+    void testGetTaxSummary_EmptyYear() throws Exception {
+        ClientTaxSummaryRequestDTO dto = ClientTaxSummaryRequestDTO.builder()
+                .accessCode("123456")
+                .year(2000)
+                .build();
+
+        mockMvc.perform(MockMvcRequestBuilders.get(WITHDRAW_BASE_URL + "/" + clientId + "/wallet/tax-summary")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.year").value(2000))
+                .andExpect(jsonPath("$.entries.length()").value(0))
+                .andExpect(jsonPath("$.totalTaxPaid").value(0.0));
+    }
+
     @Test
     @DisplayName("Should withdraw asset via controller successfully")
     public void testWithdrawAsset_Controller_Success() throws Exception {
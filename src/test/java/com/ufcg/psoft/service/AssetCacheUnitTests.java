@@ -0,0 +1,124 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.dto.asset.AssetCacheMetricsDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetResponseDTO;
+import com.ufcg.psoft.commerce.service.asset.AssetCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Asset Cache Unit Tests")
+class AssetCacheUnitTests {
+
+    private AssetResponseDTO response(UUID id) {
+        return AssetResponseDTO.builder().id(id).name("Asset").build();
+    }
+
+    @Test
+    @DisplayName("Should load once and serve later reads from the cache")
+    void testGetResponse_LoadsOnce() {
+        AssetCache cache = new AssetCache(4);
+        UUID assetId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            cache.getResponse(assetId, id -> { loads.incrementAndGet(); return response(id); });
+        }
+
+        AssetCacheMetricsDTO metrics = cache.getMetrics();
+        assertEquals(1, loads.get());
+        assertEquals(2, metrics.getHits());
+        assertEquals(1, metrics.getMisses());
+    }
+
+    @Test
+    @DisplayName("Should evict entries that were not read again once the capacity is exceeded")
+    void testGetResponse_OverCapacity_EvictsUnreferencedEntry() {
+        AssetCache cache = new AssetCache(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        cache.getResponse(first, this::response);
+        cache.getResponse(second, this::response);
+        cache.getResponse(first, this::response);
+        cache.getResponse(third, this::response);
+
+        AssetCacheMetricsDTO metrics = cache.getMetrics();
+        assertEquals(2, metrics.getResponses());
+        assertEquals(1, metrics.getEvictions());
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.getResponse(first, id -> { loads.incrementAndGet(); return response(id); });
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should drop the asset entries and every listing when an asset is evicted")
+    void testEvict_InvalidatesAssetAndListings() {
+        AssetCache cache = new AssetCache(4);
+        UUID assetId = UUID.randomUUID();
+        AtomicInteger listingLoads = new AtomicInteger();
+
+        cache.getResponse(assetId, this::response);
+        cache.getAvailable(() -> { listingLoads.incrementAndGet(); return List.of(response(assetId)); });
+
+        cache.evict(assetId);
+
+        cache.getAvailable(() -> { listingLoads.incrementAndGet(); return List.of(); });
+        AssetCacheMetricsDTO metrics = cache.getMetrics();
+        assertEquals(2, listingLoads.get());
+        assertEquals(0, metrics.getResponses());
+        assertEquals(2, metrics.getInvalidations());
+    }
+
+    @Test
+    @DisplayName("Should not cache a value loaded before the asset was evicted")
+    void testGetResponse_EvictedWhileLoading_NotCached() {
+        AssetCache cache = new AssetCache(4);
+        UUID assetId = UUID.randomUUID();
+
+        cache.getResponse(assetId, id -> {
+            cache.evict(id);
+            return response(id);
+        });
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.getResponse(assetId, id -> { loads.incrementAndGet(); return response(id); });
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should hand out copies so callers cannot change the cached response")
+    void testGetResponse_ReturnsCopies() {
+        AssetCache cache = new AssetCache(4);
+        UUID assetId = UUID.randomUUID();
+
+        AssetResponseDTO first = cache.getResponse(assetId, this::response);
+        first.setName("Changed");
+
+        AssetResponseDTO second = cache.getResponse(assetId, this::response);
+        assertEquals("Asset", second.getName());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should stay within capacity across repeated evictions and reloads")
+    void testGetResponse_RepeatedEvictions_StaysBounded() {
+        AssetCache cache = new AssetCache(2);
+        List<UUID> assetIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        for (int round = 0; round < 10; round++) {
+            for (UUID assetId : assetIds) {
+                cache.getResponse(assetId, this::response);
+                cache.evict(assetIds.get(round % assetIds.size()));
+            }
+            assertTrue(cache.getMetrics().getResponses() <= 2);
+        }
+    }
+}
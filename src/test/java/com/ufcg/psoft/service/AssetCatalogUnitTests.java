@@ -0,0 +1,112 @@
+package com.ufcg.psoft.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import com.ufcg.psoft.commerce.exception.asset.AssetTypeNotFoundException;
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.model.asset.types.Stock;
+import com.ufcg.psoft.commerce.model.asset.types.TreasuryBounds;
+import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
+import com.ufcg.psoft.commerce.repository.asset.AssetTypeRepository;
+import com.ufcg.psoft.commerce.service.asset.AssetCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Asset Catalog Unit Tests")
+class AssetCatalogUnitTests {
+
+    private AssetRepository assetRepository;
+    private AssetTypeRepository assetTypeRepository;
+    private AssetCatalog assetCatalog;
+    private ObjectMapper objectMapper;
+
+    private AssetModel stockAsset;
+    private AssetModel treasuryAsset;
+
+    @BeforeEach
+    void setUp() {
+        assetRepository = mock(AssetRepository.class);
+        assetTypeRepository = mock(AssetTypeRepository.class);
+        objectMapper = new ObjectMapper();
+
+        assetCatalog = new AssetCatalog();
+        ReflectionTestUtils.setField(assetCatalog, "assetRepository", assetRepository);
+        ReflectionTestUtils.setField(assetCatalog, "assetTypeRepository", assetTypeRepository);
+        ReflectionTestUtils.setField(assetCatalog, "objectMapper", objectMapper);
+
+        Stock stock = new Stock();
+        stock.setId(2L);
+        stock.setName("STOCK");
+        TreasuryBounds treasuryBounds = new TreasuryBounds();
+        treasuryBounds.setId(1L);
+        treasuryBounds.setName("TREASURY_BOUNDS");
+
+        stockAsset = AssetModel.builder().id(UUID.randomUUID()).name("Stock Asset").assetType(stock).isActive(true).quotation(10.0).build();
+        treasuryAsset = AssetModel.builder().id(UUID.randomUUID()).name("Treasury Asset").assetType(treasuryBounds).isActive(true).quotation(20.0).build();
+
+        when(assetTypeRepository.findByName("TREASURY_BOUNDS")).thenReturn(Optional.of(treasuryBounds));
+        when(assetRepository.findByIsActiveTrue()).thenReturn(List.of(stockAsset, treasuryAsset));
+        when(assetRepository.findByIsActiveTrueAndAssetTypeName(AssetTypeEnum.TREASURY_BOUNDS.name())).thenReturn(List.of(treasuryAsset));
+    }
+
+    @Test
+    @DisplayName("Should build a separate serialized catalog per plan")
+    void testGetCatalog_PerPlan() throws Exception {
+        JsonNode premium = objectMapper.readTree(assetCatalog.getCatalog(PlanTypeEnum.PREMIUM));
+        JsonNode normal = objectMapper.readTree(assetCatalog.getCatalog(PlanTypeEnum.NORMAL));
+
+        assertEquals(2, premium.size());
+        assertEquals(1, normal.size());
+        assertEquals("Treasury Asset", normal.get(0).get("name").asText());
+    }
+
+    @Test
+    @DisplayName("Should serve the same bytes until an asset changes")
+    void testGetCatalog_ReusesSnapshotUntilInvalidated() {
+        byte[] first = assetCatalog.getCatalog(PlanTypeEnum.PREMIUM);
+        byte[] second = assetCatalog.getCatalog(PlanTypeEnum.PREMIUM);
+
+        assertSame(first, second);
+        verify(assetRepository, times(1)).findByIsActiveTrue();
+
+        assetCatalog.invalidate();
+        byte[] rebuilt = assetCatalog.getCatalog(PlanTypeEnum.PREMIUM);
+
+        assertNotSame(first, rebuilt);
+        verify(assetRepository, times(2)).findByIsActiveTrue();
+    }
+
+    @Test
+    @DisplayName("Should not publish a catalog whose rebuild was overtaken by an invalidation")
+    void testGetCatalog_InvalidatedDuringRebuild_NotPublished() {
+        when(assetRepository.findByIsActiveTrue()).thenAnswer(invocation -> {
+            assetCatalog.invalidate();
+            return List.of(stockAsset, treasuryAsset);
+        });
+
+        assetCatalog.getCatalog(PlanTypeEnum.PREMIUM);
+        assetCatalog.getCatalog(PlanTypeEnum.PREMIUM);
+
+        verify(assetRepository, times(2)).findByIsActiveTrue();
+    }
+
+    @Test
+    @DisplayName("Should fail when the treasury bounds asset type is missing")
+    void testGetCatalog_MissingTreasuryBoundsType() {
+        when(assetTypeRepository.findByName("TREASURY_BOUNDS")).thenReturn(Optional.empty());
+
+        assertThrows(AssetTypeNotFoundException.class, () -> assetCatalog.getCatalog(PlanTypeEnum.NORMAL));
+        verify(assetRepository, never()).findByIsActiveTrueAndAssetTypeName(any());
+    }
+}
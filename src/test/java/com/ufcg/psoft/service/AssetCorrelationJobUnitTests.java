@@ -0,0 +1,209 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
+import com.ufcg.psoft.commerce.service.asset.correlation.AssetCorrelationJob;
+import com.ufcg.psoft.commerce.service.asset.correlation.CorrelationMatrix;
+import com.ufcg.psoft.commerce.service.asset.history.QuotationHistoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Asset Correlation Job Unit Tests")
+class AssetCorrelationJobUnitTests {
+
+    private static final int LOOKBACK = 50;
+
+    private AssetCorrelationJob assetCorrelationJob;
+    private AssetRepository assetRepository;
+    private QuotationHistoryStore quotationHistoryStore;
+    private final Map<UUID, double[]> closesByAsset = new HashMap<>();
+    private final List<AssetModel> assets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        assetRepository = mock(AssetRepository.class);
+        quotationHistoryStore = mock(QuotationHistoryStore.class);
+        when(assetRepository.findByAssetTypeNameIn(anyCollection())).thenReturn(assets);
+        when(quotationHistoryStore.sampleCloses(any(UUID.class), anyLong(), anyLong(), any(double[].class))).thenAnswer(invocation -> {
+            double[] closes = closesByAsset.get(invocation.<UUID>getArgument(0));
+            if (closes == null) {
+                return false;
+            }
+            System.arraycopy(closes, 0, invocation.<double[]>getArgument(3), 0, closes.length);
+            return true;
+        });
+
+        assetCorrelationJob = new AssetCorrelationJob();
+        ReflectionTestUtils.setField(assetCorrelationJob, "assetRepository", assetRepository);
+        ReflectionTestUtils.setField(assetCorrelationJob, "quotationHistoryStore", quotationHistoryStore);
+        ReflectionTestUtils.setField(assetCorrelationJob, "bucketMillis", 60_000L);
+        ReflectionTestUtils.setField(assetCorrelationJob, "lookbackBuckets", LOOKBACK);
+        ReflectionTestUtils.setField(assetCorrelationJob, "tileSize", 2);
+        ReflectionTestUtils.setField(assetCorrelationJob, "parallelism", 2);
+        assetCorrelationJob.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        assetCorrelationJob.stop();
+    }
+
+    private UUID addAsset(String name, double[] closes) {
+        UUID assetId = UUID.randomUUID();
+        assets.add(AssetModel.builder().id(assetId).name(name).build());
+        if (closes != null) {
+            closesByAsset.put(assetId, closes);
+        }
+        return assetId;
+    }
+
+    private static double[] randomWalk(Random random) {
+        double[] closes = new double[LOOKBACK + 1];
+        closes[0] = 100;
+        for (int i = 1; i < closes.length; i++) {
+            closes[i] = closes[i - 1] * (1 + random.nextGaussian() * 0.02);
+        }
+        return closes;
+    }
+
+    @Test
+    @DisplayName("Should find perfectly correlated and anti-correlated assets")
+    void testRefresh_PerfectCorrelations() {
+        double[] base = randomWalk(new Random(7));
+        double[] scaled = new double[base.length];
+        double[] mirrored = new double[base.length];
+        for (int i = 0; i < base.length; i++) {
+            scaled[i] = base[i] * 3;
+            mirrored[i] = i == 0 ? 100 : mirrored[i - 1] * (1 - (base[i] - base[i - 1]) / base[i - 1]);
+        }
+        addAsset("A", base);
+        addAsset("B", scaled);
+        addAsset("C", mirrored);
+
+        assertTrue(assetCorrelationJob.refresh());
+
+        CorrelationMatrix matrix = assetCorrelationJob.getLatest();
+        assertEquals(3, matrix.assetIds().size());
+        assertEquals(LOOKBACK, matrix.returns());
+        assertEquals(1.0, matrix.get(0, 0), 1e-12);
+        assertEquals(1.0, matrix.get(0, 1), 1e-9);
+        assertEquals(-1.0, matrix.get(0, 2), 1e-9);
+        assertEquals(matrix.get(2, 1), matrix.get(1, 2));
+    }
+
+    @Test
+    @DisplayName("Should match a naive pairwise computation across tiles")
+    void testRefresh_MatchesNaivePairwise() {
+        Random random = new Random(11);
+        List<double[]> series = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            double[] closes = randomWalk(random);
+            series.add(closes);
+            addAsset("Asset " + i, closes);
+        }
+
+        assetCorrelationJob.refresh();
+        CorrelationMatrix matrix = assetCorrelationJob.getLatest();
+
+        for (int i = 0; i < series.size(); i++) {
+            for (int j = 0; j < series.size(); j++) {
+                assertEquals(pearson(series.get(i), series.get(j)), matrix.get(i, j), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave out assets without history or without any movement")
+    void testRefresh_SkipsFlatAndMissingAssets() {
+        double[] flat = new double[LOOKBACK + 1];
+        Arrays.fill(flat, 50.0);
+        UUID moving = addAsset("Moving", randomWalk(new Random(3)));
+        addAsset("Flat", flat);
+        addAsset("Missing", null);
+
+        assetCorrelationJob.refresh();
+
+        assertEquals(List.of(moving), assetCorrelationJob.getLatest().assetIds());
+    }
+
+    @Test
+    @DisplayName("Should keep the cached matrix until a new tick arrives")
+    void testRefresh_OnlyAfterTicks() {
+        addAsset("A", randomWalk(new Random(5)));
+
+        assertTrue(assetCorrelationJob.refresh());
+        assertFalse(assetCorrelationJob.refresh());
+        verify(assetRepository, times(1)).findByAssetTypeNameIn(anyCollection());
+
+        assetCorrelationJob.onQuotationUpdate(UUID.randomUUID(), System.currentTimeMillis(), 10.0);
+        assertTrue(assetCorrelationJob.refresh());
+        verify(assetRepository, times(2)).findByAssetTypeNameIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should leave out an asset with a zero close instead of producing NaN correlations")
+    void testRefresh_SkipsZeroCloses() {
+        double[] zeroed = randomWalk(new Random(13));
+        zeroed[LOOKBACK / 2] = 0.0;
+        UUID moving = addAsset("Moving", randomWalk(new Random(17)));
+        addAsset("Zeroed", zeroed);
+
+        assetCorrelationJob.refresh();
+
+        CorrelationMatrix matrix = assetCorrelationJob.getLatest();
+        assertEquals(List.of(moving), matrix.assetIds());
+        assertFalse(Double.isNaN(matrix.get(0, 0)));
+    }
+
+    @Test
+    @DisplayName("Should run scheduled refreshes on the job's own thread")
+    void testRequestRefresh_RunsInBackground() throws InterruptedException {
+        UUID assetId = addAsset("A", randomWalk(new Random(19)));
+
+        assetCorrelationJob.requestRefresh();
+
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (assetCorrelationJob.getLatest().assetIds().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(assetId), assetCorrelationJob.getLatest().assetIds());
+    }
+
+    private static double pearson(double[] leftCloses, double[] rightCloses) {
+        int n = leftCloses.length - 1;
+        double[] left = new double[n];
+        double[] right = new double[n];
+        double leftMean = 0;
+        double rightMean = 0;
+        for (int k = 0; k < n; k++) {
+            left[k] = (leftCloses[k + 1] - leftCloses[k]) / leftCloses[k];
+            right[k] = (rightCloses[k + 1] - rightCloses[k]) / rightCloses[k];
+            leftMean += left[k] / n;
+            rightMean += right[k] / n;
+        }
+        double covariance = 0;
+        double leftSquares = 0;
+        double rightSquares = 0;
+        for (int k = 0; k < n; k++) {
+            covariance += (left[k] - leftMean) * (right[k] - rightMean);
+            leftSquares += (left[k] - leftMean) * (left[k] - leftMean);
+            rightSquares += (right[k] - rightMean) * (right[k] - rightMean);
+        }
+        return covariance / Math.sqrt(leftSquares * rightSquares);
+    }
+}
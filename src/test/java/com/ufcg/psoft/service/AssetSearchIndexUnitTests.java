@@ -0,0 +1,135 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.model.asset.types.Stock;
+import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
+import com.ufcg.psoft.commerce.service.asset.search.AssetSearchIndex;
+import com.ufcg.psoft.commerce.service.asset.search.IndexedAsset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Asset Search Index Unit Tests")
+class AssetSearchIndexUnitTests {
+
+    private AssetSearchIndex assetSearchIndex;
+
+    private UUID petrobras;
+    private UUID bitcoin;
+    private UUID tesouro;
+
+    @BeforeEach
+    void setUp() {
+        assetSearchIndex = new AssetSearchIndex();
+        petrobras = index("Petrobras PN", "Ações preferenciais da Petrobras", AssetTypeEnum.STOCK, true);
+        bitcoin = index("Bitcoin", "Criptomoeda descentralizada", AssetTypeEnum.CRYPTO, true);
+        tesouro = index("Tesouro Selic 2029", "Título público pós-fixado", AssetTypeEnum.TREASURY_BOUNDS, true);
+    }
+
+    private UUID index(String name, String description, AssetTypeEnum assetType, boolean active) {
+        UUID id = UUID.randomUUID();
+        assetSearchIndex.index(new IndexedAsset(id, name, description, assetType.name(), active));
+        return id;
+    }
+
+    @Test
+    @DisplayName("Should match query terms as prefixes of name and description tokens")
+    void testSearch_PrefixMatch() {
+        assertEquals(List.of(petrobras), assetSearchIndex.search("petro", null, PlanTypeEnum.PREMIUM, 10));
+        assertEquals(List.of(bitcoin), assetSearchIndex.search("descent", null, PlanTypeEnum.PREMIUM, 10));
+    }
+
+    @Test
+    @DisplayName("Should ignore case and accents in queries and documents")
+    void testSearch_CaseAndAccentInsensitive() {
+        assertEquals(List.of(petrobras), assetSearchIndex.search("ACOES", null, PlanTypeEnum.PREMIUM, 10));
+        assertEquals(List.of(tesouro), assetSearchIndex.search("título", null, PlanTypeEnum.PREMIUM, 10));
+    }
+
+    @Test
+    @DisplayName("Should require every query term to match")
+    void testSearch_AllTermsRequired() {
+        assertEquals(List.of(tesouro), assetSearchIndex.search("tesouro 2029", null, PlanTypeEnum.PREMIUM, 10));
+        assertTrue(assetSearchIndex.search("tesouro bitcoin", null, PlanTypeEnum.PREMIUM, 10).isEmpty());
+        assertTrue(assetSearchIndex.search("  ", null, PlanTypeEnum.PREMIUM, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches and honour the limit")
+    void testSearch_RanksNameMatchesFirst() {
+        UUID described = index("Fundo Imobiliário", "Carteira com exposição a Petrobras", AssetTypeEnum.STOCK, true);
+
+        assertEquals(List.of(petrobras, described), assetSearchIndex.search("petrobras", null, PlanTypeEnum.PREMIUM, 10));
+        assertEquals(List.of(petrobras), assetSearchIndex.search("petrobras", null, PlanTypeEnum.PREMIUM, 1));
+    }
+
+    @Test
+    @DisplayName("Should only show treasury bounds to normal plan clients and filter by asset type")
+    void testSearch_PlanVisibilityAndTypeFilter() {
+        UUID tesouroIpca = index("Tesouro IPCA", "Título público atrelado à inflação", AssetTypeEnum.TREASURY_BOUNDS, true);
+
+        assertEquals(List.of(tesouroIpca, tesouro), assetSearchIndex.search("t", null, PlanTypeEnum.NORMAL, 10));
+        assertTrue(assetSearchIndex.search("bitcoin", null, PlanTypeEnum.NORMAL, 10).isEmpty());
+        assertEquals(List.of(bitcoin), assetSearchIndex.search("c", AssetTypeEnum.CRYPTO, PlanTypeEnum.PREMIUM, 10));
+    }
+
+    @Test
+    @DisplayName("Should follow activation changes and removals")
+    void testIndex_ActivationAndRemoval() {
+        assetSearchIndex.index(new IndexedAsset(bitcoin, "Bitcoin", "Criptomoeda descentralizada", AssetTypeEnum.CRYPTO.name(), false));
+        assertTrue(assetSearchIndex.search("bitcoin", null, PlanTypeEnum.PREMIUM, 10).isEmpty());
+
+        assetSearchIndex.index(new IndexedAsset(bitcoin, "Bitcoin", "Criptomoeda descentralizada", AssetTypeEnum.CRYPTO.name(), true));
+        assertEquals(List.of(bitcoin), assetSearchIndex.search("bitcoin", null, PlanTypeEnum.PREMIUM, 10));
+
+        assetSearchIndex.remove(petrobras);
+        assertTrue(assetSearchIndex.search("petro", null, PlanTypeEnum.PREMIUM, 10).isEmpty());
+        assertTrue(assetSearchIndex.search("acoes", null, PlanTypeEnum.PREMIUM, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should drop tokens that are no longer in a renamed asset")
+    void testIndex_Rename_ReplacesTokens() {
+        assetSearchIndex.index(new IndexedAsset(bitcoin, "Ethereum", "Plataforma de contratos", AssetTypeEnum.CRYPTO.name(), true));
+
+        assertTrue(assetSearchIndex.search("bitcoin", null, PlanTypeEnum.PREMIUM, 10).isEmpty());
+        assertEquals(List.of(bitcoin), assetSearchIndex.search("ether contr", null, PlanTypeEnum.PREMIUM, 10));
+    }
+
+    @Test
+    @DisplayName("Should keep a write indexed while the rebuild was reading the repository")
+    void testRebuild_ConcurrentIndex_Survives() throws InterruptedException {
+        AssetRepository assetRepository = mock(AssetRepository.class);
+        ReflectionTestUtils.setField(assetSearchIndex, "assetRepository", assetRepository);
+        AssetModel persisted = AssetModel.builder()
+                .id(petrobras)
+                .name("Petrobras PN")
+                .description("Ações preferenciais da Petrobras")
+                .assetType(new Stock())
+                .isActive(true)
+                .build();
+        UUID vale = UUID.randomUUID();
+        Thread writer = new Thread(() -> assetSearchIndex.index(new IndexedAsset(vale, "Vale ON", "Mineração", AssetTypeEnum.STOCK.name(), true)));
+        when(assetRepository.findAll()).thenAnswer(invocation -> {
+            writer.start();
+            writer.join(200);
+            return List.of(persisted);
+        });
+
+        assetSearchIndex.rebuild();
+        writer.join();
+
+        assertEquals(List.of(vale), assetSearchIndex.search("vale", null, PlanTypeEnum.PREMIUM, 10));
+        assertEquals(List.of(petrobras), assetSearchIndex.search("petrobras", null, PlanTypeEnum.PREMIUM, 10));
+        assertTrue(assetSearchIndex.search("bitcoin", null, PlanTypeEnum.PREMIUM, 10).isEmpty());
+    }
+}
@@ -4,8 +4,12 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
 import com.ufcg.psoft.commerce.dto.asset.*;
+import com.ufcg.psoft.commerce.dto.client.ClientMarkInterestInAssetRequestDTO;
 import com.ufcg.psoft.commerce.enums.AssetTypeEnum;
+import com.ufcg.psoft.commerce.enums.CandleResolutionEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
 import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
 import com.ufcg.psoft.commerce.exception.asset.*;
 import com.ufcg.psoft.commerce.exception.notification.EventManagerNotSetException;
@@ -14,21 +18,38 @@ import com.ufcg.psoft.commerce.model.asset.AssetModel;
 import com.ufcg.psoft.commerce.model.asset.AssetType;
 import com.ufcg.psoft.commerce.model.asset.types.Stock;
 import com.ufcg.psoft.commerce.model.asset.types.TreasuryBounds;
+import com.ufcg.psoft.commerce.model.observer.PriceVariationWindow;
 import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
 import com.ufcg.psoft.commerce.repository.asset.AssetTypeRepository;
 import com.ufcg.psoft.commerce.service.admin.AdminService;
 import com.ufcg.psoft.commerce.service.asset.AssetService;
+import com.ufcg.psoft.commerce.service.asset.AssetCache;
+import com.ufcg.psoft.commerce.service.asset.AssetCatalog;
 import com.ufcg.psoft.commerce.service.asset.AssetServiceImpl;
-
+import com.ufcg.psoft.commerce.service.asset.history.CandleAggregator;
+import com.ufcg.psoft.commerce.service.asset.correlation.AssetCorrelationJob;
+import com.ufcg.psoft.commerce.service.asset.correlation.CorrelationMatrix;
+import com.ufcg.psoft.commerce.service.asset.history.QuotationHistoryStore;
+import com.ufcg.psoft.commerce.service.asset.history.ReturnStatistics;
+
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationRegister;
+import com.ufcg.psoft.commerce.service.asset.search.AssetSearchIndex;
+import com.ufcg.psoft.commerce.service.etag.ETagRegistry;
 import com.ufcg.psoft.commerce.service.observer.EventManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -42,6 +63,11 @@ class AssetServiceUnitTests {
     private AssetService assetService;
     private ModelMapper modelMapper;
     private EventManager assetEventManager;
+    private QuotationHistoryStore quotationHistoryStore;
+    private CandleAggregator candleAggregator;
+    private ETagRegistry eTagRegistry;
+    private QuotationRegister quotationRegister;
+    private ReturnStatistics returnStatistics;
 
     private UUID assetId;
     private AssetModel asset;
@@ -59,6 +85,11 @@ class AssetServiceUnitTests {
         assetTypeRepository = mock(AssetTypeRepository.class);
         adminService = mock(AdminService.class);
         assetEventManager = mock(EventManager.class);
+        quotationHistoryStore = mock(QuotationHistoryStore.class);
+        candleAggregator = mock(CandleAggregator.class);
+        eTagRegistry = new ETagRegistry();
+        quotationRegister = new QuotationRegister();
+        returnStatistics = new ReturnStatistics();
 
         assetService = new AssetServiceImpl();
         modelMapper = new ModelMapper();
@@ -68,6 +99,14 @@ class AssetServiceUnitTests {
         ReflectionTestUtils.setField(assetService, "adminService", adminService);
         ReflectionTestUtils.setField(assetService, "modelMapper", modelMapper);
         ReflectionTestUtils.setField(assetService, "assetEventManager", assetEventManager);
+        ReflectionTestUtils.setField(assetService, "quotationHistoryStore", quotationHistoryStore);
+        ReflectionTestUtils.setField(assetService, "candleAggregator", candleAggregator);
+        ReflectionTestUtils.setField(assetService, "quotationUpdateListeners", List.of(quotationHistoryStore, candleAggregator, returnStatistics));
+        ReflectionTestUtils.setField(assetService, "assetCache", new AssetCache(16));
+        ReflectionTestUtils.setField(assetService, "eTagRegistry", eTagRegistry);
+        ReflectionTestUtils.setField(assetService, "assetCatalog", mock(AssetCatalog.class));
+        ReflectionTestUtils.setField(assetService, "quotationRegister", quotationRegister);
+        ReflectionTestUtils.setField(assetService, "returnStatistics", returnStatistics);
 
         assetId = UUID.randomUUID();
         asset = AssetModel.builder()
@@ -400,7 +439,77 @@ class AssetServiceUnitTests {
         var response = assetService.updateQuotation(assetId, dto);
 
         assertEquals(105.0, response.getQuotation());
-        verify(assetRepository).save(asset);
+        assertEquals(105.0, quotationRegister.read(assetId).quotation());
+        assertEquals(List.of(assetId), quotationRegister.drainDirty(10));
+        verify(assetRepository, never()).save(any(AssetModel.class));
+        verify(quotationHistoryStore).onQuotationUpdate(eq(assetId), anyLong(), eq(105.0));
+        verify(candleAggregator).onQuotationUpdate(eq(assetId), anyLong(), eq(105.0));
+    }
+
+    @Test
+    @DisplayName("Should validate consecutive updates against the live quotation instead of the stale column")
+    void testUpdateQuotation_ValidatesAgainstLiveQuotation() {
+        AssetQuotationUpdateDTO first = AssetQuotationUpdateDTO.builder()
+                .quotation(110.0)
+                .adminEmail("admin@example.com")
+                .adminAccessCode("secret")
+                .build();
+        AssetQuotationUpdateDTO second = AssetQuotationUpdateDTO.builder()
+                .quotation(110.5)
+                .adminEmail("admin@example.com")
+                .adminAccessCode("secret")
+                .build();
+
+        assetService.updateQuotation(assetId, first);
+
+        assertThrows(InvalidQuotationVariationException.class, () -> assetService.updateQuotation(assetId, second));
+        assertEquals(110.0, quotationRegister.read(assetId).quotation());
+        assertEquals(100.0, asset.getQuotation());
+        verify(assetEventManager).notifyPriceVariation(assetId, 100.0, 110.0);
+    }
+
+    @Test
+    @DisplayName("Should only publish the quotation to the register once the transaction commits")
+    void testUpdateQuotation_RolledBack_IsNotPublished() {
+        AssetQuotationUpdateDTO dto = AssetQuotationUpdateDTO.builder()
+                .quotation(110.0)
+                .adminEmail("admin@example.com")
+                .adminAccessCode("secret")
+                .build();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assetService.updateQuotation(assetId, dto);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(100.0, quotationRegister.read(assetId).quotation());
+        assertEquals(0, quotationRegister.getPendingFlushes());
+        verify(quotationHistoryStore, never()).onQuotationUpdate(any(), anyLong(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Should fold every quotation update into the asset's return statistics")
+    void testGetStatistics_AfterQuotationUpdates() {
+        assertNull(assetService.getStatistics(assetId));
+
+        returnStatistics.onQuotationUpdate(assetId, 0, 100.0);
+        for (double quotation : new double[]{110.0, 99.0}) {
+            assetService.updateQuotation(assetId, AssetQuotationUpdateDTO.builder()
+                    .quotation(quotation)
+                    .adminEmail("admin@example.com")
+                    .adminAccessCode("secret")
+                    .build());
+        }
+
+        AssetStatisticsDTO statistics = assetService.getStatistics(assetId);
+        assertEquals(2, statistics.getReturns());
+        assertEquals(0.0, statistics.getMeanReturn(), 1e-12);
+        assertEquals(0.02, statistics.getReturnVariance(), 1e-12);
+        assertEquals(0.1, statistics.getMaxDrawdown(), 1e-12);
     }
 
     @Test
@@ -636,6 +745,7 @@ class AssetServiceUnitTests {
 
         assertDoesNotThrow(() -> assetService.delete(assetId, deleteDto));
         verify(assetRepository).delete(persistedAsset);
+        verify(quotationHistoryStore).onAssetDeleted(assetId);
     }
 
     @Test
@@ -688,40 +798,6 @@ class AssetServiceUnitTests {
                 assetService.getAssetById(invalidId));
     }
 
-    @Test
-    @DisplayName("Should get all active assets from a specific type successfully")
-    void testGetActiveAssetsByAssetType() {
-        AssetType mockAssetType = mock(AssetType.class);
-
-        AssetModel asset1 = new AssetModel();
-        asset1.setName("Active Asset");
-        asset1.setActive(true);
-        asset1.setAssetType(mockAssetType);
-
-        AssetModel asset2 = new AssetModel();
-        asset2.setName("Inactive Asset");
-        asset2.setActive(false);
-        asset2.setAssetType(mockAssetType);
-
-        AssetModel asset3 = new AssetModel();
-        asset3.setName("Other type of Asset");
-        asset3.setActive(true);
-        asset3.setAssetType(mock(AssetType.class));
-
-        List<AssetModel> allAssets = List.of(asset1, asset2, asset3);
-
-        when(assetRepository.findByAssetType(mockAssetType)).thenReturn(
-                allAssets.stream()
-                        .filter(mockAsset -> mockAsset.getAssetType() == mockAssetType)
-                        .toList()
-        );
-
-        List<AssetResponseDTO> result = assetService.getActiveAssetsByAssetType(mockAssetType);
-
-        assertEquals(1, result.size());
-        assertEquals("Active Asset", result.get(0).getName());
-    }
-
     @Test
     @DisplayName("Should return only active available assets")
     void testGetAvailableAssets_ReturnsOnlyActiveAssets() {
@@ -800,6 +876,22 @@ class AssetServiceUnitTests {
         verify(assetRepository).save(asset);
     }
 
+    @Test
+    @DisplayName("Should publish activation changes to the quotation listeners")
+    void testSetIsActive_PublishesActivationChange() {
+        AssetActivationPatchRequestDTO dto = AssetActivationPatchRequestDTO.builder()
+                .adminEmail("admin@example.com")
+                .adminAccessCode("valid_code")
+                .isActive(true)
+                .build();
+        when(assetRepository.save(any(AssetModel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assetService.setIsActive(assetId, dto);
+
+        verify(quotationHistoryStore).onActivationChange(eq(assetId), anyLong(), eq(true));
+        verify(candleAggregator).onActivationChange(eq(assetId), anyLong(), eq(true));
+    }
+
     @Test
     @DisplayName("Should throw exception when activating with incorrect email")
     void testShouldThrowExceptionWithInvalidEmail() {
@@ -972,12 +1064,12 @@ class AssetServiceUnitTests {
         assetService.updateQuotation(assetId, dto);
 
         verify(assetEventManager, times(1))
-                .notifySubscribersByType(assetId, SubscriptionTypeEnum.PRICE_VARIATION);
+                .notifyPriceVariation(assetId, 100.0, 120.0);
     }
 
     @Test
-    @DisplayName("Should not notify subscribers when quotation changes less than 10%")
-    void testUpdateQuotation_DoNotNotifySubscribers_WhenVariationBelow10Percent() {
+    @DisplayName("Should hand small quotation changes to the event manager so subscriber thresholds decide")
+    void testUpdateQuotation_HandsSmallVariationToEventManager() {
         AssetQuotationUpdateDTO dto = AssetQuotationUpdateDTO.builder()
                 .quotation(105.0) // 5% increase
                 .adminEmail("admin@example.com")
@@ -990,6 +1082,8 @@ class AssetServiceUnitTests {
 
         verify(assetEventManager, never())
                 .notifySubscribersByType(any(), any());
+        verify(assetEventManager, times(1))
+                .notifyPriceVariation(assetId, 100.0, 105.0);
     }
 
     @Test
@@ -1007,7 +1101,7 @@ class AssetServiceUnitTests {
         assetService.setIsActive(assetId, dto);
 
         verify(assetEventManager, times(1))
-                .notifySubscribersByType(assetId, SubscriptionTypeEnum.AVAILABILITY);
+                .notifyAvailability(assetId);
     }
 
     @Test
@@ -1027,6 +1121,8 @@ class AssetServiceUnitTests {
 
         verify(assetEventManager, never())
                 .notifySubscribersByType(any(), any());
+        verify(assetEventManager, never())
+                .notifyAvailability(any());
     }
 
     @Test
@@ -1081,6 +1177,8 @@ class AssetServiceUnitTests {
 
         verify(assetEventManager, never())
                 .notifySubscribersByType(any(), any());
+        verify(assetEventManager, never())
+                .notifyAvailability(any());
     }
 
     @Test
@@ -1127,8 +1225,8 @@ class AssetServiceUnitTests {
     }
 
     @Test
-    @DisplayName("Should not notify when variation is less than 10%")
-    void testUpdateQuotation_SmallVariation_NoNotification() {
+    @DisplayName("Should report every quotation change regardless of its size")
+    void testUpdateQuotation_SmallVariation_ReportsToEventManager() {
         double initialPrice = 100.0;
         asset.setQuotation(initialPrice);
         double newPrice = 101.0;
@@ -1137,6 +1235,7 @@ class AssetServiceUnitTests {
 
         assertEquals(newPrice, asset.getQuotation());
         verify(assetEventManager, never()).notifySubscribersByType(any(), any());
+        verify(assetEventManager, times(1)).notifyPriceVariation(asset.getId(), initialPrice, newPrice);
     }
 
     @Test
@@ -1148,6 +1247,7 @@ class AssetServiceUnitTests {
 
         assertFalse(asset.isActive());
         verify(assetEventManager, never()).notifySubscribersByType(any(), any());
+        verify(assetEventManager, never()).notifyAvailability(any());
     }
 
     @Test
@@ -1164,4 +1264,230 @@ class AssetServiceUnitTests {
         assertThrows(AssetIsNotStockNeitherCryptoException.class, () ->
                 asset.subscribe(UUID.randomUUID(), SubscriptionTypeEnum.PRICE_VARIATION));
     }
+
+    @Test
+    @DisplayName("Should apply a batch of ticks with one lookup, one save and one notification pass")
+    @SuppressWarnings("unchecked")
+    void testUpdateQuotations_AppliesBatchAndConsolidatesNotifications() {
+        UUID otherAssetId = UUID.randomUUID();
+        AssetModel otherAsset = AssetModel.builder()
+                .id(otherAssetId)
+                .name("Other Asset")
+                .quotation(50.0)
+                .quotaQuantity(10.0)
+                .assetType(mockStockType())
+                .build();
+        when(assetRepository.findAllById(anyCollection())).thenReturn(List.of(asset, otherAsset));
+
+        AssetQuotationBatchUpdateDTO dto = AssetQuotationBatchUpdateDTO.builder()
+                .ticks(List.of(
+                        new AssetQuotationTickDTO(assetId, 110.0),
+                        new AssetQuotationTickDTO(otherAssetId, 60.0),
+                        new AssetQuotationTickDTO(assetId, 120.0)
+                ))
+                .adminEmail("admin@example.com")
+                .adminAccessCode("secret")
+                .build();
+
+        AssetQuotationBatchResponseDTO response = assetService.updateQuotations(dto);
+
+        assertEquals(2, response.getUpdated().size());
+        assertTrue(response.getRejected().isEmpty());
+        assertEquals(120.0, asset.getQuotation());
+        assertEquals(60.0, otherAsset.getQuotation());
+
+        verify(adminService, times(1)).validateAdmin("admin@example.com", "secret");
+        verify(assetRepository, times(1)).findAllById(anyCollection());
+        verify(assetRepository, never()).saveAll(anyList());
+        verify(assetRepository, never()).save(any(AssetModel.class));
+        assertEquals(120.0, quotationRegister.read(assetId).quotation());
+        assertEquals(60.0, quotationRegister.read(otherAssetId).quotation());
+
+        ArgumentCaptor<Collection<PriceVariationWindow>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(assetEventManager, times(1)).notifyPriceVariations(captor.capture());
+        verify(assetEventManager, never()).notifyPriceVariation(any(), anyDouble(), anyDouble());
+
+        PriceVariationWindow window = captor.getValue().stream()
+                .filter(w -> w.getAssetId().equals(assetId))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(100.0, window.getFirstQuotation());
+        assertEquals(120.0, window.getLastQuotation());
+        assertEquals(2, window.getMergedEvents());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown assets and small variations without failing the whole batch")
+    void testUpdateQuotations_RejectsInvalidTicks() {
+        UUID unknownId = UUID.randomUUID();
+        when(assetRepository.findAllById(anyCollection())).thenReturn(List.of(asset));
+
+        AssetQuotationBatchUpdateDTO dto = AssetQuotationBatchUpdateDTO.builder()
+                .ticks(List.of(
+                        new AssetQuotationTickDTO(unknownId, 10.0),
+                        new AssetQuotationTickDTO(assetId, 100.5)
+                ))
+                .adminEmail("admin@example.com")
+                .adminAccessCode("secret")
+                .build();
+
+        AssetQuotationBatchResponseDTO response = assetService.updateQuotations(dto);
+
+        assertTrue(response.getUpdated().isEmpty());
+        assertEquals(2, response.getRejected().size());
+        assertEquals(unknownId, response.getRejected().get(0).getAssetId());
+        assertEquals(100.0, asset.getQuotation());
+        verify(assetRepository, never()).saveAll(anyList());
+        verify(assetEventManager, never()).notifyPriceVariations(any());
+    }
+
+    @Test
+    @DisplayName("Should validate the admin before touching any asset in the batch")
+    void testUpdateQuotations_UnauthorizedAdmin() {
+        AssetQuotationBatchUpdateDTO dto = AssetQuotationBatchUpdateDTO.builder()
+                .ticks(List.of(new AssetQuotationTickDTO(assetId, 110.0)))
+                .adminEmail("admin@example.com")
+                .adminAccessCode("wrong")
+                .build();
+
+        doThrow(new UnauthorizedUserAccessException("Unauthorized admin access"))
+                .when(adminService).validateAdmin("admin@example.com", "wrong");
+
+        assertThrows(UnauthorizedUserAccessException.class, () -> assetService.updateQuotations(dto));
+        verify(assetRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should read the quotation history from the store within the requested range")
+    void testGetQuotationHistory_ReadsFromStore() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 10, 0);
+        LocalDateTime to = from.plusHours(1);
+        long fromMillis = from.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        when(quotationHistoryStore.range(eq(assetId), eq(fromMillis), anyLong(), eq(50)))
+                .thenReturn(List.of(new QuotationHistoryStore.QuotationPoint(fromMillis, 100.0),
+                        new QuotationHistoryStore.QuotationPoint(fromMillis + 1000, 110.0)));
+
+        AssetQuotationHistoryResponseDTO response = assetService.getQuotationHistory(assetId, from, to, 50);
+
+        assertEquals(2, response.getPoints().size());
+        assertEquals(from, response.getPoints().get(0).getTimestamp());
+        assertEquals(110.0, response.getPoints().get(1).getQuotation());
+    }
+
+    @Test
+    @DisplayName("Should reject the quotation history of an unknown asset without touching the store")
+    void testGetQuotationHistory_UnknownAsset() {
+        UUID unknownId = UUID.randomUUID();
+        when(assetRepository.findById(unknownId)).thenReturn(Optional.empty());
+
+        assertThrows(AssetNotFoundException.class, () -> assetService.getQuotationHistory(unknownId, null, null, null));
+        verify(quotationHistoryStore, never()).range(any(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject a quotation history range whose start is after its end")
+    void testGetQuotationHistory_InvalidRange() {
+        LocalDateTime to = LocalDateTime.now();
+
+        assertThrows(InvalidQuotationHistoryRangeException.class, () ->
+                assetService.getQuotationHistory(assetId, to.plusMinutes(1), to, null));
+        verify(quotationHistoryStore, never()).range(any(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should map the aggregated candles of the requested resolution")
+    void testGetCandles_MapsAggregatedCandles() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 10, 0);
+        long openTime = from.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        when(candleAggregator.candles(eq(assetId), eq(CandleResolutionEnum.ONE_HOUR), eq(openTime), anyLong()))
+                .thenReturn(List.of(new CandleAggregator.Candle(openTime, 100.0, 120.0, 90.0, 110.0, 4)));
+
+        AssetCandlesResponseDTO response = assetService.getCandles(assetId, CandleResolutionEnum.ONE_HOUR, from, from.plusHours(2));
+
+        assertEquals(1, response.getCandles().size());
+        assertEquals(from, response.getCandles().get(0).getOpenTime());
+        assertEquals(120.0, response.getCandles().get(0).getHigh());
+        assertEquals(4, response.getCandles().get(0).getUpdates());
+    }
+
+    @Test
+    @DisplayName("Should throw AssetNotFoundException for candles of an unknown asset")
+    void testGetCandles_UnknownAsset() {
+        UUID unknownId = UUID.randomUUID();
+        when(assetRepository.findById(unknownId)).thenReturn(Optional.empty());
+
+        assertThrows(AssetNotFoundException.class, () -> assetService.getCandles(unknownId, CandleResolutionEnum.ONE_HOUR, null, null));
+        verify(candleAggregator, never()).candles(any(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated asset detail reads from the cache")
+    void testGetAssetById_SecondReadHitsCache() {
+        assetService.getAssetById(assetId);
+        AssetResponseDTO response = assetService.getAssetById(assetId);
+
+        assertEquals(assetId, response.getId());
+        verify(assetRepository, times(1)).findById(assetId);
+    }
+
+    @Test
+    @DisplayName("Should materialize search hits through the asset cache and skip assets deleted since indexing")
+    void testSearchAssets_SkipsDeletedHits() {
+        AssetSearchIndex assetSearchIndex = mock(AssetSearchIndex.class);
+        ReflectionTestUtils.setField(assetService, "assetSearchIndex", assetSearchIndex);
+        when(assetSearchIndex.search("petro", null, PlanTypeEnum.PREMIUM, 10))
+                .thenReturn(List.of(assetId, UUID.randomUUID()));
+
+        List<AssetResponseDTO> results = assetService.searchAssets("petro", null, PlanTypeEnum.PREMIUM, 10);
+
+        assertEquals(1, results.size());
+        assertEquals(assetId, results.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should reuse the cached snapshot when subscribing to the same asset twice")
+    void testSubscribeToAsset_ReusesCachedSnapshot() {
+        asset.setActive(true);
+        ClientMarkInterestInAssetRequestDTO dto = ClientMarkInterestInAssetRequestDTO.builder()
+                .assetId(assetId)
+                .build();
+
+        assetService.subscribeToAsset(UUID.randomUUID(), dto, SubscriptionTypeEnum.PRICE_VARIATION);
+        assetService.subscribeToAsset(UUID.randomUUID(), dto, SubscriptionTypeEnum.PRICE_VARIATION);
+
+        verify(assetRepository, times(1)).findById(assetId);
+        verify(assetEventManager, times(2)).subscribeToAssetEvent(eq(assetId), any(), eq(SubscriptionTypeEnum.PRICE_VARIATION), any());
+    }
+
+    @Test
+    @DisplayName("Should report cache metrics only to a valid admin")
+    void testGetCacheMetrics_ReportsHitsAndMisses() {
+        assetService.getAssetById(assetId);
+        assetService.getAssetById(assetId);
+
+        AssetCacheMetricsDTO metrics = assetService.getCacheMetrics(new AdminAccessRequestDTO("admin@example.com", "secret"));
+
+        verify(adminService).validateAdmin("admin@example.com", "secret");
+        assertTrue(metrics.getHits() >= 1);
+        assertTrue(metrics.getMisses() >= 1);
+        assertTrue(metrics.getHitRatio() > 0);
+    }
+
+    @Test
+    @DisplayName("Should serve the cached correlation matrix row by row to a valid admin")
+    void testGetCorrelationMatrix_SplitsRows() {
+        AssetCorrelationJob assetCorrelationJob = mock(AssetCorrelationJob.class);
+        ReflectionTestUtils.setField(assetService, "assetCorrelationJob", assetCorrelationJob);
+        UUID otherId = UUID.randomUUID();
+        when(assetCorrelationJob.getLatest()).thenReturn(new CorrelationMatrix(
+                LocalDateTime.now(), 60_000L, 240, List.of(assetId, otherId), List.of("Test Asset", "Other"),
+                new double[]{1.0, -0.5, -0.5, 1.0}));
+
+        AssetCorrelationMatrixResponseDTO response = assetService.getCorrelationMatrix(new AdminAccessRequestDTO("admin@example.com", "secret"));
+
+        verify(adminService).validateAdmin("admin@example.com", "secret");
+        assertEquals(List.of(assetId, otherId), response.getAssetIds());
+        assertArrayEquals(new double[]{1.0, -0.5}, response.getCorrelations()[0]);
+        assertArrayEquals(new double[]{-0.5, 1.0}, response.getCorrelations()[1]);
+    }
 }
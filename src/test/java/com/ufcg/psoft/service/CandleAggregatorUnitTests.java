@@ -0,0 +1,131 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.enums.CandleResolutionEnum;
+import com.ufcg.psoft.commerce.service.asset.history.CandleAggregator;
+import com.ufcg.psoft.commerce.service.asset.history.CandleAggregator.Candle;
+import com.ufcg.psoft.commerce.service.asset.history.QuotationHistoryStore;
+import com.ufcg.psoft.commerce.service.asset.history.QuotationHistoryStore.QuotationVisitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Candle Aggregator Unit Tests")
+class CandleAggregatorUnitTests {
+
+    private static final long MINUTE = 60_000L;
+
+    private CandleAggregator aggregator;
+    private QuotationHistoryStore quotationHistoryStore;
+    private UUID assetId;
+
+    @BeforeEach
+    void setUp() {
+        quotationHistoryStore = mock(QuotationHistoryStore.class);
+        aggregator = new CandleAggregator();
+        ReflectionTestUtils.setField(aggregator, "quotationHistoryStore", quotationHistoryStore);
+        assetId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should fold updates of the same bucket into a single OHLC candle")
+    void testOnQuotationUpdate_SameBucket_BuildsOhlc() {
+        aggregator.onQuotationUpdate(assetId, 10 * MINUTE, 100.0);
+        aggregator.onQuotationUpdate(assetId, 10 * MINUTE + 10_000, 120.0);
+        aggregator.onQuotationUpdate(assetId, 10 * MINUTE + 20_000, 90.0);
+        aggregator.onQuotationUpdate(assetId, 10 * MINUTE + 30_000, 105.0);
+
+        List<Candle> candles = aggregator.candles(assetId, CandleResolutionEnum.ONE_MINUTE, 0, 20 * MINUTE);
+
+        assertEquals(1, candles.size());
+        assertEquals(new Candle(10 * MINUTE, 100.0, 120.0, 90.0, 105.0, 4), candles.get(0));
+    }
+
+    @Test
+    @DisplayName("Should keep separate candles per bucket and per resolution")
+    void testOnQuotationUpdate_SeveralBuckets() {
+        aggregator.onQuotationUpdate(assetId, MINUTE, 100.0);
+        aggregator.onQuotationUpdate(assetId, 2 * MINUTE, 110.0);
+        aggregator.onQuotationUpdate(assetId, 3 * MINUTE, 95.0);
+
+        List<Candle> minuteCandles = aggregator.candles(assetId, CandleResolutionEnum.ONE_MINUTE, 2 * MINUTE, 3 * MINUTE);
+        List<Candle> hourCandles = aggregator.candles(assetId, CandleResolutionEnum.ONE_HOUR, 0, 3 * MINUTE);
+
+        assertEquals(List.of(2 * MINUTE, 3 * MINUTE), minuteCandles.stream().map(Candle::openTime).toList());
+        assertEquals(1, hourCandles.size());
+        assertEquals(new Candle(0, 100.0, 110.0, 95.0, 95.0, 3), hourCandles.get(0));
+    }
+
+    @Test
+    @DisplayName("Should overwrite buckets that fell out of the ring")
+    void testOnQuotationUpdate_RingWrapsAround() {
+        int capacity = CandleResolutionEnum.ONE_MINUTE.getCapacity();
+        aggregator.onQuotationUpdate(assetId, 0, 100.0);
+        aggregator.onQuotationUpdate(assetId, capacity * MINUTE, 200.0);
+
+        List<Candle> candles = aggregator.candles(assetId, CandleResolutionEnum.ONE_MINUTE, 0, capacity * MINUTE);
+
+        assertEquals(1, candles.size());
+        assertEquals(200.0, candles.get(0).open());
+    }
+
+    @Test
+    @DisplayName("Should ignore updates older than the ring window")
+    void testOnQuotationUpdate_TooOld_Ignored() {
+        int capacity = CandleResolutionEnum.ONE_MINUTE.getCapacity();
+        aggregator.onQuotationUpdate(assetId, capacity * MINUTE, 200.0);
+        aggregator.onQuotationUpdate(assetId, 0, 100.0);
+
+        List<Candle> candles = aggregator.candles(assetId, CandleResolutionEnum.ONE_MINUTE, 0, capacity * MINUTE);
+
+        assertEquals(1, candles.size());
+        assertEquals(200.0, candles.get(0).close());
+    }
+
+    @Test
+    @DisplayName("Should keep open and close on the earliest and latest timestamps when updates arrive out of order")
+    void testOnQuotationUpdate_OutOfOrder_KeepsOpenAndClose() {
+        aggregator.onQuotationUpdate(assetId, 10 * MINUTE + 20_000, 110.0);
+        aggregator.onQuotationUpdate(assetId, 10 * MINUTE + 40_000, 105.0);
+        aggregator.onQuotationUpdate(assetId, 10 * MINUTE + 30_000, 95.0);
+        aggregator.onQuotationUpdate(assetId, 10 * MINUTE, 100.0);
+
+        List<Candle> candles = aggregator.candles(assetId, CandleResolutionEnum.ONE_MINUTE, 0, 20 * MINUTE);
+
+        assertEquals(List.of(new Candle(10 * MINUTE, 100.0, 110.0, 95.0, 105.0, 4)), candles);
+    }
+
+    @Test
+    @DisplayName("Should rebuild an asset's candles from its persisted history on first use")
+    void testOnQuotationUpdate_FirstUse_RebuildsFromHistory() {
+        doAnswer(invocation -> {
+            QuotationVisitor visitor = invocation.getArgument(3);
+            visitor.visit(10 * MINUTE, 100.0);
+            visitor.visit(10 * MINUTE + 10_000, 120.0);
+            return null;
+        }).when(quotationHistoryStore).forEach(eq(assetId), anyLong(), eq(10 * MINUTE + 30_000 - 1), any());
+
+        aggregator.onQuotationUpdate(assetId, 10 * MINUTE + 30_000, 90.0);
+        aggregator.onQuotationUpdate(assetId, 10 * MINUTE + 40_000, 105.0);
+
+        List<Candle> candles = aggregator.candles(assetId, CandleResolutionEnum.ONE_MINUTE, 0, 20 * MINUTE);
+
+        assertEquals(List.of(new Candle(10 * MINUTE, 100.0, 120.0, 90.0, 105.0, 4)), candles);
+        verify(quotationHistoryStore, times(1)).forEach(eq(assetId), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should return no candles for unknown assets")
+    void testCandles_UnknownAsset_Empty() {
+        assertTrue(aggregator.candles(UUID.randomUUID(), CandleResolutionEnum.ONE_DAY, 0, Long.MAX_VALUE).isEmpty());
+    }
+}
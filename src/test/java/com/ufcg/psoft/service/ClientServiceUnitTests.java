@@ -1,6 +1,7 @@
 package com.ufcg.psoft.service;
 
 import com.ufcg.psoft.commerce.dto.asset.AssetResponseDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetStatisticsDTO;
 import com.ufcg.psoft.commerce.dto.client.*;
 import com.ufcg.psoft.commerce.dto.wallet.HoldingResponseDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WalletHoldingResponseDTO;
@@ -19,8 +20,10 @@ import com.ufcg.psoft.commerce.model.wallet.HoldingModel;
 import com.ufcg.psoft.commerce.model.wallet.WalletModel;
 import com.ufcg.psoft.commerce.repository.client.ClientRepository;
 import com.ufcg.psoft.commerce.service.asset.AssetService;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationRegister;
 import com.ufcg.psoft.commerce.service.client.ClientService;
 import com.ufcg.psoft.commerce.service.client.ClientServiceImpl;
+import com.ufcg.psoft.commerce.service.etag.ETagRegistry;
 import com.ufcg.psoft.commerce.service.mapper.DTOMapperService;
 
 import org.junit.jupiter.api.AfterEach;
@@ -47,6 +50,7 @@ class ClientServiceUnitTests {
     private ClientService clientService;
     private ModelMapper modelMapper;
     private DTOMapperService dtoMapperService;
+    private ETagRegistry eTagRegistry;
 
     private UUID clientId;
     private ClientModel client;
@@ -62,10 +66,13 @@ class ClientServiceUnitTests {
         modelMapper = new ModelMapper();
         clientService = new ClientServiceImpl();
         dtoMapperService = new DTOMapperService(modelMapper);
+        eTagRegistry = new ETagRegistry();
 
         ReflectionTestUtils.setField(clientService, "clientRepository", clientRepository);
         ReflectionTestUtils.setField(clientService, "modelMapper", modelMapper);
         ReflectionTestUtils.setField(clientService, "dtoMapperService", dtoMapperService);
+        ReflectionTestUtils.setField(clientService, "eTagRegistry", eTagRegistry);
+        ReflectionTestUtils.setField(clientService, "quotationRegister", new QuotationRegister());
 
         WalletModel wallet = WalletModel.builder()
                 .budget(5000)
@@ -223,6 +230,22 @@ class ClientServiceUnitTests {
         assertEquals(client.getEmail().getEmail(), result.getEmail());
     }
 
+    @Test
+    @DisplayName("Should expose a client ETag only after the client and its wallet were loaded")
+    void testGetClientETag_AfterLoad() {
+        client.getWallet().setId(UUID.randomUUID());
+        when(clientRepository.findById(clientId)).thenReturn(Optional.of(client));
+
+        assertNull(clientService.getClientETag(clientId));
+
+        clientService.getClientById(clientId);
+        String eTag = clientService.getClientETag(clientId);
+
+        assertNotNull(eTag);
+        eTagRegistry.recordWallet(client.getWallet().getId(), 1);
+        assertNotEquals(eTag, clientService.getClientETag(clientId));
+    }
+
     @Test
     @DisplayName("Should throw exception because the client doesn't exist")
     void testGetClientById_InvalidId() {
@@ -267,7 +290,7 @@ class ClientServiceUnitTests {
                 .accessCode("123456")
                 .build();
 
-        AssetResponseDTO result = clientService.redirectGetAssetDetails(clientId, assetId, dto);
+        AssetResponseDTO result = clientService.getAssetDetails(assetId, clientService.validateAssetAccess(clientId, dto));
 
         assertNotNull(result);
         assertEquals("Bitcoin", result.getName());
@@ -278,6 +301,48 @@ class ClientServiceUnitTests {
         verify(assetService).getAssetById(assetId);
     }
 
+    @Test
+    @DisplayName("Should add return statistics to the asset details of premium clients")
+    void testGetAssetDetails_Premium_IncludesStatistics() {
+        AssetStatisticsDTO statistics = AssetStatisticsDTO.builder()
+                .returns(4)
+                .meanReturn(0.02)
+                .returnVariance(0.0004)
+                .volatility(0.02)
+                .maxDrawdown(0.05)
+                .build();
+        when(clientRepository.findById(clientId)).thenReturn(Optional.of(client));
+        when(assetService.getAssetById(assetId)).thenReturn(assetResponseDTO);
+        when(assetService.getStatistics(assetId)).thenReturn(statistics);
+
+        ClientAssetAccessRequestDTO dto = ClientAssetAccessRequestDTO.builder()
+                .accessCode("123456")
+                .build();
+
+        AssetResponseDTO result = clientService.getAssetDetails(assetId, clientService.validateAssetAccess(clientId, dto));
+
+        assertEquals(statistics, result.getStatistics());
+        assertEquals("Bitcoin", result.getName());
+        assertNull(assetResponseDTO.getStatistics());
+    }
+
+    @Test
+    @DisplayName("Should leave return statistics out of the asset details of normal clients")
+    void testGetAssetDetails_Normal_OmitsStatistics() {
+        client.setPlanType(PlanTypeEnum.NORMAL);
+        when(clientRepository.findById(clientId)).thenReturn(Optional.of(client));
+        when(assetService.getAssetById(assetId)).thenReturn(assetResponseDTO);
+
+        ClientAssetAccessRequestDTO dto = ClientAssetAccessRequestDTO.builder()
+                .accessCode("123456")
+                .build();
+
+        AssetResponseDTO result = clientService.getAssetDetails(assetId, clientService.validateAssetAccess(clientId, dto));
+
+        assertNull(result.getStatistics());
+        verify(assetService, never()).getStatistics(any());
+    }
+
     @Test
     @DisplayName("Should return asset details with valid accessCode")
     void testGetAssetDetails_WithInvalidAccessCode() {
@@ -288,7 +353,7 @@ class ClientServiceUnitTests {
                 .build();
 
         assertThrows(UnauthorizedUserAccessException.class, () -> {
-            clientService.redirectGetAssetDetails(clientId, assetId, dto);
+            clientService.getAssetDetails(assetId, clientService.validateAssetAccess(clientId, dto));
         });
 
         verify(clientRepository).findById(clientId);
@@ -305,7 +370,7 @@ class ClientServiceUnitTests {
                 .build();
 
         assertThrows(ClientIdNotFoundException.class, () -> {
-            clientService.redirectGetAssetDetails(clientId, assetId, dto);
+            clientService.getAssetDetails(assetId, clientService.validateAssetAccess(clientId, dto));
         });
 
         verify(clientRepository).findById(clientId);
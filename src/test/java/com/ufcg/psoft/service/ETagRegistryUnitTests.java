@@ -0,0 +1,92 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import com.ufcg.psoft.commerce.service.etag.ETagRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ETag Registry Unit Tests")
+class ETagRegistryUnitTests {
+
+    private ETagRegistry eTagRegistry;
+
+    @BeforeEach
+    void setUp() {
+        eTagRegistry = new ETagRegistry();
+    }
+
+    @Test
+    @DisplayName("Should not tag entities that were never recorded")
+    void testTags_UnknownEntities_AreNull() {
+        UUID clientId = UUID.randomUUID();
+        eTagRegistry.recordClient(clientId, 0, UUID.randomUUID(), PlanTypeEnum.NORMAL);
+
+        assertNull(eTagRegistry.getAssetTag(UUID.randomUUID()));
+        assertNull(eTagRegistry.getClientTag(clientId));
+    }
+
+    @Test
+    @DisplayName("Should never move a version backwards when a stale read is recorded")
+    void testRecordAsset_StaleVersion_IsIgnored() {
+        UUID assetId = UUID.randomUUID();
+        eTagRegistry.recordAsset(assetId, 5);
+        String eTag = eTagRegistry.getAssetTag(assetId);
+
+        eTagRegistry.recordAsset(assetId, 4);
+
+        assertEquals(eTag, eTagRegistry.getAssetTag(assetId));
+    }
+
+    @Test
+    @DisplayName("Should change the client tag when only its wallet changes")
+    void testGetClientTag_WalletWrite_ChangesTag() {
+        UUID clientId = UUID.randomUUID();
+        UUID walletId = UUID.randomUUID();
+        eTagRegistry.recordClient(clientId, 2, walletId, PlanTypeEnum.NORMAL);
+        eTagRegistry.recordWallet(walletId, 7);
+        String eTag = eTagRegistry.getClientTag(clientId);
+
+        eTagRegistry.recordWallet(walletId, 8);
+
+        assertNotNull(eTag);
+        assertNotEquals(eTag, eTagRegistry.getClientTag(clientId));
+    }
+
+    @Test
+    @DisplayName("Should change the client asset tag when the client changes plan")
+    void testGetClientAssetTag_PlanChange_ChangesTag() {
+        UUID clientId = UUID.randomUUID();
+        UUID assetId = UUID.randomUUID();
+        eTagRegistry.recordAsset(assetId, 1);
+        assertNull(eTagRegistry.getClientAssetTag(clientId, assetId));
+
+        eTagRegistry.recordClient(clientId, 1, UUID.randomUUID(), PlanTypeEnum.NORMAL);
+        String eTag = eTagRegistry.getClientAssetTag(clientId, assetId);
+
+        eTagRegistry.recordClient(clientId, 2, null, PlanTypeEnum.PREMIUM);
+        eTagRegistry.recordClient(clientId, 1, null, PlanTypeEnum.NORMAL);
+
+        assertNotNull(eTag);
+        assertNotEquals(eTag, eTagRegistry.getClientAssetTag(clientId, assetId));
+        assertTrue(eTagRegistry.getClientAssetTag(clientId, assetId).endsWith("-premium\""));
+    }
+
+    @Test
+    @DisplayName("Should change the collection tag on every asset write and forget removed entities")
+    void testAssetCollection_AdvanceAndRemove() {
+        UUID assetId = UUID.randomUUID();
+        eTagRegistry.recordAsset(assetId, 1);
+        String collectionTag = eTagRegistry.getAssetCollectionTag();
+
+        eTagRegistry.removeAsset(assetId);
+        eTagRegistry.advanceAssetCollection();
+
+        assertNull(eTagRegistry.getAssetTag(assetId));
+        assertNotEquals(collectionTag, eTagRegistry.getAssetCollectionTag());
+    }
+}
@@ -2,11 +2,19 @@ package com.ufcg.psoft.service;
 
 import com.ufcg.psoft.commerce.dto.subscription.SubscriptionResponseDTO;
 import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
+import com.ufcg.psoft.commerce.exception.notification.InvalidPriceAlertException;
+import com.ufcg.psoft.commerce.exception.notification.NotificationFanOutException;
 import com.ufcg.psoft.commerce.exception.user.ClientIdNotFoundException;
 import com.ufcg.psoft.commerce.exception.user.ClientIsNotPremiumException;
 import com.ufcg.psoft.commerce.exception.notification.AlreadySubscribedException;
 import com.ufcg.psoft.commerce.model.asset.types.Crypto;
 import com.ufcg.psoft.commerce.model.asset.types.Stock;
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
+import com.ufcg.psoft.commerce.enums.OutboxStatusEnum;
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxEntryModel;
+import com.ufcg.psoft.commerce.model.observer.NotificationOutboxModel;
+import com.ufcg.psoft.commerce.model.observer.PriceAlertCriteria;
+import com.ufcg.psoft.commerce.model.observer.PriceVariationWindow;
 import com.ufcg.psoft.commerce.model.observer.SubscriptionModel;
 import com.ufcg.psoft.commerce.model.asset.*;
 import com.ufcg.psoft.commerce.model.user.AccessCodeModel;
@@ -16,20 +24,35 @@ import com.ufcg.psoft.commerce.model.user.EmailModel;
 import com.ufcg.psoft.commerce.model.wallet.WalletModel;
 import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
 import com.ufcg.psoft.commerce.repository.client.ClientRepository;
+import com.ufcg.psoft.commerce.repository.observer.NotificationOutboxRepository;
 import com.ufcg.psoft.commerce.repository.observer.SubscriptionRepository;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationWindowTracker;
+import com.ufcg.psoft.commerce.service.notification.NotificationInboxService;
+import com.ufcg.psoft.commerce.service.notification.NotificationPipeline;
 import com.ufcg.psoft.commerce.service.observer.EventManager;
 import com.ufcg.psoft.commerce.service.observer.EventManagerImpl;
+import com.ufcg.psoft.commerce.service.observer.PriceThresholdIndex;
+import com.ufcg.psoft.commerce.service.observer.SubscriptionFanOutEngine;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -39,6 +62,11 @@ class EventManagerUnitTests {
 
     private ClientRepository clientRepository;
     private SubscriptionRepository subscriptionRepository;
+    private NotificationPipeline notificationPipeline;
+    private NotificationOutboxRepository notificationOutboxRepository;
+    private NotificationInboxService notificationInboxService;
+
+    private SubscriptionFanOutEngine subscriptionFanOutEngine;
 
     private EventManager eventManager;
 
@@ -50,10 +78,33 @@ class EventManagerUnitTests {
     void setup() {
         clientRepository = mock(ClientRepository.class);
         subscriptionRepository = mock(SubscriptionRepository.class);
+        notificationPipeline = mock(NotificationPipeline.class);
+        notificationOutboxRepository = mock(NotificationOutboxRepository.class);
+        notificationInboxService = mock(NotificationInboxService.class);
 
         eventManager = new EventManagerImpl();
         ReflectionTestUtils.setField(eventManager, "clientRepository", clientRepository);
         ReflectionTestUtils.setField(eventManager, "subscriptionRepository", subscriptionRepository);
+        ReflectionTestUtils.setField(eventManager, "notificationOutboxRepository", notificationOutboxRepository);
+        ReflectionTestUtils.setField(eventManager, "notificationPipeline", notificationPipeline);
+        ReflectionTestUtils.setField(eventManager, "notificationInboxService", notificationInboxService);
+
+        subscriptionFanOutEngine = new SubscriptionFanOutEngine();
+        ReflectionTestUtils.setField(subscriptionFanOutEngine, "clientRepository", clientRepository);
+        ReflectionTestUtils.setField(subscriptionFanOutEngine, "subscriptionRepository", subscriptionRepository);
+        ReflectionTestUtils.setField(subscriptionFanOutEngine, "notificationPipeline", notificationPipeline);
+        ReflectionTestUtils.setField(subscriptionFanOutEngine, "parallelism", 2);
+        ReflectionTestUtils.setField(subscriptionFanOutEngine, "shardSize", 2);
+        subscriptionFanOutEngine.start();
+        ReflectionTestUtils.setField(eventManager, "subscriptionFanOutEngine", subscriptionFanOutEngine);
+
+        PriceThresholdIndex priceThresholdIndex = new PriceThresholdIndex();
+        ReflectionTestUtils.setField(priceThresholdIndex, "subscriptionRepository", subscriptionRepository);
+        ReflectionTestUtils.setField(eventManager, "priceThresholdIndex", priceThresholdIndex);
+
+        QuotationWindowTracker quotationWindowTracker = new QuotationWindowTracker();
+        ReflectionTestUtils.setField(quotationWindowTracker, "windowMillis", 60_000L);
+        ReflectionTestUtils.setField(eventManager, "quotationWindowTracker", quotationWindowTracker);
 
         assetId1 = UUID.randomUUID();
         assetId2 = UUID.randomUUID();
@@ -95,6 +146,12 @@ class EventManagerUnitTests {
 
         when(clientRepository.existsById(clientId)).thenReturn(true);
         when(clientRepository.findById(clientId)).thenReturn(Optional.of(mockClient));
+        when(clientRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<UUID> ids = invocation.getArgument(0);
+            return ids.iterator().hasNext() && ids.iterator().next().equals(clientId) ? List.of(mockClient) : List.of();
+        });
+        when(notificationPipeline.publish(any(), any(), any())).thenReturn(true);
+        when(notificationPipeline.publishAcknowledged(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(true));
         when(subscriptionRepository.save(any(SubscriptionModel.class))).thenAnswer(invocation -> {
             SubscriptionModel sub = invocation.getArgument(0);
             sub.setId(UUID.randomUUID());
@@ -102,6 +159,32 @@ class EventManagerUnitTests {
         });
     }
 
+    @AfterEach
+    void tearDown() {
+        subscriptionFanOutEngine.stop();
+    }
+
+    @Test
+    @DisplayName("Should only add a price variation subscription to the loaded index once it commits")
+    void testSubscribeToAssetPriceVariation_IndexedAfterCommit() {
+        PriceThresholdIndex priceThresholdIndex = (PriceThresholdIndex) ReflectionTestUtils.getField(eventManager, "priceThresholdIndex");
+        PriceVariationWindow window = new PriceVariationWindow(assetId1, 100.0, 200.0);
+        assertTrue(priceThresholdIndex.match(window).isEmpty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            eventManager.subscribeToAssetEvent(assetId1, clientId, SubscriptionTypeEnum.PRICE_VARIATION);
+            assertTrue(priceThresholdIndex.match(window).isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<SubscriptionModel> captor = ArgumentCaptor.forClass(SubscriptionModel.class);
+        verify(subscriptionRepository).save(captor.capture());
+        assertEquals(Set.of(captor.getValue().getId()), priceThresholdIndex.match(window));
+    }
+
     @Test
     @DisplayName("Should subscribe client to asset price variation successfully")
     void testSubscribeToAssetPriceVariation_Success() {
@@ -203,8 +286,276 @@ class EventManagerUnitTests {
 
         eventManager.notifySubscribersByType(assetId1, SubscriptionTypeEnum.PRICE_VARIATION);
 
-        verify(clientRepository, times(1)).findById(clientId);
-        verify(subscriptionRepository, times(1)).deleteById(subscription.getId());
+        verify(clientRepository, times(1)).findAllById(List.of(clientId));
+        verify(subscriptionRepository, times(1)).deleteAllByIdInBatch(Collections.singletonList(subscription.getId()));
+    }
+
+    @Test
+    @DisplayName("Should write price variations to the outbox instead of notifying inline")
+    void testNotifyPriceVariation_WritesOutboxEntry() {
+        priceSubscription(0.10, null, null);
+
+        eventManager.notifyPriceVariation(assetId1, 100.0, 120.0);
+
+        ArgumentCaptor<NotificationOutboxModel> captor = ArgumentCaptor.forClass(NotificationOutboxModel.class);
+        verify(notificationOutboxRepository, times(1)).save(captor.capture());
+        verify(notificationPipeline, never()).publishAcknowledged(any(), any(), any());
+
+        NotificationOutboxModel entry = captor.getValue();
+        assertEquals(assetId1, entry.getAssetId());
+        assertEquals(SubscriptionTypeEnum.PRICE_VARIATION, entry.getSubscriptionType());
+        assertEquals(100.0, entry.getFirstQuotation());
+        assertEquals(120.0, entry.getLastQuotation());
+        assertEquals(OutboxStatusEnum.PENDING, entry.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should carry the sliding window extremes so small steps add up to one variation")
+    void testNotifyPriceVariation_ConsecutiveSteps_TrackWindow() {
+        priceSubscription(0.05, null, null);
+
+        eventManager.notifyPriceVariation(assetId1, 100.0, 107.5);
+        eventManager.notifyPriceVariation(assetId1, 107.5, 115.0);
+
+        ArgumentCaptor<NotificationOutboxModel> captor = ArgumentCaptor.forClass(NotificationOutboxModel.class);
+        verify(notificationOutboxRepository, times(2)).save(captor.capture());
+
+        NotificationOutboxModel entry = captor.getAllValues().get(1);
+        assertEquals(100.0, entry.getWindowLowestQuotation());
+        assertEquals(115.0, entry.getWindowHighestQuotation());
+
+        PriceVariationWindow window = new PriceVariationWindow(assetId1, entry.getFirstQuotation(), entry.getLastQuotation());
+        window.trackWindow(entry.getWindowLowestQuotation(), entry.getWindowHighestQuotation(), entry.getWindowStartedAt());
+        assertEquals(0.15, window.getMaxVariation(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should write availability changes to the outbox instead of notifying inline")
+    void testNotifyAvailability_WritesOutboxEntry() {
+        eventManager.notifyAvailability(assetId2);
+
+        ArgumentCaptor<NotificationOutboxModel> captor = ArgumentCaptor.forClass(NotificationOutboxModel.class);
+        verify(notificationOutboxRepository, times(1)).save(captor.capture());
+        verify(subscriptionRepository, never()).findByAssetIdAndSubscriptionType(any(), any());
+
+        NotificationOutboxModel entry = captor.getValue();
+        assertEquals(assetId2, entry.getAssetId());
+        assertEquals(SubscriptionTypeEnum.AVAILABILITY, entry.getSubscriptionType());
+        assertNull(entry.getFirstQuotation());
+        assertEquals(OutboxStatusEnum.PENDING, entry.getStatus());
+    }
+
+    private SubscriptionModel priceSubscription(Double variationThreshold, Double lowerPriceBound, Double upperPriceBound) {
+        SubscriptionModel subscription = SubscriptionModel.builder()
+                .id(UUID.randomUUID())
+                .assetId(assetId1)
+                .subscriberId(clientId)
+                .subscriptionType(SubscriptionTypeEnum.PRICE_VARIATION)
+                .variationThreshold(variationThreshold)
+                .lowerPriceBound(lowerPriceBound)
+                .upperPriceBound(upperPriceBound)
+                .build();
+
+        when(subscriptionRepository.findByAssetIdAndSubscriptionType(assetId1, SubscriptionTypeEnum.PRICE_VARIATION))
+                .thenReturn(List.of(subscription));
+        when(subscriptionRepository.findAllById(any())).thenReturn(List.of(subscription));
+        return subscription;
+    }
+
+    @Test
+    @DisplayName("Should deliver a merged price variation window to subscribers")
+    void testDeliverPriceVariation_NotifiesSubscribers() {
+        SubscriptionModel subscription = priceSubscription(0.10, null, null);
+
+        eventManager.deliverPriceVariation(new PriceVariationWindow(assetId1, 100.0, 120.0));
+
+        verify(clientRepository, times(1)).findAllById(List.of(clientId));
+        verify(subscriptionRepository, times(1)).deleteAllByIdInBatch(List.of(subscription.getId()));
+        verify(notificationPipeline, times(1)).publishAcknowledged(any(ClientModel.class), eq(NotificationCategoryEnum.PRICE_VARIATION), contains("from 100.00 to 120.00"));
+    }
+
+    @Test
+    @DisplayName("Should not notify subscribers whose variation threshold was not reached")
+    void testDeliverPriceVariation_BelowCustomThreshold_NoNotification() {
+        priceSubscription(0.25, null, null);
+
+        eventManager.deliverPriceVariation(new PriceVariationWindow(assetId1, 100.0, 120.0));
+
+        verify(subscriptionRepository, never()).findAllById(any());
+        verify(notificationPipeline, never()).publishAcknowledged(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should notify subscribers when the quotation leaves their price band")
+    void testDeliverPriceVariation_PriceBandCrossed_Notifies() {
+        SubscriptionModel subscription = priceSubscription(null, 95.0, 130.0);
+        PriceVariationWindow window = new PriceVariationWindow(assetId1, 100.0, 97.0);
+        window.merge(94.0);
+        window.merge(98.0);
+
+        eventManager.deliverPriceVariation(window);
+
+        verify(subscriptionRepository, times(1)).deleteAllByIdInBatch(List.of(subscription.getId()));
+        verify(notificationPipeline, times(1)).publishAcknowledged(any(ClientModel.class), eq(NotificationCategoryEnum.PRICE_VARIATION), contains("from 100.00 to 98.00"));
+    }
+
+    @Test
+    @DisplayName("Should clamp the window to the variation's own path for subscriptions newer than the window")
+    void testDeliverPriceVariation_SubscriptionNewerThanWindow_UsesOwnPath() {
+        SubscriptionModel subscription = priceSubscription(0.10, null, null);
+        PriceVariationWindow window = new PriceVariationWindow(assetId1, 107.5, 115.0);
+        window.trackWindow(100.0, 115.0, LocalDateTime.now().minusMinutes(2));
+
+        subscription.setCreatedAt(LocalDateTime.now().minusMinutes(1));
+        eventManager.deliverPriceVariation(window);
+        verify(notificationPipeline, never()).publishAcknowledged(any(), any(), any());
+
+        subscription.setCreatedAt(LocalDateTime.now().minusMinutes(3));
+        eventManager.deliverPriceVariation(window);
+        verify(notificationPipeline, times(1)).publishAcknowledged(any(ClientModel.class), eq(NotificationCategoryEnum.PRICE_VARIATION), any());
+    }
+
+    @Test
+    @DisplayName("Should only record the window once the quotation update commits")
+    void testNotifyPriceVariation_RolledBack_LeavesWindowUntouched() {
+        priceSubscription(0.05, null, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            eventManager.notifyPriceVariation(assetId1, 100.0, 107.5);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        eventManager.notifyPriceVariation(assetId1, 107.5, 115.0);
+
+        ArgumentCaptor<NotificationOutboxModel> captor = ArgumentCaptor.forClass(NotificationOutboxModel.class);
+        verify(notificationOutboxRepository, times(2)).save(captor.capture());
+        assertEquals(107.5, captor.getAllValues().get(1).getWindowLowestQuotation());
+        assertNull(captor.getAllValues().get(1).getWindowStartedAt());
+    }
+
+    @Test
+    @DisplayName("Should skip the outbox when no subscription reacts to the variation but still track the window")
+    void testNotifyPriceVariation_NoCandidate_SkipsOutbox() {
+        priceSubscription(0.10, null, null);
+
+        eventManager.notifyPriceVariation(assetId1, 100.0, 105.0);
+        verify(notificationOutboxRepository, never()).save(any());
+
+        eventManager.notifyPriceVariation(assetId1, 105.0, 111.0);
+        ArgumentCaptor<NotificationOutboxModel> captor = ArgumentCaptor.forClass(NotificationOutboxModel.class);
+        verify(notificationOutboxRepository, times(1)).save(captor.capture());
+        assertEquals(100.0, captor.getValue().getWindowLowestQuotation());
+    }
+
+    @Test
+    @DisplayName("Should drop delivered subscriptions from the threshold index")
+    void testDeliverPriceVariation_DeliveredSubscription_LeavesIndex() {
+        SubscriptionModel subscription = priceSubscription(0.10, null, null);
+
+        eventManager.deliverPriceVariation(new PriceVariationWindow(assetId1, 100.0, 120.0));
+        eventManager.deliverPriceVariation(new PriceVariationWindow(assetId1, 120.0, 140.0));
+
+        verify(subscriptionRepository, times(1)).findAllById(any());
+        verify(subscriptionRepository, times(1)).deleteAllByIdInBatch(List.of(subscription.getId()));
+    }
+
+    @Test
+    @DisplayName("Should notify a band crossed and recovered within a batched variation")
+    void testDeliverPriceVariation_BandCrossedAndRecoveredInBatch_Notifies() {
+        SubscriptionModel subscription = priceSubscription(null, 90.0, 130.0);
+        PriceVariationWindow window = new PriceVariationWindow(assetId1, 100.0, 100.0);
+        window.includePath(80.0, 100.0);
+
+        eventManager.deliverPriceVariation(window);
+
+        verify(subscriptionRepository, times(1)).deleteAllByIdInBatch(List.of(subscription.getId()));
+    }
+
+    @Test
+    @DisplayName("Should not produce an infinite variation from a zero quotation")
+    void testPriceVariationWindow_ZeroQuotation_IsFinite() {
+        PriceVariationWindow window = new PriceVariationWindow(assetId1, 0.0, 10.0);
+        window.trackWindow(0.0, 10.0, LocalDateTime.now());
+
+        assertEquals(0.0, window.getMaxVariation());
+    }
+
+    @Test
+    @DisplayName("Should store custom thresholds on price variation subscriptions")
+    void testSubscribeToAssetEvent_CustomCriteria_Stored() {
+        PriceAlertCriteria criteria = new PriceAlertCriteria(0.05, 80.0, 150.0);
+
+        SubscriptionResponseDTO response = eventManager.subscribeToAssetEvent(assetId1, clientId, SubscriptionTypeEnum.PRICE_VARIATION, criteria);
+
+        assertEquals(0.05, response.getVariationThreshold());
+        assertEquals(80.0, response.getLowerPriceBound());
+        assertEquals(150.0, response.getUpperPriceBound());
+    }
+
+    @Test
+    @DisplayName("Should use the default 10% threshold when no criteria are informed")
+    void testSubscribeToAssetEvent_NoCriteria_DefaultThreshold() {
+        SubscriptionResponseDTO response = eventManager.subscribeToAssetEvent(assetId1, clientId, SubscriptionTypeEnum.PRICE_VARIATION, new PriceAlertCriteria());
+
+        assertEquals(PriceAlertCriteria.DEFAULT_VARIATION_THRESHOLD, response.getVariationThreshold());
+        assertNull(response.getLowerPriceBound());
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidPriceAlertException when the price band is inverted")
+    void testSubscribeToAssetEvent_InvertedPriceBand_ThrowsException() {
+        PriceAlertCriteria criteria = new PriceAlertCriteria(null, 150.0, 80.0);
+
+        assertThrows(InvalidPriceAlertException.class, () ->
+                eventManager.subscribeToAssetEvent(assetId1, clientId, SubscriptionTypeEnum.PRICE_VARIATION, criteria));
+        verify(subscriptionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should publish wallet owner notifications through the pipeline")
+    void testNotifyWalletOwner_PublishesToPipeline() {
+        UUID walletId = UUID.randomUUID();
+        ClientModel owner = clientRepository.findById(clientId).orElseThrow();
+        when(clientRepository.findByWalletId(walletId)).thenReturn(Optional.of(owner));
+        when(notificationPipeline.publish(any(), any(), any())).thenReturn(true);
+
+        eventManager.notifyWalletOwner(walletId, NotificationCategoryEnum.PURCHASE, "Your purchase is available");
+
+        verify(notificationPipeline, times(1)).publish(owner, NotificationCategoryEnum.PURCHASE, "Your purchase is available");
+        verify(notificationInboxService, never()).appendAll(any());
+    }
+
+    @Test
+    @DisplayName("Should write wallet owner notifications to the inbox when the pipeline drops them")
+    @SuppressWarnings("unchecked")
+    void testNotifyWalletOwner_PipelineFull_WritesInbox() {
+        UUID walletId = UUID.randomUUID();
+        ClientModel owner = clientRepository.findById(clientId).orElseThrow();
+        when(clientRepository.findByWalletId(walletId)).thenReturn(Optional.of(owner));
+        when(notificationPipeline.publish(any(), any(), any())).thenReturn(false);
+
+        eventManager.notifyWalletOwner(walletId, NotificationCategoryEnum.WITHDRAW, "Your withdraw is confirmed");
+
+        ArgumentCaptor<List<NotificationInboxEntryModel>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationInboxService, times(1)).appendAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(clientId, captor.getValue().get(0).getClientId());
+        assertEquals(NotificationCategoryEnum.WITHDRAW, captor.getValue().get(0).getCategory());
+        assertEquals("Your withdraw is confirmed", captor.getValue().get(0).getMessage());
+    }
+
+    @Test
+    @DisplayName("Should skip wallet owner notifications when no client owns the wallet")
+    void testNotifyWalletOwner_UnknownWallet_Skips() {
+        UUID walletId = UUID.randomUUID();
+        when(clientRepository.findByWalletId(walletId)).thenReturn(Optional.empty());
+
+        eventManager.notifyWalletOwner(walletId, NotificationCategoryEnum.PURCHASE, "Your purchase is available");
+
+        verify(notificationPipeline, never()).publish(any(), any(), any());
     }
 
     @Test
@@ -221,15 +572,16 @@ class EventManagerUnitTests {
 
         eventManager.notifySubscribersByType(assetId2, SubscriptionTypeEnum.AVAILABILITY);
 
-        verify(clientRepository, times(1)).findById(clientId);
-        verify(subscriptionRepository, times(1)).deleteById(subscription.getId());
+        verify(clientRepository, times(1)).findAllById(List.of(clientId));
+        verify(subscriptionRepository, times(1)).deleteAllByIdInBatch(Collections.singletonList(subscription.getId()));
     }
 
     @Test
-    @DisplayName("Should throw exception when client not found")
-    void testNotification_ClientNotFound_ThrowsException() {
+    @DisplayName("Should drop subscriptions of clients that no longer exist without failing the fan-out")
+    void testNotification_ClientNotFound_DropsOrphanedSubscription() {
         UUID unknownClientId = UUID.randomUUID();
         SubscriptionModel subscription = SubscriptionModel.builder()
+                .id(UUID.randomUUID())
                 .assetId(assetId1)
                 .subscriberId(unknownClientId)
                 .subscriptionType(SubscriptionTypeEnum.PRICE_VARIATION)
@@ -237,10 +589,30 @@ class EventManagerUnitTests {
 
         when(subscriptionRepository.findByAssetIdAndSubscriptionType(assetId1, SubscriptionTypeEnum.PRICE_VARIATION))
                 .thenReturn(List.of(subscription));
-        when(clientRepository.findById(unknownClientId)).thenReturn(Optional.empty());
 
-        assertThrows(ClientIdNotFoundException.class, () ->
+        eventManager.notifySubscribersByType(assetId1, SubscriptionTypeEnum.PRICE_VARIATION);
+
+        verify(notificationPipeline, never()).publishAcknowledged(any(), any(), any());
+        verify(subscriptionRepository, times(1)).deleteAllByIdInBatch(List.of(subscription.getId()));
+    }
+
+    @Test
+    @DisplayName("Should throw NotificationFanOutException when a subscriber could not be notified")
+    void testNotification_PublishFails_ThrowsFanOutException() {
+        SubscriptionModel subscription = SubscriptionModel.builder()
+                .id(UUID.randomUUID())
+                .assetId(assetId1)
+                .subscriberId(clientId)
+                .subscriptionType(SubscriptionTypeEnum.PRICE_VARIATION)
+                .build();
+
+        when(subscriptionRepository.findByAssetIdAndSubscriptionType(assetId1, SubscriptionTypeEnum.PRICE_VARIATION))
+                .thenReturn(List.of(subscription));
+        when(notificationPipeline.publishAcknowledged(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(false));
+
+        assertThrows(NotificationFanOutException.class, () ->
                 eventManager.notifySubscribersByType(assetId1, SubscriptionTypeEnum.PRICE_VARIATION));
+        verify(subscriptionRepository, never()).deleteAllByIdInBatch(any());
     }
 
     @Test
@@ -251,8 +623,8 @@ class EventManagerUnitTests {
 
         eventManager.notifySubscribersByType(assetId1, SubscriptionTypeEnum.PRICE_VARIATION);
 
-        verify(clientRepository, never()).findById(any());
-        verify(subscriptionRepository, never()).deleteById(any());
+        verify(clientRepository, never()).findAllById(any());
+        verify(subscriptionRepository, never()).deleteAllByIdInBatch(any());
     }
 
     @Test
@@ -0,0 +1,275 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.dto.admin.AdminAccessRequestDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetQuotationBatchResponseDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetQuotationBatchUpdateDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetQuotationUpdateDTO;
+import com.ufcg.psoft.commerce.dto.asset.AssetResponseDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationReplayRequestDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationReportDTO;
+import com.ufcg.psoft.commerce.dto.simulation.SimulationRequestDTO;
+import com.ufcg.psoft.commerce.enums.OutboxStatusEnum;
+import com.ufcg.psoft.commerce.enums.SimulationIngestPathEnum;
+import com.ufcg.psoft.commerce.enums.SimulationStatusEnum;
+import com.ufcg.psoft.commerce.exception.asset.InvalidQuotationVariationException;
+import com.ufcg.psoft.commerce.exception.simulation.InvalidSimulationException;
+import com.ufcg.psoft.commerce.exception.simulation.SimulationCapacityExceededException;
+import com.ufcg.psoft.commerce.model.observer.NotificationOutboxModel;
+import com.ufcg.psoft.commerce.model.user.AccessCodeModel;
+import com.ufcg.psoft.commerce.model.user.AdminModel;
+import com.ufcg.psoft.commerce.model.user.EmailModel;
+import com.ufcg.psoft.commerce.repository.observer.NotificationOutboxRepository;
+import com.ufcg.psoft.commerce.service.admin.AdminService;
+import com.ufcg.psoft.commerce.service.asset.AssetService;
+import com.ufcg.psoft.commerce.service.simulation.MarketFeedSimulatorServiceImpl;
+import com.ufcg.psoft.commerce.service.simulation.SimulationRunContext;
+import com.ufcg.psoft.commerce.service.simulation.ScheduledTick;
+import com.ufcg.psoft.commerce.service.simulation.TickGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Market Feed Simulator Service Unit Tests")
+class MarketFeedSimulatorServiceUnitTests {
+
+    private static final AdminAccessRequestDTO ADMIN = new AdminAccessRequestDTO("admin@example.com", "123456");
+
+    @TempDir
+    Path replayDirectory;
+
+    private MarketFeedSimulatorServiceImpl simulatorService;
+    private AssetService assetService;
+    private AdminService adminService;
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @BeforeEach
+    void setUp() {
+        assetService = mock(AssetService.class);
+        adminService = mock(AdminService.class);
+        notificationOutboxRepository = mock(NotificationOutboxRepository.class);
+        when(adminService.getAdmin()).thenReturn(new AdminModel(UUID.randomUUID(), "admin",
+                new EmailModel(ADMIN.getAdminEmail()), new AccessCodeModel(ADMIN.getAdminAccessCode())));
+
+        simulatorService = new MarketFeedSimulatorServiceImpl();
+        ReflectionTestUtils.setField(simulatorService, "assetService", assetService);
+        ReflectionTestUtils.setField(simulatorService, "adminService", adminService);
+        ReflectionTestUtils.setField(simulatorService, "notificationOutboxRepository", notificationOutboxRepository);
+        ReflectionTestUtils.setField(simulatorService, "replayDirectory", replayDirectory.toString());
+        ReflectionTestUtils.setField(simulatorService, "maxConcurrentRuns", 1);
+        ReflectionTestUtils.setField(simulatorService, "retainedRuns", 4);
+        simulatorService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulatorService.stop();
+    }
+
+    private SimulationReportDTO awaitFinished(UUID runId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        SimulationReportDTO report = simulatorService.getReport(runId, ADMIN);
+        while (!report.getStatus().equals(SimulationStatusEnum.COMPLETED)
+                && !report.getStatus().equals(SimulationStatusEnum.FAILED)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            report = simulatorService.getReport(runId, ADMIN);
+        }
+        return report;
+    }
+
+    @Test
+    @DisplayName("Should drive every generated tick through the single ingest path and count rejections")
+    void testStartGenerated_SinglePath() throws InterruptedException {
+        UUID acceptedAsset = UUID.randomUUID();
+        UUID rejectedAsset = UUID.randomUUID();
+        when(assetService.getAssetById(any())).thenReturn(AssetResponseDTO.builder().quotation(100.0).build());
+        doThrow(new InvalidQuotationVariationException())
+                .when(assetService).updateQuotation(eq(rejectedAsset), any(AssetQuotationUpdateDTO.class));
+
+        SimulationReportDTO started = simulatorService.startGenerated(SimulationRequestDTO.builder()
+                .adminEmail(ADMIN.getAdminEmail())
+                .adminAccessCode(ADMIN.getAdminAccessCode())
+                .assetIds(List.of(acceptedAsset, rejectedAsset))
+                .ticksPerAsset(10)
+                .ticksPerSecond(0)
+                .seed(42L)
+                .build());
+
+        SimulationReportDTO report = awaitFinished(started.getRunId());
+
+        assertEquals(SimulationStatusEnum.COMPLETED, report.getStatus());
+        assertEquals(20, report.getTicksSubmitted());
+        assertEquals(20, report.getTicksAccepted() + report.getTicksRejected());
+        assertTrue(report.getTicksRejected() > 0);
+        verify(adminService, atLeastOnce()).validateAdmin(ADMIN.getAdminEmail(), ADMIN.getAdminAccessCode());
+        verify(assetService, times(20)).updateQuotation(any(), any(AssetQuotationUpdateDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should group generated ticks into bulk ingest batches")
+    void testStartGenerated_BulkPath() throws InterruptedException {
+        when(assetService.getAssetById(any())).thenReturn(AssetResponseDTO.builder().quotation(50.0).build());
+        when(assetService.updateQuotations(any())).thenReturn(AssetQuotationBatchResponseDTO.builder()
+                .updated(List.of())
+                .rejected(List.of())
+                .build());
+
+        SimulationReportDTO started = simulatorService.startGenerated(SimulationRequestDTO.builder()
+                .adminEmail(ADMIN.getAdminEmail())
+                .adminAccessCode(ADMIN.getAdminAccessCode())
+                .assetIds(List.of(UUID.randomUUID()))
+                .ticksPerAsset(10)
+                .ticksPerSecond(0)
+                .ingestPath(SimulationIngestPathEnum.BULK)
+                .batchSize(4)
+                .build());
+
+        SimulationReportDTO report = awaitFinished(started.getRunId());
+
+        ArgumentCaptor<AssetQuotationBatchUpdateDTO> captor = ArgumentCaptor.forClass(AssetQuotationBatchUpdateDTO.class);
+        verify(assetService, times(3)).updateQuotations(captor.capture());
+        assertEquals(List.of(4, 4, 2), captor.getAllValues().stream().map(batch -> batch.getTicks().size()).toList());
+        assertEquals(10, report.getTicksAccepted());
+    }
+
+    @Test
+    @DisplayName("Should replay a recorded tick file in order")
+    void testStartReplay_ReplaysFileInOrder() throws IOException, InterruptedException {
+        UUID assetId = UUID.randomUUID();
+        Files.writeString(replayDirectory.resolve("ticks.csv"), String.join("\n",
+                "timestamp,assetId,quotation",
+                "1000," + assetId + ",10.0",
+                "# pause",
+                "1500," + assetId + ",11.0",
+                "2000," + assetId + ",12.5"));
+
+        SimulationReportDTO started = simulatorService.startReplay(SimulationReplayRequestDTO.builder()
+                .adminEmail(ADMIN.getAdminEmail())
+                .adminAccessCode(ADMIN.getAdminAccessCode())
+                .fileName("ticks.csv")
+                .speedUp(0)
+                .build());
+
+        SimulationReportDTO report = awaitFinished(started.getRunId());
+
+        ArgumentCaptor<AssetQuotationUpdateDTO> captor = ArgumentCaptor.forClass(AssetQuotationUpdateDTO.class);
+        verify(assetService, times(3)).updateQuotation(eq(assetId), captor.capture());
+        assertEquals(List.of(10.0, 11.0, 12.5), captor.getAllValues().stream().map(AssetQuotationUpdateDTO::getQuotation).toList());
+        assertEquals("replay:ticks.csv", report.getSource());
+        assertEquals(3, report.getTicksAccepted());
+    }
+
+    @Test
+    @DisplayName("Should fail a replay whose file holds a malformed tick")
+    void testStartReplay_MalformedFile_Fails() throws IOException, InterruptedException {
+        Files.writeString(replayDirectory.resolve("broken.csv"), "1000,not-a-uuid,10.0\n");
+
+        SimulationReportDTO started = simulatorService.startReplay(SimulationReplayRequestDTO.builder()
+                .adminEmail(ADMIN.getAdminEmail())
+                .adminAccessCode(ADMIN.getAdminAccessCode())
+                .fileName("broken.csv")
+                .build());
+
+        SimulationReportDTO report = awaitFinished(started.getRunId());
+
+        assertEquals(SimulationStatusEnum.FAILED, report.getStatus());
+        assertEquals("Malformed tick at line 1 of the replay file", report.getFailureReason());
+    }
+
+    @Test
+    @DisplayName("Should refuse replay files outside the replay directory")
+    void testStartReplay_OutsideDirectory_Throws() {
+        SimulationReplayRequestDTO dto = SimulationReplayRequestDTO.builder()
+                .adminEmail(ADMIN.getAdminEmail())
+                .adminAccessCode(ADMIN.getAdminAccessCode())
+                .fileName("../../etc/passwd")
+                .build();
+
+        assertThrows(InvalidSimulationException.class, () -> simulatorService.startReplay(dto));
+    }
+
+    @Test
+    @DisplayName("Should tag the ingest with its run and report only the notifications the run enqueued")
+    void testStartGenerated_ReportsOwnNotificationsOnly() throws InterruptedException {
+        Set<UUID> ingestRuns = ConcurrentHashMap.newKeySet();
+        when(assetService.getAssetById(any())).thenReturn(AssetResponseDTO.builder().quotation(100.0).build());
+        doAnswer(invocation -> ingestRuns.add(SimulationRunContext.current()))
+                .when(assetService).updateQuotation(any(), any(AssetQuotationUpdateDTO.class));
+
+        SimulationReportDTO started = simulatorService.startGenerated(SimulationRequestDTO.builder()
+                .adminEmail(ADMIN.getAdminEmail())
+                .adminAccessCode(ADMIN.getAdminAccessCode())
+                .assetIds(List.of(UUID.randomUUID()))
+                .ticksPerAsset(3)
+                .ticksPerSecond(0)
+                .build());
+        awaitFinished(started.getRunId());
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        when(notificationOutboxRepository.findByStatusAndSimulationRunId(OutboxStatusEnum.DELIVERED, started.getRunId()))
+                .thenReturn(List.of(NotificationOutboxModel.builder()
+                        .createdAt(createdAt)
+                        .deliveredAt(createdAt.plusNanos(40_000_000))
+                        .build()));
+        SimulationReportDTO report = simulatorService.getReport(started.getRunId(), ADMIN);
+
+        assertEquals(Set.of(started.getRunId()), ingestRuns);
+        assertNull(SimulationRunContext.current());
+        assertEquals(1, report.getNotificationsDelivered());
+        assertEquals(40, report.getMaxNotificationLatencyMillis());
+    }
+
+    @Test
+    @DisplayName("Should refuse a run while every runner is busy")
+    void testStartGenerated_CapacityReached_Throws() {
+        when(assetService.getAssetById(any())).thenReturn(AssetResponseDTO.builder().quotation(100.0).build());
+        SimulationRequestDTO slowRun = SimulationRequestDTO.builder()
+                .adminEmail(ADMIN.getAdminEmail())
+                .adminAccessCode(ADMIN.getAdminAccessCode())
+                .assetIds(List.of(UUID.randomUUID()))
+                .ticksPerAsset(10)
+                .ticksPerSecond(1)
+                .build();
+
+        SimulationReportDTO started = simulatorService.startGenerated(slowRun);
+
+        assertThrows(SimulationCapacityExceededException.class, () -> simulatorService.startGenerated(slowRun));
+        simulatorService.cancel(started.getRunId(), ADMIN);
+    }
+
+    @Test
+    @DisplayName("Should generate the same tick stream for the same seed")
+    void testTickGenerator_IsDeterministicPerSeed() {
+        Map<UUID, Double> quotations = new LinkedHashMap<>();
+        quotations.put(UUID.randomUUID(), 100.0);
+        quotations.put(UUID.randomUUID(), 20.0);
+
+        List<ScheduledTick> first = new ArrayList<>();
+        new TickGenerator(new Random(7), quotations, 50, 1000, 0.02, 0.1, 0.2, 0.05, 10, 5).forEachRemaining(first::add);
+        List<ScheduledTick> second = new ArrayList<>();
+        new TickGenerator(new Random(7), quotations, 50, 1000, 0.02, 0.1, 0.2, 0.05, 10, 5).forEachRemaining(second::add);
+
+        assertEquals(50, first.size());
+        assertEquals(first, second);
+        assertTrue(first.stream().allMatch(tick -> tick.quotation() > 0));
+        for (int i = 1; i < first.size(); i++) {
+            assertTrue(first.get(i).offsetNanos() >= first.get(i - 1).offsetNanos());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxCounterResponseDTO;
+import com.ufcg.psoft.commerce.dto.notification.NotificationInboxPageResponseDTO;
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxCounterModel;
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxEntryModel;
+import com.ufcg.psoft.commerce.repository.observer.NotificationInboxCounterRepository;
+import com.ufcg.psoft.commerce.repository.observer.NotificationInboxEntryRepository;
+import com.ufcg.psoft.commerce.service.notification.NotificationInboxServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Notification Inbox Service Unit Tests")
+class NotificationInboxServiceUnitTests {
+
+    private NotificationInboxEntryRepository entryRepository;
+    private NotificationInboxCounterRepository counterRepository;
+    private NotificationInboxServiceImpl inboxService;
+
+    private UUID clientId;
+
+    @BeforeEach
+    void setUp() {
+        entryRepository = mock(NotificationInboxEntryRepository.class);
+        counterRepository = mock(NotificationInboxCounterRepository.class);
+
+        inboxService = new NotificationInboxServiceImpl();
+        ReflectionTestUtils.setField(inboxService, "notificationInboxEntryRepository", entryRepository);
+        ReflectionTestUtils.setField(inboxService, "notificationInboxCounterRepository", counterRepository);
+        ReflectionTestUtils.setField(inboxService, "transactionManager", mock(PlatformTransactionManager.class));
+        inboxService.start();
+
+        clientId = UUID.randomUUID();
+    }
+
+    private NotificationInboxEntryModel entry(Long id, UUID owner) {
+        return NotificationInboxEntryModel.builder()
+                .id(id)
+                .clientId(owner)
+                .category(NotificationCategoryEnum.PURCHASE)
+                .message("message " + id)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should cut messages longer than the inbox column")
+    void testEntry_LongMessage_Truncated() {
+        NotificationInboxEntryModel entry = NotificationInboxEntryModel.builder()
+                .clientId(clientId)
+                .category(NotificationCategoryEnum.PURCHASE)
+                .message("x".repeat(NotificationInboxEntryModel.MAX_MESSAGE_LENGTH + 100))
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        assertEquals(NotificationInboxEntryModel.MAX_MESSAGE_LENGTH, entry.getMessage().length());
+    }
+
+    @Test
+    @DisplayName("Should save the whole batch at once and bump each client counter once")
+    void testAppendAll_GroupsCounterUpdatesPerClient() {
+        UUID otherClientId = UUID.randomUUID();
+        when(counterRepository.incrementAppended(clientId, 2L)).thenReturn(1);
+        when(counterRepository.incrementAppended(otherClientId, 1L)).thenReturn(0);
+
+        List<NotificationInboxEntryModel> batch = List.of(entry(null, clientId), entry(null, otherClientId), entry(null, clientId));
+        inboxService.appendAll(batch);
+
+        verify(entryRepository, times(1)).saveAll(batch);
+        verify(counterRepository, times(1)).incrementAppended(clientId, 2L);
+        verify(counterRepository, times(1)).insertEmpty(otherClientId);
+        verify(counterRepository, times(2)).incrementAppended(otherClientId, 1L);
+        verify(counterRepository, never()).save(any(NotificationInboxCounterModel.class));
+    }
+
+    @Test
+    @DisplayName("Should still count the batch when another notification opened the counter first")
+    void testAppendAll_CounterOpenedConcurrently_StillIncrements() {
+        when(counterRepository.incrementAppended(clientId, 1L)).thenReturn(0, 1);
+        when(counterRepository.insertEmpty(clientId)).thenThrow(new DataIntegrityViolationException("notification_inbox_counter primary key"));
+
+        inboxService.appendAll(List.of(entry(null, clientId)));
+
+        verify(counterRepository, times(1)).insertEmpty(clientId);
+        verify(counterRepository, times(2)).incrementAppended(clientId, 1L);
+        verify(counterRepository, never()).save(any(NotificationInboxCounterModel.class));
+    }
+
+    @Test
+    @DisplayName("Should read the next page after the informed id and expose the cursor")
+    void testGetInbox_BeforeId_UsesKeysetQuery() {
+        when(entryRepository.findByClientIdAndIdLessThanOrderByIdDesc(eq(clientId), eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(entry(9L, clientId), entry(8L, clientId)));
+        when(counterRepository.findById(clientId)).thenReturn(Optional.of(new NotificationInboxCounterModel(clientId, 4, 10)));
+
+        NotificationInboxPageResponseDTO page = inboxService.getInbox(clientId, 10L, 2);
+
+        assertEquals(2, page.getEntries().size());
+        assertEquals(8L, page.getNextBeforeId());
+        assertEquals(4, page.getUnreadCount());
+        assertEquals(10, page.getTotalCount());
+        verify(entryRepository, never()).findByClientIdOrderByIdDesc(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return an empty inbox with zeroed counters for clients without notifications")
+    void testGetInbox_NoEntries_EmptyPage() {
+        when(entryRepository.findByClientIdOrderByIdDesc(eq(clientId), any(Pageable.class))).thenReturn(List.of());
+        when(counterRepository.findById(clientId)).thenReturn(Optional.empty());
+
+        NotificationInboxPageResponseDTO page = inboxService.getInbox(clientId, null, null);
+
+        assertTrue(page.getEntries().isEmpty());
+        assertNull(page.getNextBeforeId());
+        assertEquals(0, page.getUnreadCount());
+    }
+
+    @Test
+    @DisplayName("Should decrement the unread counter by the number of entries marked as read")
+    void testMarkRead_DecrementsCounter() {
+        when(entryRepository.markReadUpTo(clientId, 5L)).thenReturn(3);
+        when(counterRepository.findById(clientId)).thenReturn(Optional.of(new NotificationInboxCounterModel(clientId, 1, 4)));
+
+        NotificationInboxCounterResponseDTO counter = inboxService.markRead(clientId, 5L);
+
+        verify(counterRepository, times(1)).decrementUnread(clientId, 3L);
+        assertEquals(3, counter.getMarkedAsRead());
+        assertEquals(1, counter.getUnreadCount());
+    }
+}
@@ -0,0 +1,220 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.enums.OutboxStatusEnum;
+import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
+import com.ufcg.psoft.commerce.exception.notification.NotificationFanOutException;
+import com.ufcg.psoft.commerce.exception.user.ClientIdNotFoundException;
+import com.ufcg.psoft.commerce.model.observer.NotificationOutboxModel;
+import com.ufcg.psoft.commerce.model.observer.PriceVariationWindow;
+import com.ufcg.psoft.commerce.repository.observer.NotificationOutboxRepository;
+import com.ufcg.psoft.commerce.service.observer.EventManager;
+import com.ufcg.psoft.commerce.service.observer.NotificationOutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Notification Outbox Relay Unit Tests")
+class NotificationOutboxRelayUnitTests {
+
+    private NotificationOutboxRepository notificationOutboxRepository;
+    private EventManager eventManager;
+    private NotificationOutboxRelay relay;
+
+    private UUID assetId;
+
+    @BeforeEach
+    void setUp() {
+        notificationOutboxRepository = mock(NotificationOutboxRepository.class);
+        eventManager = mock(EventManager.class);
+
+        relay = new NotificationOutboxRelay();
+        ReflectionTestUtils.setField(relay, "notificationOutboxRepository", notificationOutboxRepository);
+        ReflectionTestUtils.setField(relay, "eventManager", eventManager);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 2);
+        ReflectionTestUtils.setField(relay, "retentionMinutes", 60L);
+        ReflectionTestUtils.setField(relay, "coalescingWindowMillis", 0L);
+        ReflectionTestUtils.setField(relay, "transactionManager", mock(PlatformTransactionManager.class));
+        relay.start();
+
+        assetId = UUID.randomUUID();
+    }
+
+    private NotificationOutboxModel pendingEntry(long id, SubscriptionTypeEnum type, Double first, Double last) {
+        return NotificationOutboxModel.builder()
+                .id(id)
+                .assetId(assetId)
+                .subscriptionType(type)
+                .firstQuotation(first)
+                .lastQuotation(last)
+                .status(OutboxStatusEnum.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should merge pending price variations of the same asset into one delivery")
+    void testRelay_MergesPriceVariationsPerAsset() {
+        NotificationOutboxModel first = pendingEntry(1L, SubscriptionTypeEnum.PRICE_VARIATION, 100.0, 120.0);
+        NotificationOutboxModel second = pendingEntry(2L, SubscriptionTypeEnum.PRICE_VARIATION, 120.0, 140.0);
+        NotificationOutboxModel third = pendingEntry(3L, SubscriptionTypeEnum.PRICE_VARIATION, 140.0, 90.0);
+        when(notificationOutboxRepository.findByStatusOrderByIdAsc(eq(OutboxStatusEnum.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(first, second, third));
+
+        int delivered = relay.relay();
+
+        ArgumentCaptor<PriceVariationWindow> captor = ArgumentCaptor.forClass(PriceVariationWindow.class);
+        verify(eventManager, times(1)).deliverPriceVariation(captor.capture());
+
+        PriceVariationWindow window = captor.getValue();
+        assertEquals(100.0, window.getFirstQuotation());
+        assertEquals(90.0, window.getLastQuotation());
+        assertEquals(3, window.getMergedEvents());
+
+        assertEquals(3, delivered);
+        assertEquals(OutboxStatusEnum.DELIVERED, third.getStatus());
+        assertNotNull(third.getDeliveredAt());
+    }
+
+    @Test
+    @DisplayName("Should keep the path extremes a batched row passed through between its first and last quotation")
+    void testRelay_BatchedRow_KeepsPathExtremes() {
+        NotificationOutboxModel entry = pendingEntry(1L, SubscriptionTypeEnum.PRICE_VARIATION, 100.0, 105.0);
+        entry.setPathLowestQuotation(95.0);
+        entry.setPathHighestQuotation(130.0);
+        when(notificationOutboxRepository.findByStatusOrderByIdAsc(eq(OutboxStatusEnum.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(entry));
+
+        relay.relay();
+
+        ArgumentCaptor<PriceVariationWindow> captor = ArgumentCaptor.forClass(PriceVariationWindow.class);
+        verify(eventManager, times(1)).deliverPriceVariation(captor.capture());
+
+        PriceVariationWindow window = captor.getValue();
+        assertEquals(95.0, window.getLowestQuotation());
+        assertEquals(130.0, window.getHighestQuotation());
+        assertEquals(0.30, window.getPathVariation(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should relay availability entries through the subscriber fan-out")
+    void testRelay_AvailabilityEntry_NotifiesSubscribers() {
+        NotificationOutboxModel entry = pendingEntry(1L, SubscriptionTypeEnum.AVAILABILITY, null, null);
+        when(notificationOutboxRepository.findByStatusOrderByIdAsc(eq(OutboxStatusEnum.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(entry));
+
+        relay.relay();
+
+        verify(eventManager, times(1)).notifySubscribersByType(assetId, SubscriptionTypeEnum.AVAILABILITY);
+        verify(notificationOutboxRepository, times(1)).saveAll(List.of(entry));
+        assertEquals(OutboxStatusEnum.DELIVERED, entry.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should keep failed entries pending until the maximum number of attempts")
+    void testRelay_FanOutFails_RetriesThenMarksFailed() {
+        NotificationOutboxModel entry = pendingEntry(1L, SubscriptionTypeEnum.AVAILABILITY, null, null);
+        when(notificationOutboxRepository.findByStatusOrderByIdAsc(eq(OutboxStatusEnum.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(entry));
+        doThrow(new ClientIdNotFoundException(UUID.randomUUID()))
+                .when(eventManager).notifySubscribersByType(any(), any());
+        when(notificationOutboxRepository.findAllById(List.of(1L))).thenReturn(List.of(entry));
+
+        assertEquals(0, relay.relay());
+        assertEquals(OutboxStatusEnum.PENDING, entry.getStatus());
+        assertEquals(1, entry.getAttempts());
+
+        relay.relay();
+        assertEquals(OutboxStatusEnum.FAILED, entry.getStatus());
+        assertNull(entry.getDeliveredAt());
+    }
+
+    @Test
+    @DisplayName("Should keep an entry pending when a subscriber was not acknowledged, without rolling back the others")
+    void testRelay_PartialFanOut_KeepsEntryPending() {
+        NotificationOutboxModel entry = pendingEntry(1L, SubscriptionTypeEnum.AVAILABILITY, null, null);
+        when(notificationOutboxRepository.findByStatusOrderByIdAsc(eq(OutboxStatusEnum.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(entry));
+        doThrow(new NotificationFanOutException(assetId, 1))
+                .when(eventManager).notifySubscribersByType(any(), any());
+
+        assertEquals(0, relay.relay());
+
+        assertEquals(OutboxStatusEnum.PENDING, entry.getStatus());
+        assertEquals(1, entry.getAttempts());
+        verify(notificationOutboxRepository, times(1)).saveAll(List.of(entry));
+        verify(notificationOutboxRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should deliver the rest of the batch when one entry keeps failing")
+    void testRelay_PoisonEntry_DoesNotBlockBatch() {
+        UUID otherAssetId = UUID.randomUUID();
+        NotificationOutboxModel poison = pendingEntry(1L, SubscriptionTypeEnum.AVAILABILITY, null, null);
+        NotificationOutboxModel healthy = pendingEntry(2L, SubscriptionTypeEnum.AVAILABILITY, null, null);
+        healthy.setAssetId(otherAssetId);
+        when(notificationOutboxRepository.findByStatusOrderByIdAsc(eq(OutboxStatusEnum.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(poison, healthy));
+        doThrow(new IllegalStateException("boom"))
+                .when(eventManager).notifySubscribersByType(eq(assetId), any());
+        when(notificationOutboxRepository.findAllById(List.of(1L))).thenReturn(List.of(poison));
+
+        assertEquals(1, relay.relay());
+
+        assertEquals(1, poison.getAttempts());
+        assertEquals(OutboxStatusEnum.DELIVERED, healthy.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should hold price variations back until the oldest of them has waited for the coalescing window")
+    void testRelay_CoalescingWindow_HoldsRecentPriceVariations() {
+        ReflectionTestUtils.setField(relay, "coalescingWindowMillis", 60_000L);
+        NotificationOutboxModel recent = pendingEntry(1L, SubscriptionTypeEnum.PRICE_VARIATION, 100.0, 120.0);
+        NotificationOutboxModel old = pendingEntry(2L, SubscriptionTypeEnum.PRICE_VARIATION, 50.0, 60.0);
+        old.setAssetId(UUID.randomUUID());
+        old.setCreatedAt(LocalDateTime.now().minusMinutes(2));
+        when(notificationOutboxRepository.findByStatusOrderByIdAsc(eq(OutboxStatusEnum.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(recent, old));
+
+        assertEquals(1, relay.relay());
+
+        verify(eventManager, times(1)).deliverPriceVariation(any());
+        assertEquals(OutboxStatusEnum.PENDING, recent.getStatus());
+        assertEquals(OutboxStatusEnum.DELIVERED, old.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the outbox is empty")
+    void testRelay_EmptyOutbox_NoDelivery() {
+        when(notificationOutboxRepository.findByStatusOrderByIdAsc(eq(OutboxStatusEnum.PENDING), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertEquals(0, relay.relay());
+        verifyNoInteractions(eventManager);
+    }
+
+    @Test
+    @DisplayName("Should compact delivered entries older than the retention period")
+    void testCompact_DeletesDeliveredEntriesOlderThanRetention() {
+        when(notificationOutboxRepository.deleteDeliveredBefore(any(LocalDateTime.class))).thenReturn(4);
+
+        assertEquals(4, relay.compact());
+
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(notificationOutboxRepository).deleteDeliveredBefore(captor.capture());
+        assertTrue(captor.getValue().isBefore(LocalDateTime.now().minusMinutes(59)));
+    }
+}
@@ -0,0 +1,163 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.dto.notification.NotificationPipelineMetricsDTO;
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import com.ufcg.psoft.commerce.enums.WaitStrategyEnum;
+import com.ufcg.psoft.commerce.model.observer.ISubscriber;
+import com.ufcg.psoft.commerce.model.observer.NotificationInboxEntryModel;
+import com.ufcg.psoft.commerce.model.user.AccessCodeModel;
+import com.ufcg.psoft.commerce.model.user.AddressModel;
+import com.ufcg.psoft.commerce.model.user.ClientModel;
+import com.ufcg.psoft.commerce.model.user.EmailModel;
+import com.ufcg.psoft.commerce.model.wallet.WalletModel;
+import com.ufcg.psoft.commerce.service.notification.NotificationInboxService;
+import com.ufcg.psoft.commerce.service.notification.NotificationPipelineImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Notification Pipeline Unit Tests")
+class NotificationPipelineUnitTests {
+
+    private NotificationPipelineImpl pipeline;
+    private NotificationInboxService notificationInboxService;
+
+    private void startPipeline(int capacity, int batchSize, WaitStrategyEnum waitStrategy) {
+        pipeline = new NotificationPipelineImpl();
+        notificationInboxService = mock(NotificationInboxService.class);
+        ReflectionTestUtils.setField(pipeline, "notificationInboxService", notificationInboxService);
+        ReflectionTestUtils.setField(pipeline, "capacity", capacity);
+        ReflectionTestUtils.setField(pipeline, "batchSize", batchSize);
+        ReflectionTestUtils.setField(pipeline, "waitStrategy", waitStrategy);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Test
+    @DisplayName("Should deliver published notifications to subscribers in order")
+    void testPublish_DeliversInOrder() throws InterruptedException {
+        startPipeline(8, 4, WaitStrategyEnum.BLOCKING);
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(5);
+        ISubscriber subscriber = context -> { received.add(context); delivered.countDown(); };
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(pipeline.publish(subscriber, NotificationCategoryEnum.PURCHASE, "event-" + i));
+        }
+
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("event-0", "event-1", "event-2", "event-3", "event-4"), received);
+    }
+
+    @Test
+    @DisplayName("Should drop notifications when the ring buffer is full")
+    void testPublish_BufferFull_DropsAndCounts() throws InterruptedException {
+        startPipeline(2, 1, WaitStrategyEnum.SLEEPING);
+        CountDownLatch consumerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ISubscriber slowSubscriber = context -> {
+            consumerBlocked.countDown();
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        assertTrue(pipeline.publish(slowSubscriber, NotificationCategoryEnum.PURCHASE, "first"));
+        assertTrue(consumerBlocked.await(2, TimeUnit.SECONDS));
+
+        assertTrue(pipeline.publish(slowSubscriber, NotificationCategoryEnum.PURCHASE, "second"));
+        assertFalse(pipeline.publish(slowSubscriber, NotificationCategoryEnum.PURCHASE, "third"));
+
+        NotificationPipelineMetricsDTO metrics = pipeline.getMetrics();
+        assertEquals(2, metrics.getCapacity());
+        assertEquals(1, metrics.getDropped());
+        assertEquals(2, metrics.getPublished());
+        assertEquals(2, metrics.getQueueDepth());
+
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should isolate failing subscribers and count them as failed")
+    void testPublish_FailingSubscriber_CountsFailure() throws InterruptedException {
+        startPipeline(8, 8, WaitStrategyEnum.YIELDING);
+        CountDownLatch delivered = new CountDownLatch(1);
+
+        pipeline.publish(context -> { throw new IllegalStateException("boom"); }, NotificationCategoryEnum.PURCHASE, "broken");
+        pipeline.publish(context -> delivered.countDown(), NotificationCategoryEnum.PURCHASE, "healthy");
+
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+
+        NotificationPipelineMetricsDTO metrics = pipeline.getMetrics();
+        assertEquals(1, metrics.getFailed());
+        assertTrue(metrics.getMaxPublishToDeliverMicros() >= 0);
+    }
+
+    @Test
+    @DisplayName("Should acknowledge a notification only once it was delivered")
+    void testPublishAcknowledged_CompletesWithDeliveryOutcome() throws Exception {
+        startPipeline(8, 8, WaitStrategyEnum.BLOCKING);
+
+        CompletableFuture<Boolean> failed = pipeline.publishAcknowledged(
+                context -> { throw new IllegalStateException("boom"); }, NotificationCategoryEnum.PURCHASE, "broken");
+        CompletableFuture<Boolean> delivered = pipeline.publishAcknowledged(
+                context -> { }, NotificationCategoryEnum.PURCHASE, "healthy");
+
+        assertFalse(failed.get(2, TimeUnit.SECONDS));
+        assertTrue(delivered.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should append client deliveries to the inbox once per consumed batch")
+    @SuppressWarnings("unchecked")
+    void testPublish_ClientSubscriber_AppendsInboxBatch() throws InterruptedException {
+        startPipeline(16, 16, WaitStrategyEnum.BLOCKING);
+        CountDownLatch appended = new CountDownLatch(1);
+        doAnswer(invocation -> { appended.countDown(); return null; })
+                .when(notificationInboxService).appendAll(anyList());
+
+        UUID clientId = UUID.randomUUID();
+        ClientModel client = new ClientModel(
+                clientId,
+                "João Azevedo",
+                new EmailModel("joao@email.com"),
+                new AccessCodeModel("123456"),
+                new AddressModel("Street", "123", "Neighborhood", "City", "State", "Country", "12345-678"),
+                PlanTypeEnum.PREMIUM,
+                WalletModel.builder().budget(0).holdings(new HashMap<>()).build()
+        );
+
+        pipeline.publish(client, NotificationCategoryEnum.WITHDRAW, "withdraw confirmed");
+        pipeline.publish(context -> { }, NotificationCategoryEnum.WITHDRAW, "not a client");
+
+        assertTrue(appended.await(2, TimeUnit.SECONDS));
+
+        ArgumentCaptor<List<NotificationInboxEntryModel>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationInboxService, atLeastOnce()).appendAll(captor.capture());
+        List<NotificationInboxEntryModel> entries = captor.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(1, entries.size());
+        assertEquals(clientId, entries.get(0).getClientId());
+        assertEquals(NotificationCategoryEnum.WITHDRAW, entries.get(0).getCategory());
+        assertEquals("withdraw confirmed", entries.get(0).getMessage());
+    }
+}
@@ -0,0 +1,110 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
+import com.ufcg.psoft.commerce.model.observer.PriceVariationWindow;
+import com.ufcg.psoft.commerce.model.observer.SubscriptionModel;
+import com.ufcg.psoft.commerce.repository.observer.SubscriptionRepository;
+import com.ufcg.psoft.commerce.service.observer.PriceThresholdIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Price Threshold Index Unit Tests")
+class PriceThresholdIndexUnitTests {
+
+    private SubscriptionRepository subscriptionRepository;
+    private PriceThresholdIndex index;
+
+    private UUID assetId;
+    private List<SubscriptionModel> stored;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionRepository = mock(SubscriptionRepository.class);
+        index = new PriceThresholdIndex();
+        ReflectionTestUtils.setField(index, "subscriptionRepository", subscriptionRepository);
+
+        assetId = UUID.randomUUID();
+        stored = new ArrayList<>();
+        when(subscriptionRepository.findByAssetIdAndSubscriptionType(assetId, SubscriptionTypeEnum.PRICE_VARIATION))
+                .thenReturn(stored);
+    }
+
+    private SubscriptionModel subscription(Double variationThreshold, Double lowerPriceBound, Double upperPriceBound) {
+        SubscriptionModel subscription = SubscriptionModel.builder()
+                .id(UUID.randomUUID())
+                .assetId(assetId)
+                .subscriberId(UUID.randomUUID())
+                .subscriptionType(SubscriptionTypeEnum.PRICE_VARIATION)
+                .variationThreshold(variationThreshold)
+                .lowerPriceBound(lowerPriceBound)
+                .upperPriceBound(upperPriceBound)
+                .build();
+        stored.add(subscription);
+        return subscription;
+    }
+
+    @Test
+    @DisplayName("Should only match variation thresholds at or below the observed variation")
+    void testMatch_VariationThresholds() {
+        SubscriptionModel fivePercent = subscription(0.05, null, null);
+        SubscriptionModel tenPercent = subscription(0.10, null, null);
+        subscription(0.20, null, null);
+
+        Set<UUID> triggered = index.match(new PriceVariationWindow(assetId, 100.0, 110.0));
+
+        assertEquals(Set.of(fivePercent.getId(), tenPercent.getId()), triggered);
+    }
+
+    @Test
+    @DisplayName("Should match price bands crossed anywhere inside the merged window")
+    void testMatch_PriceBands() {
+        SubscriptionModel floor = subscription(null, 95.0, null);
+        SubscriptionModel ceiling = subscription(null, null, 104.0);
+        subscription(null, 90.0, 120.0);
+
+        PriceVariationWindow window = new PriceVariationWindow(assetId, 100.0, 105.0);
+        window.merge(94.0);
+        window.merge(101.0);
+
+        assertEquals(Set.of(floor.getId(), ceiling.getId()), index.match(window));
+    }
+
+    @Test
+    @DisplayName("Should treat subscriptions without criteria as the default 10% threshold")
+    void testMatch_NoCriteria_UsesDefaultThreshold() {
+        SubscriptionModel legacy = subscription(null, null, null);
+
+        assertTrue(index.match(new PriceVariationWindow(assetId, 100.0, 105.0)).isEmpty());
+        assertEquals(Set.of(legacy.getId()), index.match(new PriceVariationWindow(assetId, 100.0, 111.0)));
+    }
+
+    @Test
+    @DisplayName("Should load each asset once and keep it updated through register and unregister")
+    void testRegisterAndUnregister_KeepIndexUpdated() {
+        SubscriptionModel existing = subscription(0.05, null, null);
+        index.match(new PriceVariationWindow(assetId, 100.0, 101.0));
+
+        SubscriptionModel added = SubscriptionModel.builder()
+                .id(UUID.randomUUID())
+                .assetId(assetId)
+                .subscriberId(UUID.randomUUID())
+                .subscriptionType(SubscriptionTypeEnum.PRICE_VARIATION)
+                .variationThreshold(0.02)
+                .build();
+        index.register(added);
+        index.unregister(assetId, List.of(existing.getId()));
+
+        assertEquals(Set.of(added.getId()), index.match(new PriceVariationWindow(assetId, 100.0, 110.0)));
+        verify(subscriptionRepository, times(1)).findByAssetIdAndSubscriptionType(assetId, SubscriptionTypeEnum.PRICE_VARIATION);
+    }
+}
@@ -10,6 +10,7 @@ import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
 import com.ufcg.psoft.commerce.enums.PurchaseStateEnum;
 import com.ufcg.psoft.commerce.exception.asset.AssetIsInactiveException;
 import com.ufcg.psoft.commerce.exception.asset.AssetQuantityAvailableIsInsufficientException;
+import com.ufcg.psoft.commerce.exception.asset.QuotationVersionMismatchException;
 import com.ufcg.psoft.commerce.exception.purchase.PurchaseNotFoundException;
 import com.ufcg.psoft.commerce.exception.user.ClientBudgetIsInsufficientException;
 import com.ufcg.psoft.commerce.exception.user.UnauthorizedUserAccessException;
@@ -22,6 +23,7 @@ import com.ufcg.psoft.commerce.repository.wallet.PurchaseRepository;
 import com.ufcg.psoft.commerce.repository.wallet.WalletRepository;
 import com.ufcg.psoft.commerce.service.admin.AdminService;
 import com.ufcg.psoft.commerce.service.asset.AssetService;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationRegister;
 import com.ufcg.psoft.commerce.service.client.ClientService;
 import com.ufcg.psoft.commerce.service.mapper.DTOMapperService;
 import com.ufcg.psoft.commerce.service.wallet.PurchaseService;
@@ -96,6 +98,7 @@ class PurchaseServiceUnitTests {
     @BeforeEach
     void setup() {
         ReflectionTestUtils.setField(purchaseServiceImpl, "dtoMapperService", dtoMapperService);
+        ReflectionTestUtils.setField(purchaseServiceImpl, "quotationRegister", new QuotationRegister());
 
         purchaseId = UUID.randomUUID();
         walletId = UUID.randomUUID();
@@ -252,7 +255,7 @@ class PurchaseServiceUnitTests {
 
         PurchaseResponseDTO expectedResponse = new PurchaseResponseDTO(
                 purchase.getId(), wallet.getId(), asset.getId(),
-                10.0, purchase.getAcquisitionPrice(), PurchaseStateEnum.REQUESTED, LocalDate.now()
+                10.0, purchase.getAcquisitionPrice(), PurchaseStateEnum.REQUESTED, LocalDate.now(), 0L
         );
         when(dtoMapperService.toPurchaseResponseDTO(any(PurchaseModel.class))).thenReturn(expectedResponse);
 
@@ -345,7 +348,7 @@ class PurchaseServiceUnitTests {
     @Test
     @DisplayName("Should create purchase request when wallet has enough budget")
     void testRedirectCreatePurchaseRequest_Success() {
-        PurchaseResponseDTO newPurchase = new PurchaseResponseDTO(UUID.randomUUID(), walletId, assetId, 2.0, purchase.getAcquisitionPrice(), PurchaseStateEnum.REQUESTED, LocalDate.now());
+        PurchaseResponseDTO newPurchase = new PurchaseResponseDTO(UUID.randomUUID(), walletId, assetId, 2.0, purchase.getAcquisitionPrice(), PurchaseStateEnum.REQUESTED, LocalDate.now(), 0L);
 
         ClientPurchaseAssetRequestDTO dto = new ClientPurchaseAssetRequestDTO("123456", 2);
 
@@ -470,11 +473,11 @@ class PurchaseServiceUnitTests {
 
         PurchaseResponseDTO expectedResponse = new PurchaseResponseDTO(
                 purchase.getId(), wallet.getId(), asset.getId(),
-                10.0, purchase.getAcquisitionPrice(), PurchaseStateEnum.PURCHASED, LocalDate.now() // ← Mude para PURCHASED
+                10.0, purchase.getAcquisitionPrice(), PurchaseStateEnum.PURCHASED, LocalDate.now(), 0L // ← Mude para PURCHASED
         );
         when(walletService.addPurchase(any(PurchaseModel.class))).thenReturn(expectedResponse);
 
-        PurchaseConfirmationByClientDTO dto = new PurchaseConfirmationByClientDTO("123456");
+        PurchaseConfirmationByClientDTO dto = new PurchaseConfirmationByClientDTO("123456", null);
 
         PurchaseResponseDTO result = purchaseServiceImpl.confirmPurchase(purchaseId, clientId, dto);
 
@@ -483,16 +486,57 @@ class PurchaseServiceUnitTests {
         assertEquals(PurchaseStateEnum.PURCHASED, result.getPurchaseState());
 
         verify(purchaseRepository).findById(purchaseId);
-        verify(purchaseRepository).save(purchase);
+        verify(purchaseRepository, never()).save(any(PurchaseModel.class));
         verify(walletService).addPurchase(any(PurchaseModel.class));
     }
 
+    @Test
+    @DisplayName("Should reject a confirmation made against a different quotation version")
+    void testConfirmAvailability_QuotationVersionMismatch() {
+        ReflectionTestUtils.setField(purchase, "quotationVersion", 3L);
+        when(purchaseRepository.findById(purchaseId)).thenReturn(Optional.of(purchase));
+        when(adminService.getAdmin()).thenReturn(admin);
+        PurchaseConfirmationRequestDTO staleRequest = PurchaseConfirmationRequestDTO.builder()
+                .adminEmail("admin@example.com")
+                .adminAccessCode("123456")
+                .quotationVersion(2L)
+                .build();
+
+        assertThrows(QuotationVersionMismatchException.class, () -> {
+            purchaseServiceImpl.confirmAvailability(purchaseId, staleRequest);
+        });
+
+        assertEquals(PurchaseStateEnum.REQUESTED, purchase.getStateEnum());
+        verify(purchaseRepository, never()).save(any(PurchaseModel.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a confirmation when the asset was quoted again after the purchase was priced")
+    void testConfirmAvailability_AssetRequotedSincePricing() {
+        QuotationRegister quotationRegister = (QuotationRegister) ReflectionTestUtils.getField(purchaseServiceImpl, "quotationRegister");
+        quotationRegister.write(assetId, 100.0, 0, 120.0);
+        when(purchaseRepository.findById(purchaseId)).thenReturn(Optional.of(purchase));
+        when(adminService.getAdmin()).thenReturn(admin);
+        PurchaseConfirmationRequestDTO request = PurchaseConfirmationRequestDTO.builder()
+                .adminEmail("admin@example.com")
+                .adminAccessCode("123456")
+                .quotationVersion(purchase.getQuotationVersion())
+                .build();
+
+        assertThrows(QuotationVersionMismatchException.class, () -> {
+            purchaseServiceImpl.confirmAvailability(purchaseId, request);
+        });
+
+        assertEquals(PurchaseStateEnum.REQUESTED, purchase.getStateEnum());
+        verify(purchaseRepository, never()).save(any(PurchaseModel.class));
+    }
+
     @Test
     @DisplayName("Should throw PurchaseNotFoundException when confirming by client with invalid ID")
     void testConfirmPurchase_NotFound() {
         when(purchaseRepository.findById(purchaseId)).thenReturn(Optional.empty());
 
-        PurchaseConfirmationByClientDTO dto = new PurchaseConfirmationByClientDTO("654321");
+        PurchaseConfirmationByClientDTO dto = new PurchaseConfirmationByClientDTO("654321", null);
 
         assertThrows(PurchaseNotFoundException.class, () -> {
             purchaseServiceImpl.confirmPurchase(purchaseId, clientId, dto);
@@ -509,8 +553,6 @@ class PurchaseServiceUnitTests {
         HoldingModel holdingModel = mock(HoldingModel.class);
         when(adminService.getAdmin()).thenReturn(admin);
 
-        when(purchaseRepository.save(any(PurchaseModel.class))).thenReturn(purchase);
-
         purchase.modify(adminService.getAdmin());
 
         PurchaseResponseAfterAddedInWalletDTO result = walletServiceImpl.addedInWallet(purchase, holdingModel);
@@ -518,6 +560,5 @@ class PurchaseServiceUnitTests {
         assertNotNull(result);
         verify(holdingModel).increaseQuantityAfterPurchase(purchase.getQuantity());
         verify(holdingModel).increaseAccumulatedPrice(purchase.getQuantity() * purchase.getAcquisitionPrice());
-        verify(purchaseRepository).save(purchase);
     }
 }
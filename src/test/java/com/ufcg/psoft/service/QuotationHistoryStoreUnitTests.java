@@ -0,0 +1,168 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.service.asset.history.QuotationHistoryStore;
+import com.ufcg.psoft.commerce.service.asset.history.QuotationHistoryStore.QuotationPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Quotation History Store Unit Tests")
+class QuotationHistoryStoreUnitTests {
+
+    @TempDir
+    Path directory;
+
+    private QuotationHistoryStore store;
+
+    private QuotationHistoryStore newStore(int segmentEntries, int retentionSegments) {
+        QuotationHistoryStore historyStore = new QuotationHistoryStore();
+        ReflectionTestUtils.setField(historyStore, "directory", directory.toString());
+        ReflectionTestUtils.setField(historyStore, "segmentEntries", segmentEntries);
+        ReflectionTestUtils.setField(historyStore, "retentionSegments", retentionSegments);
+        return historyStore;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private long segmentFiles(UUID assetId) throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve(assetId.toString()))) {
+            return files.count();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return only the points inside the requested range, oldest first")
+    void testRange_ReturnsPointsInsideRange() {
+        store = newStore(4, 10);
+        UUID assetId = UUID.randomUUID();
+        for (int i = 0; i < 10; i++) {
+            store.append(assetId, 1_000L + i * 100, 50.0 + i);
+        }
+
+        List<QuotationPoint> points = store.range(assetId, 1_250L, 1_700L, 100);
+
+        assertEquals(List.of(1_300L, 1_400L, 1_500L, 1_600L, 1_700L), points.stream().map(QuotationPoint::timestamp).toList());
+        assertEquals(53.0, points.get(0).quotation());
+    }
+
+    @Test
+    @DisplayName("Should stop reading once the limit is reached")
+    void testRange_RespectsLimit() {
+        store = newStore(4, 10);
+        UUID assetId = UUID.randomUUID();
+        for (int i = 0; i < 10; i++) {
+            store.append(assetId, 1_000L + i, 10.0);
+        }
+
+        assertEquals(3, store.range(assetId, 0, Long.MAX_VALUE, 3).size());
+    }
+
+    @Test
+    @DisplayName("Should roll into new segment files and drop the oldest ones on compaction")
+    void testCompact_DropsOldestSegments() throws IOException {
+        store = newStore(2, 1);
+        UUID assetId = UUID.randomUUID();
+        for (int i = 0; i < 6; i++) {
+            store.append(assetId, 1_000L + i, 10.0 + i);
+        }
+        assertEquals(3, segmentFiles(assetId));
+
+        store.compact();
+
+        assertEquals(2, segmentFiles(assetId));
+        List<QuotationPoint> points = store.range(assetId, 0, Long.MAX_VALUE, 100);
+        assertEquals(1_002L, points.get(0).timestamp());
+        assertEquals(4, points.size());
+    }
+
+    @Test
+    @DisplayName("Should keep timestamps ordered when the clock goes backwards")
+    void testAppend_OutOfOrderTimestamp_KeepsOrder() {
+        store = newStore(8, 10);
+        UUID assetId = UUID.randomUUID();
+        store.append(assetId, 2_000L, 10.0);
+        store.append(assetId, 1_500L, 11.0);
+
+        List<QuotationPoint> points = store.range(assetId, 0, Long.MAX_VALUE, 100);
+
+        assertEquals(2_000L, points.get(1).timestamp());
+        assertEquals(11.0, points.get(1).quotation());
+    }
+
+    @Test
+    @DisplayName("Should reopen persisted segments after a restart")
+    void testReopen_ReadsPersistedSegments() {
+        store = newStore(4, 10);
+        UUID assetId = UUID.randomUUID();
+        for (int i = 0; i < 6; i++) {
+            store.append(assetId, 1_000L + i, 20.0 + i);
+        }
+        store.flush();
+
+        QuotationHistoryStore reopened = newStore(4, 10);
+        List<QuotationPoint> points = reopened.range(assetId, 0, Long.MAX_VALUE, 100);
+
+        assertEquals(6, points.size());
+        assertEquals(25.0, points.get(5).quotation());
+    }
+
+    @Test
+    @DisplayName("Should fill the buckets before the first tick in range with the last earlier quotation")
+    void testSampleCloses_BackfillsFromBeforeRange() {
+        store = newStore(4, 10);
+        UUID assetId = UUID.randomUUID();
+        store.append(assetId, 500L, 40.0);
+        store.append(assetId, 2_500L, 42.0);
+        store.append(assetId, 3_200L, 43.0);
+
+        double[] closes = new double[4];
+        assertTrue(store.sampleCloses(assetId, 1_000L, 1_000L, closes));
+        assertArrayEquals(new double[]{40.0, 42.0, 43.0, 43.0}, closes);
+
+        double[] quiet = new double[2];
+        assertTrue(store.sampleCloses(assetId, 10_000L, 1_000L, quiet));
+        assertArrayEquals(new double[]{43.0, 43.0}, quiet);
+    }
+
+    @Test
+    @DisplayName("Should read an unknown asset as empty without creating its directory")
+    void testRange_UnknownAsset_CreatesNothing() {
+        store = newStore(4, 10);
+        UUID assetId = UUID.randomUUID();
+
+        assertTrue(store.range(assetId, 0, Long.MAX_VALUE, 100).isEmpty());
+        assertFalse(store.sampleCloses(assetId, 0, 1_000L, new double[4]));
+        assertFalse(Files.exists(directory.resolve(assetId.toString())));
+    }
+
+    @Test
+    @DisplayName("Should delete the segment files of a deleted asset")
+    void testOnAssetDeleted_RemovesSegments() {
+        store = newStore(2, 10);
+        UUID assetId = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            store.append(assetId, 1_000L + i, 10.0 + i);
+        }
+
+        store.onAssetDeleted(assetId);
+
+        assertFalse(Files.exists(directory.resolve(assetId.toString())));
+        assertTrue(store.range(assetId, 0, Long.MAX_VALUE, 100).isEmpty());
+    }
+}
@@ -0,0 +1,237 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationRegister;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationSnapshot;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationStamp;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationWriteBehind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Quotation Register Unit Tests")
+class QuotationRegisterUnitTests {
+
+    private QuotationRegister quotationRegister;
+    private QuotationWriteBehind quotationWriteBehind;
+    private AssetRepository assetRepository;
+
+    @BeforeEach
+    void setUp() {
+        quotationRegister = new QuotationRegister();
+        assetRepository = mock(AssetRepository.class);
+
+        quotationWriteBehind = new QuotationWriteBehind();
+        ReflectionTestUtils.setField(quotationWriteBehind, "quotationRegister", quotationRegister);
+        ReflectionTestUtils.setField(quotationWriteBehind, "assetRepository", assetRepository);
+        ReflectionTestUtils.setField(quotationWriteBehind, "batchSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should seed from the persisted quotation and reject writes based on a stale stamp")
+    void testCompareAndSet_StaleStamp_IsRejected() {
+        UUID assetId = UUID.randomUUID();
+        assertNull(quotationRegister.read(assetId));
+
+        QuotationStamp seed = quotationRegister.current(assetId, 100.0, 0);
+        QuotationStamp written = quotationRegister.compareAndSet(assetId, seed, 110.0);
+
+        assertEquals(0, seed.version());
+        assertNotNull(written);
+        assertTrue(written.version() > seed.version());
+        assertNull(quotationRegister.compareAndSet(assetId, seed, 120.0));
+        assertEquals(110.0, quotationRegister.current(assetId, 100.0, 0).quotation());
+    }
+
+    @Test
+    @DisplayName("Should never lose a concurrent write to the same asset")
+    void testCompareAndSet_ConcurrentWriters_AllApplied() throws InterruptedException {
+        UUID assetId = UUID.randomUUID();
+        quotationRegister.current(assetId, 0.0, 0);
+        int writers = 8;
+        int writesPerWriter = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch done = new CountDownLatch(writers);
+
+        for (int i = 0; i < writers; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < writesPerWriter; j++) {
+                    QuotationStamp current;
+                    do {
+                        current = quotationRegister.read(assetId);
+                    } while (quotationRegister.compareAndSet(assetId, current, current.quotation() + 1) == null);
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(writers * writesPerWriter, quotationRegister.read(assetId).quotation());
+    }
+
+    @Test
+    @DisplayName("Should overlay the live quotation without touching the persisted column")
+    void testOverlay_KeepsPersistedColumn() {
+        UUID assetId = UUID.randomUUID();
+        quotationRegister.compareAndSet(assetId, quotationRegister.current(assetId, 100.0, 0), 150.0);
+        AssetModel asset = AssetModel.builder().id(assetId).quotation(100.0).build();
+
+        quotationRegister.overlay(asset);
+
+        assertEquals(150.0, asset.getQuotation());
+        asset.setQuotation(150.0);
+        assertEquals(150.0, asset.getQuotation());
+    }
+
+    @Test
+    @DisplayName("Should persist only the latest quotation of each dirty asset, one batch per flush")
+    void testFlush_PersistsLatestValuePerBatch() {
+        List<UUID> assetIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            UUID assetId = UUID.randomUUID();
+            QuotationStamp first = quotationRegister.compareAndSet(assetId, quotationRegister.current(assetId, 100.0, 0), 101.0);
+            quotationRegister.compareAndSet(assetId, first, 102.0 + i);
+            assetIds.add(assetId);
+        }
+        when(assetRepository.updateQuotation(any(UUID.class), anyDouble(), anyLong())).thenReturn(1);
+
+        assertEquals(2, quotationWriteBehind.flush());
+        assertEquals(1, quotationRegister.getPendingFlushes());
+        assertEquals(1, quotationWriteBehind.flush());
+        assertEquals(0, quotationWriteBehind.flush());
+
+        for (int i = 0; i < 3; i++) {
+            verify(assetRepository).updateQuotation(assetIds.get(i), 102.0 + i, quotationRegister.read(assetIds.get(i)).version());
+        }
+        verify(assetRepository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should overwrite whatever the asset held when writing a value validated before commit")
+    void testWrite_LastCommittedWriterWins() {
+        UUID assetId = UUID.randomUUID();
+        QuotationStamp first = quotationRegister.write(assetId, 100.0, 0, 110.0);
+        QuotationStamp second = quotationRegister.write(assetId, 100.0, 0, 90.0);
+
+        assertTrue(second.version() > first.version());
+        assertEquals(90.0, quotationRegister.read(assetId).quotation());
+        assertEquals(List.of(assetId), quotationRegister.drainDirty(10));
+    }
+
+    @Test
+    @DisplayName("Should stop tracking an asset once it is removed")
+    void testRemove_DropsPendingFlush() {
+        UUID assetId = UUID.randomUUID();
+        quotationRegister.compareAndSet(assetId, quotationRegister.current(assetId, 100.0, 0), 110.0);
+
+        quotationRegister.remove(assetId);
+        quotationRegister.markDirty(List.of(assetId));
+
+        assertNull(quotationRegister.read(assetId));
+        assertEquals(0, quotationRegister.getPendingFlushes());
+    }
+
+    @Test
+    @DisplayName("Should keep reading the pinned version while writers move the quotation on")
+    void testSnapshot_IsolatedFromLaterWrites() {
+        UUID assetId = UUID.randomUUID();
+        QuotationStamp first = quotationRegister.compareAndSet(assetId, quotationRegister.current(assetId, 100.0, 0), 110.0);
+        AssetModel asset = AssetModel.builder().id(assetId).quotation(100.0).build();
+
+        try (QuotationSnapshot snapshot = quotationRegister.openSnapshot()) {
+            QuotationStamp second = quotationRegister.compareAndSet(assetId, first, 120.0);
+            quotationRegister.compareAndSet(assetId, second, 130.0);
+
+            assertEquals(110.0, snapshot.getQuotation(asset));
+            assertEquals(first.version(), snapshot.read(asset).version());
+        }
+
+        try (QuotationSnapshot snapshot = quotationRegister.openSnapshot()) {
+            assertEquals(130.0, snapshot.getQuotation(asset));
+        }
+    }
+
+    @Test
+    @DisplayName("Should price assets first written after the snapshot opened at their persisted quotation")
+    void testSnapshot_UnwrittenAsset_UsesPersistedQuotation() {
+        UUID assetId = UUID.randomUUID();
+        AssetModel asset = AssetModel.builder().id(assetId).quotation(100.0).build();
+
+        try (QuotationSnapshot snapshot = quotationRegister.openSnapshot()) {
+            quotationRegister.compareAndSet(assetId, quotationRegister.current(assetId, 100.0, 0), 150.0);
+
+            QuotationStamp quote = snapshot.read(asset);
+            assertEquals(100.0, quote.quotation());
+            assertEquals(0, quote.version());
+        }
+    }
+
+    @Test
+    @DisplayName("Should seed an unwritten asset with its persisted version and keep it until it is written")
+    void testSnapshot_UnwrittenAsset_KeepsPersistedVersion() {
+        quotationRegister.advanceClock(7);
+        UUID coldId = UUID.randomUUID();
+        AssetModel cold = AssetModel.builder().id(coldId).quotation(100.0).quotationVersion(5).build();
+
+        QuotationStamp quote;
+        try (QuotationSnapshot snapshot = quotationRegister.openSnapshot()) {
+            quote = snapshot.read(cold);
+        }
+
+        assertEquals(5, quote.version());
+        assertEquals(5, quotationRegister.current(coldId, 100.0, 5).version());
+        QuotationStamp written = quotationRegister.compareAndSet(coldId, quotationRegister.current(coldId, 100.0, 5), 120.0);
+        assertEquals(8, written.version());
+    }
+
+    @Test
+    @DisplayName("Should start the clock past the largest persisted version so new writes supersede it")
+    void testStart_SeedsClockFromPersistedVersions() {
+        when(assetRepository.findMaxQuotationVersion()).thenReturn(42L);
+        quotationWriteBehind.start();
+
+        UUID assetId = UUID.randomUUID();
+        QuotationStamp written = quotationRegister.write(assetId, 100.0, 42, 110.0);
+        when(assetRepository.updateQuotation(any(UUID.class), anyDouble(), anyLong())).thenReturn(1);
+        quotationWriteBehind.flush();
+
+        assertEquals(43, written.version());
+        verify(assetRepository).updateQuotation(assetId, 110.0, 43);
+    }
+
+    @Test
+    @DisplayName("Should release the pin on close so superseded versions can be dropped")
+    void testSnapshot_Close_ReleasesPin() {
+        UUID assetId = UUID.randomUUID();
+        QuotationStamp first = quotationRegister.compareAndSet(assetId, quotationRegister.current(assetId, 100.0, 0), 110.0);
+
+        QuotationSnapshot snapshot = quotationRegister.openSnapshot();
+        assertEquals(1, quotationRegister.getOpenSnapshots());
+        snapshot.close();
+        assertEquals(0, quotationRegister.getOpenSnapshots());
+
+        quotationRegister.compareAndSet(assetId, first, 120.0);
+        try (QuotationSnapshot later = quotationRegister.openSnapshot()) {
+            AssetModel asset = AssetModel.builder().id(assetId).quotation(100.0).build();
+            assertEquals(120.0, later.getQuotation(asset));
+        }
+    }
+}
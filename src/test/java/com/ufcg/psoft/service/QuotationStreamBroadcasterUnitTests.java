@@ -0,0 +1,203 @@
+package com.ufcg.psoft.service;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.ufcg.psoft.commerce.dto.asset.AssetStreamMetricsDTO;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.model.asset.types.Stock;
+import com.ufcg.psoft.commerce.model.asset.types.TreasuryBounds;
+import com.ufcg.psoft.commerce.repository.asset.AssetRepository;
+import com.ufcg.psoft.commerce.service.asset.stream.QuotationStreamBroadcaster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Quotation Stream Broadcaster Unit Tests")
+class QuotationStreamBroadcasterUnitTests {
+
+    private QuotationStreamBroadcaster broadcaster;
+    private AssetRepository assetRepository;
+
+    private void startBroadcaster(int bufferCapacity) {
+        assetRepository = mock(AssetRepository.class);
+        when(assetRepository.findById(any())).thenAnswer(invocation -> Optional.of(AssetModel.builder()
+                .id(invocation.getArgument(0))
+                .assetType(new Stock())
+                .build()));
+
+        broadcaster = new QuotationStreamBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "assetRepository", assetRepository);
+        ReflectionTestUtils.setField(broadcaster, "objectMapper", JsonMapper.builder().findAndAddModules().build());
+        ReflectionTestUtils.setField(broadcaster, "bufferCapacity", bufferCapacity);
+        ReflectionTestUtils.setField(broadcaster, "senderThreads", 2);
+        ReflectionTestUtils.setField(broadcaster, "timeoutMillis", 0L);
+        broadcaster.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        broadcaster.stop();
+    }
+
+    @Test
+    @DisplayName("Should deliver only the events of the subscribed assets")
+    void testSubscribe_FiltersByAsset() throws InterruptedException {
+        startBroadcaster(16);
+        UUID watchedAsset = UUID.randomUUID();
+        UUID otherAsset = UUID.randomUUID();
+        RecordingEmitter filtered = new RecordingEmitter(2);
+        RecordingEmitter unfiltered = new RecordingEmitter(3);
+        broadcaster.register(filtered, Set.of(watchedAsset), PlanTypeEnum.PREMIUM);
+        broadcaster.register(unfiltered, Set.of(), PlanTypeEnum.PREMIUM);
+
+        broadcaster.onQuotationUpdate(watchedAsset, System.currentTimeMillis(), 10.0);
+        broadcaster.onQuotationUpdate(otherAsset, System.currentTimeMillis(), 20.0);
+        broadcaster.onActivationChange(watchedAsset, System.currentTimeMillis(), false);
+
+        assertTrue(filtered.received.await(2, TimeUnit.SECONDS));
+        assertTrue(unfiltered.received.await(2, TimeUnit.SECONDS));
+        assertEquals(2, filtered.events.size());
+        assertTrue(filtered.events.stream().allMatch(event -> event.contains(watchedAsset.toString())));
+        assertTrue(filtered.events.get(1).contains("ACTIVATION"));
+        assertEquals(3, unfiltered.events.size());
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber that is lapped by the buffer while still sending")
+    void testSlowSubscriber_IsDropped() throws InterruptedException {
+        startBroadcaster(4);
+        UUID assetId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(1) {
+            @Override
+            public void send(SseEventBuilder builder) throws java.io.IOException {
+                super.send(builder);
+                try {
+                    release.await(2, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        RecordingEmitter fast = new RecordingEmitter(8);
+        broadcaster.register(slow, Set.of(), PlanTypeEnum.PREMIUM);
+        broadcaster.register(fast, Set.of(), PlanTypeEnum.PREMIUM);
+
+        broadcaster.onQuotationUpdate(assetId, System.currentTimeMillis(), 1.0);
+        assertTrue(slow.received.await(2, TimeUnit.SECONDS));
+        for (int i = 2; i <= 8; i++) {
+            broadcaster.onQuotationUpdate(assetId, System.currentTimeMillis(), i);
+            awaitDelivered(fast, i);
+        }
+
+        assertTrue(fast.received.await(2, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (broadcaster.getMetrics().getDroppedSubscribers() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        AssetStreamMetricsDTO metrics = broadcaster.getMetrics();
+        assertEquals(1, metrics.getDroppedSubscribers());
+        assertEquals(1, metrics.getSubscribers());
+        assertEquals(8, metrics.getPublished());
+        assertTrue(slow.completed.await(2, TimeUnit.SECONDS));
+        assertEquals(8, fast.events.size());
+    }
+
+    @Test
+    @DisplayName("Should only deliver treasury bound events to subscribers without a premium plan")
+    void testSubscribe_FiltersByPlan() throws InterruptedException {
+        startBroadcaster(16);
+        UUID stockAsset = UUID.randomUUID();
+        UUID treasuryAsset = UUID.randomUUID();
+        when(assetRepository.findById(treasuryAsset)).thenReturn(Optional.of(AssetModel.builder()
+                .id(treasuryAsset)
+                .assetType(new TreasuryBounds())
+                .build()));
+        RecordingEmitter normal = new RecordingEmitter(1);
+        RecordingEmitter premium = new RecordingEmitter(2);
+        broadcaster.register(normal, Set.of(), PlanTypeEnum.NORMAL);
+        broadcaster.register(premium, Set.of(), PlanTypeEnum.PREMIUM);
+
+        broadcaster.onQuotationUpdate(stockAsset, System.currentTimeMillis(), 10.0);
+        broadcaster.onActivationChange(treasuryAsset, System.currentTimeMillis(), true);
+
+        assertTrue(normal.received.await(2, TimeUnit.SECONDS));
+        assertTrue(premium.received.await(2, TimeUnit.SECONDS));
+        assertEquals(1, normal.events.size());
+        assertTrue(normal.events.get(0).contains(treasuryAsset.toString()));
+        assertEquals(2, premium.events.size());
+    }
+
+    @Test
+    @DisplayName("Should keep a type-restricted subscriber out of a deleted asset's events and keep dispatching")
+    void testSubscribe_DeletedAsset_OnlyReachesUnrestrictedSubscribers() throws InterruptedException {
+        startBroadcaster(16);
+        UUID deletedAsset = UUID.randomUUID();
+        UUID treasuryAsset = UUID.randomUUID();
+        when(assetRepository.findById(deletedAsset)).thenReturn(Optional.empty());
+        when(assetRepository.findById(treasuryAsset)).thenReturn(Optional.of(AssetModel.builder()
+                .id(treasuryAsset)
+                .assetType(new TreasuryBounds())
+                .build()));
+        RecordingEmitter normal = new RecordingEmitter(1);
+        RecordingEmitter premium = new RecordingEmitter(2);
+        broadcaster.register(normal, Set.of(), PlanTypeEnum.NORMAL);
+        broadcaster.register(premium, Set.of(), PlanTypeEnum.PREMIUM);
+
+        broadcaster.onActivationChange(deletedAsset, System.currentTimeMillis(), false);
+        broadcaster.onQuotationUpdate(treasuryAsset, System.currentTimeMillis(), 10.0);
+
+        assertTrue(normal.received.await(2, TimeUnit.SECONDS));
+        assertTrue(premium.received.await(2, TimeUnit.SECONDS));
+        assertEquals(1, normal.events.size());
+        assertTrue(normal.events.get(0).contains(treasuryAsset.toString()));
+        assertEquals(2, premium.events.size());
+    }
+
+    private void awaitDelivered(RecordingEmitter emitter, int events) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (emitter.events.size() < events && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingEmitter(int expectedEvents) {
+            this.received = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws java.io.IOException {
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            events.add(event.toString());
+            received.countDown();
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.service.asset.history.ReturnStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Return Statistics Unit Tests")
+class ReturnStatisticsUnitTests {
+
+    private ReturnStatistics returnStatistics;
+
+    @BeforeEach
+    void setUp() {
+        returnStatistics = new ReturnStatistics();
+    }
+
+    @Test
+    @DisplayName("Should only seed the asset on its first quotation")
+    void testSummary_SeedOnly_IsNull() {
+        UUID assetId = UUID.randomUUID();
+
+        assertNull(returnStatistics.summary(assetId));
+        returnStatistics.onQuotationUpdate(assetId, 0, 100.0);
+        assertNull(returnStatistics.summary(assetId));
+    }
+
+    @Test
+    @DisplayName("Should ignore zero prices instead of dividing by them")
+    void testSummary_ZeroPrice_Ignored() {
+        UUID assetId = UUID.randomUUID();
+
+        returnStatistics.onQuotationUpdate(assetId, 0, 0.0);
+        assertNull(returnStatistics.summary(assetId));
+
+        returnStatistics.onQuotationUpdate(assetId, 1, 100.0);
+        returnStatistics.onQuotationUpdate(assetId, 2, 0.0);
+        returnStatistics.onQuotationUpdate(assetId, 3, 110.0);
+
+        ReturnStatistics.Summary summary = returnStatistics.summary(assetId);
+        assertEquals(1, summary.returns());
+        assertEquals(0.1, summary.meanReturn(), 1e-12);
+        assertTrue(Double.isFinite(summary.variance()));
+    }
+
+    @Test
+    @DisplayName("Should match mean, sample variance and max drawdown computed over the full history")
+    void testSummary_MatchesFullRecomputation() {
+        UUID assetId = UUID.randomUUID();
+        double[] quotations = {100.0, 110.0, 99.0, 120.0, 90.0, 95.0, 130.0};
+        for (int i = 0; i < quotations.length; i++) {
+            returnStatistics.onQuotationUpdate(assetId, i, quotations[i]);
+        }
+
+        int count = quotations.length - 1;
+        double[] periodReturns = new double[count];
+        double mean = 0;
+        for (int i = 0; i < count; i++) {
+            periodReturns[i] = (quotations[i + 1] - quotations[i]) / quotations[i];
+            mean += periodReturns[i] / count;
+        }
+        double variance = 0;
+        for (double periodReturn : periodReturns) {
+            variance += (periodReturn - mean) * (periodReturn - mean) / (count - 1);
+        }
+
+        ReturnStatistics.Summary summary = returnStatistics.summary(assetId);
+        assertEquals(count, summary.returns());
+        assertEquals(mean, summary.meanReturn(), 1e-12);
+        assertEquals(variance, summary.variance(), 1e-12);
+        assertEquals(Math.sqrt(variance), summary.volatility(), 1e-12);
+        assertEquals(0.25, summary.maxDrawdown(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Should keep assets apart across slot growth and reuse freed slots")
+    void testSlots_GrowAndReuse() {
+        UUID[] assetIds = new UUID[200];
+        for (int i = 0; i < assetIds.length; i++) {
+            assetIds[i] = UUID.randomUUID();
+            returnStatistics.onQuotationUpdate(assetIds[i], 0, 100.0);
+            returnStatistics.onQuotationUpdate(assetIds[i], 1, 100.0 + i);
+        }
+
+        assertEquals(0.0, returnStatistics.summary(assetIds[0]).meanReturn());
+        assertEquals(1.99, returnStatistics.summary(assetIds[199]).meanReturn(), 1e-12);
+
+        returnStatistics.remove(assetIds[10]);
+        assertNull(returnStatistics.summary(assetIds[10]));
+
+        UUID replacement = UUID.randomUUID();
+        returnStatistics.onQuotationUpdate(replacement, 2, 50.0);
+        returnStatistics.onQuotationUpdate(replacement, 3, 40.0);
+
+        ReturnStatistics.Summary summary = returnStatistics.summary(replacement);
+        assertEquals(1, summary.returns());
+        assertEquals(-0.2, summary.meanReturn(), 1e-12);
+        assertEquals(0.2, summary.maxDrawdown(), 1e-12);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.service.asset.quotation.SlidingWindowExtremes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sliding Window Extremes Unit Tests")
+class SlidingWindowExtremesUnitTests {
+
+    @Test
+    @DisplayName("Should track the lowest and highest quotation inside the window")
+    void testRecord_TracksExtremes() {
+        SlidingWindowExtremes extremes = new SlidingWindowExtremes(1_000);
+
+        extremes.record(0, 100.0);
+        extremes.record(100, 107.5);
+        extremes.record(200, 115.0);
+        extremes.record(300, 110.0);
+
+        assertEquals(100.0, extremes.getLowest());
+        assertEquals(115.0, extremes.getHighest());
+    }
+
+    @Test
+    @DisplayName("Should drop quotations once they fall out of the window")
+    void testRecord_EvictsExpiredQuotations() {
+        SlidingWindowExtremes extremes = new SlidingWindowExtremes(1_000);
+
+        extremes.record(0, 100.0);
+        extremes.record(500, 130.0);
+        extremes.record(1_200, 120.0);
+
+        assertEquals(120.0, extremes.getLowest());
+        assertEquals(130.0, extremes.getHighest());
+
+        extremes.record(1_600, 125.0);
+
+        assertEquals(120.0, extremes.getLowest());
+        assertEquals(125.0, extremes.getHighest());
+    }
+
+    @Test
+    @DisplayName("Should treat a timestamp older than the latest one as the latest")
+    void testRecord_OutOfOrderTimestamp() {
+        SlidingWindowExtremes extremes = new SlidingWindowExtremes(1_000);
+
+        extremes.record(2_000, 100.0);
+        extremes.record(1_500, 90.0);
+        extremes.record(2_900, 95.0);
+
+        assertEquals(90.0, extremes.getLowest());
+    }
+
+    @Test
+    @DisplayName("Should match a full scan of the window across buffer growth")
+    void testRecord_MatchesBruteForce() {
+        SlidingWindowExtremes extremes = new SlidingWindowExtremes(250);
+        Random random = new Random(42);
+        int ticks = 5_000;
+        long[] timestamps = new long[ticks];
+        double[] quotations = new double[ticks];
+
+        for (int i = 0; i < ticks; i++) {
+            timestamps[i] = i * 3L;
+            quotations[i] = 100 + random.nextGaussian() * 10;
+            extremes.record(timestamps[i], quotations[i]);
+
+            double lowest = Double.MAX_VALUE;
+            double highest = -Double.MAX_VALUE;
+            for (int j = i; j >= 0 && timestamps[j] >= timestamps[i] - 250; j--) {
+                lowest = Math.min(lowest, quotations[j]);
+                highest = Math.max(highest, quotations[j]);
+            }
+            assertEquals(lowest, extremes.getLowest());
+            assertEquals(highest, extremes.getHighest());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject reading extremes before anything was recorded")
+    void testEmptyWindow() {
+        SlidingWindowExtremes extremes = new SlidingWindowExtremes(1_000);
+
+        assertTrue(extremes.isEmpty());
+        assertThrows(IllegalStateException.class, extremes::getLowest);
+    }
+
+    @Test
+    @DisplayName("Should read the extremes since a timestamp without evicting anything")
+    void testExtremesSince() {
+        SlidingWindowExtremes extremes = new SlidingWindowExtremes(1_000);
+        extremes.record(0, 90.0);
+        extremes.record(300, 120.0);
+        extremes.record(600, 100.0);
+
+        assertEquals(new SlidingWindowExtremes.Extreme(300, 120.0), extremes.highestSince(100));
+        assertEquals(new SlidingWindowExtremes.Extreme(600, 100.0), extremes.lowestSince(100));
+        assertNull(extremes.lowestSince(700));
+        assertEquals(90.0, extremes.getLowest());
+    }
+}
@@ -0,0 +1,170 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.enums.NotificationCategoryEnum;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import com.ufcg.psoft.commerce.enums.SubscriptionTypeEnum;
+import com.ufcg.psoft.commerce.model.observer.ISubscriber;
+import com.ufcg.psoft.commerce.model.observer.SubscriptionModel;
+import com.ufcg.psoft.commerce.model.user.AccessCodeModel;
+import com.ufcg.psoft.commerce.model.user.AddressModel;
+import com.ufcg.psoft.commerce.model.user.ClientModel;
+import com.ufcg.psoft.commerce.model.user.EmailModel;
+import com.ufcg.psoft.commerce.model.wallet.WalletModel;
+import com.ufcg.psoft.commerce.repository.client.ClientRepository;
+import com.ufcg.psoft.commerce.repository.observer.SubscriptionRepository;
+import com.ufcg.psoft.commerce.service.notification.NotificationPipeline;
+import com.ufcg.psoft.commerce.service.observer.FanOutResult;
+import com.ufcg.psoft.commerce.service.observer.SubscriptionFanOutEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Subscription Fan-Out Engine Unit Tests")
+class SubscriptionFanOutEngineUnitTests {
+
+    private ClientRepository clientRepository;
+    private SubscriptionRepository subscriptionRepository;
+    private NotificationPipeline notificationPipeline;
+    private SubscriptionFanOutEngine engine;
+
+    private Map<UUID, ClientModel> clients;
+
+    @BeforeEach
+    void setUp() {
+        clientRepository = mock(ClientRepository.class);
+        subscriptionRepository = mock(SubscriptionRepository.class);
+        notificationPipeline = mock(NotificationPipeline.class);
+
+        engine = new SubscriptionFanOutEngine();
+        ReflectionTestUtils.setField(engine, "clientRepository", clientRepository);
+        ReflectionTestUtils.setField(engine, "subscriptionRepository", subscriptionRepository);
+        ReflectionTestUtils.setField(engine, "notificationPipeline", notificationPipeline);
+        ReflectionTestUtils.setField(engine, "parallelism", 4);
+        ReflectionTestUtils.setField(engine, "shardSize", 8);
+        ReflectionTestUtils.setField(engine, "acknowledgementTimeoutMillis", 200L);
+        engine.start();
+
+        clients = new HashMap<>();
+        when(clientRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<UUID> ids = invocation.getArgument(0);
+            List<ClientModel> found = new ArrayList<>();
+            ids.forEach(id -> Optional.ofNullable(clients.get(id)).ifPresent(found::add));
+            return found;
+        });
+        when(notificationPipeline.publishAcknowledged(any(), any(), anyString())).thenReturn(CompletableFuture.completedFuture(true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    private SubscriptionModel subscriptionFor(UUID clientId) {
+        return SubscriptionModel.builder()
+                .id(UUID.randomUUID())
+                .assetId(UUID.randomUUID())
+                .subscriberId(clientId)
+                .subscriptionType(SubscriptionTypeEnum.AVAILABILITY)
+                .build();
+    }
+
+    private SubscriptionModel subscriptionForNewClient() {
+        UUID clientId = UUID.randomUUID();
+        clients.put(clientId, new ClientModel(
+                clientId,
+                "Client " + clientId,
+                new EmailModel("client@email.com"),
+                new AccessCodeModel("123456"),
+                new AddressModel("Street", "123", "Neighborhood", "City", "State", "Country", "12345-678"),
+                PlanTypeEnum.NORMAL,
+                WalletModel.builder().budget(0).holdings(new HashMap<>()).build()
+        ));
+        return subscriptionFor(clientId);
+    }
+
+    @Test
+    @DisplayName("Should split large subscriber sets into shards but load clients and delete subscriptions once")
+    void testFanOut_LargeSubscriberSet_NotifiesAllAcrossShards() {
+        List<SubscriptionModel> subscriptions = IntStream.range(0, 100)
+                .mapToObj(i -> subscriptionForNewClient())
+                .toList();
+
+        FanOutResult result = engine.fanOut(subscriptions, NotificationCategoryEnum.AVAILABILITY, "asset is available");
+
+        assertEquals(100, result.getDelivered());
+        assertEquals(0, result.getFailed());
+        assertEquals(16, result.getShards());
+        verify(notificationPipeline, times(100)).publishAcknowledged(any(ISubscriber.class), eq(NotificationCategoryEnum.AVAILABILITY), eq("asset is available"));
+        verify(clientRepository, times(1)).findAllById(any());
+        verify(subscriptionRepository, times(1))
+                .deleteAllByIdInBatch(argThat(ids -> ((Collection<?>) ids).size() == 100));
+    }
+
+    @Test
+    @DisplayName("Should isolate a failing subscriber and keep its subscription for a retry")
+    void testFanOut_FailingSubscriber_OthersStillNotified() {
+        List<SubscriptionModel> subscriptions = IntStream.range(0, 20)
+                .mapToObj(i -> subscriptionForNewClient())
+                .toList();
+        ClientModel failingClient = clients.get(subscriptions.get(5).getSubscriberId());
+        when(notificationPipeline.publishAcknowledged(eq(failingClient), any(), anyString())).thenThrow(new IllegalStateException("boom"));
+
+        FanOutResult result = engine.fanOut(subscriptions, NotificationCategoryEnum.AVAILABILITY, "asset is available");
+
+        assertEquals(19, result.getDelivered());
+        assertEquals(1, result.getFailed());
+        verify(subscriptionRepository, never())
+                .deleteAllByIdInBatch(argThat(ids -> ids != null && ((Collection<?>) ids).contains(subscriptions.get(5).getId())));
+    }
+
+    @Test
+    @DisplayName("Should keep subscriptions whose notification was dropped or never acknowledged")
+    void testFanOut_UnacknowledgedSubscriber_KeepsSubscription() {
+        SubscriptionModel dropped = subscriptionForNewClient();
+        SubscriptionModel pending = subscriptionForNewClient();
+        SubscriptionModel delivered = subscriptionForNewClient();
+        when(notificationPipeline.publishAcknowledged(eq(clients.get(dropped.getSubscriberId())), any(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(notificationPipeline.publishAcknowledged(eq(clients.get(pending.getSubscriberId())), any(), anyString()))
+                .thenReturn(new CompletableFuture<>());
+
+        FanOutResult result = engine.fanOut(List.of(dropped, pending, delivered), NotificationCategoryEnum.AVAILABILITY, "asset is available");
+
+        assertEquals(1, result.getDelivered());
+        assertEquals(2, result.getFailed());
+        verify(subscriptionRepository, times(1)).deleteAllByIdInBatch(List.of(delivered.getId()));
+    }
+
+    @Test
+    @DisplayName("Should count subscriptions of missing clients as orphaned and remove them")
+    void testFanOut_MissingClient_CountsOrphaned() {
+        SubscriptionModel orphan = subscriptionFor(UUID.randomUUID());
+
+        FanOutResult result = engine.fanOut(List.of(orphan, subscriptionForNewClient()), NotificationCategoryEnum.AVAILABILITY, "asset is available");
+
+        assertEquals(1, result.getDelivered());
+        assertEquals(1, result.getOrphaned());
+        verify(subscriptionRepository, times(1))
+                .deleteAllByIdInBatch(argThat(ids -> ((Collection<?>) ids).contains(orphan.getId())));
+    }
+
+    @Test
+    @DisplayName("Should return an empty result when there are no subscriptions")
+    void testFanOut_NoSubscriptions_EmptyResult() {
+        FanOutResult result = engine.fanOut(List.of(), NotificationCategoryEnum.AVAILABILITY, "asset is available");
+
+        assertEquals(0, result.getShards());
+        verifyNoInteractions(clientRepository, subscriptionRepository, notificationPipeline);
+    }
+}
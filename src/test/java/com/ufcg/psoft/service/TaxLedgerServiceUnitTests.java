@@ -0,0 +1,183 @@
+package com.ufcg.psoft.service;
+
+import com.ufcg.psoft.commerce.dto.client.ClientTaxSummaryRequestDTO;
+import com.ufcg.psoft.commerce.dto.wallet.TaxSummaryResponseDTO;
+import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import com.ufcg.psoft.commerce.enums.WithdrawStateEnum;
+import com.ufcg.psoft.commerce.model.asset.AssetModel;
+import com.ufcg.psoft.commerce.model.asset.types.Stock;
+import com.ufcg.psoft.commerce.model.user.AccessCodeModel;
+import com.ufcg.psoft.commerce.model.user.AddressModel;
+import com.ufcg.psoft.commerce.model.user.ClientModel;
+import com.ufcg.psoft.commerce.model.user.EmailModel;
+import com.ufcg.psoft.commerce.model.wallet.TaxLedgerEntryModel;
+import com.ufcg.psoft.commerce.model.wallet.WalletModel;
+import com.ufcg.psoft.commerce.model.wallet.WithdrawModel;
+import com.ufcg.psoft.commerce.repository.wallet.TaxLedgerRepository;
+import com.ufcg.psoft.commerce.service.client.ClientService;
+import com.ufcg.psoft.commerce.service.wallet.TaxLedgerServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tax Ledger Service Unit Tests")
+class TaxLedgerServiceUnitTests {
+
+    private TaxLedgerRepository taxLedgerRepository;
+    private ClientService clientService;
+    private TaxLedgerServiceImpl taxLedgerService;
+
+    private WalletModel wallet;
+    private WithdrawModel withdraw;
+
+    @BeforeEach
+    void setUp() {
+        taxLedgerRepository = mock(TaxLedgerRepository.class);
+        clientService = mock(ClientService.class);
+
+        taxLedgerService = new TaxLedgerServiceImpl();
+        ReflectionTestUtils.setField(taxLedgerService, "taxLedgerRepository", taxLedgerRepository);
+        ReflectionTestUtils.setField(taxLedgerService, "clientService", clientService);
+        ReflectionTestUtils.setField(taxLedgerService, "transactionManager", mock(PlatformTransactionManager.class));
+        taxLedgerService.start();
+
+        wallet = WalletModel.builder()
+                .id(UUID.randomUUID())
+                .budget(0)
+                .holdings(new HashMap<>())
+                .build();
+
+        AssetModel asset = AssetModel.builder()
+                .id(UUID.randomUUID())
+                .name("Stock Asset")
+                .assetType(new Stock())
+                .quotation(120.0)
+                .quotaQuantity(1.0)
+                .build();
+
+        withdraw = WithdrawModel.builder()
+                .id(UUID.randomUUID())
+                .asset(asset)
+                .wallet(wallet)
+                .quantity(5.0)
+                .date(LocalDate.now())
+                .sellingPrice(120.0)
+                .realizedProfit(100.0)
+                .tax(15.0)
+                .withdrawValue(585.0)
+                .stateEnum(WithdrawStateEnum.IN_ACCOUNT)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should add the withdraw to the existing ledger row for its year and asset type")
+    void testRecordWithdraw_AccumulatesExistingEntry() {
+        int year = LocalDate.now().getYear();
+        when(taxLedgerRepository.accumulate(wallet.getId(), year, "STOCK", 100.0, 15.0, 600.0)).thenReturn(1);
+
+        taxLedgerService.recordWithdraw(withdraw);
+
+        verify(taxLedgerRepository).accumulate(wallet.getId(), year, "STOCK", 100.0, 15.0, 600.0);
+        verify(taxLedgerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should open an empty ledger row on the first withdraw of the year and asset type, then accumulate into it")
+    void testRecordWithdraw_CreatesEntry() {
+        int year = LocalDate.now().getYear();
+        when(taxLedgerRepository.accumulate(any(), anyInt(), anyString(), anyDouble(), anyDouble(), anyDouble())).thenReturn(0, 1);
+
+        taxLedgerService.recordWithdraw(withdraw);
+
+        ArgumentCaptor<TaxLedgerEntryModel> captor = ArgumentCaptor.forClass(TaxLedgerEntryModel.class);
+        verify(taxLedgerRepository).saveAndFlush(captor.capture());
+        TaxLedgerEntryModel entry = captor.getValue();
+        assertEquals(wallet.getId(), entry.getWalletId());
+        assertEquals(year, entry.getTaxYear());
+        assertEquals("STOCK", entry.getAssetType());
+        assertEquals(0.0, entry.getRealizedProfit());
+        assertEquals(0, entry.getWithdraws());
+        verify(taxLedgerRepository, times(2)).accumulate(wallet.getId(), year, "STOCK", 100.0, 15.0, 600.0);
+    }
+
+    @Test
+    @DisplayName("Should accumulate into the row a concurrent first withdraw opened")
+    void testRecordWithdraw_ConcurrentlyOpenedEntry() {
+        int year = LocalDate.now().getYear();
+        when(taxLedgerRepository.accumulate(any(), anyInt(), anyString(), anyDouble(), anyDouble(), anyDouble())).thenReturn(0, 1);
+        when(taxLedgerRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_tax_ledger_wallet_year_type"));
+
+        taxLedgerService.recordWithdraw(withdraw);
+
+        verify(taxLedgerRepository, times(2)).accumulate(wallet.getId(), year, "STOCK", 100.0, 15.0, 600.0);
+    }
+
+    @Test
+    @DisplayName("Should book the withdraw in the year it was requested")
+    void testRecordWithdraw_UsesWithdrawYear() {
+        WithdrawModel lastYear = WithdrawModel.builder()
+                .id(UUID.randomUUID())
+                .asset(withdraw.getAsset())
+                .wallet(wallet)
+                .quantity(5.0)
+                .date(LocalDate.of(2024, 12, 31))
+                .sellingPrice(120.0)
+                .realizedProfit(100.0)
+                .tax(15.0)
+                .withdrawValue(585.0)
+                .stateEnum(WithdrawStateEnum.IN_ACCOUNT)
+                .build();
+        when(taxLedgerRepository.accumulate(any(), anyInt(), anyString(), anyDouble(), anyDouble(), anyDouble())).thenReturn(1);
+
+        taxLedgerService.recordWithdraw(lastYear);
+
+        verify(taxLedgerRepository).accumulate(wallet.getId(), 2024, "STOCK", 100.0, 15.0, 600.0);
+    }
+
+    @Test
+    @DisplayName("Should summarize a year from the ledger rows without reading withdraws")
+    void testGetTaxSummary_SumsLedgerRows() {
+        UUID clientId = UUID.randomUUID();
+        ClientModel client = new ClientModel(
+                clientId,
+                "João Azevedo",
+                new EmailModel("joao@email.com"),
+                new AccessCodeModel("123456"),
+                new AddressModel("Street", "123", "Neighborhood", "City", "State", "Country", "12345-678"),
+                PlanTypeEnum.PREMIUM,
+                wallet
+        );
+        when(clientService.validateClientAccess(clientId, "123456")).thenReturn(client);
+        when(taxLedgerRepository.findByWalletIdAndTaxYear(wallet.getId(), 2025)).thenReturn(List.of(
+                new TaxLedgerEntryModel(UUID.randomUUID(), wallet.getId(), 2025, "STOCK", 100.0, 15.0, 600.0, 2),
+                new TaxLedgerEntryModel(UUID.randomUUID(), wallet.getId(), 2025, "CRYPTO", -40.0, 0.0, 360.0, 1)
+        ));
+
+        TaxSummaryResponseDTO summary = taxLedgerService.getTaxSummary(clientId, new ClientTaxSummaryRequestDTO("123456", 2025));
+
+        assertEquals(wallet.getId(), summary.getWalletId());
+        assertEquals(2025, summary.getYear());
+        assertEquals(List.of("CRYPTO", "STOCK"), summary.getEntries().stream().map(e -> e.getAssetType()).toList());
+        assertEquals(60.0, summary.getTotalRealizedProfit());
+        assertEquals(15.0, summary.getTotalTaxPaid());
+        assertEquals(960.0, summary.getTotalGrossProceeds());
+        verify(taxLedgerRepository).findByWalletIdAndTaxYear(eq(wallet.getId()), eq(2025));
+    }
+}
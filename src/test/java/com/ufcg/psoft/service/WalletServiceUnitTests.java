@@ -7,8 +7,6 @@ import com.ufcg.psoft.commerce.model.wallet.HoldingModel;
 import com.ufcg.psoft.commerce.model.wallet.PurchaseModel;
 import com.ufcg.psoft.commerce.model.wallet.WalletModel;
 import com.ufcg.psoft.commerce.repository.wallet.HoldingRepository;
-import com.ufcg.psoft.commerce.repository.wallet.PurchaseRepository;
-import com.ufcg.psoft.commerce.repository.wallet.WalletRepository;
 import com.ufcg.psoft.commerce.service.wallet.WalletService;
 import com.ufcg.psoft.commerce.service.wallet.WalletServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,9 +24,7 @@ import static org.mockito.Mockito.*;
 @DisplayName("Wallet Service Unit Tests")
 class WalletServiceUnitTests {
 
-    private WalletRepository walletRepository;
     private HoldingRepository holdingRepository;
-    private PurchaseRepository purchaseRepository;
     private WalletService walletService;
 
     private WalletModel wallet;
@@ -37,14 +33,10 @@ class WalletServiceUnitTests {
 
     @BeforeEach
     void setup() {
-        walletRepository = mock(WalletRepository.class);
-        purchaseRepository = mock(PurchaseRepository.class);
         holdingRepository = mock(HoldingRepository.class);
 
         walletService = new WalletServiceImpl();
 
-        ReflectionTestUtils.setField(walletService, "walletRepository", walletRepository);
-        ReflectionTestUtils.setField(walletService, "purchaseRepository", purchaseRepository);
         ReflectionTestUtils.setField(walletService, "holdingRepository", holdingRepository);
 
         wallet = WalletModel.builder()
@@ -113,9 +105,7 @@ class WalletServiceUnitTests {
                 .accumulatedPrice(purchase.getQuantity() * purchase.getAcquisitionPrice())
                 .build();
 
-        when(purchaseRepository.save(any(PurchaseModel.class))).thenReturn(purchase);
         when(holdingRepository.save(any(HoldingModel.class))).thenReturn(newHolding);
-        when(walletRepository.save(any(WalletModel.class))).thenReturn(wallet);
 
         PurchaseResponseDTO result = walletService.addPurchase(purchase);
 
@@ -126,9 +116,7 @@ class WalletServiceUnitTests {
         assertEquals(wallet.getId(), result.getWalletId());
         assertEquals(asset.getId(), result.getAssetId());
 
-        verify(purchaseRepository).save(any(PurchaseModel.class));
         verify(holdingRepository).save(any(HoldingModel.class));
-        verify(walletRepository).save(any(WalletModel.class));
     }
 
     @Test
@@ -144,9 +132,6 @@ class WalletServiceUnitTests {
 
         wallet.getHoldings().put(asset.getId(), existingHolding);
 
-        when(purchaseRepository.save(any(PurchaseModel.class))).thenReturn(purchase);
-        when(walletRepository.save(any(WalletModel.class))).thenReturn(wallet);
-
         PurchaseResponseDTO result = walletService.addPurchase(purchase);
 
         assertNotNull(result);
@@ -159,9 +144,7 @@ class WalletServiceUnitTests {
         assertEquals(10.0, existingHolding.getQuantity());
         assertEquals(1000.0, existingHolding.getAccumulatedPrice());
 
-        verify(purchaseRepository).save(any(PurchaseModel.class));
-        verify(walletRepository).save(any(WalletModel.class));
-        verify(holdingRepository, never()).save(any(HoldingModel.class));
+        verifyNoInteractions(holdingRepository);
     }
 
     @Test
@@ -192,4 +175,88 @@ class WalletServiceUnitTests {
 
         assertNull(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should settle a partial withdraw in memory without saving the holding or the wallet")
+    void testProcessWithdrawInWallet_PartialWithdraw() {
+        HoldingModel holding = HoldingModel.builder()
+                .id(UUID.randomUUID())
+                .asset(asset)
+                .wallet(wallet)
+                .quantity(5.0)
+                .accumulatedPrice(500.0)
+                .build();
+        wallet.getHoldings().put(holding.getId(), holding);
+
+        walletService.processWithdrawInWallet(holding, wallet, 2.0, 200.0);
+
+        assertEquals(3.0, holding.getQuantity());
+        assertEquals(300.0, holding.getAccumulatedPrice());
+        assertEquals(1200.0, wallet.getBudget());
+        assertSame(holding, wallet.getHoldings().get(holding.getId()));
+        verifyNoInteractions(holdingRepository);
+    }
+
+    @Test
+    @DisplayName("Should take withdrawn units out of the cost basis at their average cost, not their selling price")
+    void testProcessWithdrawInWallet_SuccessivePartialWithdraws_KeepAverageCost() {
+        // bought 10 units at 10 each
+        HoldingModel holding = HoldingModel.builder()
+                .id(UUID.randomUUID())
+                .asset(asset)
+                .wallet(wallet)
+                .quantity(10.0)
+                .accumulatedPrice(100.0)
+                .build();
+        wallet.getHoldings().put(holding.getId(), holding);
+
+        // sells 5 units at 20, then 2 units at 5
+        walletService.processWithdrawInWallet(holding, wallet, 5.0, 100.0);
+        assertEquals(5.0, holding.getQuantity());
+        assertEquals(50.0, holding.getAccumulatedPrice(), 1e-9);
+
+        walletService.processWithdrawInWallet(holding, wallet, 2.0, 10.0);
+        assertEquals(3.0, holding.getQuantity());
+        assertEquals(30.0, holding.getAccumulatedPrice(), 1e-9);
+        assertEquals(10.0, holding.getAccumulatedPrice() / holding.getQuantity(), 1e-9);
+        assertEquals(1110.0, wallet.getBudget());
+    }
+
+    @Test
+    @DisplayName("Should remove the holding when the whole position is withdrawn")
+    void testProcessWithdrawInWallet_FullWithdraw() {
+        HoldingModel holding = HoldingModel.builder()
+                .id(UUID.randomUUID())
+                .asset(asset)
+                .wallet(wallet)
+                .quantity(5.0)
+                .accumulatedPrice(500.0)
+                .build();
+        wallet.getHoldings().put(holding.getId(), holding);
+
+        walletService.processWithdrawInWallet(holding, wallet, 5.0, 500.0);
+
+        assertTrue(wallet.getHoldings().isEmpty());
+        assertEquals(1500.0, wallet.getBudget());
+        verify(holdingRepository).delete(holding);
+    }
+
+    @Test
+    @DisplayName("Should remove the holding when partial withdraws leave only a rounding residue")
+    void testProcessWithdrawInWallet_RoundingResidue() {
+        HoldingModel holding = HoldingModel.builder()
+                .id(UUID.randomUUID())
+                .asset(asset)
+                .wallet(wallet)
+                .quantity(0.3)
+                .accumulatedPrice(30.0)
+                .build();
+        wallet.getHoldings().put(holding.getId(), holding);
+
+        walletService.processWithdrawInWallet(holding, wallet, 0.1, 10.0);
+        walletService.processWithdrawInWallet(holding, wallet, 0.2, 20.0);
+
+        assertTrue(wallet.getHoldings().isEmpty());
+        verify(holdingRepository).delete(holding);
+    }
+}
@@ -5,18 +5,29 @@ import com.ufcg.psoft.commerce.dto.client.AddressDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientResponseDTO;
 import com.ufcg.psoft.commerce.dto.client.ClientWithdrawAssetRequestDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WalletResponseDTO;
+import com.ufcg.psoft.commerce.dto.wallet.WithdrawBulkConfirmationRequestDTO;
+import com.ufcg.psoft.commerce.dto.wallet.WithdrawConfirmationRequestDTO;
+import com.ufcg.psoft.commerce.dto.wallet.WithdrawQuoteResponseDTO;
 import com.ufcg.psoft.commerce.dto.wallet.WithdrawResponseDTO;
 import com.ufcg.psoft.commerce.enums.PlanTypeEnum;
+import com.ufcg.psoft.commerce.enums.WithdrawStateEnum;
 import com.ufcg.psoft.commerce.exception.asset.AssetNotFoundException;
+import com.ufcg.psoft.commerce.exception.asset.QuotationVersionMismatchException;
 import com.ufcg.psoft.commerce.exception.user.ClientHoldingIsInsufficientException;
 import com.ufcg.psoft.commerce.exception.user.ClientIdNotFoundException;
 import com.ufcg.psoft.commerce.exception.user.UnauthorizedUserAccessException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawAlreadyProcessedException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawNotFoundException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawQuoteLimitExceededException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawQuoteNotFoundException;
+import com.ufcg.psoft.commerce.exception.withdraw.WithdrawQuoteStaleException;
 import com.ufcg.psoft.commerce.model.asset.AssetModel;
 import com.ufcg.psoft.commerce.model.asset.types.Crypto;
 import com.ufcg.psoft.commerce.model.asset.types.Stock;
 import com.ufcg.psoft.commerce.model.asset.types.TreasuryBounds;
 import com.ufcg.psoft.commerce.model.user.AccessCodeModel;
 import com.ufcg.psoft.commerce.model.user.AddressModel;
+import com.ufcg.psoft.commerce.model.user.AdminModel;
 import com.ufcg.psoft.commerce.model.user.ClientModel;
 import com.ufcg.psoft.commerce.model.user.EmailModel;
 import com.ufcg.psoft.commerce.model.wallet.HoldingModel;
@@ -25,9 +36,12 @@ import com.ufcg.psoft.commerce.model.wallet.WithdrawModel;
 import com.ufcg.psoft.commerce.repository.wallet.WithdrawRepository;
 import com.ufcg.psoft.commerce.service.admin.AdminService;
 import com.ufcg.psoft.commerce.service.asset.AssetService;
+import com.ufcg.psoft.commerce.service.asset.quotation.QuotationRegister;
 import com.ufcg.psoft.commerce.service.client.ClientService;
 import com.ufcg.psoft.commerce.service.mapper.DTOMapperService;
+import com.ufcg.psoft.commerce.service.wallet.TaxLedgerService;
 import com.ufcg.psoft.commerce.service.wallet.WalletService;
+import com.ufcg.psoft.commerce.service.wallet.WithdrawQuoteCache;
 import com.ufcg.psoft.commerce.service.wallet.WithdrawServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -35,8 +49,21 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -52,6 +79,8 @@ class WithdrawServiceUnitTests {
     private WalletService walletService;
     private DTOMapperService dtoMapperService;
     private AssetResponseDTO assetResponseDTO;
+    private WithdrawQuoteCache withdrawQuoteCache;
+    private TaxLedgerService taxLedgerService;
 
     private WalletModel wallet;
     private AssetModel asset;
@@ -78,6 +107,15 @@ class WithdrawServiceUnitTests {
         ReflectionTestUtils.setField(withdrawService, "walletService", walletService);
         ReflectionTestUtils.setField(withdrawService, "dtoMapperService", dtoMapperService);
         ReflectionTestUtils.setField(withdrawService, "withdrawRepository", withdrawRepository);
+        ReflectionTestUtils.setField(withdrawService, "quotationRegister", new QuotationRegister());
+
+        withdrawQuoteCache = new WithdrawQuoteCache();
+        ReflectionTestUtils.setField(withdrawQuoteCache, "ttlMillis", 30_000L);
+        ReflectionTestUtils.setField(withdrawQuoteCache, "maxQuotesPerClient", 3);
+        ReflectionTestUtils.setField(withdrawService, "withdrawQuoteCache", withdrawQuoteCache);
+
+        taxLedgerService = mock(TaxLedgerService.class);
+        ReflectionTestUtils.setField(withdrawService, "taxLedgerService", taxLedgerService);
 
         asset = newStock();
 
@@ -225,7 +263,7 @@ class WithdrawServiceUnitTests {
         when(mockWithdraw.getAsset()).thenReturn(asset);
         when(mockWithdraw.getQuantity()).thenReturn(5.0);
         when(mockWithdraw.getStateEnum()).thenReturn(com.ufcg.psoft.commerce.enums.WithdrawStateEnum.REQUESTED);
-        when(withdrawRepository.findById(any())).thenReturn(java.util.Optional.of(mockWithdraw));
+        when(withdrawRepository.findByIdForUpdate(any())).thenReturn(java.util.Optional.of(mockWithdraw));
 
         WithdrawResponseDTO mockResponse = mock(WithdrawResponseDTO.class);
         when(dtoMapperService.toWithdrawResponseDTO(any())).thenReturn(mockResponse);
@@ -238,7 +276,7 @@ class WithdrawServiceUnitTests {
 
         assertSame(mockResponse, result);
         verify(mockWithdraw, times(2)).modify(mockAdmin); // Called twice for REQUESTED->CONFIRMED->IN_ACCOUNT
-        verify(withdrawRepository, times(2)).save(mockWithdraw);
+        verify(withdrawRepository, never()).save(any());
     }
 
     @Test
@@ -252,7 +290,7 @@ class WithdrawServiceUnitTests {
         when(mockWithdraw.getAsset()).thenReturn(asset);
         when(mockWithdraw.getQuantity()).thenReturn(5.0);
         when(mockWithdraw.getStateEnum()).thenReturn(com.ufcg.psoft.commerce.enums.WithdrawStateEnum.REQUESTED);
-        when(withdrawRepository.findById(any())).thenReturn(java.util.Optional.of(mockWithdraw));
+        when(withdrawRepository.findByIdForUpdate(any())).thenReturn(java.util.Optional.of(mockWithdraw));
 
         WithdrawResponseDTO mockResponse = mock(WithdrawResponseDTO.class);
         when(dtoMapperService.toWithdrawResponseDTO(any())).thenReturn(mockResponse);
@@ -278,7 +316,7 @@ class WithdrawServiceUnitTests {
         when(mockWithdraw.getAsset()).thenReturn(asset);
         when(mockWithdraw.getQuantity()).thenReturn(5.0);
         when(mockWithdraw.getStateEnum()).thenReturn(com.ufcg.psoft.commerce.enums.WithdrawStateEnum.REQUESTED);
-        when(withdrawRepository.findById(any())).thenReturn(java.util.Optional.of(mockWithdraw));
+        when(withdrawRepository.findByIdForUpdate(any())).thenReturn(java.util.Optional.of(mockWithdraw));
 
         WithdrawResponseDTO mockResponse = mock(WithdrawResponseDTO.class);
         when(dtoMapperService.toWithdrawResponseDTO(any())).thenReturn(mockResponse);
@@ -291,7 +329,7 @@ class WithdrawServiceUnitTests {
 
         // Verify that the withdraw was processed (which includes notification)
         verify(mockWithdraw, times(2)).modify(mockAdmin);
-        verify(withdrawRepository, times(2)).save(mockWithdraw);
+        verify(withdrawRepository, never()).save(any());
     }
 
     @Test
@@ -550,4 +588,292 @@ class WithdrawServiceUnitTests {
         verify(assetService).fetchAsset(assetId);
         // Não deve chamar withdrawAsset quando o asset não é encontrado
     }
+
+    private WithdrawModel newRequestedWithdraw(AssetModel assetModel, double quantity) {
+        return WithdrawModel.builder()
+                .id(UUID.randomUUID())
+                .asset(assetModel)
+                .wallet(wallet)
+                .quantity(quantity)
+                .date(LocalDate.now())
+                .sellingPrice(100.0)
+                .tax(0.0)
+                .withdrawValue(quantity * 100.0)
+                .stateEnum(WithdrawStateEnum.REQUESTED)
+                .build();
+    }
+
+    private WithdrawBulkConfirmationRequestDTO bulkConfirmation(List<UUID> withdrawIds) {
+        AdminModel admin = mock(AdminModel.class);
+        when(admin.isAdmin()).thenReturn(true);
+        when(adminService.getAdmin()).thenReturn(admin);
+        return WithdrawBulkConfirmationRequestDTO.builder()
+                .adminEmail("admin@example.com")
+                .adminAccessCode("123456")
+                .withdrawIds(withdrawIds)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should confirm several withdraws of one wallet against a single holding resolution")
+    void testConfirmWithdraws_GroupedByWallet() {
+        seedWalletWith(asset, 10.0, 500.0, 1000.0);
+        WithdrawModel first = newRequestedWithdraw(asset, 4.0);
+        WithdrawModel second = newRequestedWithdraw(asset, 6.0);
+        when(withdrawRepository.findAllByIdForUpdate(any())).thenReturn(List.of(second, first));
+        when(dtoMapperService.toWithdrawResponseDTO(any())).thenReturn(mock(WithdrawResponseDTO.class));
+
+        List<WithdrawResponseDTO> result = withdrawService.confirmWithdraws(bulkConfirmation(List.of(first.getId(), second.getId())));
+
+        assertEquals(2, result.size());
+        assertEquals(WithdrawStateEnum.IN_ACCOUNT, first.getStateEnum());
+        assertEquals(WithdrawStateEnum.IN_ACCOUNT, second.getStateEnum());
+        assertSame(holding, first.getHolding());
+        assertSame(holding, second.getHolding());
+        verify(withdrawRepository).findAllByIdForUpdate(any());
+        verify(walletService).processWithdrawInWallet(holding, wallet, 4.0, 400.0);
+        verify(walletService).processWithdrawInWallet(holding, wallet, 6.0, 600.0);
+        verify(taxLedgerService).recordWithdraw(first);
+        verify(taxLedgerService).recordWithdraw(second);
+        verify(withdrawRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should compute the realized profit at settlement for withdraws requested without one")
+    void testConfirmWithdraws_MissingRealizedProfit_ComputedFromHolding() {
+        seedWalletWith(asset, 10.0, 500.0, 1000.0);
+        WithdrawModel legacy = newRequestedWithdraw(asset, 4.0);
+        WithdrawModel recorded = newRequestedWithdraw(asset, 2.0);
+        recorded.setRealizedProfit(30.0);
+        when(withdrawRepository.findAllByIdForUpdate(any())).thenReturn(List.of(legacy, recorded));
+        when(dtoMapperService.toWithdrawResponseDTO(any())).thenReturn(mock(WithdrawResponseDTO.class));
+
+        withdrawService.confirmWithdraws(bulkConfirmation(List.of(legacy.getId(), recorded.getId())));
+
+        assertEquals(200.0, legacy.getRealizedProfit(), 1e-9);
+        assertEquals(30.0, recorded.getRealizedProfit(), 1e-9);
+        verify(taxLedgerService).recordWithdraw(legacy);
+    }
+
+    @Test
+    @DisplayName("Should reject the batch when the summed quantities exceed the holding")
+    void testConfirmWithdraws_SummedQuantityExceedsHolding() {
+        seedWalletWith(asset, 10.0, 500.0, 1000.0);
+        WithdrawModel first = newRequestedWithdraw(asset, 6.0);
+        WithdrawModel second = newRequestedWithdraw(asset, 6.0);
+        when(withdrawRepository.findAllByIdForUpdate(any())).thenReturn(List.of(first, second));
+        WithdrawBulkConfirmationRequestDTO dto = bulkConfirmation(List.of(first.getId(), second.getId()));
+
+        assertThrows(ClientHoldingIsInsufficientException.class, () -> withdrawService.confirmWithdraws(dto));
+
+        assertEquals(WithdrawStateEnum.REQUESTED, first.getStateEnum());
+        assertEquals(WithdrawStateEnum.REQUESTED, second.getStateEnum());
+        verifyNoInteractions(walletService, taxLedgerService);
+    }
+
+    @Test
+    @DisplayName("Should reject the batch when a withdraw is missing or already processed")
+    void testConfirmWithdraws_MissingOrProcessedWithdraw() {
+        seedWalletWith(asset, 10.0, 500.0, 1000.0);
+        WithdrawModel processed = newRequestedWithdraw(asset, 1.0);
+        processed.setState(null, WithdrawStateEnum.IN_ACCOUNT);
+        UUID missingId = UUID.randomUUID();
+        when(withdrawRepository.findAllByIdForUpdate(any())).thenReturn(List.of(processed));
+
+        WithdrawBulkConfirmationRequestDTO missing = bulkConfirmation(List.of(missingId));
+        assertThrows(WithdrawNotFoundException.class, () -> withdrawService.confirmWithdraws(missing));
+
+        WithdrawBulkConfirmationRequestDTO alreadyProcessed = bulkConfirmation(List.of(processed.getId()));
+        assertThrows(WithdrawAlreadyProcessedException.class, () -> withdrawService.confirmWithdraws(alreadyProcessed));
+
+        verifyNoInteractions(walletService);
+    }
+
+    @Test
+    @DisplayName("Should reject the batch when a withdraw was priced at another quotation version")
+    void testConfirmWithdraws_QuotationVersionMismatch() {
+        seedWalletWith(asset, 10.0, 500.0, 1000.0);
+        WithdrawModel first = newRequestedWithdraw(asset, 4.0);
+        when(withdrawRepository.findAllByIdForUpdate(any())).thenReturn(List.of(first));
+        WithdrawBulkConfirmationRequestDTO dto = bulkConfirmation(List.of(first.getId()));
+        dto.setQuotationVersions(Map.of(first.getId(), 7L));
+
+        assertThrows(QuotationVersionMismatchException.class, () -> withdrawService.confirmWithdraws(dto));
+
+        assertEquals(WithdrawStateEnum.REQUESTED, first.getStateEnum());
+        verifyNoInteractions(walletService, taxLedgerService);
+    }
+
+    @Test
+    @DisplayName("Should settle a withdraw once when two confirmations race for it")
+    void testConfirmWithdraw_ConcurrentConfirmations_SettleOnce() throws InterruptedException {
+        seedWalletWith(asset, 10.0, 500.0, 1000.0);
+        WithdrawModel withdraw = newRequestedWithdraw(asset, 4.0);
+        AdminModel admin = mock(AdminModel.class);
+        when(admin.isAdmin()).thenReturn(true);
+        when(adminService.getAdmin()).thenReturn(admin);
+        when(dtoMapperService.toWithdrawResponseDTO(any())).thenReturn(mock(WithdrawResponseDTO.class));
+
+        // stands in for the row lock: taken by the locking lookup, released when the confirmation commits
+        Semaphore rowLock = new Semaphore(1);
+        when(withdrawRepository.findByIdForUpdate(withdraw.getId())).thenAnswer(invocation -> {
+            rowLock.acquire();
+            return Optional.of(withdraw);
+        });
+        WithdrawConfirmationRequestDTO request = WithdrawConfirmationRequestDTO.builder()
+                .adminEmail("admin@example.com")
+                .adminAccessCode("123456")
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> confirmations = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            confirmations.add(executor.submit(() -> {
+                start.await();
+                try {
+                    withdrawService.confirmWithdraw(withdraw.getId(), request);
+                    return true;
+                } catch (WithdrawAlreadyProcessedException e) {
+                    return false;
+                } finally {
+                    rowLock.release();
+                }
+            }));
+        }
+        start.countDown();
+
+        int confirmed = 0;
+        for (Future<Boolean> confirmation : confirmations) {
+            try {
+                confirmed += confirmation.get(5, TimeUnit.SECONDS) ? 1 : 0;
+            } catch (ExecutionException | TimeoutException e) {
+                fail(e);
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, confirmed);
+        assertEquals(WithdrawStateEnum.IN_ACCOUNT, withdraw.getStateEnum());
+        verify(walletService, times(1)).processWithdrawInWallet(any(), any(), anyDouble(), anyDouble());
+        verify(taxLedgerService, times(1)).recordWithdraw(withdraw);
+    }
+
+    private ClientWithdrawAssetRequestDTO withdrawRequest(double quantity, UUID quoteId) {
+        when(assetService.fetchAsset(asset.getId())).thenReturn(asset);
+        return ClientWithdrawAssetRequestDTO.builder()
+                .accessCode("123456")
+                .quantityToWithdraw(quantity)
+                .quoteId(quoteId)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should quote a withdraw without persisting anything")
+    void testQuoteClientWithdraw_DoesNotPersist() {
+        WithdrawQuoteResponseDTO quote = withdrawService.quoteClientWithdraw(clientId, asset.getId(), withdrawRequest(5.0, null));
+
+        assertNotNull(quote.getQuoteId());
+        assertEquals(5.0, quote.getQuantityToWithdraw());
+        assertEquals(100.0, quote.getSellingPrice());
+        assertEquals(500.0 - quote.getTax(), quote.getValueToReceive(), 1e-9);
+        assertEquals(Math.max(0.0, quote.getRealizedProfit()) * 0.15, quote.getTax(), 1e-9);
+        assertNotNull(quote.getExpiresAt());
+        assertEquals(1, withdrawQuoteCache.size());
+        verifyNoInteractions(withdrawRepository);
+    }
+
+    @Test
+    @DisplayName("Should withdraw at the locked quote and consume it")
+    void testWithdrawClientAsset_WithQuote() {
+        WithdrawQuoteResponseDTO quote = withdrawService.quoteClientWithdraw(clientId, asset.getId(), withdrawRequest(5.0, null));
+        asset.setQuotation(150.0);
+
+        ClientWithdrawAssetRequestDTO dto = withdrawRequest(5.0, quote.getQuoteId());
+        withdrawService.withdrawClientAsset(clientId, asset.getId(), dto);
+
+        ArgumentCaptor<WithdrawModel> captor = ArgumentCaptor.forClass(WithdrawModel.class);
+        verify(withdrawRepository).save(captor.capture());
+        assertEquals(100.0, captor.getValue().getSellingPrice());
+        assertEquals(quote.getTax(), captor.getValue().getTax());
+        assertEquals(quote.getValueToReceive(), captor.getValue().getWithdrawValue());
+        assertEquals(0, withdrawQuoteCache.size());
+
+        assertThrows(WithdrawQuoteNotFoundException.class, () -> withdrawService.withdrawClientAsset(clientId, asset.getId(), dto));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired quote or one priced for another quantity")
+    void testWithdrawClientAsset_ExpiredOrMismatchedQuote() {
+        WithdrawQuoteResponseDTO quote = withdrawService.quoteClientWithdraw(clientId, asset.getId(), withdrawRequest(5.0, null));
+        ClientWithdrawAssetRequestDTO otherQuantity = withdrawRequest(4.0, quote.getQuoteId());
+        assertThrows(WithdrawQuoteNotFoundException.class, () -> withdrawService.withdrawClientAsset(clientId, asset.getId(), otherQuantity));
+        assertEquals(1, withdrawQuoteCache.size());
+
+        ReflectionTestUtils.setField(withdrawQuoteCache, "ttlMillis", -1L);
+        WithdrawQuoteResponseDTO expired = withdrawService.quoteClientWithdraw(clientId, asset.getId(), withdrawRequest(5.0, null));
+        withdrawQuoteCache.evictExpired();
+        assertEquals(1, withdrawQuoteCache.size());
+
+        ClientWithdrawAssetRequestDTO expiredRequest = withdrawRequest(5.0, expired.getQuoteId());
+        assertThrows(WithdrawQuoteNotFoundException.class, () -> withdrawService.withdrawClientAsset(clientId, asset.getId(), expiredRequest));
+        verify(withdrawRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should keep a quote that a mismatched withdraw tried to use")
+    void testWithdrawClientAsset_MismatchedQuote_StaysUsable() {
+        WithdrawQuoteResponseDTO quote = withdrawService.quoteClientWithdraw(clientId, asset.getId(), withdrawRequest(5.0, null));
+        ClientWithdrawAssetRequestDTO otherQuantity = withdrawRequest(4.0, quote.getQuoteId());
+        assertThrows(WithdrawQuoteNotFoundException.class, () -> withdrawService.withdrawClientAsset(clientId, asset.getId(), otherQuantity));
+
+        // the same quantity reached through floating point arithmetic still matches
+        withdrawService.withdrawClientAsset(clientId, asset.getId(), withdrawRequest(0.1 * 3 + 4.7, quote.getQuoteId()));
+
+        verify(withdrawRepository, times(1)).save(any(WithdrawModel.class));
+        assertEquals(0, withdrawQuoteCache.size());
+    }
+
+    @Test
+    @DisplayName("Should cap the open quotes a client can hold")
+    void testQuoteClientWithdraw_LimitPerClient() {
+        for (int i = 0; i < 3; i++) {
+            withdrawService.quoteClientWithdraw(clientId, asset.getId(), withdrawRequest(1.0, null));
+        }
+
+        ClientWithdrawAssetRequestDTO request = withdrawRequest(1.0, null);
+        assertThrows(WithdrawQuoteLimitExceededException.class, () -> withdrawService.quoteClientWithdraw(clientId, asset.getId(), request));
+        assertEquals(3, withdrawQuoteCache.size());
+    }
+
+    @Test
+    @DisplayName("Should reject a quote once the holding's cost basis changed")
+    void testWithdrawClientAsset_CostBasisChanged() {
+        WithdrawQuoteResponseDTO quote = withdrawService.quoteClientWithdraw(clientId, asset.getId(), withdrawRequest(5.0, null));
+        wallet.getHoldings().values().forEach(h -> h.increaseAccumulatedPrice(100.0));
+
+        ClientWithdrawAssetRequestDTO dto = withdrawRequest(5.0, quote.getQuoteId());
+        assertThrows(WithdrawQuoteStaleException.class, () -> withdrawService.withdrawClientAsset(clientId, asset.getId(), dto));
+        verify(withdrawRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should leave the quote open when the holding checks reject the withdraw")
+    void testWithdrawClientAsset_InsufficientHolding_KeepsQuote() {
+        WithdrawQuoteResponseDTO quote = withdrawService.quoteClientWithdraw(clientId, asset.getId(), withdrawRequest(5.0, null));
+        HoldingModel quotedHolding = wallet.getHoldings().values().iterator().next();
+        double quotedQuantity = quotedHolding.getQuantity();
+        quotedHolding.setQuantity(2.0);
+
+        ClientWithdrawAssetRequestDTO dto = withdrawRequest(5.0, quote.getQuoteId());
+        assertThrows(ClientHoldingIsInsufficientException.class, () -> withdrawService.withdrawClientAsset(clientId, asset.getId(), dto));
+        assertEquals(1, withdrawQuoteCache.size());
+        verify(withdrawRepository, never()).save(any());
+
+        quotedHolding.setQuantity(quotedQuantity);
+        withdrawService.withdrawClientAsset(clientId, asset.getId(), dto);
+
+        verify(withdrawRepository, times(1)).save(any(WithdrawModel.class));
+        assertEquals(0, withdrawQuoteCache.size());
+    }
 }